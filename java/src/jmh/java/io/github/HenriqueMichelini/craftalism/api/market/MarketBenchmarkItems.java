@@ -0,0 +1,43 @@
+package io.github.HenriqueMichelini.craftalism.api.market;
+
+import io.github.HenriqueMichelini.craftalism.api.model.MarketItem;
+import java.math.BigDecimal;
+import java.time.Instant;
+
+public final class MarketBenchmarkItems {
+
+    public static final Instant NOW = Instant.parse("2026-04-12T18:30:00Z");
+
+    private MarketBenchmarkItems() {}
+
+    public static MarketItem item(
+        String itemId,
+        long netPosition,
+        long segmentSize
+    ) {
+        MarketItem item = new MarketItem();
+        item.setItemId(itemId);
+        item.setCategoryId("farming");
+        item.setCategoryDisplayName("Farming");
+        item.setDisplayName(itemId);
+        item.setIconKey(itemId.toUpperCase());
+        item.setCurrency("coins");
+        item.setBaseUnitPrice(100L);
+        item.setMinUnitPrice(50L);
+        item.setMaxUnitPrice(300L);
+        item.setSegmentSize(segmentSize);
+        item.setPriceSensitivity(new BigDecimal("0.0800"));
+        item.setSellPricePercentage(new BigDecimal("0.7000"));
+        item.setBaseRegenQuantity(1L);
+        item.setRegenIntervalSeconds(60L);
+        item.setNetPosition(netPosition);
+        item.setVariationPercent(BigDecimal.ZERO);
+        item.setBlocked(false);
+        item.setOperating(true);
+        item.setLastUpdatedAt(NOW);
+        item.setDriftMultiplierBasisPoints(10_150L);
+        item.setDriftRevision(0L);
+        item.setDriftEvaluatedAt(NOW);
+        return item;
+    }
+}
@@ -0,0 +1,54 @@
+package io.github.HenriqueMichelini.craftalism.api.market.domain.pricing;
+
+import io.github.HenriqueMichelini.craftalism.api.market.MarketBenchmarkItems;
+import io.github.HenriqueMichelini.craftalism.api.model.MarketItem;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Drift catch-up cost for items that have not been evaluated for a long
+ * time; each hour of gap is one drift tick.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MarketDriftBenchmark {
+
+    @Param({ "1", "168", "8760" })
+    public long gapHours;
+
+    private final MarketDriftService driftService = new MarketDriftService();
+
+    private MarketItem item;
+    private Instant now;
+
+    @Setup
+    public void setUp() {
+        item = MarketBenchmarkItems.item("wheat", 0L, 50L);
+        now = MarketBenchmarkItems.NOW.plus(Duration.ofHours(gapHours));
+    }
+
+    @Benchmark
+    public long evaluateDrift() {
+        item.setDriftMultiplierBasisPoints(10_150L);
+        item.setDriftRevision(0L);
+        item.setDriftEvaluatedAt(MarketBenchmarkItems.NOW);
+        driftService.evaluateDrift(item, now);
+        return item.getDriftMultiplierBasisPoints();
+    }
+}
@@ -0,0 +1,63 @@
+package io.github.HenriqueMichelini.craftalism.api.market.domain.pricing;
+
+import io.github.HenriqueMichelini.craftalism.api.market.MarketBenchmarkItems;
+import io.github.HenriqueMichelini.craftalism.api.model.MarketItem;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cached prefix-sum ladder pricing against the segment-by-segment walk it
+ * replaced.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MarketPriceLadderBenchmark {
+
+    @Param({ "64", "4096", "262144" })
+    public long quantity;
+
+    @Param({ "1", "50", "1000" })
+    public long segmentSize;
+
+    private final MarketPressurePricing pressurePricing =
+        new MarketPressurePricing();
+    private final MarketPricingPipeline pricingPipeline =
+        new MarketPricingPipeline(pressurePricing);
+    private final MarketPriceLadder ladder = new MarketPriceLadder(
+        pressurePricing,
+        pricingPipeline
+    );
+    private final MarketPricingPipeline.PricingContext context =
+        new MarketPricingPipeline.PricingContext(10_150L, 10_000L);
+
+    private MarketItem item;
+
+    @Setup
+    public void setUp() {
+        item = MarketBenchmarkItems.item("wheat", 0L, segmentSize);
+    }
+
+    @Benchmark
+    public long ladderBuyTotalPrice() {
+        return ladder.buyTotalPrice(item, 0L, quantity, context);
+    }
+
+    @Benchmark
+    public long iterativeBuyTotalPrice() {
+        return ladder.iterativeTotalPrice(item, 0L, quantity, true, context);
+    }
+}
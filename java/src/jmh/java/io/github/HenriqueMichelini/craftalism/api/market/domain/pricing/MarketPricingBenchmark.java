@@ -0,0 +1,105 @@
+package io.github.HenriqueMichelini.craftalism.api.market.domain.pricing;
+
+import io.github.HenriqueMichelini.craftalism.api.market.MarketBenchmarkItems;
+import io.github.HenriqueMichelini.craftalism.api.model.MarketItem;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Per-unit pricing costs. The {@code bigDecimal*} benchmarks keep the
+ * previous BigDecimal basis-point arithmetic as the allocation baseline for
+ * {@link MarketFixedPointMath}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MarketPricingBenchmark {
+
+    private static final BigDecimal NEUTRAL_BASIS_POINTS = BigDecimal.valueOf(
+        10_000L
+    );
+
+    @Param({ "0", "75", "-75", "5000" })
+    public long netPosition;
+
+    private final MarketPressurePricing pressurePricing =
+        new MarketPressurePricing();
+    private final MarketPricingPipeline pricingPipeline =
+        new MarketPricingPipeline(pressurePricing);
+    private final MarketPricingPipeline.PricingContext context =
+        new MarketPricingPipeline.PricingContext(10_150L, 12_500L);
+
+    private MarketItem item;
+
+    @Setup
+    public void setUp() {
+        item = MarketBenchmarkItems.item("wheat", netPosition, 50L);
+    }
+
+    @Benchmark
+    public long pressureUnitPrice() {
+        return pressurePricing.unitPrice(item, netPosition);
+    }
+
+    @Benchmark
+    public long buyUnitPrice() {
+        return pricingPipeline.buyUnitPrice(item, netPosition, context);
+    }
+
+    @Benchmark
+    public long sellUnitPrice() {
+        return pricingPipeline.sellUnitPrice(
+            item,
+            pricingPipeline.buyUnitPrice(item, netPosition, context)
+        );
+    }
+
+    @Benchmark
+    public long bigDecimalBuyUnitPrice() {
+        long pressurePrice = pressurePricing.unitPrice(item, netPosition);
+        long driftAdjusted = bigDecimalBasisPoints(
+            pressurePrice,
+            context.driftMultiplierBasisPoints()
+        );
+        long eventAdjusted = bigDecimalBasisPoints(
+            driftAdjusted,
+            context.namedEventMultiplierBasisPoints()
+        );
+        return Math.max(
+            item.getMinUnitPrice(),
+            Math.min(item.getMaxUnitPrice(), eventAdjusted)
+        );
+    }
+
+    @Benchmark
+    public long bigDecimalSellUnitPrice() {
+        return BigDecimal
+            .valueOf(bigDecimalBuyUnitPrice())
+            .multiply(item.getSellPricePercentage())
+            .setScale(0, RoundingMode.HALF_UP)
+            .longValueExact();
+    }
+
+    private long bigDecimalBasisPoints(long unitPrice, long basisPoints) {
+        return BigDecimal
+            .valueOf(unitPrice)
+            .multiply(BigDecimal.valueOf(basisPoints))
+            .divide(NEUTRAL_BASIS_POINTS, 0, RoundingMode.HALF_UP)
+            .longValueExact();
+    }
+}
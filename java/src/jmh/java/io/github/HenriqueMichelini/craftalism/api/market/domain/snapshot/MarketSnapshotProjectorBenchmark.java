@@ -0,0 +1,67 @@
+package io.github.HenriqueMichelini.craftalism.api.market.domain.snapshot;
+
+import io.github.HenriqueMichelini.craftalism.api.market.MarketBenchmarkItems;
+import io.github.HenriqueMichelini.craftalism.api.market.domain.trade.MarketTradePlanner;
+import io.github.HenriqueMichelini.craftalism.api.model.MarketItem;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MarketSnapshotProjectorBenchmark {
+
+    @Param({ "20", "500", "5000" })
+    public int itemCount;
+
+    private final MarketSnapshotProjector projector =
+        new MarketSnapshotProjector(new MarketTradePlanner());
+
+    private List<MarketItem> items;
+    private List<MarketSnapshotProjector.MarketSnapshotProjection> projections;
+
+    @Setup
+    public void setUp() {
+        items = new ArrayList<>(itemCount);
+        for (int index = 0; index < itemCount; index++) {
+            items.add(
+                MarketBenchmarkItems.item(
+                    "item-" + index,
+                    (index % 41L) * 37L - 700L,
+                    50L
+                )
+            );
+        }
+        projections = projector.projections(items);
+    }
+
+    @Benchmark
+    public List<MarketSnapshotProjector.MarketSnapshotProjection> projections() {
+        return projector.projections(items);
+    }
+
+    @Benchmark
+    public String snapshotVersion() {
+        return projector.snapshotVersion(projections, null);
+    }
+
+    @Benchmark
+    public String projectionsAndSnapshotVersion() {
+        return projector.snapshotVersion(projector.projections(items), null);
+    }
+}
@@ -0,0 +1,50 @@
+package io.github.HenriqueMichelini.craftalism.api.market.domain.trade;
+
+import io.github.HenriqueMichelini.craftalism.api.market.MarketBenchmarkItems;
+import io.github.HenriqueMichelini.craftalism.api.model.MarketItem;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MarketTradePlannerBenchmark {
+
+    @Param({ "1", "64", "4096", "262144" })
+    public long quantity;
+
+    @Param({ "1", "50", "1000" })
+    public long segmentSize;
+
+    private final MarketTradePlanner planner = new MarketTradePlanner();
+
+    private MarketItem item;
+
+    @Setup
+    public void setUp() {
+        item = MarketBenchmarkItems.item("wheat", 25L, segmentSize);
+    }
+
+    @Benchmark
+    public MarketTradePlanner.TradePlan buyPlan() {
+        return planner.buyPlan(item, quantity);
+    }
+
+    @Benchmark
+    public MarketTradePlanner.TradePlan sellPlan() {
+        return planner.sellPlan(item, quantity);
+    }
+}
@@ -0,0 +1,155 @@
+package io.github.HenriqueMichelini.craftalism.api.market.infrastructure.persistence;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Time the item and balance rows stay locked per execute, from the first
+ * {@code FOR UPDATE} to commit, with the trade history insert inside the
+ * locked transaction versus deferred to a batched write after commit. An
+ * in-memory H2 database in PostgreSQL mode stands in for PostgreSQL; the
+ * deferred rows are written between iterations, outside the measurement.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MarketExecuteLockHoldBenchmark {
+
+    private static final UUID PLAYER_UUID = UUID.fromString(
+        "110e8400-e29b-41d4-a716-446655440000"
+    );
+
+    private Connection connection;
+    private PreparedStatement lockItem;
+    private PreparedStatement lockBalance;
+    private PreparedStatement updateItem;
+    private PreparedStatement updateBalance;
+    private PreparedStatement insertHistory;
+    private final List<OffsetDateTime> deferredHistory = new ArrayList<>();
+
+    @Setup
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection(
+            "jdbc:h2:mem:lock-hold;MODE=PostgreSQL;DB_CLOSE_DELAY=-1"
+        );
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(
+                "CREATE TABLE market_items (item_id VARCHAR(64) PRIMARY KEY, net_position BIGINT NOT NULL, last_updated_at TIMESTAMP WITH TIME ZONE NOT NULL)"
+            );
+            statement.execute(
+                "CREATE TABLE balances (uuid UUID PRIMARY KEY, amount BIGINT NOT NULL)"
+            );
+            statement.execute(
+                "CREATE TABLE market_trade_history (id BIGSERIAL PRIMARY KEY, player_uuid UUID NOT NULL, item_id VARCHAR(64) NOT NULL, side VARCHAR(8) NOT NULL, quantity BIGINT NOT NULL, unit_price BIGINT NOT NULL, total_price BIGINT NOT NULL, currency VARCHAR(32) NOT NULL, snapshot_version VARCHAR(128) NOT NULL, executed_at TIMESTAMP WITH TIME ZONE NOT NULL)"
+            );
+            statement.execute(
+                "CREATE INDEX idx_market_trade_history_player_uuid ON market_trade_history (player_uuid)"
+            );
+            statement.execute(
+                "CREATE INDEX idx_market_trade_history_item_id ON market_trade_history (item_id)"
+            );
+            statement.execute(
+                "INSERT INTO market_items VALUES ('wheat', 0, CURRENT_TIMESTAMP)"
+            );
+        }
+        try (
+            PreparedStatement insertBalance = connection.prepareStatement(
+                "INSERT INTO balances VALUES (?, ?)"
+            )
+        ) {
+            insertBalance.setObject(1, PLAYER_UUID);
+            insertBalance.setLong(2, Long.MAX_VALUE / 2L);
+            insertBalance.executeUpdate();
+        }
+        connection.setAutoCommit(false);
+        lockItem = connection.prepareStatement(
+            "SELECT net_position FROM market_items WHERE item_id = ? FOR UPDATE"
+        );
+        lockBalance = connection.prepareStatement(
+            "SELECT amount FROM balances WHERE uuid = ? FOR UPDATE"
+        );
+        updateItem = connection.prepareStatement(
+            "UPDATE market_items SET net_position = net_position + 1, last_updated_at = ? WHERE item_id = ?"
+        );
+        updateBalance = connection.prepareStatement(
+            "UPDATE balances SET amount = amount - 5 WHERE uuid = ?"
+        );
+        insertHistory = connection.prepareStatement(
+            "INSERT INTO market_trade_history (player_uuid, item_id, side, quantity, unit_price, total_price, currency, snapshot_version, executed_at) VALUES (?, 'wheat', 'BUY', 1, 5, 5, 'coins', 'market:benchmark', ?)"
+        );
+    }
+
+    @TearDown(Level.Iteration)
+    public void writeDeferredHistory() throws SQLException {
+        for (OffsetDateTime executedAt : deferredHistory) {
+            insertHistory.setObject(1, PLAYER_UUID);
+            insertHistory.setObject(2, executedAt);
+            insertHistory.addBatch();
+        }
+        insertHistory.executeBatch();
+        connection.commit();
+        deferredHistory.clear();
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public void historyInsideLock() throws SQLException {
+        OffsetDateTime executedAt = applyLockedTrade();
+        insertHistory.setObject(1, PLAYER_UUID);
+        insertHistory.setObject(2, executedAt);
+        insertHistory.executeUpdate();
+        connection.commit();
+    }
+
+    @Benchmark
+    public void historyAfterCommit() throws SQLException {
+        OffsetDateTime executedAt = applyLockedTrade();
+        connection.commit();
+        deferredHistory.add(executedAt);
+    }
+
+    private OffsetDateTime applyLockedTrade() throws SQLException {
+        lockItem.setString(1, "wheat");
+        lockItem.executeQuery().close();
+        lockBalance.setObject(1, PLAYER_UUID);
+        lockBalance.executeQuery().close();
+        OffsetDateTime executedAt = OffsetDateTime.now(ZoneOffset.UTC);
+        updateItem.setObject(1, executedAt);
+        updateItem.setString(2, "wheat");
+        updateItem.executeUpdate();
+        updateBalance.setObject(1, PLAYER_UUID);
+        updateBalance.executeUpdate();
+        return executedAt;
+    }
+}
@@ -6,5 +6,31 @@ public record MarketSettings(
     String trustedMinecraftServerClientId,
     int quoteRateLimitMaxRequests,
     int executeRateLimitMaxRequests,
-    long rateLimitWindowSeconds
-) {}
+    long rateLimitWindowSeconds,
+    boolean snapshotCacheEnabled,
+    long snapshotCacheMaxAgeSeconds,
+    int quoteBatchMaxLines
+) {
+    public static final int DEFAULT_QUOTE_BATCH_MAX_LINES = 64;
+
+    public MarketSettings(
+        boolean enabled,
+        long quoteTtlSeconds,
+        String trustedMinecraftServerClientId,
+        int quoteRateLimitMaxRequests,
+        int executeRateLimitMaxRequests,
+        long rateLimitWindowSeconds
+    ) {
+        this(
+            enabled,
+            quoteTtlSeconds,
+            trustedMinecraftServerClientId,
+            quoteRateLimitMaxRequests,
+            executeRateLimitMaxRequests,
+            rateLimitWindowSeconds,
+            false,
+            0L,
+            DEFAULT_QUOTE_BATCH_MAX_LINES
+        );
+    }
+}
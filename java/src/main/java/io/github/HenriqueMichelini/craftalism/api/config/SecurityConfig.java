@@ -38,6 +38,12 @@ public class SecurityConfig {
                     .hasAuthority("SCOPE_market:admin")
                     .requestMatchers("/api/dashboard/market/drift/**")
                     .hasAuthority("SCOPE_market:admin")
+                    .requestMatchers("/api/dashboard/market/replay/**")
+                    .hasAuthority("SCOPE_market:admin")
+                    // Each stream subscriber holds a connection and a sender
+                    // slot, so it is limited to the clients that can trade.
+                    .requestMatchers(HttpMethod.GET, "/api/market/stream")
+                    .hasAuthority("SCOPE_api:write")
                     // Dashboard is currently a static SPA with no OAuth2 login
                     // flow, so read-only API routes must be public.
                     .requestMatchers(HttpMethod.GET, "/api/**")
@@ -80,6 +86,7 @@ public class SecurityConfig {
             List.of("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS")
         );
         config.setAllowedHeaders(List.of("*"));
+        config.setExposedHeaders(List.of("ETag"));
         config.setAllowCredentials(false);
 
         UrlBasedCorsConfigurationSource source =
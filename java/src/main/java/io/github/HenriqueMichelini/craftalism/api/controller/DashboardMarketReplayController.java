@@ -0,0 +1,29 @@
+package io.github.HenriqueMichelini.craftalism.api.controller;
+
+import io.github.HenriqueMichelini.craftalism.api.dto.MarketReplayReportDTO;
+import io.github.HenriqueMichelini.craftalism.api.dto.MarketReplayRequestDTO;
+import io.github.HenriqueMichelini.craftalism.api.market.application.admin.MarketReplayService;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/dashboard/market/replay")
+public class DashboardMarketReplayController {
+
+    private final MarketReplayService replayService;
+
+    public DashboardMarketReplayController(MarketReplayService replayService) {
+        this.replayService = replayService;
+    }
+
+    @PostMapping
+    public ResponseEntity<MarketReplayReportDTO> replay(
+        @RequestBody @Valid MarketReplayRequestDTO request
+    ) {
+        return ResponseEntity.ok(replayService.replay(request));
+    }
+}
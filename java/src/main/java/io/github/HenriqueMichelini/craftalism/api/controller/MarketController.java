@@ -1,7 +1,13 @@
 package io.github.HenriqueMichelini.craftalism.api.controller;
 
+import io.github.HenriqueMichelini.craftalism.api.dto.MarketBasketExecuteRequestDTO;
+import io.github.HenriqueMichelini.craftalism.api.dto.MarketBasketExecuteResponseDTO;
+import io.github.HenriqueMichelini.craftalism.api.dto.MarketBatchQuoteRequestDTO;
+import io.github.HenriqueMichelini.craftalism.api.dto.MarketBatchQuoteResponseDTO;
+import io.github.HenriqueMichelini.craftalism.api.dto.MarketCategoryRefreshResponseDTO;
 import io.github.HenriqueMichelini.craftalism.api.dto.MarketExecuteRequestDTO;
 import io.github.HenriqueMichelini.craftalism.api.dto.MarketExecuteSuccessResponseDTO;
+import io.github.HenriqueMichelini.craftalism.api.dto.MarketItemRefreshResponseDTO;
 import io.github.HenriqueMichelini.craftalism.api.dto.MarketQuoteRequestDTO;
 import io.github.HenriqueMichelini.craftalism.api.dto.MarketQuoteResponseDTO;
 import io.github.HenriqueMichelini.craftalism.api.dto.MarketRejectionResponseDTO;
@@ -11,6 +17,8 @@ import io.github.HenriqueMichelini.craftalism.api.dto.MarketTradeHistoryDTO;
 import io.github.HenriqueMichelini.craftalism.api.dto.MarketTradeHistoryFilterDTO;
 import io.github.HenriqueMichelini.craftalism.api.dto.PageResponseDTO;
 import io.github.HenriqueMichelini.craftalism.api.market.application.MarketService;
+import io.github.HenriqueMichelini.craftalism.api.market.application.query.MarketDeltaStream;
+import io.github.HenriqueMichelini.craftalism.api.market.application.query.MarketSnapshotService;
 import io.github.HenriqueMichelini.craftalism.api.market.application.query.MarketTradeHistoryReadService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -23,6 +31,10 @@ import jakarta.validation.Valid;
 import java.time.Instant;
 import org.springframework.data.domain.Pageable;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -32,6 +44,7 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequestMapping("/api/market")
@@ -43,18 +56,21 @@ public class MarketController {
 
     private final MarketService marketService;
     private final MarketTradeHistoryReadService tradeHistoryReadService;
+    private final MarketDeltaStream deltaStream;
 
     public MarketController(
         MarketService marketService,
-        MarketTradeHistoryReadService tradeHistoryReadService
+        MarketTradeHistoryReadService tradeHistoryReadService,
+        MarketDeltaStream deltaStream
     ) {
         this.marketService = marketService;
         this.tradeHistoryReadService = tradeHistoryReadService;
+        this.deltaStream = deltaStream;
     }
 
     @Operation(
         summary = "Get market snapshot",
-        description = "Returns the authoritative market snapshot used for browsing and stale detection."
+        description = "Returns the authoritative market snapshot used for browsing and stale detection. The ETag is the snapshotVersion; send it back in If-None-Match to get 304 while the market is unchanged."
     )
     @ApiResponses({
         @ApiResponse(
@@ -66,10 +82,105 @@ public class MarketController {
                 )
             )
         ),
+        @ApiResponse(
+            responseCode = "304",
+            description = "Market snapshot unchanged since the If-None-Match version"
+        ),
     })
     @GetMapping("/snapshot")
-    public ResponseEntity<MarketSnapshotResponseDTO> getSnapshot() {
-        return ResponseEntity.ok(marketService.getSnapshot());
+    public ResponseEntity<MarketSnapshotResponseDTO> getSnapshot(
+        @RequestHeader(
+            name = HttpHeaders.IF_NONE_MATCH,
+            required = false
+        ) String ifNoneMatch
+    ) {
+        MarketSnapshotService.ConditionalSnapshot result =
+            marketService.getSnapshot(snapshotVersion ->
+                matchesIfNoneMatch(ifNoneMatch, snapshotVersion)
+            );
+        if (result.notModified()) {
+            return ResponseEntity
+                .status(HttpStatus.NOT_MODIFIED)
+                .eTag(result.snapshotVersion())
+                .cacheControl(CacheControl.noCache())
+                .build();
+        }
+        return ResponseEntity
+            .ok()
+            .eTag(result.snapshotVersion())
+            .cacheControl(CacheControl.noCache())
+            .body(result.snapshot());
+    }
+
+    @Operation(
+        summary = "Get market item",
+        description = "Returns the authoritative state of one snapshot item with the current market-wide snapshot version."
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "Market item returned successfully",
+            content = @Content(
+                schema = @Schema(
+                    implementation = MarketItemRefreshResponseDTO.class
+                )
+            )
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Market item is not part of the snapshot"
+        ),
+    })
+    @GetMapping("/items/{itemId}")
+    public ResponseEntity<MarketItemRefreshResponseDTO> getItem(
+        @PathVariable String itemId
+    ) {
+        return ResponseEntity.ok(marketService.getItem(itemId));
+    }
+
+    @Operation(
+        summary = "Get market category",
+        description = "Returns the authoritative state of one snapshot category with the current market-wide snapshot version."
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "Market category returned successfully",
+            content = @Content(
+                schema = @Schema(
+                    implementation = MarketCategoryRefreshResponseDTO.class
+                )
+            )
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Market category has no snapshot items"
+        ),
+    })
+    @GetMapping("/categories/{categoryId}")
+    public ResponseEntity<MarketCategoryRefreshResponseDTO> getCategory(
+        @PathVariable String categoryId
+    ) {
+        return ResponseEntity.ok(marketService.getCategory(categoryId));
+    }
+
+    @Operation(
+        summary = "Stream market deltas",
+        description = "Server-sent event stream of committed market changes. 'delta' events carry one item's snapshot state with the new snapshotVersion (a null item means the item left the snapshot); 'resync' events ask the client to reload the snapshot, for example after subscribing or when its buffer overflowed."
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "Market delta stream opened"
+        ),
+        @ApiResponse(
+            responseCode = "503",
+            description = "Market stream is at its subscriber limit"
+        ),
+    })
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream() {
+        return deltaStream.subscribe();
     }
 
     @Operation(
@@ -191,6 +302,70 @@ public class MarketController {
         );
     }
 
+    @Operation(
+        summary = "Create market quotes in batch",
+        description = "Quotes up to craftalism.market.quote-batch.max-lines lines for one player against a single snapshot evaluation. Each line succeeds with a quote or is rejected with its own code; market, player, rate-limit and snapshot rejections apply to the whole batch."
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "Batch evaluated; see each line's status",
+            content = @Content(
+                schema = @Schema(
+                    implementation = MarketBatchQuoteResponseDTO.class
+                )
+            )
+        ),
+        @ApiResponse(
+            responseCode = "409",
+            description = "Batch rejected because the snapshot is stale",
+            content = @Content(
+                schema = @Schema(
+                    implementation = MarketRejectionResponseDTO.class
+                )
+            )
+        ),
+        @ApiResponse(
+            responseCode = "422",
+            description = "Batch rejected because it has too many lines",
+            content = @Content(
+                schema = @Schema(
+                    implementation = MarketRejectionResponseDTO.class
+                )
+            )
+        ),
+        @ApiResponse(
+            responseCode = "503",
+            description = "Batch rejected because the market is closed or authenticated player context is unavailable",
+            content = @Content(
+                schema = @Schema(
+                    implementation = MarketRejectionResponseDTO.class
+                )
+            )
+        ),
+    })
+    @PostMapping("/quotes/batch")
+    public ResponseEntity<MarketBatchQuoteResponseDTO> quoteBatch(
+        JwtAuthenticationToken authentication,
+        @RequestHeader(
+            name = "X-Craftalism-Player-Uuid",
+            required = false
+        ) String playerUuidHeader,
+        @RequestBody(
+            description = "Batch quote request payload",
+            required = true,
+            content = @Content(
+                schema = @Schema(
+                    implementation = MarketBatchQuoteRequestDTO.class
+                )
+            )
+        ) @Valid @org.springframework.web.bind.annotation.RequestBody MarketBatchQuoteRequestDTO request
+    ) {
+        return ResponseEntity.ok(
+            marketService.quoteBatch(authentication, request, playerUuidHeader)
+        );
+    }
+
     @Operation(
         summary = "Execute market trade",
         description = "Executes a quote-backed market trade and returns the updated item state."
@@ -261,4 +436,108 @@ public class MarketController {
             marketService.execute(authentication, request, playerUuidHeader)
         );
     }
+
+    @Operation(
+        summary = "Execute market basket",
+        description = "Executes several quote-backed trades atomically: either every line executes or none does. The player's balance changes once by the net amount."
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "Basket executed successfully",
+            content = @Content(
+                schema = @Schema(
+                    implementation = MarketBasketExecuteResponseDTO.class
+                )
+            )
+        ),
+        @ApiResponse(
+            responseCode = "409",
+            description = "Basket rejected because a quote is stale or expired",
+            content = @Content(
+                schema = @Schema(
+                    implementation = MarketRejectionResponseDTO.class
+                )
+            )
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Basket rejected because a market item does not exist",
+            content = @Content(
+                schema = @Schema(
+                    implementation = MarketRejectionResponseDTO.class
+                )
+            )
+        ),
+        @ApiResponse(
+            responseCode = "422",
+            description = "Basket rejected due to business constraints or too many lines",
+            content = @Content(
+                schema = @Schema(
+                    implementation = MarketRejectionResponseDTO.class
+                )
+            )
+        ),
+        @ApiResponse(
+            responseCode = "503",
+            description = "Basket rejected because the market is closed or authenticated player context is unavailable",
+            content = @Content(
+                schema = @Schema(
+                    implementation = MarketRejectionResponseDTO.class
+                )
+            )
+        ),
+    })
+    @PostMapping("/execute/basket")
+    public ResponseEntity<MarketBasketExecuteResponseDTO> executeBasket(
+        JwtAuthenticationToken authentication,
+        @RequestHeader(
+            name = "X-Craftalism-Player-Uuid",
+            required = false
+        ) String playerUuidHeader,
+        @RequestBody(
+            description = "Basket execution request payload",
+            required = true,
+            content = @Content(
+                schema = @Schema(
+                    implementation = MarketBasketExecuteRequestDTO.class
+                )
+            )
+        ) @Valid @org.springframework.web.bind.annotation.RequestBody MarketBasketExecuteRequestDTO request
+    ) {
+        return ResponseEntity.ok(
+            marketService.executeBasket(
+                authentication,
+                request,
+                playerUuidHeader
+            )
+        );
+    }
+
+    private static boolean matchesIfNoneMatch(
+        String ifNoneMatch,
+        String snapshotVersion
+    ) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (
+                tag.length() >= 2 && tag.startsWith("\"") && tag.endsWith("\"")
+            ) {
+                tag = tag.substring(1, tag.length() - 1);
+            }
+            if (tag.equals(snapshotVersion)) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
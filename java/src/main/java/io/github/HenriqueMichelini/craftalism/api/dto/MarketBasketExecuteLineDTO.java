@@ -0,0 +1,26 @@
+package io.github.HenriqueMichelini.craftalism.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+public record MarketBasketExecuteLineDTO(
+    @Schema(description = "Market item identifier", example = "wheat")
+    @NotBlank(message = "Item ID is required")
+    String itemId,
+
+    @Schema(description = "Trade side", example = "SELL")
+    @NotNull(message = "Side is required")
+    MarketSide side,
+
+    @Schema(description = "Requested quantity", example = "64", minimum = "1")
+    @NotNull(message = "Quantity is required")
+    Long quantity,
+
+    @Schema(
+        description = "Opaque quote token returned by the quote endpoints",
+        example = "7f719e24-d0e3-4ded-b6ff-52c0d1eb7b7f"
+    )
+    @NotBlank(message = "Quote token is required")
+    String quoteToken
+) {}
@@ -0,0 +1,21 @@
+package io.github.HenriqueMichelini.craftalism.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+
+public record MarketBasketExecuteResponseDTO(
+    @Schema(description = "Execution status", example = "SUCCESS")
+    String status,
+
+    @Schema(
+        description = "Net balance change applied to the player; negative when the basket cost more than it paid",
+        example = "-120"
+    )
+    String netAmount,
+
+    @Schema(description = "Snapshot version after execution", example = "market:9c8877")
+    String snapshotVersion,
+
+    @Schema(description = "One executed trade per requested line, in request order")
+    List<MarketExecuteSuccessResponseDTO> trades
+) {}
@@ -0,0 +1,19 @@
+package io.github.HenriqueMichelini.craftalism.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+public record MarketBatchQuoteLineDTO(
+    @Schema(description = "Market item identifier", example = "wheat")
+    @NotBlank(message = "Item ID is required")
+    String itemId,
+
+    @Schema(description = "Trade side", example = "SELL")
+    @NotNull(message = "Side is required")
+    MarketSide side,
+
+    @Schema(description = "Requested quantity", example = "64", minimum = "1")
+    @NotNull(message = "Quantity is required")
+    Long quantity
+) {}
@@ -0,0 +1,14 @@
+package io.github.HenriqueMichelini.craftalism.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+public record MarketBatchQuoteLineResultDTO(
+    @Schema(description = "Line outcome", example = "SUCCESS")
+    String status,
+
+    @Schema(description = "Quote for the line, present when the line succeeded")
+    MarketQuoteResponseDTO quote,
+
+    @Schema(description = "Rejection for the line, present when the line was rejected")
+    MarketRejectionResponseDTO rejection
+) {}
@@ -0,0 +1,26 @@
+package io.github.HenriqueMichelini.craftalism.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import java.util.List;
+
+public record MarketBatchQuoteRequestDTO(
+    @Schema(description = "Lines to quote, each priced independently against the same snapshot")
+    @NotEmpty(message = "At least one line is required")
+    List<@Valid MarketBatchQuoteLineDTO> lines,
+
+    @Schema(
+        description = "Opaque market snapshot version used for stale detection",
+        example = "market:9c8877"
+    )
+    @NotBlank(message = "Snapshot version is required")
+    String snapshotVersion,
+
+    @Schema(
+        description = "Bukkit player UUID supplied by the trusted Minecraft server client",
+        example = "220e8400-e29b-41d4-a716-446655440000"
+    )
+    String playerUuid
+) {}
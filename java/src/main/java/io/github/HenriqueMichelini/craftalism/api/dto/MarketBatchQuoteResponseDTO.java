@@ -0,0 +1,12 @@
+package io.github.HenriqueMichelini.craftalism.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+
+public record MarketBatchQuoteResponseDTO(
+    @Schema(description = "Authoritative market-wide snapshot version", example = "market:9c8877")
+    String snapshotVersion,
+
+    @Schema(description = "One result per requested line, in request order")
+    List<MarketBatchQuoteLineResultDTO> results
+) {}
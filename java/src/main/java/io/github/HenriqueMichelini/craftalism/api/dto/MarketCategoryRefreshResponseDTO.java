@@ -0,0 +1,19 @@
+package io.github.HenriqueMichelini.craftalism.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+public record MarketCategoryRefreshResponseDTO(
+    @Schema(
+        description = "Opaque market-wide stale detection token, identical to the snapshot token",
+        example = "market:9c8877"
+    )
+    String snapshotVersion,
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @Schema(description = "Fuzzy active named event context when one is active")
+    MarketActiveEventContextDTO activeEvent,
+
+    @Schema(description = "Authoritative category state, as in the market snapshot")
+    MarketSnapshotCategoryDTO category
+) {}
@@ -0,0 +1,41 @@
+package io.github.HenriqueMichelini.craftalism.api.dto;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import java.math.BigDecimal;
+
+/**
+ * Candidate pricing configuration for one item. Omitted fields keep the
+ * item's current value.
+ */
+public record MarketReplayItemConfigDTO(
+    @NotBlank(message = "Item ID is required")
+    String itemId,
+
+    @Positive(message = "Base unit price must be positive")
+    Long baseUnitPrice,
+
+    @Positive(message = "Minimum unit price must be positive")
+    Long minUnitPrice,
+
+    @Positive(message = "Maximum unit price must be positive")
+    Long maxUnitPrice,
+
+    @Positive(message = "Segment size must be positive")
+    Long segmentSize,
+
+    @DecimalMin(value = "0.0001", message = "Price sensitivity must be positive")
+    BigDecimal priceSensitivity,
+
+    @PositiveOrZero(message = "Base regen quantity must be zero or positive")
+    Long baseRegenQuantity,
+
+    @Positive(message = "Regen interval seconds must be positive")
+    Long regenIntervalSeconds,
+
+    Long minNetPosition,
+
+    Long maxNetPosition
+) {}
@@ -0,0 +1,19 @@
+package io.github.HenriqueMichelini.craftalism.api.dto;
+
+import java.util.List;
+
+public record MarketReplayItemReportDTO(
+    String itemId,
+    long tradeCount,
+    long rejectedTradeCount,
+    long historicalMoneyCreated,
+    long historicalMoneyDestroyed,
+    long replayedMoneyCreated,
+    long replayedMoneyDestroyed,
+    long priceCeilingHits,
+    long priceFloorHits,
+    long finalNetPosition,
+    long finalBuyUnitPrice,
+    long finalSellUnitPrice,
+    List<MarketReplayPricePointDTO> pricePath
+) {}
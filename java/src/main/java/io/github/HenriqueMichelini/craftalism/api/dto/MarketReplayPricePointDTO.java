@@ -0,0 +1,10 @@
+package io.github.HenriqueMichelini.craftalism.api.dto;
+
+import java.time.Instant;
+
+public record MarketReplayPricePointDTO(
+    Instant at,
+    long netPosition,
+    long buyUnitPrice,
+    long sellUnitPrice
+) {}
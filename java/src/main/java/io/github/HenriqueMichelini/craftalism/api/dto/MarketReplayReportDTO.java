@@ -0,0 +1,19 @@
+package io.github.HenriqueMichelini.craftalism.api.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+public record MarketReplayReportDTO(
+    Instant executedFrom,
+    Instant executedTo,
+    long tradeCount,
+    long skippedTradeCount,
+    long rejectedTradeCount,
+    long historicalMoneyCreated,
+    long historicalMoneyDestroyed,
+    long replayedMoneyCreated,
+    long replayedMoneyDestroyed,
+    long priceCeilingHits,
+    long priceFloorHits,
+    List<MarketReplayItemReportDTO> items
+) {}
@@ -0,0 +1,16 @@
+package io.github.HenriqueMichelini.craftalism.api.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import java.time.Instant;
+import java.util.List;
+
+public record MarketReplayRequestDTO(
+    @NotNull(message = "Executed from is required")
+    Instant executedFrom,
+
+    @NotNull(message = "Executed to is required")
+    Instant executedTo,
+
+    List<@Valid MarketReplayItemConfigDTO> items
+) {}
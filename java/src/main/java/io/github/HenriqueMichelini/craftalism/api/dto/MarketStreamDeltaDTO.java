@@ -0,0 +1,25 @@
+package io.github.HenriqueMichelini.craftalism.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+public record MarketStreamDeltaDTO(
+    @Schema(
+        description = "Opaque market-wide stale detection token after the change, identical to the snapshot token",
+        example = "market:9c8877"
+    )
+    String snapshotVersion,
+
+    @Schema(description = "Changed item identifier", example = "wheat")
+    String itemId,
+
+    @Schema(
+        description = "Category identifier of the item, or null when the item left the snapshot",
+        example = "farming"
+    )
+    String categoryId,
+
+    @Schema(
+        description = "Authoritative item state, as in the market snapshot, or null when the item left the snapshot"
+    )
+    MarketSnapshotItemDTO item
+) {}
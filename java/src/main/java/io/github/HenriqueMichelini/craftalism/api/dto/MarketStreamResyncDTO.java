@@ -0,0 +1,17 @@
+package io.github.HenriqueMichelini.craftalism.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+public record MarketStreamResyncDTO(
+    @Schema(
+        description = "Opaque market-wide stale detection token, identical to the snapshot token",
+        example = "market:9c8877"
+    )
+    String snapshotVersion,
+
+    @Schema(
+        description = "Why the subscriber must reload the market snapshot",
+        example = "BUFFER_OVERFLOW"
+    )
+    String reason
+) {}
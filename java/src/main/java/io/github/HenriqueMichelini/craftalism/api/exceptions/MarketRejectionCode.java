@@ -13,4 +13,5 @@ public enum MarketRejectionCode {
     API_UNAVAILABLE,
     BALANCE_OVERFLOW,
     UNKNOWN_ITEM,
+    BATCH_TOO_LARGE,
 }
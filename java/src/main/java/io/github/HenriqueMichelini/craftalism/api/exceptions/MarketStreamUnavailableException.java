@@ -0,0 +1,13 @@
+package io.github.HenriqueMichelini.craftalism.api.exceptions;
+
+import org.springframework.http.HttpStatus;
+
+public class MarketStreamUnavailableException extends BusinessException {
+
+    public MarketStreamUnavailableException(int maxSubscribers) {
+        super(
+            "Market stream is at its limit of " + maxSubscribers + " subscribers.",
+            HttpStatus.SERVICE_UNAVAILABLE
+        );
+    }
+}
@@ -1,43 +1,68 @@
 package io.github.HenriqueMichelini.craftalism.api.market.application;
 
+import io.github.HenriqueMichelini.craftalism.api.dto.MarketBasketExecuteLineDTO;
+import io.github.HenriqueMichelini.craftalism.api.dto.MarketBasketExecuteRequestDTO;
+import io.github.HenriqueMichelini.craftalism.api.dto.MarketBasketExecuteResponseDTO;
+import io.github.HenriqueMichelini.craftalism.api.dto.MarketBatchQuoteLineDTO;
+import io.github.HenriqueMichelini.craftalism.api.dto.MarketBatchQuoteRequestDTO;
+import io.github.HenriqueMichelini.craftalism.api.dto.MarketBatchQuoteResponseDTO;
+import io.github.HenriqueMichelini.craftalism.api.dto.MarketCategoryRefreshResponseDTO;
 import io.github.HenriqueMichelini.craftalism.api.dto.MarketExecuteRequestDTO;
 import io.github.HenriqueMichelini.craftalism.api.dto.MarketExecuteSuccessResponseDTO;
+import io.github.HenriqueMichelini.craftalism.api.dto.MarketItemRefreshResponseDTO;
 import io.github.HenriqueMichelini.craftalism.api.dto.MarketQuoteRequestDTO;
 import io.github.HenriqueMichelini.craftalism.api.dto.MarketQuoteResponseDTO;
 import io.github.HenriqueMichelini.craftalism.api.dto.MarketSnapshotResponseDTO;
 import io.github.HenriqueMichelini.craftalism.api.market.infrastructure.bootstrap.MarketCatalogBootstrapper;
+import io.github.HenriqueMichelini.craftalism.api.market.infrastructure.metrics.MarketMetrics;
 import io.github.HenriqueMichelini.craftalism.api.market.infrastructure.store.MarketQuoteStore;
 import io.github.HenriqueMichelini.craftalism.api.market.application.command.MarketExecuteService;
 import io.github.HenriqueMichelini.craftalism.api.market.application.command.MarketQuoteService;
 import io.github.HenriqueMichelini.craftalism.api.market.application.query.MarketSnapshotService;
-import io.github.HenriqueMichelini.craftalism.api.model.MarketQuote;
-import io.github.HenriqueMichelini.craftalism.api.repository.MarketQuoteRepository;
+import java.util.function.Predicate;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
 import org.springframework.transaction.annotation.Transactional;
 
 public class MarketService {
 
     private final MarketQuoteStore quoteStore;
-    private final MarketQuoteRepository marketQuoteRepository;
     private final MarketCatalogBootstrapper catalogBootstrapper;
     private final MarketSnapshotService marketSnapshotService;
     private final MarketQuoteService marketQuoteService;
     private final MarketExecuteService marketExecuteService;
+    private final MarketMetrics metrics;
 
     public MarketService(
         MarketQuoteStore quoteStore,
-        MarketQuoteRepository marketQuoteRepository,
         MarketCatalogBootstrapper catalogBootstrapper,
         MarketSnapshotService marketSnapshotService,
         MarketQuoteService marketQuoteService,
         MarketExecuteService marketExecuteService
+    ) {
+        this(
+            quoteStore,
+            catalogBootstrapper,
+            marketSnapshotService,
+            marketQuoteService,
+            marketExecuteService,
+            MarketMetrics.disabled()
+        );
+    }
+
+    public MarketService(
+        MarketQuoteStore quoteStore,
+        MarketCatalogBootstrapper catalogBootstrapper,
+        MarketSnapshotService marketSnapshotService,
+        MarketQuoteService marketQuoteService,
+        MarketExecuteService marketExecuteService,
+        MarketMetrics metrics
     ) {
         this.quoteStore = quoteStore;
-        this.marketQuoteRepository = marketQuoteRepository;
         this.catalogBootstrapper = catalogBootstrapper;
         this.marketSnapshotService = marketSnapshotService;
         this.marketQuoteService = marketQuoteService;
         this.marketExecuteService = marketExecuteService;
+        this.metrics = metrics;
     }
 
     @Transactional
@@ -50,16 +75,59 @@ public class MarketService {
         return marketSnapshotService.getSnapshot();
     }
 
+    @Transactional
+    public MarketSnapshotService.ConditionalSnapshot getSnapshot(
+        Predicate<String> clientHasVersion
+    ) {
+        return marketSnapshotService.getSnapshot(clientHasVersion);
+    }
+
+    @Transactional
+    public MarketItemRefreshResponseDTO getItem(String itemId) {
+        return marketSnapshotService.itemRefresh(itemId);
+    }
+
+    @Transactional
+    public MarketCategoryRefreshResponseDTO getCategory(String categoryId) {
+        return marketSnapshotService.categoryRefresh(categoryId);
+    }
+
     @Transactional
     public MarketQuoteResponseDTO quote(
         JwtAuthenticationToken authentication,
         MarketQuoteRequestDTO request,
         String playerUuidHeader
     ) {
-        return marketQuoteService.quote(
-            authentication,
-            request,
-            playerUuidHeader
+        return metrics.timeRequest(
+            "quote",
+            MarketMetrics.side(request.side()),
+            () ->
+                marketQuoteService.quote(
+                    authentication,
+                    request,
+                    playerUuidHeader
+                )
+        );
+    }
+
+    @Transactional
+    public MarketBatchQuoteResponseDTO quoteBatch(
+        JwtAuthenticationToken authentication,
+        MarketBatchQuoteRequestDTO request,
+        String playerUuidHeader
+    ) {
+        return metrics.timeRequest(
+            "quote_batch",
+            MarketMetrics.side(
+                request.lines(),
+                MarketBatchQuoteLineDTO::side
+            ),
+            () ->
+                marketQuoteService.quoteBatch(
+                    authentication,
+                    request,
+                    playerUuidHeader
+                )
         );
     }
 
@@ -69,10 +137,36 @@ public class MarketService {
         MarketExecuteRequestDTO request,
         String playerUuidHeader
     ) {
-        return marketExecuteService.execute(
-            authentication,
-            request,
-            playerUuidHeader
+        return metrics.timeRequest(
+            "execute",
+            MarketMetrics.side(request.side()),
+            () ->
+                marketExecuteService.execute(
+                    authentication,
+                    request,
+                    playerUuidHeader
+                )
+        );
+    }
+
+    @Transactional
+    public MarketBasketExecuteResponseDTO executeBasket(
+        JwtAuthenticationToken authentication,
+        MarketBasketExecuteRequestDTO request,
+        String playerUuidHeader
+    ) {
+        return metrics.timeRequest(
+            "execute_basket",
+            MarketMetrics.side(
+                request.lines(),
+                MarketBasketExecuteLineDTO::side
+            ),
+            () ->
+                marketExecuteService.executeBasket(
+                    authentication,
+                    request,
+                    playerUuidHeader
+                )
         );
     }
 
@@ -83,7 +177,6 @@ public class MarketService {
 
     @Transactional
     public long activeQuoteCount() {
-        quoteStore.expireActiveQuotes();
-        return marketQuoteRepository.countByStatus(MarketQuote.Status.ACTIVE);
+        return quoteStore.activeQuoteCount();
     }
 }
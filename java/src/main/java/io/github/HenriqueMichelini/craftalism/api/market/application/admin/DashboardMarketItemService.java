@@ -11,17 +11,15 @@ import io.github.HenriqueMichelini.craftalism.api.market.domain.catalog.DefaultM
 import io.github.HenriqueMichelini.craftalism.api.market.domain.catalog.MarketItemConfigurationValidator;
 import io.github.HenriqueMichelini.craftalism.api.market.domain.catalog.MarketSeedItem;
 import io.github.HenriqueMichelini.craftalism.api.market.domain.trade.MarketTradePlanner;
+import io.github.HenriqueMichelini.craftalism.api.market.infrastructure.store.MarketQuoteStore;
 import io.github.HenriqueMichelini.craftalism.api.model.MarketCategory;
 import io.github.HenriqueMichelini.craftalism.api.model.MarketItem;
-import io.github.HenriqueMichelini.craftalism.api.model.MarketQuote;
 import io.github.HenriqueMichelini.craftalism.api.repository.MarketCategoryRepository;
 import io.github.HenriqueMichelini.craftalism.api.repository.MarketItemRepository;
-import io.github.HenriqueMichelini.craftalism.api.repository.MarketQuoteRepository;
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.List;
 import java.util.Set;
-import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -45,7 +43,7 @@ public class DashboardMarketItemService {
 
     private final MarketItemRepository marketItemRepository;
     private final MarketCategoryRepository marketCategoryRepository;
-    private final MarketQuoteRepository marketQuoteRepository;
+    private final MarketQuoteStore quoteStore;
     private final MarketSnapshotStateLoader marketSnapshotStateLoader;
     private final MarketTradePlanner tradePlanner;
     private final Set<String> defaultCatalogItemIds;
@@ -55,14 +53,14 @@ public class DashboardMarketItemService {
     public DashboardMarketItemService(
         MarketItemRepository marketItemRepository,
         MarketCategoryRepository marketCategoryRepository,
-        MarketQuoteRepository marketQuoteRepository,
+        MarketQuoteStore quoteStore,
         DefaultMarketCatalog defaultMarketCatalog,
         MarketSnapshotStateLoader marketSnapshotStateLoader,
         MarketTradePlanner tradePlanner
     ) {
         this.marketItemRepository = marketItemRepository;
         this.marketCategoryRepository = marketCategoryRepository;
-        this.marketQuoteRepository = marketQuoteRepository;
+        this.quoteStore = quoteStore;
         this.marketSnapshotStateLoader = marketSnapshotStateLoader;
         this.tradePlanner = tradePlanner;
         this.defaultCatalogItemIds = defaultMarketCatalog
@@ -74,28 +72,24 @@ public class DashboardMarketItemService {
 
     @Transactional
     public List<MarketItem> getAllMarketItems() {
-        return withPricingCache(() -> {
-            List<MarketItem> items = marketSnapshotStateLoader.refreshedItems();
-            items.forEach(tradePlanner::recomputeDerivedProjections);
-            return items;
-        });
+        List<MarketItem> items = marketSnapshotStateLoader.refreshedItems();
+        items.forEach(tradePlanner::recomputeDerivedProjections);
+        return items;
     }
 
     @Transactional
     public MarketItem createMarketItem(MarketItemCreateRequestDTO request) {
-        return withPricingCache(() -> {
-            String itemId = request.itemId().trim();
-            if (
-                marketItemRepository.existsById(itemId)
-            ) throw new MarketItemAlreadyExistsException(itemId);
-
-            MarketItem item = new MarketItem();
-            item.setItemId(itemId);
-            item.setCategory(getMarketCategory(request.categoryId().trim()));
-            item.setDisplayName(request.displayName().trim());
-            applyCreateValues(item, request);
-            return marketItemRepository.save(item);
-        });
+        String itemId = request.itemId().trim();
+        if (
+            marketItemRepository.existsById(itemId)
+        ) throw new MarketItemAlreadyExistsException(itemId);
+
+        MarketItem item = new MarketItem();
+        item.setItemId(itemId);
+        item.setCategory(getMarketCategory(request.categoryId().trim()));
+        item.setDisplayName(request.displayName().trim());
+        applyCreateValues(item, request);
+        return marketItemRepository.save(item);
     }
 
     @Transactional
@@ -103,11 +97,9 @@ public class DashboardMarketItemService {
         String itemId,
         MarketItemUpdateRequestDTO request
     ) {
-        return withPricingCache(() -> {
-            MarketItem item = getMarketItem(itemId);
-            applyUpdateValues(item, request);
-            return marketItemRepository.save(item);
-        });
+        MarketItem item = getMarketItem(itemId);
+        applyUpdateValues(item, request);
+        return marketItemRepository.save(item);
     }
 
     @Transactional
@@ -117,10 +109,7 @@ public class DashboardMarketItemService {
             defaultCatalogItemIds.contains(item.getItemId())
         ) throw new MarketItemManagedByCatalogException(itemId);
         if (
-            marketQuoteRepository.existsByItemIdAndStatus(
-                itemId,
-                MarketQuote.Status.ACTIVE
-            )
+            quoteStore.hasActiveQuotes(itemId)
         ) throw new MarketItemInUseException(itemId);
 
         marketItemRepository.delete(item);
@@ -236,13 +225,4 @@ public class DashboardMarketItemService {
     ) {
         return value == null ? defaultValue : value;
     }
-
-    private <T> T withPricingCache(Supplier<T> operation) {
-        tradePlanner.clearPricingCache();
-        try {
-            return operation.get();
-        } finally {
-            tradePlanner.clearPricingCache();
-        }
-    }
 }
@@ -28,26 +28,21 @@ public class MarketDriftAdminService {
 
     @Transactional
     public MarketDriftResetResponseDTO resetAllDrift() {
-        tradePlanner.clearPricingCache();
-        try {
-            Instant now = Instant.now();
-            List<MarketItem> items = marketItemRepository.findAll();
-            for (MarketItem item : items) {
-                item.setDriftMultiplierBasisPoints(
-                    NEUTRAL_MULTIPLIER_BASIS_POINTS
-                );
-                item.setDriftRevision(item.getDriftRevision() + 1L);
-                item.setDriftEvaluatedAt(now);
-                tradePlanner.recomputeDerivedProjections(item);
-            }
-            marketItemRepository.saveAll(items);
-            return new MarketDriftResetResponseDTO(
-                items.size(),
-                NEUTRAL_MULTIPLIER_BASIS_POINTS,
-                now
+        Instant now = Instant.now();
+        List<MarketItem> items = marketItemRepository.findAll();
+        for (MarketItem item : items) {
+            item.setDriftMultiplierBasisPoints(
+                NEUTRAL_MULTIPLIER_BASIS_POINTS
             );
-        } finally {
-            tradePlanner.clearPricingCache();
+            item.setDriftRevision(item.getDriftRevision() + 1L);
+            item.setDriftEvaluatedAt(now);
+            tradePlanner.recomputeDerivedProjections(item);
         }
+        marketItemRepository.saveAll(items);
+        return new MarketDriftResetResponseDTO(
+            items.size(),
+            NEUTRAL_MULTIPLIER_BASIS_POINTS,
+            now
+        );
     }
 }
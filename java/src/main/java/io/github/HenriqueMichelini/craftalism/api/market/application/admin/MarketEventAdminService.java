@@ -97,16 +97,14 @@ public class MarketEventAdminService {
         );
         Instant now = Instant.now();
         reconcileExpiredEvents(now);
-        lifecycleService
-            .effectiveActiveEvent(now)
-            .ifPresent(active ->
-                lifecycleService.end(
-                    active,
-                    MarketEventStatus.SUPERSEDED,
-                    MarketEventEndReason.SUPERSEDED,
-                    now
-                )
+        for (MarketEventInstance active : lifecycleService.effectiveActiveEvents(now)) {
+            lifecycleService.end(
+                active,
+                MarketEventStatus.SUPERSEDED,
+                MarketEventEndReason.SUPERSEDED,
+                now
             );
+        }
         return startEvent(request, actor, template, effectBasisPoints, now);
     }
 
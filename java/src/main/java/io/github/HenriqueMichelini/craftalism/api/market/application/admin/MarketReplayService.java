@@ -0,0 +1,200 @@
+package io.github.HenriqueMichelini.craftalism.api.market.application.admin;
+
+import io.github.HenriqueMichelini.craftalism.api.dto.MarketReplayItemConfigDTO;
+import io.github.HenriqueMichelini.craftalism.api.dto.MarketReplayReportDTO;
+import io.github.HenriqueMichelini.craftalism.api.dto.MarketReplayRequestDTO;
+import io.github.HenriqueMichelini.craftalism.api.exceptions.MarketItemNotFoundException;
+import io.github.HenriqueMichelini.craftalism.api.exceptions.MarketItemValidationException;
+import io.github.HenriqueMichelini.craftalism.api.market.domain.catalog.MarketItemConfigurationValidator;
+import io.github.HenriqueMichelini.craftalism.api.market.domain.replay.MarketReplaySimulator;
+import io.github.HenriqueMichelini.craftalism.api.market.domain.replay.MarketReplayTrade;
+import io.github.HenriqueMichelini.craftalism.api.model.MarketItem;
+import io.github.HenriqueMichelini.craftalism.api.repository.MarketItemRepository;
+import io.github.HenriqueMichelini.craftalism.api.repository.MarketTradeHistoryRepository;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+/**
+ * Replays {@code market_trade_history} under candidate item configurations
+ * without touching live market state. Trades are streamed in execution order
+ * with keyset pagination, each chunk in its own short read, and handed to a
+ * {@link MarketReplaySimulator}, which reprices items in parallel.
+ */
+@Slf4j
+@Service
+public class MarketReplayService {
+
+    private final MarketItemRepository marketItemRepository;
+    private final MarketTradeHistoryRepository tradeHistoryRepository;
+    private final MarketItemConfigurationValidator configurationValidator =
+        new MarketItemConfigurationValidator();
+    private final ForkJoinPool pool;
+    private final int chunkSize;
+    private final int maxPricePathPoints;
+
+    @Autowired
+    public MarketReplayService(
+        MarketItemRepository marketItemRepository,
+        MarketTradeHistoryRepository tradeHistoryRepository,
+        @Value("${craftalism.market.replay.chunk-size:10000}") int chunkSize,
+        @Value("${craftalism.market.replay.max-price-path-points:500}") int maxPricePathPoints
+    ) {
+        this(
+            marketItemRepository,
+            tradeHistoryRepository,
+            ForkJoinPool.commonPool(),
+            chunkSize,
+            maxPricePathPoints
+        );
+    }
+
+    MarketReplayService(
+        MarketItemRepository marketItemRepository,
+        MarketTradeHistoryRepository tradeHistoryRepository,
+        ForkJoinPool pool,
+        int chunkSize,
+        int maxPricePathPoints
+    ) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException(
+                "craftalism.market.replay.chunk-size must be positive."
+            );
+        }
+        if (maxPricePathPoints < 2) {
+            throw new IllegalArgumentException(
+                "craftalism.market.replay.max-price-path-points must be at least 2."
+            );
+        }
+        this.marketItemRepository = marketItemRepository;
+        this.tradeHistoryRepository = tradeHistoryRepository;
+        this.pool = pool;
+        this.chunkSize = chunkSize;
+        this.maxPricePathPoints = maxPricePathPoints;
+    }
+
+    public MarketReplayReportDTO replay(MarketReplayRequestDTO request) {
+        if (!request.executedFrom().isBefore(request.executedTo())) {
+            throw new MarketItemValidationException(
+                "Replay executedFrom must be before executedTo"
+            );
+        }
+        MarketReplaySimulator simulator = new MarketReplaySimulator(
+            candidates(request.items()),
+            request.executedFrom(),
+            maxPricePathPoints,
+            pool
+        );
+
+        long startNanos = System.nanoTime();
+        long chunkCount = 0L;
+        Instant afterExecutedAt = request.executedFrom();
+        long afterId = Long.MIN_VALUE;
+        List<MarketReplayTrade> chunk;
+        do {
+            chunk = tradeHistoryRepository.findReplayChunk(
+                request.executedFrom(),
+                request.executedTo(),
+                afterExecutedAt,
+                afterId,
+                Limit.of(chunkSize)
+            );
+            if (chunk.isEmpty()) {
+                break;
+            }
+            simulator.apply(chunk);
+            MarketReplayTrade last = chunk.get(chunk.size() - 1);
+            afterExecutedAt = last.executedAt();
+            afterId = last.id();
+            chunkCount++;
+        } while (chunk.size() == chunkSize);
+
+        MarketReplayReportDTO report = simulator.report(request.executedTo());
+        log.info(
+            "market.replay trades={} chunks={} items={} totalMs={}",
+            report.tradeCount() + report.skippedTradeCount(),
+            chunkCount,
+            report.items().size(),
+            (System.nanoTime() - startNanos) / 1_000_000L
+        );
+        return report;
+    }
+
+    private List<MarketItem> candidates(
+        List<MarketReplayItemConfigDTO> configs
+    ) {
+        Map<String, MarketItem> candidates = new LinkedHashMap<>();
+        for (MarketItem item : marketItemRepository.findAll()) {
+            candidates.put(item.getItemId(), candidate(item));
+        }
+        if (configs != null) {
+            for (MarketReplayItemConfigDTO config : configs) {
+                MarketItem candidate = candidates.get(config.itemId());
+                if (candidate == null) {
+                    throw new MarketItemNotFoundException(config.itemId());
+                }
+                applyConfig(candidate, config);
+                configurationValidator.validate(candidate);
+            }
+        }
+        return List.copyOf(candidates.values());
+    }
+
+    private MarketItem candidate(MarketItem item) {
+        MarketItem candidate = new MarketItem();
+        candidate.setItemId(item.getItemId());
+        candidate.setCategoryId(item.getCategoryId());
+        candidate.setCurrency(item.getCurrency());
+        candidate.setBaseUnitPrice(item.getBaseUnitPrice());
+        candidate.setMinUnitPrice(item.getMinUnitPrice());
+        candidate.setMaxUnitPrice(item.getMaxUnitPrice());
+        candidate.setSegmentSize(item.getSegmentSize());
+        candidate.setPriceSensitivity(item.getPriceSensitivity());
+        candidate.setSellPricePercentage(item.getSellPricePercentage());
+        candidate.setBaseRegenQuantity(item.getBaseRegenQuantity());
+        candidate.setRegenIntervalSeconds(item.getRegenIntervalSeconds());
+        candidate.setMinNetPosition(item.getMinNetPosition());
+        candidate.setMaxNetPosition(item.getMaxNetPosition());
+        return candidate;
+    }
+
+    private void applyConfig(
+        MarketItem candidate,
+        MarketReplayItemConfigDTO config
+    ) {
+        if (config.baseUnitPrice() != null) {
+            candidate.setBaseUnitPrice(config.baseUnitPrice());
+        }
+        if (config.minUnitPrice() != null) {
+            candidate.setMinUnitPrice(config.minUnitPrice());
+        }
+        if (config.maxUnitPrice() != null) {
+            candidate.setMaxUnitPrice(config.maxUnitPrice());
+        }
+        if (config.segmentSize() != null) {
+            candidate.setSegmentSize(config.segmentSize());
+        }
+        if (config.priceSensitivity() != null) {
+            candidate.setPriceSensitivity(config.priceSensitivity());
+        }
+        if (config.baseRegenQuantity() != null) {
+            candidate.setBaseRegenQuantity(config.baseRegenQuantity());
+        }
+        if (config.regenIntervalSeconds() != null) {
+            candidate.setRegenIntervalSeconds(config.regenIntervalSeconds());
+        }
+        if (config.minNetPosition() != null) {
+            candidate.setMinNetPosition(config.minNetPosition());
+        }
+        if (config.maxNetPosition() != null) {
+            candidate.setMaxNetPosition(config.maxNetPosition());
+        }
+    }
+}
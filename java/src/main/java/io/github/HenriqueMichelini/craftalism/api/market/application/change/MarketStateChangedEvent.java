@@ -0,0 +1,19 @@
+package io.github.HenriqueMichelini.craftalism.api.market.application.change;
+
+/**
+ * Published whenever persisted market state changes. A {@code null} item id
+ * means the change can affect every item (category, event or template edits).
+ */
+public record MarketStateChangedEvent(String itemId) {
+    public static MarketStateChangedEvent item(String itemId) {
+        return new MarketStateChangedEvent(itemId);
+    }
+
+    public static MarketStateChangedEvent all() {
+        return new MarketStateChangedEvent(null);
+    }
+
+    public boolean affectsAllItems() {
+        return itemId == null;
+    }
+}
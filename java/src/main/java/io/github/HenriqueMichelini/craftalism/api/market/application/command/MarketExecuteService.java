@@ -1,9 +1,15 @@
 package io.github.HenriqueMichelini.craftalism.api.market.application.command;
 
+import io.github.HenriqueMichelini.craftalism.api.config.MarketSettings;
+import io.github.HenriqueMichelini.craftalism.api.dto.MarketBasketExecuteLineDTO;
+import io.github.HenriqueMichelini.craftalism.api.dto.MarketBasketExecuteRequestDTO;
+import io.github.HenriqueMichelini.craftalism.api.dto.MarketBasketExecuteResponseDTO;
 import io.github.HenriqueMichelini.craftalism.api.dto.MarketExecuteRequestDTO;
 import io.github.HenriqueMichelini.craftalism.api.dto.MarketExecuteSuccessResponseDTO;
+import io.github.HenriqueMichelini.craftalism.api.dto.MarketSide;
 import io.github.HenriqueMichelini.craftalism.api.exceptions.MarketRejectionCode;
 import io.github.HenriqueMichelini.craftalism.api.exceptions.MarketRejectionException;
+import io.github.HenriqueMichelini.craftalism.api.market.infrastructure.metrics.MarketMetrics;
 import io.github.HenriqueMichelini.craftalism.api.market.infrastructure.store.MarketQuoteStore;
 import io.github.HenriqueMichelini.craftalism.api.market.domain.trade.MarketTradeRequestPolicy;
 import io.github.HenriqueMichelini.craftalism.api.market.application.query.MarketSnapshotService;
@@ -11,6 +17,10 @@ import io.github.HenriqueMichelini.craftalism.api.model.MarketItem;
 import io.github.HenriqueMichelini.craftalism.api.model.MarketQuote;
 import io.github.HenriqueMichelini.craftalism.api.repository.MarketItemRepository;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 import java.util.UUID;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
@@ -23,6 +33,9 @@ public final class MarketExecuteService {
     private final MarketTradeExecutor tradeExecutor;
     private final MarketPlayerResolver playerResolver;
     private final MarketTradeRequestPolicy requestPolicy;
+    private final int basketMaxLines;
+    private final MarketTradeCombiner tradeCombiner;
+    private final MarketOptimisticTradeApplier optimisticTradeApplier;
 
     public MarketExecuteService(
         MarketItemRepository marketItemRepository,
@@ -31,6 +44,81 @@ public final class MarketExecuteService {
         MarketTradeExecutor tradeExecutor,
         MarketPlayerResolver playerResolver,
         MarketTradeRequestPolicy requestPolicy
+    ) {
+        this(
+            marketItemRepository,
+            marketSnapshotService,
+            quoteStore,
+            tradeExecutor,
+            playerResolver,
+            requestPolicy,
+            MarketSettings.DEFAULT_QUOTE_BATCH_MAX_LINES
+        );
+    }
+
+    public MarketExecuteService(
+        MarketItemRepository marketItemRepository,
+        MarketSnapshotService marketSnapshotService,
+        MarketQuoteStore quoteStore,
+        MarketTradeExecutor tradeExecutor,
+        MarketPlayerResolver playerResolver,
+        MarketTradeRequestPolicy requestPolicy,
+        int basketMaxLines
+    ) {
+        this(
+            marketItemRepository,
+            marketSnapshotService,
+            quoteStore,
+            tradeExecutor,
+            playerResolver,
+            requestPolicy,
+            basketMaxLines,
+            null
+        );
+    }
+
+    /**
+     * With a {@link MarketTradeCombiner}, single executes are applied through
+     * it in per-item batches instead of locking the item once per trade.
+     */
+    public MarketExecuteService(
+        MarketItemRepository marketItemRepository,
+        MarketSnapshotService marketSnapshotService,
+        MarketQuoteStore quoteStore,
+        MarketTradeExecutor tradeExecutor,
+        MarketPlayerResolver playerResolver,
+        MarketTradeRequestPolicy requestPolicy,
+        int basketMaxLines,
+        MarketTradeCombiner tradeCombiner
+    ) {
+        this(
+            marketItemRepository,
+            marketSnapshotService,
+            quoteStore,
+            tradeExecutor,
+            playerResolver,
+            requestPolicy,
+            basketMaxLines,
+            tradeCombiner,
+            null
+        );
+    }
+
+    /**
+     * With a {@link MarketOptimisticTradeApplier}, single executes that are
+     * not combined read the item unlocked and apply the trade with a
+     * version-checked update. Baskets always lock their items.
+     */
+    public MarketExecuteService(
+        MarketItemRepository marketItemRepository,
+        MarketSnapshotService marketSnapshotService,
+        MarketQuoteStore quoteStore,
+        MarketTradeExecutor tradeExecutor,
+        MarketPlayerResolver playerResolver,
+        MarketTradeRequestPolicy requestPolicy,
+        int basketMaxLines,
+        MarketTradeCombiner tradeCombiner,
+        MarketOptimisticTradeApplier optimisticTradeApplier
     ) {
         this.marketItemRepository = marketItemRepository;
         this.marketSnapshotService = marketSnapshotService;
@@ -38,6 +126,9 @@ public final class MarketExecuteService {
         this.tradeExecutor = tradeExecutor;
         this.playerResolver = playerResolver;
         this.requestPolicy = requestPolicy;
+        this.basketMaxLines = basketMaxLines;
+        this.tradeCombiner = tradeCombiner;
+        this.optimisticTradeApplier = optimisticTradeApplier;
     }
 
     public MarketExecuteSuccessResponseDTO execute(
@@ -47,24 +138,243 @@ public final class MarketExecuteService {
     ) {
         requestPolicy.ensureMarketOpen();
 
-        String initialSnapshotVersion = currentSnapshotVersion();
-        requestPolicy.validateQuantity(request.quantity(), initialSnapshotVersion);
+        String side = MarketMetrics.side(request.side());
+        RequestSnapshot snapshot = new RequestSnapshot(
+            marketSnapshotService,
+            tradeExecutor.metrics(),
+            side
+        );
+        requestPolicy.validateQuantity(request.quantity(), snapshot.version());
+
+        UUID playerUuid = playerResolver.resolvePlayerUuid(
+            authentication,
+            request.playerUuid(),
+            playerUuidHeader,
+            snapshot::version
+        );
+        requestPolicy.enforceRateLimit(playerUuid, snapshot.version());
+        MarketQuoteStore.StoredQuote storedQuote = requireUsableQuote(
+            playerUuid,
+            request.quoteToken(),
+            request.itemId(),
+            request.side(),
+            request.quantity(),
+            request.snapshotVersion(),
+            snapshot
+        );
+        consume(request.quoteToken(), snapshot);
+        if (tradeCombiner != null) {
+            return tradeCombiner.execute(
+                playerUuid,
+                storedQuote,
+                snapshot.current()
+            );
+        }
+        if (optimisticTradeApplier != null) {
+            return optimisticTradeApplier.execute(
+                playerUuid,
+                storedQuote,
+                snapshot.current()
+            );
+        }
+
+        MarketItem item = tradeExecutor
+            .metrics()
+            .timePhase(MarketMetrics.Phase.ITEM_LOCK, side, () ->
+                marketItemRepository.findForUpdate(request.itemId())
+            )
+            .orElseThrow(() ->
+                rejection(
+                    MarketRejectionCode.UNKNOWN_ITEM,
+                    "Market item does not exist.",
+                    HttpStatus.NOT_FOUND,
+                    snapshot.version()
+                )
+            );
+
+        requestPolicy.validateItemAvailability(item, snapshot.version());
+        MarketTradeExecutor.AppliedTrade appliedTrade =
+            tradeExecutor.applyTrade(
+                playerUuid,
+                item,
+                storedQuote,
+                storedQuote.snapshotVersion(),
+                snapshot::version
+            );
+
+        return new MarketExecuteSuccessResponseDTO(
+            "SUCCESS",
+            item.getItemId(),
+            storedQuote.side(),
+            appliedTrade.executedQuantity(),
+            Long.toString(appliedTrade.unitPrice()),
+            Long.toString(appliedTrade.totalPrice()),
+            item.getCurrency(),
+            marketSnapshotService.snapshotVersionAfterChange(
+                snapshot.current(),
+                item
+            ),
+            marketSnapshotService.toSnapshotItem(item)
+        );
+    }
+
+    /**
+     * Executes every quote in the basket or none of them. All quotes are
+     * checked, then consumed together with {@link MarketQuoteStore#consumeAll},
+     * so a rejection at any later step leaves every quote usable again. The
+     * items are locked in itemId order so concurrent baskets cannot deadlock,
+     * and the player's balance is locked once for the net amount.
+     */
+    public MarketBasketExecuteResponseDTO executeBasket(
+        JwtAuthenticationToken authentication,
+        MarketBasketExecuteRequestDTO request,
+        String playerUuidHeader
+    ) {
+        requestPolicy.ensureMarketOpen();
+
+        List<MarketBasketExecuteLineDTO> lines = request.lines();
+        String side = MarketMetrics.side(lines, MarketBasketExecuteLineDTO::side);
+        RequestSnapshot snapshot = new RequestSnapshot(
+            marketSnapshotService,
+            tradeExecutor.metrics(),
+            side
+        );
+        if (lines.size() > basketMaxLines) {
+            throw rejection(
+                MarketRejectionCode.BATCH_TOO_LARGE,
+                "Basket exceeds " + basketMaxLines + " lines.",
+                HttpStatus.UNPROCESSABLE_ENTITY,
+                snapshot.version()
+            );
+        }
+        for (MarketBasketExecuteLineDTO line : lines) {
+            requestPolicy.validateQuantity(line.quantity(), snapshot.version());
+        }
 
         UUID playerUuid = playerResolver.resolvePlayerUuid(
             authentication,
             request.playerUuid(),
             playerUuidHeader,
-            this::currentSnapshotVersion
+            snapshot::version
+        );
+        requestPolicy.enforceRateLimit(playerUuid, snapshot.version());
+        List<MarketQuoteStore.StoredQuote> storedQuotes = new ArrayList<>(
+            lines.size()
         );
-        requestPolicy.enforceRateLimit(playerUuid, initialSnapshotVersion);
+        for (MarketBasketExecuteLineDTO line : lines) {
+            storedQuotes.add(
+                requireUsableQuote(
+                    playerUuid,
+                    line.quoteToken(),
+                    line.itemId(),
+                    line.side(),
+                    line.quantity(),
+                    request.snapshotVersion(),
+                    snapshot
+                )
+            );
+        }
+        List<String> quoteTokens = new ArrayList<>(lines.size());
+        for (MarketBasketExecuteLineDTO line : lines) {
+            quoteTokens.add(line.quoteToken());
+        }
+        if (!quoteStore.consumeAll(quoteTokens)) {
+            throw rejection(
+                MarketRejectionCode.STALE_QUOTE,
+                "Quote is no longer valid.",
+                HttpStatus.CONFLICT,
+                snapshot.version()
+            );
+        }
+
+        Map<String, MarketItem> itemsById = new TreeMap<>();
+        for (MarketBasketExecuteLineDTO line : lines) {
+            itemsById.put(line.itemId(), null);
+        }
+        for (String itemId : itemsById.keySet()) {
+            MarketItem item = tradeExecutor
+                .metrics()
+                .timePhase(MarketMetrics.Phase.ITEM_LOCK, side, () ->
+                    marketItemRepository.findForUpdate(itemId)
+                )
+                .orElseThrow(() ->
+                    rejection(
+                        MarketRejectionCode.UNKNOWN_ITEM,
+                        "Market item does not exist.",
+                        HttpStatus.NOT_FOUND,
+                        snapshot.version()
+                    )
+                );
+            requestPolicy.validateItemAvailability(item, snapshot.version());
+            itemsById.put(itemId, item);
+        }
+
+        List<MarketTradeExecutor.BasketLine> basketLines = new ArrayList<>(
+            lines.size()
+        );
+        for (MarketQuoteStore.StoredQuote storedQuote : storedQuotes) {
+            basketLines.add(
+                new MarketTradeExecutor.BasketLine(
+                    itemsById.get(storedQuote.itemId()),
+                    storedQuote
+                )
+            );
+        }
+        MarketTradeExecutor.AppliedBasket appliedBasket =
+            tradeExecutor.applyBasket(playerUuid, basketLines, snapshot::version);
+        String snapshotVersionAfter =
+            marketSnapshotService.snapshotVersionAfterChange(
+                snapshot.current(),
+                itemsById.values()
+            );
+
+        List<MarketExecuteSuccessResponseDTO> trades = new ArrayList<>(
+            basketLines.size()
+        );
+        for (int index = 0; index < basketLines.size(); index++) {
+            MarketItem item = basketLines.get(index).item();
+            MarketTradeExecutor.AppliedTrade appliedTrade = appliedBasket
+                .trades()
+                .get(index);
+            trades.add(
+                new MarketExecuteSuccessResponseDTO(
+                    "SUCCESS",
+                    item.getItemId(),
+                    storedQuotes.get(index).side(),
+                    appliedTrade.executedQuantity(),
+                    Long.toString(appliedTrade.unitPrice()),
+                    Long.toString(appliedTrade.totalPrice()),
+                    item.getCurrency(),
+                    snapshotVersionAfter,
+                    marketSnapshotService.toSnapshotItem(item)
+                )
+            );
+        }
+        return new MarketBasketExecuteResponseDTO(
+            "SUCCESS",
+            Long.toString(appliedBasket.netAmount()),
+            snapshotVersionAfter,
+            trades
+        );
+    }
+
+    private MarketQuoteStore.StoredQuote requireUsableQuote(
+        UUID playerUuid,
+        String quoteToken,
+        String itemId,
+        MarketSide side,
+        Long quantity,
+        String snapshotVersion,
+        RequestSnapshot snapshot
+    ) {
         MarketQuoteStore.StoredQuote storedQuote = quoteStore
-            .get(request.quoteToken())
+            .get(quoteToken)
             .orElseThrow(() ->
                 rejection(
                     MarketRejectionCode.QUOTE_EXPIRED,
                     "Quote has expired.",
                     HttpStatus.CONFLICT,
-                    currentSnapshotVersion()
+                    snapshot.version()
                 )
             );
 
@@ -73,7 +383,7 @@ public final class MarketExecuteService {
                 MarketRejectionCode.QUOTE_EXPIRED,
                 "Quote has expired.",
                 HttpStatus.CONFLICT,
-                currentSnapshotVersion()
+                snapshot.version()
             );
         }
 
@@ -82,90 +392,56 @@ public final class MarketExecuteService {
                 MarketRejectionCode.STALE_QUOTE,
                 "Quote is no longer valid.",
                 HttpStatus.CONFLICT,
-                currentSnapshotVersion()
+                snapshot.version()
             );
         }
 
         if (storedQuote.expiresAt().isBefore(Instant.now())) {
-            quoteStore.expire(request.quoteToken());
+            quoteStore.expire(quoteToken);
             throw rejection(
                 MarketRejectionCode.QUOTE_EXPIRED,
                 "Quote has expired.",
                 HttpStatus.CONFLICT,
-                currentSnapshotVersion()
+                snapshot.version()
             );
         }
 
         if (
             !storedQuote.playerUuid().equals(playerUuid) ||
-            !storedQuote.itemId().equals(request.itemId()) ||
-            storedQuote.side() != request.side() ||
-            storedQuote.quantity() != request.quantity()
+            !storedQuote.itemId().equals(itemId) ||
+            storedQuote.side() != side ||
+            storedQuote.quantity() != quantity
         ) {
-            quoteStore.invalidate(request.quoteToken());
+            quoteStore.invalidate(quoteToken);
             throw rejection(
                 MarketRejectionCode.STALE_QUOTE,
                 "Quote is no longer valid.",
                 HttpStatus.CONFLICT,
-                currentSnapshotVersion()
+                snapshot.version()
             );
         }
 
-        if (!storedQuote.snapshotVersion().equals(request.snapshotVersion())) {
-            quoteStore.invalidate(request.quoteToken());
+        if (!storedQuote.snapshotVersion().equals(snapshotVersion)) {
+            quoteStore.invalidate(quoteToken);
             throw rejection(
                 MarketRejectionCode.STALE_QUOTE,
                 "Quote is no longer valid.",
                 HttpStatus.CONFLICT,
-                currentSnapshotVersion()
+                snapshot.version()
             );
         }
+        return storedQuote;
+    }
 
-        if (!quoteStore.consume(request.quoteToken())) {
+    private void consume(String quoteToken, RequestSnapshot snapshot) {
+        if (!quoteStore.consume(quoteToken)) {
             throw rejection(
                 MarketRejectionCode.STALE_QUOTE,
                 "Quote is no longer valid.",
                 HttpStatus.CONFLICT,
-                currentSnapshotVersion()
+                snapshot.version()
             );
         }
-
-        MarketItem item = marketItemRepository
-            .findForUpdate(request.itemId())
-            .orElseThrow(() ->
-                rejection(
-                    MarketRejectionCode.UNKNOWN_ITEM,
-                    "Market item does not exist.",
-                    HttpStatus.NOT_FOUND,
-                    currentSnapshotVersion()
-                )
-            );
-
-        requestPolicy.validateItemAvailability(item, currentSnapshotVersion());
-        MarketTradeExecutor.AppliedTrade appliedTrade =
-            tradeExecutor.applyTrade(
-                playerUuid,
-                item,
-                storedQuote,
-                storedQuote.snapshotVersion(),
-                this::currentSnapshotVersion
-            );
-
-        return new MarketExecuteSuccessResponseDTO(
-            "SUCCESS",
-            item.getItemId(),
-            storedQuote.side(),
-            appliedTrade.executedQuantity(),
-            Long.toString(appliedTrade.unitPrice()),
-            Long.toString(appliedTrade.totalPrice()),
-            item.getCurrency(),
-            currentSnapshotVersion(),
-            marketSnapshotService.toSnapshotItem(item)
-        );
-    }
-
-    private String currentSnapshotVersion() {
-        return marketSnapshotService.currentSnapshotVersion();
     }
 
     private MarketRejectionException rejection(
@@ -176,4 +452,41 @@ public final class MarketExecuteService {
     ) {
         return requestPolicy.rejection(code, message, status, snapshotVersion);
     }
+
+    /**
+     * Pre-trade snapshot loaded at most once per execute request and reused by
+     * every rejection path and by the post-trade version.
+     */
+    private static final class RequestSnapshot {
+
+        private final MarketSnapshotService marketSnapshotService;
+        private final MarketMetrics metrics;
+        private final String side;
+        private MarketSnapshotService.CurrentSnapshot current;
+
+        private RequestSnapshot(
+            MarketSnapshotService marketSnapshotService,
+            MarketMetrics metrics,
+            String side
+        ) {
+            this.marketSnapshotService = marketSnapshotService;
+            this.metrics = metrics;
+            this.side = side;
+        }
+
+        private MarketSnapshotService.CurrentSnapshot current() {
+            if (current == null) {
+                current = metrics.timePhase(
+                    MarketMetrics.Phase.SNAPSHOT,
+                    side,
+                    marketSnapshotService::currentSnapshot
+                );
+            }
+            return current;
+        }
+
+        private String version() {
+            return current().snapshotVersion();
+        }
+    }
 }
@@ -0,0 +1,27 @@
+package io.github.HenriqueMichelini.craftalism.api.market.application.command;
+
+import java.util.Locale;
+
+/**
+ * How single executes protect the item row: by locking it for the whole
+ * trade, or by reading it unlocked and applying the trade with a
+ * version-checked update.
+ */
+public enum MarketItemConcurrencyMode {
+    PESSIMISTIC,
+    OPTIMISTIC;
+
+    public static MarketItemConcurrencyMode fromProperty(String value) {
+        if (value == null || value.isBlank()) {
+            return PESSIMISTIC;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException(
+                "craftalism.market.item-concurrency.mode must be pessimistic or optimistic.",
+                ex
+            );
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package io.github.HenriqueMichelini.craftalism.api.market.application.command;
+
+import io.github.HenriqueMichelini.craftalism.api.dto.MarketExecuteSuccessResponseDTO;
+import io.github.HenriqueMichelini.craftalism.api.exceptions.MarketRejectionCode;
+import io.github.HenriqueMichelini.craftalism.api.market.application.query.MarketSnapshotService;
+import io.github.HenriqueMichelini.craftalism.api.market.domain.trade.MarketTradeRequestPolicy;
+import io.github.HenriqueMichelini.craftalism.api.market.infrastructure.metrics.MarketMetrics;
+import io.github.HenriqueMichelini.craftalism.api.market.infrastructure.store.MarketQuoteStore;
+import io.github.HenriqueMichelini.craftalism.api.model.MarketItem;
+import io.github.HenriqueMichelini.craftalism.api.repository.MarketItemRepository;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.support.TransactionOperations;
+
+/**
+ * Applies single executes without holding the item row lock for the trade.
+ * Each attempt reads the item unlocked in its own transaction, applies the
+ * trade, and then claims the row with a version-checked update, which matches
+ * no row when another writer changed the item in between. The attempt is then
+ * rolled back, balance change included, and retried against fresh item state
+ * after a short randomized backoff that doubles per conflict.
+ *
+ * <p>After {@code maxConflicts} conflicts the trade is applied under the
+ * item row lock instead, so a hot item cannot starve an execute. Like trade
+ * combining, attempts run independently of the caller's transaction, which
+ * therefore must not hold item locks; optimistic mode requires background
+ * state maintenance.
+ */
+public final class MarketOptimisticTradeApplier {
+
+    private static final int MAX_BACKOFF_DOUBLINGS = 10;
+
+    private final MarketItemRepository marketItemRepository;
+    private final MarketSnapshotService marketSnapshotService;
+    private final MarketTradeExecutor tradeExecutor;
+    private final MarketTradeRequestPolicy requestPolicy;
+    private final TransactionOperations transactionOperations;
+    private final int maxConflicts;
+    private final long backoffNanos;
+    private final AtomicLong conflicts = new AtomicLong();
+    private final AtomicLong lockedFallbacks = new AtomicLong();
+
+    public MarketOptimisticTradeApplier(
+        MarketItemRepository marketItemRepository,
+        MarketSnapshotService marketSnapshotService,
+        MarketTradeExecutor tradeExecutor,
+        MarketTradeRequestPolicy requestPolicy,
+        TransactionOperations transactionOperations,
+        int maxConflicts,
+        Duration backoff
+    ) {
+        if (maxConflicts < 0) {
+            throw new IllegalArgumentException(
+                "craftalism.market.item-concurrency.max-conflicts must not be negative."
+            );
+        }
+        if (backoff.isNegative()) {
+            throw new IllegalArgumentException(
+                "craftalism.market.item-concurrency.backoff-ms must not be negative."
+            );
+        }
+        this.marketItemRepository = marketItemRepository;
+        this.marketSnapshotService = marketSnapshotService;
+        this.tradeExecutor = tradeExecutor;
+        this.requestPolicy = requestPolicy;
+        this.transactionOperations = transactionOperations;
+        this.maxConflicts = maxConflicts;
+        this.backoffNanos = backoff.toNanos();
+    }
+
+    /**
+     * Applies an already consumed quote, retrying on version conflicts and
+     * falling back to the item row lock once the conflict budget is spent.
+     * Every attempt reuses the request's pre-trade snapshot {@code before}.
+     */
+    MarketExecuteSuccessResponseDTO execute(
+        UUID playerUuid,
+        MarketQuoteStore.StoredQuote quote,
+        MarketSnapshotService.CurrentSnapshot before
+    ) {
+        for (int attempt = 0; attempt < maxConflicts; attempt++) {
+            try {
+                return transactionOperations.execute(status ->
+                    apply(playerUuid, quote, before, false)
+                );
+            } catch (ConcurrencyFailureException conflict) {
+                conflicts.incrementAndGet();
+                backOff(attempt);
+            }
+        }
+        lockedFallbacks.incrementAndGet();
+        return transactionOperations.execute(status ->
+            apply(playerUuid, quote, before, true)
+        );
+    }
+
+    public long conflicts() {
+        return conflicts.get();
+    }
+
+    public long lockedFallbacks() {
+        return lockedFallbacks.get();
+    }
+
+    private MarketExecuteSuccessResponseDTO apply(
+        UUID playerUuid,
+        MarketQuoteStore.StoredQuote quote,
+        MarketSnapshotService.CurrentSnapshot before,
+        boolean lockItem
+    ) {
+        MarketMetrics metrics = tradeExecutor.metrics();
+        String side = MarketMetrics.side(quote.side());
+        metrics.timeCommit(side);
+        MarketItem item = (
+            lockItem
+                ? metrics.timePhase(MarketMetrics.Phase.ITEM_LOCK, side, () ->
+                    marketItemRepository.findForUpdate(quote.itemId())
+                )
+                : marketItemRepository.findByItemId(quote.itemId())
+        ).orElseThrow(() ->
+            requestPolicy.rejection(
+                MarketRejectionCode.UNKNOWN_ITEM,
+                "Market item does not exist.",
+                HttpStatus.NOT_FOUND,
+                before.snapshotVersion()
+            )
+        );
+        long readVersion = item.getVersion();
+
+        requestPolicy.validateItemAvailability(
+            item,
+            before.snapshotVersion()
+        );
+        MarketTradeExecutor.AppliedTrade appliedTrade = tradeExecutor.applyTrade(
+            playerUuid,
+            item,
+            quote,
+            quote.snapshotVersion(),
+            before::snapshotVersion
+        );
+        if (
+            !lockItem &&
+            !marketItemRepository.claimVersion(item.getItemId(), readVersion)
+        ) {
+            throw new OptimisticLockingFailureException(
+                "Market item " + item.getItemId() + " changed since it was read."
+            );
+        }
+        // Write the claimed row here so a failure surfaces before the
+        // response is built rather than at commit.
+        marketItemRepository.flush();
+
+        return new MarketExecuteSuccessResponseDTO(
+            "SUCCESS",
+            item.getItemId(),
+            quote.side(),
+            appliedTrade.executedQuantity(),
+            Long.toString(appliedTrade.unitPrice()),
+            Long.toString(appliedTrade.totalPrice()),
+            item.getCurrency(),
+            marketSnapshotService.snapshotVersionAfterChange(before, item),
+            marketSnapshotService.toSnapshotItem(item)
+        );
+    }
+
+    private void backOff(int attempt) {
+        if (backoffNanos == 0L) {
+            return;
+        }
+        long ceiling =
+            backoffNanos << Math.min(attempt, MAX_BACKOFF_DOUBLINGS);
+        LockSupport.parkNanos(
+            ThreadLocalRandom.current().nextLong(ceiling / 2L, ceiling + 1L)
+        );
+    }
+}
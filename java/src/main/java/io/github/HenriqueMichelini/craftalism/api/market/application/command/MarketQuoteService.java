@@ -1,10 +1,17 @@
 package io.github.HenriqueMichelini.craftalism.api.market.application.command;
 
+import io.github.HenriqueMichelini.craftalism.api.config.MarketSettings;
+import io.github.HenriqueMichelini.craftalism.api.dto.MarketBatchQuoteLineDTO;
+import io.github.HenriqueMichelini.craftalism.api.dto.MarketBatchQuoteLineResultDTO;
+import io.github.HenriqueMichelini.craftalism.api.dto.MarketBatchQuoteRequestDTO;
+import io.github.HenriqueMichelini.craftalism.api.dto.MarketBatchQuoteResponseDTO;
 import io.github.HenriqueMichelini.craftalism.api.dto.MarketQuoteRequestDTO;
 import io.github.HenriqueMichelini.craftalism.api.dto.MarketQuoteResponseDTO;
+import io.github.HenriqueMichelini.craftalism.api.dto.MarketRejectionResponseDTO;
 import io.github.HenriqueMichelini.craftalism.api.dto.MarketSide;
 import io.github.HenriqueMichelini.craftalism.api.exceptions.MarketRejectionCode;
 import io.github.HenriqueMichelini.craftalism.api.exceptions.MarketRejectionException;
+import io.github.HenriqueMichelini.craftalism.api.market.infrastructure.metrics.MarketMetrics;
 import io.github.HenriqueMichelini.craftalism.api.market.infrastructure.store.MarketQuoteStore;
 import io.github.HenriqueMichelini.craftalism.api.market.domain.trade.MarketTradePlanner;
 import io.github.HenriqueMichelini.craftalism.api.market.domain.trade.MarketTradeRequestPolicy;
@@ -12,6 +19,8 @@ import io.github.HenriqueMichelini.craftalism.api.market.application.query.Marke
 import io.github.HenriqueMichelini.craftalism.api.model.MarketItem;
 import io.github.HenriqueMichelini.craftalism.api.model.MarketQuote;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
@@ -24,6 +33,8 @@ public final class MarketQuoteService {
     private final MarketPlayerResolver playerResolver;
     private final MarketTradeRequestPolicy requestPolicy;
     private final long quoteTtlSeconds;
+    private final int batchMaxLines;
+    private final MarketMetrics metrics;
 
     public MarketQuoteService(
         MarketSnapshotService marketSnapshotService,
@@ -33,12 +44,61 @@ public final class MarketQuoteService {
         MarketTradeRequestPolicy requestPolicy,
         long quoteTtlSeconds
     ) {
+        this(
+            marketSnapshotService,
+            quoteStore,
+            tradePlanner,
+            playerResolver,
+            requestPolicy,
+            quoteTtlSeconds,
+            MarketSettings.DEFAULT_QUOTE_BATCH_MAX_LINES
+        );
+    }
+
+    public MarketQuoteService(
+        MarketSnapshotService marketSnapshotService,
+        MarketQuoteStore quoteStore,
+        MarketTradePlanner tradePlanner,
+        MarketPlayerResolver playerResolver,
+        MarketTradeRequestPolicy requestPolicy,
+        long quoteTtlSeconds,
+        int batchMaxLines
+    ) {
+        this(
+            marketSnapshotService,
+            quoteStore,
+            tradePlanner,
+            playerResolver,
+            requestPolicy,
+            quoteTtlSeconds,
+            batchMaxLines,
+            MarketMetrics.disabled()
+        );
+    }
+
+    public MarketQuoteService(
+        MarketSnapshotService marketSnapshotService,
+        MarketQuoteStore quoteStore,
+        MarketTradePlanner tradePlanner,
+        MarketPlayerResolver playerResolver,
+        MarketTradeRequestPolicy requestPolicy,
+        long quoteTtlSeconds,
+        int batchMaxLines,
+        MarketMetrics metrics
+    ) {
+        if (batchMaxLines <= 0) {
+            throw new IllegalArgumentException(
+                "craftalism.market.quote-batch.max-lines must be positive."
+            );
+        }
         this.marketSnapshotService = marketSnapshotService;
         this.quoteStore = quoteStore;
         this.tradePlanner = tradePlanner;
         this.playerResolver = playerResolver;
         this.requestPolicy = requestPolicy;
         this.quoteTtlSeconds = quoteTtlSeconds;
+        this.batchMaxLines = batchMaxLines;
+        this.metrics = metrics;
     }
 
     public MarketQuoteResponseDTO quote(
@@ -49,7 +109,11 @@ public final class MarketQuoteService {
         requestPolicy.ensureMarketOpen();
 
         MarketSnapshotService.CurrentSnapshot currentSnapshot =
-            marketSnapshotService.currentSnapshot();
+            metrics.timePhase(
+                MarketMetrics.Phase.SNAPSHOT,
+                MarketMetrics.side(request.side()),
+                marketSnapshotService::currentSnapshot
+            );
         String currentSnapshotVersion = currentSnapshot.snapshotVersion();
         requestPolicy.validateQuantity(request.quantity(), currentSnapshotVersion);
 
@@ -57,7 +121,7 @@ public final class MarketQuoteService {
             authentication,
             request.playerUuid(),
             playerUuidHeader,
-            marketSnapshotService::currentSnapshotVersion
+            currentSnapshot::snapshotVersion
         );
         requestPolicy.enforceRateLimit(playerUuid, currentSnapshotVersion);
         if (!currentSnapshotVersion.equals(request.snapshotVersion())) {
@@ -69,11 +133,114 @@ public final class MarketQuoteService {
             );
         }
 
+        PricedQuote priced = price(
+            currentSnapshot,
+            playerUuid,
+            request.itemId(),
+            request.side(),
+            request.quantity(),
+            Instant.now().plusSeconds(quoteTtlSeconds)
+        );
+        return priced.response(quoteStore.put(priced.quote()));
+    }
+
+    /**
+     * Quotes every line against one snapshot evaluation. Market, player, rate
+     * limit and snapshot checks reject the whole batch; item checks reject
+     * only their line. Lines are priced independently, as separate single
+     * quotes would be, and the accepted quotes are stored together.
+     */
+    public MarketBatchQuoteResponseDTO quoteBatch(
+        JwtAuthenticationToken authentication,
+        MarketBatchQuoteRequestDTO request,
+        String playerUuidHeader
+    ) {
+        requestPolicy.ensureMarketOpen();
+
+        MarketSnapshotService.CurrentSnapshot currentSnapshot =
+            metrics.timePhase(
+                MarketMetrics.Phase.SNAPSHOT,
+                MarketMetrics.side(request.lines(), MarketBatchQuoteLineDTO::side),
+                marketSnapshotService::currentSnapshot
+            );
+        String currentSnapshotVersion = currentSnapshot.snapshotVersion();
+        if (request.lines().size() > batchMaxLines) {
+            throw rejection(
+                MarketRejectionCode.BATCH_TOO_LARGE,
+                "Batch exceeds " + batchMaxLines + " lines.",
+                HttpStatus.UNPROCESSABLE_ENTITY,
+                currentSnapshotVersion
+            );
+        }
+
+        UUID playerUuid = playerResolver.resolvePlayerUuid(
+            authentication,
+            request.playerUuid(),
+            playerUuidHeader,
+            currentSnapshot::snapshotVersion
+        );
+        requestPolicy.enforceRateLimit(playerUuid, currentSnapshotVersion);
+        if (!currentSnapshotVersion.equals(request.snapshotVersion())) {
+            throw rejection(
+                MarketRejectionCode.STALE_QUOTE,
+                "Snapshot is no longer current.",
+                HttpStatus.CONFLICT,
+                currentSnapshotVersion
+            );
+        }
+
+        Instant expiresAt = Instant.now().plusSeconds(quoteTtlSeconds);
+        List<BatchLine> lines = new ArrayList<>(request.lines().size());
+        List<MarketQuoteStore.StoredQuote> accepted = new ArrayList<>();
+        for (MarketBatchQuoteLineDTO line : request.lines()) {
+            try {
+                requestPolicy.validateQuantity(
+                    line.quantity(),
+                    currentSnapshotVersion
+                );
+                PricedQuote priced = price(
+                    currentSnapshot,
+                    playerUuid,
+                    line.itemId(),
+                    line.side(),
+                    line.quantity(),
+                    expiresAt
+                );
+                lines.add(new BatchLine(priced, null));
+                accepted.add(priced.quote());
+            } catch (MarketRejectionException exception) {
+                lines.add(new BatchLine(null, exception));
+            }
+        }
+
+        List<String> issuedQuoteTokens = accepted.isEmpty()
+            ? List.of()
+            : quoteStore.putAll(accepted);
+        List<MarketBatchQuoteLineResultDTO> results = new ArrayList<>(
+            lines.size()
+        );
+        int issuedIndex = 0;
+        for (BatchLine line : lines) {
+            results.add(
+                line.rejection() == null
+                    ? line.success(issuedQuoteTokens.get(issuedIndex++))
+                    : line.rejected()
+            );
+        }
+        return new MarketBatchQuoteResponseDTO(currentSnapshotVersion, results);
+    }
+
+    private PricedQuote price(
+        MarketSnapshotService.CurrentSnapshot currentSnapshot,
+        UUID playerUuid,
+        String itemId,
+        MarketSide side,
+        long quantity,
+        Instant expiresAt
+    ) {
+        String currentSnapshotVersion = currentSnapshot.snapshotVersion();
         MarketItem item = currentSnapshot
-            .items()
-            .stream()
-            .filter(candidate -> candidate.getItemId().equals(request.itemId()))
-            .findFirst()
+            .item(itemId)
             .orElseThrow(() ->
                 rejection(
                     MarketRejectionCode.UNKNOWN_ITEM,
@@ -84,29 +251,22 @@ public final class MarketQuoteService {
             );
 
         requestPolicy.validateItemAvailability(item, currentSnapshotVersion);
-        MarketTradePlanner.TradePlan plan =
-            request.side() == MarketSide.BUY
-                ? requireFullBuyPlan(
-                      item,
-                      request.quantity(),
-                      currentSnapshotVersion
-                  )
-                : requireFullSellPlan(
-                      item,
-                      request.quantity(),
-                      currentSnapshotVersion
-                  );
-
-        Instant expiresAt = Instant.now().plusSeconds(quoteTtlSeconds);
-        String quoteToken = UUID.randomUUID().toString();
+        MarketTradePlanner.TradePlan plan = metrics.timePhase(
+            MarketMetrics.Phase.PRICING,
+            MarketMetrics.side(side),
+            () ->
+                side == MarketSide.BUY
+                    ? requireFullBuyPlan(item, quantity, currentSnapshotVersion)
+                    : requireFullSellPlan(item, quantity, currentSnapshotVersion)
+        );
 
-        quoteStore.put(
+        return new PricedQuote(
             new MarketQuoteStore.StoredQuote(
-                quoteToken,
+                UUID.randomUUID().toString(),
                 playerUuid,
                 item.getItemId(),
-                request.side(),
-                request.quantity(),
+                side,
+                quantity,
                 plan.unitPrice(),
                 plan.totalPrice(),
                 currentSnapshotVersion,
@@ -117,19 +277,8 @@ public final class MarketQuoteService {
                 plan.eventEffectVersion(),
                 expiresAt,
                 MarketQuote.Status.ACTIVE
-            )
-        );
-
-        return new MarketQuoteResponseDTO(
-            item.getItemId(),
-            request.side(),
-            request.quantity(),
-            Long.toString(plan.unitPrice()),
-            Long.toString(plan.totalPrice()),
+            ),
             item.getCurrency(),
-            quoteToken,
-            currentSnapshotVersion,
-            expiresAt,
             requestPolicy.isEffectivelyBlocked(item),
             item.isOperating()
         );
@@ -183,4 +332,53 @@ public final class MarketQuoteService {
     ) {
         return requestPolicy.rejection(code, message, status, snapshotVersion);
     }
+
+    private record PricedQuote(
+        MarketQuoteStore.StoredQuote quote,
+        String currency,
+        boolean blocked,
+        boolean operating
+    ) {
+        private MarketQuoteResponseDTO response(String quoteToken) {
+            return new MarketQuoteResponseDTO(
+                quote.itemId(),
+                quote.side(),
+                quote.quantity(),
+                Long.toString(quote.unitPrice()),
+                Long.toString(quote.totalPrice()),
+                currency,
+                quoteToken,
+                quote.snapshotVersion(),
+                quote.expiresAt(),
+                blocked,
+                operating
+            );
+        }
+    }
+
+    private record BatchLine(
+        PricedQuote priced,
+        MarketRejectionException rejection
+    ) {
+        private MarketBatchQuoteLineResultDTO success(String quoteToken) {
+            return new MarketBatchQuoteLineResultDTO(
+                "SUCCESS",
+                priced.response(quoteToken),
+                null
+            );
+        }
+
+        private MarketBatchQuoteLineResultDTO rejected() {
+            return new MarketBatchQuoteLineResultDTO(
+                "REJECTED",
+                null,
+                new MarketRejectionResponseDTO(
+                    "REJECTED",
+                    rejection.getCode().name(),
+                    rejection.getMessage(),
+                    rejection.getSnapshotVersion()
+                )
+            );
+        }
+    }
 }
@@ -0,0 +1,277 @@
+package io.github.HenriqueMichelini.craftalism.api.market.application.command;
+
+import io.github.HenriqueMichelini.craftalism.api.dto.MarketExecuteSuccessResponseDTO;
+import io.github.HenriqueMichelini.craftalism.api.dto.MarketSnapshotItemDTO;
+import io.github.HenriqueMichelini.craftalism.api.exceptions.MarketRejectionCode;
+import io.github.HenriqueMichelini.craftalism.api.exceptions.MarketRejectionException;
+import io.github.HenriqueMichelini.craftalism.api.market.application.query.MarketSnapshotService;
+import io.github.HenriqueMichelini.craftalism.api.market.domain.trade.MarketTradeRequestPolicy;
+import io.github.HenriqueMichelini.craftalism.api.market.infrastructure.metrics.MarketMetrics;
+import io.github.HenriqueMichelini.craftalism.api.market.infrastructure.store.MarketQuoteStore;
+import io.github.HenriqueMichelini.craftalism.api.model.MarketItem;
+import io.github.HenriqueMichelini.craftalism.api.model.MarketTradeHistory;
+import io.github.HenriqueMichelini.craftalism.api.repository.MarketItemRepository;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.support.TransactionOperations;
+
+/**
+ * Combines concurrent executes on the same item so the item row is locked
+ * once per batch instead of once per trade. Each item has a queue of pending
+ * trades; whichever waiting request finds the queue unclaimed drains up to
+ * {@code maxBatchSize} of them, applies them in arrival order against the
+ * running item state in one transaction, and hands the queue to the next
+ * waiter. Every trade is still checked against the item state left by the
+ * trades before it and settles at its own quoted price, so results match
+ * executing the same trades one at a time.
+ *
+ * <p>A rejected trade leaves the item and balances untouched and does not
+ * affect the rest of its batch. The batch transaction is independent of the
+ * caller's, like quote consumption, and results are only handed back once it
+ * has committed. The caller's transaction stays open meanwhile, so it must
+ * not hold item locks: combining requires background state maintenance, where
+ * snapshot reads never lock items.
+ */
+public final class MarketTradeCombiner {
+
+    private final MarketItemRepository marketItemRepository;
+    private final MarketSnapshotService marketSnapshotService;
+    private final MarketTradeExecutor tradeExecutor;
+    private final MarketTradeRequestPolicy requestPolicy;
+    private final TransactionOperations transactionOperations;
+    private final int maxBatchSize;
+    private final Map<String, ItemLane> lanesByItemId =
+        new ConcurrentHashMap<>();
+
+    public MarketTradeCombiner(
+        MarketItemRepository marketItemRepository,
+        MarketSnapshotService marketSnapshotService,
+        MarketTradeExecutor tradeExecutor,
+        MarketTradeRequestPolicy requestPolicy,
+        TransactionOperations transactionOperations,
+        int maxBatchSize
+    ) {
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException(
+                "craftalism.market.trade-combining.max-batch-size must be positive."
+            );
+        }
+        this.marketItemRepository = marketItemRepository;
+        this.marketSnapshotService = marketSnapshotService;
+        this.tradeExecutor = tradeExecutor;
+        this.requestPolicy = requestPolicy;
+        this.transactionOperations = transactionOperations;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * Queues an already consumed quote for execution and blocks until the
+     * batch containing it has committed, applying batches itself whenever
+     * the item's queue is unclaimed. {@code before} is the request's
+     * pre-trade snapshot; the batch derives the trade's rejection and
+     * post-trade versions from it instead of reloading the catalog.
+     */
+    MarketExecuteSuccessResponseDTO execute(
+        UUID playerUuid,
+        MarketQuoteStore.StoredQuote quote,
+        MarketSnapshotService.CurrentSnapshot before
+    ) {
+        ItemLane lane = lanesByItemId.computeIfAbsent(
+            quote.itemId(),
+            itemId -> new ItemLane()
+        );
+        PendingTrade trade = new PendingTrade(
+            playerUuid,
+            quote,
+            before,
+            Thread.currentThread()
+        );
+        lane.pending.add(trade);
+        while (!trade.done) {
+            if (lane.draining.compareAndSet(false, true)) {
+                try {
+                    drainBatch(quote.itemId(), lane);
+                } finally {
+                    lane.draining.set(false);
+                }
+                PendingTrade next = lane.pending.peek();
+                if (next != null) {
+                    LockSupport.unpark(next.waiter);
+                }
+                continue;
+            }
+            LockSupport.park(this);
+        }
+        if (trade.failure != null) {
+            throw trade.failure;
+        }
+        return trade.response;
+    }
+
+    int pendingTrades(String itemId) {
+        ItemLane lane = lanesByItemId.get(itemId);
+        return lane == null ? 0 : lane.pending.size();
+    }
+
+    private void drainBatch(String itemId, ItemLane lane) {
+        List<PendingTrade> batch = new ArrayList<>();
+        PendingTrade next;
+        while (batch.size() < maxBatchSize && (next = lane.pending.poll()) != null) {
+            batch.add(next);
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            transactionOperations.executeWithoutResult(status ->
+                applyBatch(itemId, batch)
+            );
+        } catch (RuntimeException exception) {
+            for (PendingTrade trade : batch) {
+                if (trade.failure == null) {
+                    trade.response = null;
+                    trade.failure = exception;
+                }
+            }
+        }
+        for (PendingTrade trade : batch) {
+            trade.done = true;
+            LockSupport.unpark(trade.waiter);
+        }
+    }
+
+    private void applyBatch(String itemId, List<PendingTrade> batch) {
+        MarketMetrics metrics = tradeExecutor.metrics();
+        String side = MarketMetrics.side(batch, trade -> trade.quote.side());
+        metrics.timeCommit(side);
+        MarketItem item = metrics
+            .timePhase(MarketMetrics.Phase.ITEM_LOCK, side, () ->
+                marketItemRepository.findForUpdate(itemId)
+            )
+            .orElse(null);
+        if (item == null) {
+            for (PendingTrade trade : batch) {
+                trade.failure = requestPolicy.rejection(
+                    MarketRejectionCode.UNKNOWN_ITEM,
+                    "Market item does not exist.",
+                    HttpStatus.NOT_FOUND,
+                    trade.before.snapshotVersion()
+                );
+            }
+            return;
+        }
+
+        List<UUID> playerUuids = new ArrayList<>(batch.size());
+        for (PendingTrade trade : batch) {
+            playerUuids.add(trade.playerUuid);
+        }
+        tradeExecutor.lockBalances(playerUuids, side);
+
+        List<MarketTradeHistory> histories = new ArrayList<>(batch.size());
+        List<PendingTrade> executed = new ArrayList<>(batch.size());
+        List<MarketTradeExecutor.AppliedTrade> appliedTrades = new ArrayList<>(
+            batch.size()
+        );
+        List<MarketSnapshotItemDTO> updatedItems = new ArrayList<>(
+            batch.size()
+        );
+        for (PendingTrade trade : batch) {
+            try {
+                requestPolicy.validateItemAvailability(
+                    item,
+                    trade.before.snapshotVersion()
+                );
+                appliedTrades.add(
+                    tradeExecutor.applyCombinedTrade(
+                        trade.playerUuid,
+                        item,
+                        trade.quote,
+                        trade.before::snapshotVersion,
+                        histories
+                    )
+                );
+                executed.add(trade);
+                updatedItems.add(marketSnapshotService.toSnapshotItem(item));
+            } catch (MarketRejectionException rejection) {
+                trade.failure = rejection;
+            }
+        }
+        if (executed.isEmpty()) {
+            return;
+        }
+        tradeExecutor.saveCombinedTrades(item, histories, side);
+
+        // Trades usually share one pre-trade snapshot, so the post-trade
+        // version is derived once per distinct snapshot.
+        MarketSnapshotService.CurrentSnapshot versionedBefore = null;
+        String snapshotVersion = null;
+        for (int index = 0; index < executed.size(); index++) {
+            PendingTrade trade = executed.get(index);
+            if (trade.before != versionedBefore) {
+                versionedBefore = trade.before;
+                snapshotVersion =
+                    marketSnapshotService.snapshotVersionAfterChange(
+                        versionedBefore,
+                        item
+                    );
+            }
+            MarketTradeExecutor.AppliedTrade appliedTrade = appliedTrades.get(
+                index
+            );
+            trade.response = new MarketExecuteSuccessResponseDTO(
+                "SUCCESS",
+                item.getItemId(),
+                trade.quote.side(),
+                appliedTrade.executedQuantity(),
+                Long.toString(appliedTrade.unitPrice()),
+                Long.toString(appliedTrade.totalPrice()),
+                item.getCurrency(),
+                snapshotVersion,
+                updatedItems.get(index)
+            );
+        }
+    }
+
+    private static final class ItemLane {
+
+        private final Queue<PendingTrade> pending =
+            new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+    }
+
+    /**
+     * One queued execute. The outcome fields are written by the thread that
+     * applies the batch and published to the waiting thread through
+     * {@code done}.
+     */
+    private static final class PendingTrade {
+
+        private final UUID playerUuid;
+        private final MarketQuoteStore.StoredQuote quote;
+        private final MarketSnapshotService.CurrentSnapshot before;
+        private final Thread waiter;
+        private MarketExecuteSuccessResponseDTO response;
+        private RuntimeException failure;
+        private volatile boolean done;
+
+        private PendingTrade(
+            UUID playerUuid,
+            MarketQuoteStore.StoredQuote quote,
+            MarketSnapshotService.CurrentSnapshot before,
+            Thread waiter
+        ) {
+            this.playerUuid = playerUuid;
+            this.quote = quote;
+            this.before = before;
+            this.waiter = waiter;
+        }
+    }
+}
@@ -3,6 +3,8 @@ package io.github.HenriqueMichelini.craftalism.api.market.application.command;
 import io.github.HenriqueMichelini.craftalism.api.dto.MarketSide;
 import io.github.HenriqueMichelini.craftalism.api.exceptions.MarketRejectionCode;
 import io.github.HenriqueMichelini.craftalism.api.exceptions.MarketRejectionException;
+import io.github.HenriqueMichelini.craftalism.api.market.infrastructure.metrics.MarketMetrics;
+import io.github.HenriqueMichelini.craftalism.api.market.infrastructure.persistence.MarketTradeHistoryWriteBehind;
 import io.github.HenriqueMichelini.craftalism.api.market.infrastructure.store.MarketQuoteStore;
 import io.github.HenriqueMichelini.craftalism.api.market.domain.trade.MarketTradePlanner;
 import io.github.HenriqueMichelini.craftalism.api.model.Balance;
@@ -12,6 +14,13 @@ import io.github.HenriqueMichelini.craftalism.api.repository.BalanceRepository;
 import io.github.HenriqueMichelini.craftalism.api.repository.MarketItemRepository;
 import io.github.HenriqueMichelini.craftalism.api.repository.MarketTradeHistoryRepository;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.UUID;
 import java.util.function.Supplier;
 import org.springframework.http.HttpStatus;
@@ -22,17 +31,64 @@ public final class MarketTradeExecutor {
     private final MarketItemRepository marketItemRepository;
     private final MarketTradeHistoryRepository marketTradeHistoryRepository;
     private final MarketTradePlanner tradePlanner;
+    private final MarketTradeHistoryWriteBehind historyWriteBehind;
+    private final MarketMetrics metrics;
 
     public MarketTradeExecutor(
         BalanceRepository balanceRepository,
         MarketItemRepository marketItemRepository,
         MarketTradeHistoryRepository marketTradeHistoryRepository,
         MarketTradePlanner tradePlanner
+    ) {
+        this(
+            balanceRepository,
+            marketItemRepository,
+            marketTradeHistoryRepository,
+            tradePlanner,
+            null
+        );
+    }
+
+    /**
+     * With a {@link MarketTradeHistoryWriteBehind}, trade history rows are
+     * written after the execute transaction commits instead of while the item
+     * and balance rows are locked.
+     */
+    public MarketTradeExecutor(
+        BalanceRepository balanceRepository,
+        MarketItemRepository marketItemRepository,
+        MarketTradeHistoryRepository marketTradeHistoryRepository,
+        MarketTradePlanner tradePlanner,
+        MarketTradeHistoryWriteBehind historyWriteBehind
+    ) {
+        this(
+            balanceRepository,
+            marketItemRepository,
+            marketTradeHistoryRepository,
+            tradePlanner,
+            historyWriteBehind,
+            MarketMetrics.disabled()
+        );
+    }
+
+    public MarketTradeExecutor(
+        BalanceRepository balanceRepository,
+        MarketItemRepository marketItemRepository,
+        MarketTradeHistoryRepository marketTradeHistoryRepository,
+        MarketTradePlanner tradePlanner,
+        MarketTradeHistoryWriteBehind historyWriteBehind,
+        MarketMetrics metrics
     ) {
         this.balanceRepository = balanceRepository;
         this.marketItemRepository = marketItemRepository;
         this.marketTradeHistoryRepository = marketTradeHistoryRepository;
         this.tradePlanner = tradePlanner;
+        this.historyWriteBehind = historyWriteBehind;
+        this.metrics = metrics;
+    }
+
+    MarketMetrics metrics() {
+        return metrics;
     }
 
     AppliedTrade applyTrade(
@@ -41,6 +97,83 @@ public final class MarketTradeExecutor {
         MarketQuoteStore.StoredQuote quote,
         String snapshotVersion,
         Supplier<String> currentSnapshotVersion
+    ) {
+        SettledTrade settledTrade = settle(
+            playerUuid,
+            item,
+            quote,
+            snapshotVersion,
+            currentSnapshotVersion
+        );
+        marketItemRepository.save(item);
+        metrics.timePhase(
+            MarketMetrics.Phase.HISTORY,
+            MarketMetrics.side(quote.side()),
+            () -> {
+                if (historyWriteBehind != null) {
+                    historyWriteBehind.record(List.of(settledTrade.history()));
+                } else {
+                    marketTradeHistoryRepository.save(settledTrade.history());
+                }
+                return null;
+            }
+        );
+        return settledTrade.trade();
+    }
+
+    /**
+     * Applies one trade of a combined batch. The caller holds the item lock
+     * and saves the item once after the batch; the trade's history row is
+     * added to {@code histories} for one batched insert. A rejection leaves
+     * the item and balance unchanged, so the rest of the batch can proceed.
+     */
+    AppliedTrade applyCombinedTrade(
+        UUID playerUuid,
+        MarketItem item,
+        MarketQuoteStore.StoredQuote quote,
+        Supplier<String> currentSnapshotVersion,
+        List<MarketTradeHistory> histories
+    ) {
+        SettledTrade settledTrade = settle(
+            playerUuid,
+            item,
+            quote,
+            quote.snapshotVersion(),
+            currentSnapshotVersion
+        );
+        histories.add(settledTrade.history());
+        return settledTrade.trade();
+    }
+
+    /**
+     * Locks the given balances in UUID order. Combined batches take every
+     * balance they touch up front so two batches on different items cannot
+     * lock the same pair of balances in opposite orders.
+     */
+    void lockBalances(Collection<UUID> playerUuids, String side) {
+        metrics.timePhase(MarketMetrics.Phase.BALANCE_LOCK, side, () -> {
+            for (UUID playerUuid : new TreeSet<>(playerUuids)) {
+                balanceRepository.findForUpdate(playerUuid);
+            }
+            return null;
+        });
+    }
+
+    void saveCombinedTrades(
+        MarketItem item,
+        List<MarketTradeHistory> histories,
+        String side
+    ) {
+        marketItemRepository.save(item);
+        saveHistories(histories, side);
+    }
+
+    private SettledTrade settle(
+        UUID playerUuid,
+        MarketItem item,
+        MarketQuoteStore.StoredQuote quote,
+        String snapshotVersion,
+        Supplier<String> currentSnapshotVersion
     ) {
         tradePlanner.recomputeDerivedProjections(item);
         if (quote.side() == MarketSide.BUY) {
@@ -62,7 +195,99 @@ public final class MarketTradeExecutor {
         );
     }
 
-    private AppliedTrade applyBuy(
+    /**
+     * Applies every line of a basket under one balance lock. The caller must
+     * already hold the item locks, taken in itemId order. Lines for the same
+     * item are applied in order against the running item state. The net
+     * balance delta is applied once, so sale proceeds in the basket fund its
+     * purchases, and all trade history rows are saved together.
+     */
+    AppliedBasket applyBasket(
+        UUID playerUuid,
+        List<BasketLine> lines,
+        Supplier<String> currentSnapshotVersion
+    ) {
+        Instant now = Instant.now();
+        String side = MarketMetrics.side(lines, line -> line.quote().side());
+        long netAmount = 0L;
+        List<AppliedTrade> trades = new ArrayList<>(lines.size());
+        List<MarketTradeHistory> histories = new ArrayList<>(lines.size());
+        Set<MarketItem> changedItems = new LinkedHashSet<>();
+        for (BasketLine line : lines) {
+            MarketItem item = line.item();
+            MarketQuoteStore.StoredQuote quote = line.quote();
+            tradePlanner.recomputeDerivedProjections(item);
+            if (quote.side() == MarketSide.BUY) {
+                MarketTradePlanner.TradePlan plan = requireFullBuyPlan(
+                    item,
+                    quote.quantity(),
+                    quote.snapshotVersion()
+                );
+                item.setNetPosition(
+                    Math.addExact(item.getNetPosition(), plan.executedQuantity())
+                );
+                netAmount = subtractBalanceAmounts(
+                    netAmount,
+                    quote.totalPrice(),
+                    currentSnapshotVersion
+                );
+            } else {
+                MarketTradePlanner.TradePlan plan = requireFullSellPlan(
+                    item,
+                    quote.quantity(),
+                    quote.snapshotVersion()
+                );
+                item.setNetPosition(
+                    Math.subtractExact(
+                        item.getNetPosition(),
+                        plan.executedQuantity()
+                    )
+                );
+                netAmount = addBalanceAmounts(
+                    netAmount,
+                    quote.totalPrice(),
+                    currentSnapshotVersion
+                );
+            }
+            item.setLastUpdatedAt(now);
+            tradePlanner.recomputeDerivedProjections(item);
+            changedItems.add(item);
+            histories.add(
+                tradeHistory(playerUuid, item, quote, quote.quantity(), now)
+            );
+            trades.add(
+                new AppliedTrade(
+                    quote.quantity(),
+                    quote.unitPrice(),
+                    quote.totalPrice()
+                )
+            );
+        }
+
+        Balance balance = lockBalance(playerUuid, side).orElse(null);
+        if (balance == null) {
+            if (netAmount < 0L) {
+                throw insufficientFunds(currentSnapshotVersion);
+            }
+            balance = new Balance(playerUuid, 0L);
+        }
+        if (netAmount < 0L && balance.getAmount() + netAmount < 0L) {
+            throw insufficientFunds(currentSnapshotVersion);
+        }
+        balance.setAmount(
+            addBalanceAmounts(
+                balance.getAmount(),
+                netAmount,
+                currentSnapshotVersion
+            )
+        );
+        balanceRepository.save(balance);
+        marketItemRepository.saveAll(changedItems);
+        saveHistories(histories, side);
+        return new AppliedBasket(trades, netAmount);
+    }
+
+    private SettledTrade applyBuy(
         UUID playerUuid,
         MarketItem item,
         MarketQuoteStore.StoredQuote quote,
@@ -74,8 +299,7 @@ public final class MarketTradeExecutor {
             quote.quantity(),
             snapshotVersion
         );
-        Balance balance = balanceRepository
-            .findForUpdate(playerUuid)
+        Balance balance = lockBalance(playerUuid, MarketMetrics.side(quote.side()))
             .orElseThrow(() -> insufficientFunds(currentSnapshotVersion));
         if (balance.getAmount() < quote.totalPrice()) {
             throw insufficientFunds(currentSnapshotVersion);
@@ -87,16 +311,23 @@ public final class MarketTradeExecutor {
         );
         item.setLastUpdatedAt(Instant.now());
         tradePlanner.recomputeDerivedProjections(item);
-        marketItemRepository.save(item);
-        saveTradeHistory(playerUuid, item, quote, plan.executedQuantity());
-        return new AppliedTrade(
-            plan.executedQuantity(),
-            quote.unitPrice(),
-            quote.totalPrice()
+        return new SettledTrade(
+            new AppliedTrade(
+                plan.executedQuantity(),
+                quote.unitPrice(),
+                quote.totalPrice()
+            ),
+            tradeHistory(
+                playerUuid,
+                item,
+                quote,
+                plan.executedQuantity(),
+                Instant.now()
+            )
         );
     }
 
-    private AppliedTrade applySell(
+    private SettledTrade applySell(
         UUID playerUuid,
         MarketItem item,
         MarketQuoteStore.StoredQuote quote,
@@ -108,8 +339,7 @@ public final class MarketTradeExecutor {
             quote.quantity(),
             snapshotVersion
         );
-        Balance balance = balanceRepository
-            .findForUpdate(playerUuid)
+        Balance balance = lockBalance(playerUuid, MarketMetrics.side(quote.side()))
             .orElseGet(() -> new Balance(playerUuid, 0L));
         long creditedBalanceAmount = addBalanceAmounts(
             balance.getAmount(),
@@ -124,12 +354,19 @@ public final class MarketTradeExecutor {
         );
         item.setLastUpdatedAt(Instant.now());
         tradePlanner.recomputeDerivedProjections(item);
-        marketItemRepository.save(item);
-        saveTradeHistory(playerUuid, item, quote, plan.executedQuantity());
-        return new AppliedTrade(
-            plan.executedQuantity(),
-            quote.unitPrice(),
-            quote.totalPrice()
+        return new SettledTrade(
+            new AppliedTrade(
+                plan.executedQuantity(),
+                quote.unitPrice(),
+                quote.totalPrice()
+            ),
+            tradeHistory(
+                playerUuid,
+                item,
+                quote,
+                plan.executedQuantity(),
+                Instant.now()
+            )
         );
     }
 
@@ -138,9 +375,10 @@ public final class MarketTradeExecutor {
         long requestedQuantity,
         String snapshotVersion
     ) {
-        MarketTradePlanner.TradePlan plan = tradePlanner.buyPlan(
-            item,
-            requestedQuantity
+        MarketTradePlanner.TradePlan plan = metrics.timePhase(
+            MarketMetrics.Phase.PRICING,
+            MarketMetrics.side(MarketSide.BUY),
+            () -> tradePlanner.buyPlan(item, requestedQuantity)
         );
         if (plan.executedQuantity() != requestedQuantity) {
             throw rejection(
@@ -158,9 +396,10 @@ public final class MarketTradeExecutor {
         long requestedQuantity,
         String snapshotVersion
     ) {
-        MarketTradePlanner.TradePlan plan = tradePlanner.sellPlan(
-            item,
-            requestedQuantity
+        MarketTradePlanner.TradePlan plan = metrics.timePhase(
+            MarketMetrics.Phase.PRICING,
+            MarketMetrics.side(MarketSide.SELL),
+            () -> tradePlanner.sellPlan(item, requestedQuantity)
         );
         if (plan.executedQuantity() != requestedQuantity) {
             throw rejection(
@@ -184,11 +423,31 @@ public final class MarketTradeExecutor {
         );
     }
 
-    private void saveTradeHistory(
+    private Optional<Balance> lockBalance(UUID playerUuid, String side) {
+        return metrics.timePhase(
+            MarketMetrics.Phase.BALANCE_LOCK,
+            side,
+            () -> balanceRepository.findForUpdate(playerUuid)
+        );
+    }
+
+    private void saveHistories(List<MarketTradeHistory> histories, String side) {
+        metrics.timePhase(MarketMetrics.Phase.HISTORY, side, () -> {
+            if (historyWriteBehind != null) {
+                historyWriteBehind.record(histories);
+            } else {
+                marketTradeHistoryRepository.saveAll(histories);
+            }
+            return null;
+        });
+    }
+
+    private MarketTradeHistory tradeHistory(
         UUID playerUuid,
         MarketItem item,
         MarketQuoteStore.StoredQuote quote,
-        long executedQuantity
+        long executedQuantity,
+        Instant executedAt
     ) {
         MarketTradeHistory history = new MarketTradeHistory();
         history.setPlayerUuid(playerUuid);
@@ -199,8 +458,8 @@ public final class MarketTradeExecutor {
         history.setTotalPrice(quote.totalPrice());
         history.setCurrency(item.getCurrency());
         history.setSnapshotVersion(quote.snapshotVersion());
-        history.setExecutedAt(Instant.now());
-        marketTradeHistoryRepository.save(history);
+        history.setExecutedAt(executedAt);
+        return history;
     }
 
     private MarketRejectionException rejection(
@@ -234,9 +493,32 @@ public final class MarketTradeExecutor {
         }
     }
 
+    private long subtractBalanceAmounts(
+        long currentAmount,
+        long amount,
+        Supplier<String> currentSnapshotVersion
+    ) {
+        try {
+            return Math.subtractExact(currentAmount, amount);
+        } catch (ArithmeticException ex) {
+            throw rejection(
+                MarketRejectionCode.BALANCE_OVERFLOW,
+                "Balance amount exceeds supported range.",
+                HttpStatus.UNPROCESSABLE_ENTITY,
+                currentSnapshotVersion.get()
+            );
+        }
+    }
+
+    record BasketLine(MarketItem item, MarketQuoteStore.StoredQuote quote) {}
+
+    record AppliedBasket(List<AppliedTrade> trades, long netAmount) {}
+
     record AppliedTrade(
         long executedQuantity,
         long unitPrice,
         long totalPrice
     ) {}
+
+    private record SettledTrade(AppliedTrade trade, MarketTradeHistory history) {}
 }
@@ -0,0 +1,525 @@
+package io.github.HenriqueMichelini.craftalism.api.market.application.query;
+
+import io.github.HenriqueMichelini.craftalism.api.dto.MarketActiveEventContextDTO;
+import io.github.HenriqueMichelini.craftalism.api.dto.MarketStreamDeltaDTO;
+import io.github.HenriqueMichelini.craftalism.api.dto.MarketStreamResyncDTO;
+import io.github.HenriqueMichelini.craftalism.api.exceptions.MarketStreamUnavailableException;
+import io.github.HenriqueMichelini.craftalism.api.market.application.change.MarketStateChangedEvent;
+import io.github.HenriqueMichelini.craftalism.api.market.domain.snapshot.MarketSnapshotProjector.MarketSnapshotProjection;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Pushes per-item market deltas to server-sent event subscribers.
+ *
+ * <p>Committed market changes are coalesced and diffed against the item
+ * fingerprints of the last dispatched snapshot on a single dispatcher thread,
+ * so trades, regeneration and drift ticks and event boundaries only emit the
+ * items whose snapshot state actually changed. The snapshot is read in its own
+ * short transaction and fan-out happens after it has finished, so no database
+ * transaction or row lock is held while writing to subscribers.
+ *
+ * <p>Every subscriber owns a bounded buffer drained by a sender pool. When a
+ * slow subscriber overflows its buffer the pending deltas are dropped and
+ * replaced by a single resync message, after which the client reloads the
+ * snapshot.
+ *
+ * <p>{@link SseEmitter#send} blocks, so the pool hands each drain its own
+ * thread, up to one per subscriber, instead of queueing it behind a stalled
+ * client. A send in flight for longer than the send timeout is abandoned: the
+ * subscriber is dropped and its sender thread interrupted, and the emitter is
+ * completed once the send returns.
+ */
+@Slf4j
+public final class MarketDeltaStream {
+
+    public static final String DELTA_EVENT = "delta";
+    public static final String RESYNC_EVENT = "resync";
+    public static final String RESYNC_SUBSCRIBED = "SUBSCRIBED";
+    public static final String RESYNC_MARKET_CHANGED = "MARKET_CHANGED";
+    public static final String RESYNC_BUFFER_OVERFLOW = "BUFFER_OVERFLOW";
+
+    private final MarketSnapshotService snapshotService;
+    private final TransactionOperations transactionOperations;
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final Duration timeout;
+    private final long sendTimeoutNanos;
+    private final ScheduledExecutorService dispatchExecutor;
+    private final Executor sendExecutor;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Set<String> pendingItemIds = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean pendingAllItems = new AtomicBoolean();
+    private final AtomicBoolean dispatchScheduled = new AtomicBoolean();
+    private volatile DispatchedState dispatchedState;
+
+    public MarketDeltaStream(
+        MarketSnapshotService snapshotService,
+        TransactionOperations transactionOperations,
+        int bufferSize,
+        int maxSubscribers,
+        Duration heartbeatInterval,
+        Duration timeout,
+        Duration sendTimeout
+    ) {
+        this(
+            snapshotService,
+            transactionOperations,
+            bufferSize,
+            maxSubscribers,
+            timeout,
+            sendTimeout,
+            Executors.newSingleThreadScheduledExecutor(
+                daemonThreads("market-stream-dispatch")
+            ),
+            new ThreadPoolExecutor(
+                Math.max(2, Runtime.getRuntime().availableProcessors()),
+                Math.max(2, maxSubscribers),
+                60L,
+                TimeUnit.SECONDS,
+                new SynchronousQueue<>(),
+                daemonThreads("market-stream-send")
+            )
+        );
+        if (!heartbeatInterval.isZero() && !heartbeatInterval.isNegative()) {
+            dispatchExecutor.scheduleAtFixedRate(
+                this::heartbeat,
+                heartbeatInterval.toMillis(),
+                heartbeatInterval.toMillis(),
+                TimeUnit.MILLISECONDS
+            );
+        }
+        long sweepMillis = Math.max(100L, sendTimeout.toMillis() / 2L);
+        dispatchExecutor.scheduleAtFixedRate(
+            () -> expireStalledSends(System.nanoTime()),
+            sweepMillis,
+            sweepMillis,
+            TimeUnit.MILLISECONDS
+        );
+    }
+
+    MarketDeltaStream(
+        MarketSnapshotService snapshotService,
+        TransactionOperations transactionOperations,
+        int bufferSize,
+        int maxSubscribers,
+        Duration timeout,
+        Duration sendTimeout,
+        ScheduledExecutorService dispatchExecutor,
+        Executor sendExecutor
+    ) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException(
+                "craftalism.market.stream.buffer-size must be positive."
+            );
+        }
+        if (sendTimeout.isZero() || sendTimeout.isNegative()) {
+            throw new IllegalArgumentException(
+                "craftalism.market.stream.send-timeout-ms must be positive."
+            );
+        }
+        this.snapshotService = snapshotService;
+        this.transactionOperations = transactionOperations;
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        this.timeout = timeout;
+        this.sendTimeoutNanos = sendTimeout.toNanos();
+        this.dispatchExecutor = dispatchExecutor;
+        this.sendExecutor = sendExecutor;
+    }
+
+    public SseEmitter subscribe() {
+        return subscribe(new SseEmitter(timeout.toMillis()));
+    }
+
+    SseEmitter subscribe(SseEmitter emitter) {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new MarketStreamUnavailableException(maxSubscribers);
+        }
+        String snapshotVersion = transactionOperations.execute(status ->
+            snapshotService.currentSnapshotVersion()
+        );
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> {
+            subscribers.remove(subscriber);
+            emitter.complete();
+        });
+        emitter.onError(error -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        subscriber.offer(
+            List.of(resync(snapshotVersion, RESYNC_SUBSCRIBED))
+        );
+        return emitter;
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @TransactionalEventListener(
+        phase = TransactionPhase.AFTER_COMMIT,
+        fallbackExecution = true
+    )
+    public void onMarketStateChanged(MarketStateChangedEvent event) {
+        if (event.affectsAllItems()) {
+            pendingAllItems.set(true);
+        } else {
+            pendingItemIds.add(event.itemId());
+        }
+        if (dispatchScheduled.compareAndSet(false, true)) {
+            dispatchExecutor.execute(this::dispatchSafely);
+        }
+    }
+
+    public void shutdown() {
+        dispatchExecutor.shutdownNow();
+        if (sendExecutor instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+        for (Subscriber subscriber : subscribers) {
+            subscriber.emitter.complete();
+        }
+        subscribers.clear();
+    }
+
+    private void dispatchSafely() {
+        try {
+            dispatch();
+        } catch (RuntimeException exception) {
+            log.warn("market.stream.dispatch failed", exception);
+            dispatchedState = null;
+            fanOut(List.of(resync(null, RESYNC_MARKET_CHANGED)));
+        }
+    }
+
+    void dispatch() {
+        dispatchScheduled.set(false);
+        boolean allItems = pendingAllItems.getAndSet(false);
+        Set<String> itemIds = new LinkedHashSet<>();
+        for (String itemId : pendingItemIds) {
+            if (pendingItemIds.remove(itemId)) {
+                itemIds.add(itemId);
+            }
+        }
+        if (!allItems && itemIds.isEmpty()) {
+            return;
+        }
+        if (subscribers.isEmpty()) {
+            // Nobody is listening; the next dispatch starts from a fresh
+            // baseline instead of reading the snapshot now.
+            dispatchedState = null;
+            return;
+        }
+
+        MarketSnapshotService.CurrentSnapshot snapshot =
+            transactionOperations.execute(status ->
+                snapshotService.currentSnapshot()
+            );
+        DispatchedState previous = dispatchedState;
+        DispatchedState current = DispatchedState.of(snapshot);
+        dispatchedState = current;
+
+        if (
+            allItems &&
+            (previous == null ||
+                !Objects.equals(previous.activeEvent(), current.activeEvent()))
+        ) {
+            fanOut(
+                List.of(resync(current.snapshotVersion(), RESYNC_MARKET_CHANGED))
+            );
+            return;
+        }
+
+        Set<String> candidates = itemIds;
+        if (allItems) {
+            candidates = new LinkedHashSet<>(previous.fingerprints().keySet());
+            candidates.addAll(current.fingerprints().keySet());
+        }
+        List<StreamMessage> messages = new ArrayList<>();
+        for (String itemId : candidates) {
+            MarketSnapshotProjection projection = snapshot
+                .projectionsById()
+                .get(itemId);
+            Long previousFingerprint = previous == null
+                ? null
+                : previous.fingerprints().get(itemId);
+            if (projection == null) {
+                if (previous == null || previousFingerprint != null) {
+                    messages.add(delta(current.snapshotVersion(), itemId, null));
+                }
+            } else if (
+                previousFingerprint == null ||
+                previousFingerprint != projection.fingerprint()
+            ) {
+                messages.add(
+                    delta(current.snapshotVersion(), itemId, projection)
+                );
+            }
+        }
+        if (messages.size() > bufferSize) {
+            messages = List.of(
+                resync(current.snapshotVersion(), RESYNC_MARKET_CHANGED)
+            );
+        }
+        if (!messages.isEmpty()) {
+            fanOut(messages);
+        }
+    }
+
+    /**
+     * Drops every subscriber whose current send started at least one send
+     * timeout before {@code nowNanos}.
+     */
+    void expireStalledSends(long nowNanos) {
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.sendStalledAt(nowNanos)) {
+                log.warn(
+                    "market.stream.send stalled for over {}ms, dropping subscriber",
+                    TimeUnit.NANOSECONDS.toMillis(sendTimeoutNanos)
+                );
+                subscriber.abandon();
+            }
+        }
+    }
+
+    private void fanOut(List<StreamMessage> messages) {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(messages);
+        }
+    }
+
+    private void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.heartbeat();
+        }
+    }
+
+    private StreamMessage delta(
+        String snapshotVersion,
+        String itemId,
+        MarketSnapshotProjection projection
+    ) {
+        return new StreamMessage(
+            DELTA_EVENT,
+            new MarketStreamDeltaDTO(
+                snapshotVersion,
+                itemId,
+                projection == null ? null : projection.categoryId(),
+                projection == null
+                    ? null
+                    : snapshotService.toSnapshotItem(projection)
+            )
+        );
+    }
+
+    private static StreamMessage resync(String snapshotVersion, String reason) {
+        return new StreamMessage(
+            RESYNC_EVENT,
+            new MarketStreamResyncDTO(snapshotVersion, reason)
+        );
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(
+                runnable,
+                prefix + "-" + sequence.incrementAndGet()
+            );
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private record StreamMessage(String name, Object data) {}
+
+    private record DispatchedState(
+        String snapshotVersion,
+        Map<String, Long> fingerprints,
+        MarketActiveEventContextDTO activeEvent
+    ) {
+        private static DispatchedState of(
+            MarketSnapshotService.CurrentSnapshot snapshot
+        ) {
+            Map<String, Long> fingerprints = new HashMap<>();
+            for (MarketSnapshotProjection projection : snapshot
+                .projectionsById()
+                .values()) {
+                fingerprints.put(projection.itemId(), projection.fingerprint());
+            }
+            return new DispatchedState(
+                snapshot.snapshotVersion(),
+                fingerprints,
+                snapshot.activeEvent()
+            );
+        }
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final ArrayDeque<StreamMessage> buffer = new ArrayDeque<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final Object sendLock = new Object();
+        private boolean heartbeatPending;
+        private volatile boolean closed;
+        private Thread sendingThread;
+        private long sendStartedNanos;
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        private void offer(List<StreamMessage> messages) {
+            synchronized (buffer) {
+                if (buffer.size() + messages.size() > bufferSize) {
+                    buffer.clear();
+                    buffer.add(
+                        resync(
+                            dispatchedState == null
+                                ? null
+                                : dispatchedState.snapshotVersion(),
+                            RESYNC_BUFFER_OVERFLOW
+                        )
+                    );
+                } else {
+                    buffer.addAll(messages);
+                }
+            }
+            scheduleDrain();
+        }
+
+        private void heartbeat() {
+            synchronized (buffer) {
+                if (!buffer.isEmpty()) {
+                    return;
+                }
+                heartbeatPending = true;
+            }
+            scheduleDrain();
+        }
+
+        private boolean sendStalledAt(long nowNanos) {
+            synchronized (sendLock) {
+                return (
+                    sendingThread != null &&
+                    nowNanos - sendStartedNanos >= sendTimeoutNanos
+                );
+            }
+        }
+
+        private void abandon() {
+            closed = true;
+            subscribers.remove(this);
+            synchronized (buffer) {
+                buffer.clear();
+            }
+            synchronized (sendLock) {
+                if (sendingThread != null) {
+                    // complete() waits for the emitter's write lock, so the
+                    // sender completes the emitter once its send returns.
+                    sendingThread.interrupt();
+                    return;
+                }
+            }
+            emitter.complete();
+        }
+
+        private void scheduleDrain() {
+            if (closed) {
+                return;
+            }
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    sendExecutor.execute(this::drain);
+                } catch (RejectedExecutionException exception) {
+                    draining.set(false);
+                    abandon();
+                }
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                StreamMessage message;
+                boolean heartbeat;
+                synchronized (buffer) {
+                    if (closed) {
+                        buffer.clear();
+                        draining.set(false);
+                        return;
+                    }
+                    message = buffer.poll();
+                    heartbeat = message == null && heartbeatPending;
+                    heartbeatPending = false;
+                    if (message == null && !heartbeat) {
+                        draining.set(false);
+                        return;
+                    }
+                }
+                synchronized (sendLock) {
+                    sendingThread = Thread.currentThread();
+                    sendStartedNanos = System.nanoTime();
+                }
+                try {
+                    emitter.send(
+                        heartbeat
+                            ? SseEmitter.event().comment("heartbeat")
+                            : SseEmitter
+                                .event()
+                                .name(message.name())
+                                .data(message.data(), MediaType.APPLICATION_JSON)
+                    );
+                } catch (IOException | IllegalStateException exception) {
+                    subscribers.remove(this);
+                    synchronized (buffer) {
+                        buffer.clear();
+                        draining.set(false);
+                    }
+                    return;
+                } finally {
+                    boolean abandoned;
+                    synchronized (sendLock) {
+                        sendingThread = null;
+                        abandoned = closed;
+                        if (abandoned) {
+                            // Clear an interrupt from abandon() so it cannot
+                            // leak into the next task on this pool thread.
+                            Thread.interrupted();
+                        }
+                    }
+                    if (abandoned) {
+                        emitter.complete();
+                    }
+                }
+            }
+        }
+    }
+}
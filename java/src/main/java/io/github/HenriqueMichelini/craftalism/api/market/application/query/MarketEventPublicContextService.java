@@ -1,11 +1,10 @@
 package io.github.HenriqueMichelini.craftalism.api.market.application.query;
 
 import io.github.HenriqueMichelini.craftalism.api.dto.MarketActiveEventContextDTO;
-import io.github.HenriqueMichelini.craftalism.api.market.domain.event.MarketEventLifecycleService;
+import io.github.HenriqueMichelini.craftalism.api.market.domain.event.MarketActiveEventState;
 import io.github.HenriqueMichelini.craftalism.api.model.MarketEventInstance;
 import io.github.HenriqueMichelini.craftalism.api.model.MarketEventTemplate;
 import io.github.HenriqueMichelini.craftalism.api.repository.MarketEventTemplateRepository;
-import java.time.Instant;
 import java.util.Optional;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -13,22 +12,20 @@ import org.springframework.transaction.annotation.Transactional;
 @Service
 public class MarketEventPublicContextService {
 
-    private final MarketEventLifecycleService lifecycleService;
+    private final MarketActiveEventState activeEventState;
     private final MarketEventTemplateRepository templateRepository;
 
     public MarketEventPublicContextService(
-        MarketEventLifecycleService lifecycleService,
+        MarketActiveEventState activeEventState,
         MarketEventTemplateRepository templateRepository
     ) {
-        this.lifecycleService = lifecycleService;
+        this.activeEventState = activeEventState;
         this.templateRepository = templateRepository;
     }
 
     @Transactional(readOnly = true)
-    public Optional<MarketActiveEventContextDTO> activeContext(Instant now) {
-        return lifecycleService
-            .effectiveActiveEvent(now)
-            .flatMap(this::toPublicContext);
+    public Optional<MarketActiveEventContextDTO> activeContext() {
+        return activeEventState.activeEvent().flatMap(this::toPublicContext);
     }
 
     private Optional<MarketActiveEventContextDTO> toPublicContext(
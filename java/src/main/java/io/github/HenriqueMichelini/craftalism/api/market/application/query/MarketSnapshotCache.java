@@ -0,0 +1,403 @@
+package io.github.HenriqueMichelini.craftalism.api.market.application.query;
+
+import io.github.HenriqueMichelini.craftalism.api.dto.MarketActiveEventContextDTO;
+import io.github.HenriqueMichelini.craftalism.api.dto.MarketSnapshotResponseDTO;
+import io.github.HenriqueMichelini.craftalism.api.market.application.change.MarketStateChangedEvent;
+import io.github.HenriqueMichelini.craftalism.api.market.domain.snapshot.MarketSnapshotProjector;
+import io.github.HenriqueMichelini.craftalism.api.market.domain.snapshot.MarketSnapshotProjector.MarketSnapshotProjection;
+import io.github.HenriqueMichelini.craftalism.api.model.MarketItem;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.annotation.Order;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Process-local, immutable market snapshot. Committed market writes mark the
+ * touched items dirty and the next read reloads only those items (plus items
+ * whose regeneration or drift came due); category, event and template writes
+ * force a full reload. Entries are swapped with a compare-and-set, so readers
+ * never block each other.
+ *
+ * <p>Items handed out by {@link #currentSnapshot()} are shared detached copies
+ * and must be treated as read-only.
+ */
+@Slf4j
+public final class MarketSnapshotCache {
+
+    private final MarketSnapshotStateLoader stateLoader;
+    private final MarketSnapshotProjector snapshotProjector;
+    private final MarketEventPublicContextService eventPublicContextService;
+    private final Duration maxAge;
+    private final Clock clock;
+    private final AtomicReference<CachedSnapshot> current =
+        new AtomicReference<>();
+    private final Map<String, Long> dirtyItems = new ConcurrentHashMap<>();
+    private final AtomicLong invalidationSequence = new AtomicLong();
+    private final AtomicLong fullInvalidationSequence = new AtomicLong();
+
+    public MarketSnapshotCache(
+        MarketSnapshotStateLoader stateLoader,
+        MarketSnapshotProjector snapshotProjector,
+        MarketEventPublicContextService eventPublicContextService,
+        Duration maxAge,
+        Clock clock
+    ) {
+        this.stateLoader = stateLoader;
+        this.snapshotProjector = snapshotProjector;
+        this.eventPublicContextService = eventPublicContextService;
+        this.maxAge = maxAge;
+        this.clock = clock;
+    }
+
+    public MarketSnapshotResponseDTO snapshotResponse() {
+        return entry().response(snapshotProjector);
+    }
+
+    public MarketSnapshotService.CurrentSnapshot currentSnapshot() {
+        return entry().currentSnapshot();
+    }
+
+    // Runs before other after-commit listeners so anything they trigger,
+    // such as the delta stream, reads the invalidated entry.
+    @Order(0)
+    @TransactionalEventListener(
+        phase = TransactionPhase.AFTER_COMMIT,
+        fallbackExecution = true
+    )
+    public void onMarketStateChanged(MarketStateChangedEvent event) {
+        if (event.affectsAllItems()) {
+            invalidateAll();
+            return;
+        }
+        dirtyItems.put(event.itemId(), invalidationSequence.incrementAndGet());
+    }
+
+    public void invalidateAll() {
+        fullInvalidationSequence.incrementAndGet();
+    }
+
+    private CachedSnapshot entry() {
+        Instant now = Instant.now(clock);
+        CachedSnapshot cached = current.get();
+        long fullSequence = fullInvalidationSequence.get();
+        if (
+            cached != null &&
+            dirtyItems.isEmpty() &&
+            !requiresFullReload(cached, fullSequence, now) &&
+            !hasDueItems(cached, now)
+        ) {
+            return cached;
+        }
+
+        // Capture invalidations before reading so commits racing the reload
+        // stay dirty for the next reader.
+        Map<String, Long> capturedDirtyItems = Map.copyOf(dirtyItems);
+        CachedSnapshot refreshed =
+            cached == null || requiresFullReload(cached, fullSequence, now)
+                ? load(fullSequence, now)
+                : reload(cached, capturedDirtyItems.keySet(), now);
+        if (current.compareAndSet(cached, refreshed)) {
+            capturedDirtyItems.forEach(dirtyItems::remove);
+        }
+        return refreshed;
+    }
+
+    private boolean requiresFullReload(
+        CachedSnapshot cached,
+        long fullSequence,
+        Instant now
+    ) {
+        return (
+            cached.fullInvalidationSequence() != fullSequence ||
+            (maxAge != null &&
+                !maxAge.isZero() &&
+                !now.isBefore(cached.loadedAt().plus(maxAge)))
+        );
+    }
+
+    private boolean hasDueItems(CachedSnapshot cached, Instant now) {
+        return isReached(cached.nextItemUpdateAt(), now);
+    }
+
+    private CachedSnapshot load(long fullSequence, Instant now) {
+        long startNanos = System.nanoTime();
+        List<MarketItem> items = stateLoader.regeneratedItems().items();
+        Map<String, CachedItem> cachedItems = cachedItems(items);
+        MarketActiveEventContextDTO activeEventContext =
+            eventPublicContextService == null
+                ? null
+                : eventPublicContextService.activeContext().orElse(null);
+        CachedSnapshot snapshot = snapshot(
+            cachedItems,
+            activeEventContext,
+            fullSequence,
+            now
+        );
+        log.debug(
+            "market.snapshot.cache.load items={} totalMs={}",
+            cachedItems.size(),
+            (System.nanoTime() - startNanos) / 1_000_000L
+        );
+        return snapshot;
+    }
+
+    private CachedSnapshot reload(
+        CachedSnapshot cached,
+        Set<String> dirtyItemIds,
+        Instant now
+    ) {
+        long startNanos = System.nanoTime();
+        Set<String> itemIds = new HashSet<>(dirtyItemIds);
+        for (CachedItem cachedItem : cached.itemsById().values()) {
+            if (isReached(cachedItem.nextUpdateAt(), now)) {
+                itemIds.add(cachedItem.item().getItemId());
+            }
+        }
+
+        Map<String, CachedItem> reloadedItems = cachedItems(
+            stateLoader.regeneratedItems(itemIds).items()
+        );
+        Map<String, CachedItem> cachedItems = new HashMap<>(
+            cached.itemsById()
+        );
+        for (String itemId : itemIds) {
+            CachedItem reloadedItem = reloadedItems.get(itemId);
+            if (reloadedItem == null) {
+                cachedItems.remove(itemId);
+            } else {
+                cachedItems.put(itemId, reloadedItem);
+            }
+        }
+        CachedSnapshot snapshot = snapshot(
+            cachedItems,
+            cached.activeEvent(),
+            cached.fullInvalidationSequence(),
+            cached.loadedAt()
+        );
+        log.debug(
+            "market.snapshot.cache.reload items={} reloadedItems={} totalMs={}",
+            cachedItems.size(),
+            itemIds.size(),
+            (System.nanoTime() - startNanos) / 1_000_000L
+        );
+        return snapshot;
+    }
+
+    private Map<String, CachedItem> cachedItems(List<MarketItem> items) {
+        List<MarketItem> copies = new ArrayList<>(items.size());
+        for (MarketItem item : items) {
+            copies.add(detachedCopy(item));
+        }
+        List<MarketSnapshotProjection> projections =
+            snapshotProjector.projections(copies);
+        Map<String, MarketSnapshotProjection> projectionsById = new HashMap<>();
+        for (MarketSnapshotProjection projection : projections) {
+            projectionsById.put(projection.itemId(), projection);
+        }
+        Map<String, CachedItem> cachedItems = new HashMap<>();
+        for (MarketItem copy : copies) {
+            cachedItems.put(
+                copy.getItemId(),
+                new CachedItem(
+                    copy,
+                    projectionsById.get(copy.getItemId()),
+                    stateLoader.nextMarketStateUpdateAt(copy)
+                )
+            );
+        }
+        return cachedItems;
+    }
+
+    private CachedSnapshot snapshot(
+        Map<String, CachedItem> cachedItems,
+        MarketActiveEventContextDTO activeEvent,
+        long fullSequence,
+        Instant loadedAt
+    ) {
+        Map<String, MarketSnapshotProjection> projectionsById = new HashMap<>();
+        Instant nextItemUpdateAt = null;
+        for (CachedItem cachedItem : cachedItems.values()) {
+            projectionsById.put(
+                cachedItem.item().getItemId(),
+                cachedItem.projection()
+            );
+            if (
+                cachedItem.nextUpdateAt() != null &&
+                (nextItemUpdateAt == null ||
+                    cachedItem.nextUpdateAt().isBefore(nextItemUpdateAt))
+            ) {
+                nextItemUpdateAt = cachedItem.nextUpdateAt();
+            }
+        }
+        List<MarketSnapshotProjection> projections =
+            snapshotProjector.sortedProjections(projectionsById.values());
+        List<MarketItem> items = new ArrayList<>(projections.size());
+        for (MarketSnapshotProjection projection : projections) {
+            items.add(cachedItems.get(projection.itemId()).item());
+        }
+        long catalogDigest = snapshotProjector.catalogDigest(projections);
+        return new CachedSnapshot(
+            Map.copyOf(cachedItems),
+            Map.copyOf(projectionsById),
+            projections,
+            List.copyOf(items),
+            snapshotProjector.snapshotVersion(
+                catalogDigest,
+                projections.size(),
+                activeEvent
+            ),
+            catalogDigest,
+            activeEvent,
+            loadedAt,
+            nextItemUpdateAt,
+            fullSequence
+        );
+    }
+
+    private boolean isReached(Instant instant, Instant now) {
+        return instant != null && !now.isBefore(instant);
+    }
+
+    private MarketItem detachedCopy(MarketItem item) {
+        MarketItem copy = new MarketItem();
+        copy.setItemId(item.getItemId());
+        copy.setCategory(item.getCategory());
+        copy.setCategoryId(item.getCategoryId());
+        copy.setCategoryDisplayName(item.getCategoryDisplayName());
+        copy.setDisplayName(item.getDisplayName());
+        copy.setIconKey(item.getIconKey());
+        copy.setBuyUnitEstimate(item.getBuyUnitEstimate());
+        copy.setSellUnitEstimate(item.getSellUnitEstimate());
+        copy.setCurrency(item.getCurrency());
+        copy.setCurrentStock(item.getCurrentStock());
+        copy.setMarketMomentum(item.getMarketMomentum());
+        copy.setBaseUnitPrice(item.getBaseUnitPrice());
+        copy.setMinUnitPrice(item.getMinUnitPrice());
+        copy.setMaxUnitPrice(item.getMaxUnitPrice());
+        copy.setSegmentSize(item.getSegmentSize());
+        copy.setPriceSensitivity(item.getPriceSensitivity());
+        copy.setSellPricePercentage(item.getSellPricePercentage());
+        copy.setBaseRegenQuantity(item.getBaseRegenQuantity());
+        copy.setRegenIntervalSeconds(item.getRegenIntervalSeconds());
+        copy.setNetPosition(item.getNetPosition());
+        copy.setDriftMultiplierBasisPoints(item.getDriftMultiplierBasisPoints());
+        copy.setDriftRevision(item.getDriftRevision());
+        copy.setDriftEvaluatedAt(item.getDriftEvaluatedAt());
+        copy.setMinNetPosition(item.getMinNetPosition());
+        copy.setMaxNetPosition(item.getMaxNetPosition());
+        copy.setVariationPercent(item.getVariationPercent());
+        copy.setBlocked(item.isBlocked());
+        copy.setOperating(item.isOperating());
+        copy.setLastUpdatedAt(item.getLastUpdatedAt());
+        return copy;
+    }
+
+    private record CachedItem(
+        MarketItem item,
+        MarketSnapshotProjection projection,
+        Instant nextUpdateAt
+    ) {}
+
+    private static final class CachedSnapshot {
+
+        private final Map<String, CachedItem> itemsById;
+        private final Map<String, MarketSnapshotProjection> projectionsById;
+        private final List<MarketSnapshotProjection> projections;
+        private final String snapshotVersion;
+        private final MarketActiveEventContextDTO activeEvent;
+        private final Instant loadedAt;
+        private final Instant nextItemUpdateAt;
+        private final long fullInvalidationSequence;
+        private final MarketSnapshotService.CurrentSnapshot currentSnapshot;
+        private volatile MarketSnapshotResponseDTO response;
+
+        private CachedSnapshot(
+            Map<String, CachedItem> itemsById,
+            Map<String, MarketSnapshotProjection> projectionsById,
+            List<MarketSnapshotProjection> projections,
+            List<MarketItem> items,
+            String snapshotVersion,
+            long catalogDigest,
+            MarketActiveEventContextDTO activeEvent,
+            Instant loadedAt,
+            Instant nextItemUpdateAt,
+            long fullInvalidationSequence
+        ) {
+            this.itemsById = itemsById;
+            this.projectionsById = projectionsById;
+            this.projections = projections;
+            this.snapshotVersion = snapshotVersion;
+            this.activeEvent = activeEvent;
+            this.loadedAt = loadedAt;
+            this.nextItemUpdateAt = nextItemUpdateAt;
+            this.fullInvalidationSequence = fullInvalidationSequence;
+            Map<String, MarketItem> itemById = new HashMap<>();
+            for (CachedItem cachedItem : itemsById.values()) {
+                itemById.put(cachedItem.item().getItemId(), cachedItem.item());
+            }
+            this.currentSnapshot = new MarketSnapshotService.CurrentSnapshot(
+                items,
+                snapshotVersion,
+                projectionsById,
+                activeEvent,
+                catalogDigest,
+                Map.copyOf(itemById)
+            );
+        }
+
+        private MarketSnapshotService.CurrentSnapshot currentSnapshot() {
+            return currentSnapshot;
+        }
+
+        private MarketSnapshotResponseDTO response(
+            MarketSnapshotProjector snapshotProjector
+        ) {
+            MarketSnapshotResponseDTO built = response;
+            if (built == null) {
+                built = snapshotProjector.response(
+                    projections,
+                    snapshotVersion,
+                    activeEvent
+                );
+                response = built;
+            }
+            return built;
+        }
+
+        private Map<String, CachedItem> itemsById() {
+            return itemsById;
+        }
+
+        private Map<String, MarketSnapshotProjection> projectionsById() {
+            return projectionsById;
+        }
+
+        private MarketActiveEventContextDTO activeEvent() {
+            return activeEvent;
+        }
+
+        private Instant loadedAt() {
+            return loadedAt;
+        }
+
+        private Instant nextItemUpdateAt() {
+            return nextItemUpdateAt;
+        }
+
+        private long fullInvalidationSequence() {
+            return fullInvalidationSequence;
+        }
+    }
+}
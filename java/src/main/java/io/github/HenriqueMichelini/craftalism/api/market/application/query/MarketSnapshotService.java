@@ -1,13 +1,22 @@
 package io.github.HenriqueMichelini.craftalism.api.market.application.query;
 
 import io.github.HenriqueMichelini.craftalism.api.dto.MarketActiveEventContextDTO;
+import io.github.HenriqueMichelini.craftalism.api.dto.MarketCategoryRefreshResponseDTO;
+import io.github.HenriqueMichelini.craftalism.api.dto.MarketItemRefreshResponseDTO;
 import io.github.HenriqueMichelini.craftalism.api.dto.MarketSnapshotItemDTO;
 import io.github.HenriqueMichelini.craftalism.api.dto.MarketSnapshotResponseDTO;
+import io.github.HenriqueMichelini.craftalism.api.exceptions.MarketCategoryNotFoundException;
+import io.github.HenriqueMichelini.craftalism.api.exceptions.MarketItemNotFoundException;
 import io.github.HenriqueMichelini.craftalism.api.market.domain.snapshot.MarketSnapshotProjector;
+import io.github.HenriqueMichelini.craftalism.api.market.infrastructure.metrics.MarketMetrics;
 import io.github.HenriqueMichelini.craftalism.api.model.MarketItem;
-import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Predicate;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
@@ -16,6 +25,8 @@ public final class MarketSnapshotService {
     private final MarketSnapshotStateLoader marketSnapshotStateLoader;
     private final MarketSnapshotProjector snapshotProjector;
     private final MarketEventPublicContextService eventPublicContextService;
+    private final MarketSnapshotCache snapshotCache;
+    private final MarketMetrics metrics;
 
     public MarketSnapshotService(
         MarketSnapshotStateLoader marketSnapshotStateLoader,
@@ -28,13 +39,65 @@ public final class MarketSnapshotService {
         MarketSnapshotStateLoader marketSnapshotStateLoader,
         MarketSnapshotProjector snapshotProjector,
         MarketEventPublicContextService eventPublicContextService
+    ) {
+        this(
+            marketSnapshotStateLoader,
+            snapshotProjector,
+            eventPublicContextService,
+            null
+        );
+    }
+
+    public MarketSnapshotService(
+        MarketSnapshotStateLoader marketSnapshotStateLoader,
+        MarketSnapshotProjector snapshotProjector,
+        MarketEventPublicContextService eventPublicContextService,
+        MarketSnapshotCache snapshotCache
+    ) {
+        this(
+            marketSnapshotStateLoader,
+            snapshotProjector,
+            eventPublicContextService,
+            snapshotCache,
+            MarketMetrics.disabled()
+        );
+    }
+
+    public MarketSnapshotService(
+        MarketSnapshotStateLoader marketSnapshotStateLoader,
+        MarketSnapshotProjector snapshotProjector,
+        MarketEventPublicContextService eventPublicContextService,
+        MarketSnapshotCache snapshotCache,
+        MarketMetrics metrics
     ) {
         this.marketSnapshotStateLoader = marketSnapshotStateLoader;
         this.snapshotProjector = snapshotProjector;
         this.eventPublicContextService = eventPublicContextService;
+        this.snapshotCache = snapshotCache;
+        this.metrics = metrics;
     }
 
     public MarketSnapshotResponseDTO getSnapshot() {
+        return getSnapshot(version -> false).snapshot();
+    }
+
+    /**
+     * Resolves the current snapshot version first and only builds the
+     * response when {@code clientHasVersion} rejects it. With the snapshot
+     * cache enabled the version check does not touch the catalog.
+     */
+    public ConditionalSnapshot getSnapshot(Predicate<String> clientHasVersion) {
+        if (snapshotCache != null) {
+            String snapshotVersion = snapshotCache
+                .currentSnapshot()
+                .snapshotVersion();
+            if (clientHasVersion.test(snapshotVersion)) {
+                return new ConditionalSnapshot(snapshotVersion, null);
+            }
+            MarketSnapshotResponseDTO snapshot =
+                snapshotCache.snapshotResponse();
+            return new ConditionalSnapshot(snapshot.snapshotVersion(), snapshot);
+        }
         long totalStartNanos = System.nanoTime();
 
         MarketSnapshotStateLoader.MarketSnapshotState snapshotState =
@@ -55,7 +118,7 @@ public final class MarketSnapshotService {
         long hashNanos = System.nanoTime() - hashStartNanos;
 
         long totalNanos = System.nanoTime() - totalStartNanos;
-        logSnapshotTiming(
+        recordSnapshotTiming(
             snapshotState,
             projections,
             projectionBuildNanos,
@@ -63,23 +126,95 @@ public final class MarketSnapshotService {
             totalNanos
         );
 
-        return snapshotProjector.response(
-            projections,
+        if (clientHasVersion.test(snapshotVersion)) {
+            return new ConditionalSnapshot(snapshotVersion, null);
+        }
+        return new ConditionalSnapshot(
             snapshotVersion,
-            activeEvent
+            snapshotProjector.response(projections, snapshotVersion, activeEvent)
         );
     }
 
     public CurrentSnapshot currentSnapshot() {
+        if (snapshotCache != null) {
+            return snapshotCache.currentSnapshot();
+        }
         MarketSnapshotStateLoader.MarketSnapshotState snapshotState =
             marketSnapshotStateLoader.regeneratedItems();
         List<MarketSnapshotProjector.MarketSnapshotProjection> projections =
             snapshotProjector.projections(snapshotState.items());
         MarketActiveEventContextDTO activeEvent = activeEventContext()
             .orElse(null);
+        Map<String, MarketSnapshotProjector.MarketSnapshotProjection> projectionsById =
+            new HashMap<>();
+        for (MarketSnapshotProjector.MarketSnapshotProjection projection : projections) {
+            projectionsById.put(projection.itemId(), projection);
+        }
+        Map<String, MarketItem> itemsById = new HashMap<>();
+        for (MarketItem item : snapshotState.items()) {
+            itemsById.put(item.getItemId(), item);
+        }
+        long catalogDigest = snapshotProjector.catalogDigest(projections);
         return new CurrentSnapshot(
             snapshotState.items(),
-            snapshotProjector.snapshotVersion(projections, activeEvent)
+            snapshotProjector.snapshotVersion(
+                catalogDigest,
+                projections.size(),
+                activeEvent
+            ),
+            projectionsById,
+            activeEvent,
+            catalogDigest,
+            Map.copyOf(itemsById)
+        );
+    }
+
+    /**
+     * Authoritative state of one item plus the market-wide snapshot version.
+     * Served from the current snapshot projections, so with the snapshot
+     * cache enabled it never reloads the catalog.
+     */
+    public MarketItemRefreshResponseDTO itemRefresh(String itemId) {
+        CurrentSnapshot snapshot = currentSnapshot();
+        MarketSnapshotProjector.MarketSnapshotProjection projection =
+            snapshot.projectionsById().get(itemId);
+        if (projection == null) {
+            throw new MarketItemNotFoundException(itemId);
+        }
+        return new MarketItemRefreshResponseDTO(
+            snapshot.snapshotVersion(),
+            snapshot.activeEvent(),
+            projection.categoryId(),
+            snapshotProjector.toSnapshotItem(projection)
+        );
+    }
+
+    /**
+     * Authoritative state of one snapshot category plus the market-wide
+     * snapshot version, with items in snapshot order.
+     */
+    public MarketCategoryRefreshResponseDTO categoryRefresh(
+        String categoryId
+    ) {
+        CurrentSnapshot snapshot = currentSnapshot();
+        List<MarketSnapshotProjector.MarketSnapshotProjection> projections =
+            new ArrayList<>();
+        for (MarketSnapshotProjector.MarketSnapshotProjection projection : snapshot
+            .projectionsById()
+            .values()) {
+            if (projection.categoryId().equals(categoryId)) {
+                projections.add(projection);
+            }
+        }
+        if (projections.isEmpty()) {
+            throw new MarketCategoryNotFoundException(categoryId);
+        }
+        return new MarketCategoryRefreshResponseDTO(
+            snapshot.snapshotVersion(),
+            snapshot.activeEvent(),
+            snapshotProjector
+                .categories(snapshotProjector.sortedProjections(projections))
+                .get(0)
         );
     }
 
@@ -87,17 +222,70 @@ public final class MarketSnapshotService {
         return currentSnapshot().snapshotVersion();
     }
 
+    /**
+     * Snapshot version after {@code changedItem} has been written, derived
+     * from {@code before} by swapping only the changed item's fingerprint.
+     */
+    public String snapshotVersionAfterChange(
+        CurrentSnapshot before,
+        MarketItem changedItem
+    ) {
+        return snapshotVersionAfterChange(before, List.of(changedItem));
+    }
+
+    public String snapshotVersionAfterChange(
+        CurrentSnapshot before,
+        Collection<MarketItem> changedItems
+    ) {
+        long catalogDigest = before.catalogDigest();
+        int itemCount = before.projectionsById().size();
+        List<MarketSnapshotProjector.MarketSnapshotProjection> changedProjections =
+            snapshotProjector.projections(List.copyOf(changedItems));
+        for (MarketSnapshotProjector.MarketSnapshotProjection changedProjection : changedProjections) {
+            MarketSnapshotProjector.MarketSnapshotProjection previousProjection =
+                before.projectionsById().get(changedProjection.itemId());
+            catalogDigest += changedProjection.fingerprint();
+            if (previousProjection == null) {
+                itemCount++;
+            } else {
+                catalogDigest -= previousProjection.fingerprint();
+            }
+        }
+        return snapshotProjector.snapshotVersion(
+            catalogDigest,
+            itemCount,
+            before.activeEvent()
+        );
+    }
+
     public MarketSnapshotItemDTO toSnapshotItem(MarketItem item) {
         return snapshotProjector.toSnapshotItem(item);
     }
 
-    private void logSnapshotTiming(
+    public MarketSnapshotItemDTO toSnapshotItem(
+        MarketSnapshotProjector.MarketSnapshotProjection projection
+    ) {
+        return snapshotProjector.toSnapshotItem(projection);
+    }
+
+    private void recordSnapshotTiming(
         MarketSnapshotStateLoader.MarketSnapshotState snapshotState,
         List<MarketSnapshotProjector.MarketSnapshotProjection> projections,
         long projectionBuildNanos,
         long hashNanos,
         long totalNanos
     ) {
+        metrics.recordSnapshotStage("fetch", snapshotState.fetchNanos());
+        metrics.recordSnapshotStage(
+            "regeneration",
+            snapshotState.regenerationNanos()
+        );
+        metrics.recordSnapshotStage("projection", projectionBuildNanos);
+        metrics.recordSnapshotStage("hash", hashNanos);
+        metrics.recordSnapshotStage("total", totalNanos);
+        if (!metrics.sampleTimingLog()) {
+            return;
+        }
         log.info(
             "market.snapshot.timing totalMs={} fetchMs={} regenerationMs={} projectionBuildMs={} hashMs={} items={} regeneratedItems={}",
             nanosToMillis(totalNanos),
@@ -118,8 +306,39 @@ public final class MarketSnapshotService {
         if (eventPublicContextService == null) {
             return Optional.empty();
         }
-        return eventPublicContextService.activeContext(Instant.now());
+        return eventPublicContextService.activeContext();
     }
 
-    public record CurrentSnapshot(List<MarketItem> items, String snapshotVersion) {}
+    /**
+     * Current snapshot version with the response body, which is {@code null}
+     * when the client already holds that version.
+     */
+    public record ConditionalSnapshot(
+        String snapshotVersion,
+        MarketSnapshotResponseDTO snapshot
+    ) {
+        public boolean notModified() {
+            return snapshot == null;
+        }
+    }
+
+    /**
+     * Current market state. {@code itemsById} indexes the same item instances
+     * as {@code items}, so single-item reads such as quotes resolve in
+     * constant time.
+     */
+    public record CurrentSnapshot(
+        List<MarketItem> items,
+        String snapshotVersion,
+        Map<String, MarketSnapshotProjector.MarketSnapshotProjection> projectionsById,
+        MarketActiveEventContextDTO activeEvent,
+        long catalogDigest,
+        Map<String, MarketItem> itemsById
+    ) {
+        public Optional<MarketItem> item(String itemId) {
+            return itemId == null
+                ? Optional.empty()
+                : Optional.ofNullable(itemsById.get(itemId));
+        }
+    }
 }
@@ -2,30 +2,41 @@ package io.github.HenriqueMichelini.craftalism.api.market.application.query;
 
 import io.github.HenriqueMichelini.craftalism.api.model.MarketItem;
 import io.github.HenriqueMichelini.craftalism.api.market.domain.pricing.MarketDriftService;
+import io.github.HenriqueMichelini.craftalism.api.market.domain.trade.MarketStateProgression;
 import io.github.HenriqueMichelini.craftalism.api.market.domain.trade.MarketTradePlanner;
 import io.github.HenriqueMichelini.craftalism.api.repository.MarketItemRepository;
 import java.time.Clock;
-import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 public final class MarketSnapshotStateLoader {
 
     private final MarketItemRepository marketItemRepository;
-    private final MarketTradePlanner tradePlanner;
     private final MarketDriftService driftService;
+    private final MarketStateProgression stateProgression;
     private final Clock clock;
+    private final MarketStateMaintenanceMode maintenanceMode;
 
     public MarketSnapshotStateLoader(
         MarketItemRepository marketItemRepository,
         MarketTradePlanner tradePlanner
+    ) {
+        this(marketItemRepository, tradePlanner, MarketStateMaintenanceMode.LAZY);
+    }
+
+    public MarketSnapshotStateLoader(
+        MarketItemRepository marketItemRepository,
+        MarketTradePlanner tradePlanner,
+        MarketStateMaintenanceMode maintenanceMode
     ) {
         this(
             marketItemRepository,
             tradePlanner,
             new MarketDriftService(),
-            Clock.systemUTC()
+            Clock.systemUTC(),
+            maintenanceMode
         );
     }
 
@@ -47,11 +58,31 @@ public final class MarketSnapshotStateLoader {
         MarketTradePlanner tradePlanner,
         MarketDriftService driftService,
         Clock clock
+    ) {
+        this(
+            marketItemRepository,
+            tradePlanner,
+            driftService,
+            clock,
+            MarketStateMaintenanceMode.LAZY
+        );
+    }
+
+    MarketSnapshotStateLoader(
+        MarketItemRepository marketItemRepository,
+        MarketTradePlanner tradePlanner,
+        MarketDriftService driftService,
+        Clock clock,
+        MarketStateMaintenanceMode maintenanceMode
     ) {
         this.marketItemRepository = marketItemRepository;
-        this.tradePlanner = tradePlanner;
         this.driftService = driftService;
+        this.stateProgression = new MarketStateProgression(
+            tradePlanner,
+            driftService
+        );
         this.clock = clock;
+        this.maintenanceMode = maintenanceMode;
     }
 
     public List<MarketItem> refreshedItems() {
@@ -59,33 +90,119 @@ public final class MarketSnapshotStateLoader {
     }
 
     MarketSnapshotState regeneratedItems() {
-        tradePlanner.clearPricingCache();
-        try {
-            return regeneratedItemsWithinPricingCache();
-        } finally {
-            tradePlanner.clearPricingCache();
+        return loadItems(null);
+    }
+
+    MarketSnapshotState regeneratedItems(Collection<String> itemIds) {
+        if (itemIds.isEmpty()) {
+            return new MarketSnapshotState(List.of(), 0L, 0L, 0);
         }
+        return loadItems(itemIds);
     }
 
-    private MarketSnapshotState regeneratedItemsWithinPricingCache() {
+    /**
+     * Earliest instant at which a read would regenerate or drift the item, or
+     * {@code null} when it stays as-is until written again. Always
+     * {@code null} in background mode, where the ticker writes the change.
+     */
+    Instant nextMarketStateUpdateAt(MarketItem item) {
+        if (maintenanceMode == MarketStateMaintenanceMode.BACKGROUND) {
+            return null;
+        }
+        return nextMarketStateUpdateAt(
+            item.getNetPosition(),
+            item.getLastUpdatedAt(),
+            item.getRegenIntervalSeconds(),
+            item.getDriftEvaluatedAt()
+        );
+    }
+
+    /**
+     * Advances regeneration and drift for up to {@code batchSize} due items,
+     * locking them in item id order. Must run inside a transaction.
+     */
+    public MarketStateAdvance advanceDueMarketState(int batchSize) {
+        Instant now = Instant.now(clock);
+        List<String> dueItemIds = marketItemRepository
+            .findAllMarketStateSchedules()
+            .stream()
+            .filter(schedule -> isDue(schedule, now))
+            .map(MarketItemRepository.MarketStateSchedule::getItemId)
+            .sorted()
+            .limit(batchSize)
+            .toList();
+
+        int advancedItemCount = 0;
+        for (String itemId : dueItemIds) {
+            MarketItem lockedItem = marketItemRepository
+                .findForUpdate(itemId)
+                .orElse(null);
+            if (lockedItem != null && stateProgression.advance(lockedItem, now)) {
+                marketItemRepository.save(lockedItem);
+                advancedItemCount++;
+            }
+        }
+        return new MarketStateAdvance(dueItemIds.size(), advancedItemCount);
+    }
+
+    private boolean isDue(
+        MarketItemRepository.MarketStateSchedule schedule,
+        Instant now
+    ) {
+        Instant nextUpdateAt = nextMarketStateUpdateAt(
+            schedule.getNetPosition(),
+            schedule.getLastUpdatedAt(),
+            schedule.getRegenIntervalSeconds(),
+            schedule.getDriftEvaluatedAt()
+        );
+        return nextUpdateAt != null && !now.isBefore(nextUpdateAt);
+    }
+
+    private Instant nextMarketStateUpdateAt(
+        long netPosition,
+        Instant lastUpdatedAt,
+        long regenIntervalSeconds,
+        Instant driftEvaluatedAt
+    ) {
+        Instant nextRegenerationAt = netPosition == 0L || lastUpdatedAt == null
+            ? null
+            : lastUpdatedAt.plusSeconds(regenIntervalSeconds);
+        Instant nextDriftAt = driftService.nextDriftEvaluationAt(
+            driftEvaluatedAt
+        );
+        if (nextRegenerationAt == null) {
+            return nextDriftAt;
+        }
+        if (nextDriftAt == null || nextRegenerationAt.isBefore(nextDriftAt)) {
+            return nextRegenerationAt;
+        }
+        return nextDriftAt;
+    }
+
+    private MarketSnapshotState loadItems(
+        Collection<String> itemIds
+    ) {
         long fetchStartNanos = System.nanoTime();
         List<MarketItem> items = new ArrayList<>(
-            marketItemRepository.findAllForMarketRead()
+            itemIds == null
+                ? marketItemRepository.findAllForMarketRead()
+                : marketItemRepository.findAllForMarketReadByItemIdIn(itemIds)
         );
         long fetchNanos = System.nanoTime() - fetchStartNanos;
 
         long regenerationStartNanos = System.nanoTime();
         Instant now = Instant.now(clock);
         int regeneratedItemCount = 0;
-        for (int index = 0; index < items.size(); index++) {
+        boolean lazyUpdates = maintenanceMode == MarketStateMaintenanceMode.LAZY;
+        for (int index = 0; lazyUpdates && index < items.size(); index++) {
             MarketItem item = items.get(index);
-            if (!shouldAttemptMarketStateUpdate(item, now)) {
+            if (!stateProgression.isDue(item, now)) {
                 continue;
             }
             MarketItem lockedItem = marketItemRepository
                 .findForUpdate(item.getItemId())
                 .orElse(null);
-            if (lockedItem != null && updateMarketState(lockedItem, now)) {
+            if (lockedItem != null && stateProgression.advance(lockedItem, now)) {
                 regeneratedItemCount++;
                 marketItemRepository.save(lockedItem);
                 items.set(index, lockedItem);
@@ -100,74 +217,7 @@ public final class MarketSnapshotStateLoader {
         );
     }
 
-    private boolean shouldAttemptRegeneration(MarketItem item, Instant now) {
-        if (item.getNetPosition() == 0L || !now.isAfter(item.getLastUpdatedAt())) {
-            return false;
-        }
-
-        long ticks =
-            Duration.between(item.getLastUpdatedAt(), now).getSeconds() /
-            item.getRegenIntervalSeconds();
-        return ticks > 0L;
-    }
-
-    private boolean shouldAttemptMarketStateUpdate(
-        MarketItem item,
-        Instant now
-    ) {
-        return (
-            shouldAttemptRegeneration(item, now) ||
-            driftService.shouldAttemptDriftEvaluation(item, now)
-        );
-    }
-
-    private boolean updateMarketState(MarketItem item, Instant now) {
-        boolean pressureChanged = regenerateItem(item, now);
-        boolean driftChanged = driftService.evaluateDrift(item, now);
-        if (pressureChanged || driftChanged) {
-            tradePlanner.recomputeDerivedProjections(item);
-            return true;
-        }
-        return false;
-    }
-
-    private boolean regenerateItem(MarketItem item, Instant now) {
-        tradePlanner.recomputeDerivedProjections(item);
-        if (item.getNetPosition() == 0L || !now.isAfter(item.getLastUpdatedAt())) {
-            return false;
-        }
-
-        long ticks =
-            Duration.between(item.getLastUpdatedAt(), now).getSeconds() /
-            item.getRegenIntervalSeconds();
-        if (ticks <= 0L) {
-            return false;
-        }
-
-        long regenQuantity = Math.multiplyExact(
-            ticks,
-            item.getBaseRegenQuantity()
-        );
-        if (regenQuantity <= 0L) {
-            return false;
-        }
-
-        long netPosition = item.getNetPosition();
-        if (netPosition > 0L) {
-            item.setNetPosition(Math.max(0L, netPosition - regenQuantity));
-        } else {
-            item.setNetPosition(Math.min(0L, netPosition + regenQuantity));
-        }
-        item.setLastUpdatedAt(
-            item
-                .getLastUpdatedAt()
-                .plusSeconds(
-                    Math.multiplyExact(ticks, item.getRegenIntervalSeconds())
-                )
-        );
-        tradePlanner.recomputeDerivedProjections(item);
-        return true;
-    }
+    public record MarketStateAdvance(int dueItemCount, int advancedItemCount) {}
 
     record MarketSnapshotState(
         List<MarketItem> items,
@@ -0,0 +1,26 @@
+package io.github.HenriqueMichelini.craftalism.api.market.application.query;
+
+import java.util.Locale;
+
+/**
+ * Where pressure regeneration and drift are advanced: lazily by market reads,
+ * or by the background market-state ticker.
+ */
+public enum MarketStateMaintenanceMode {
+    LAZY,
+    BACKGROUND;
+
+    public static MarketStateMaintenanceMode fromProperty(String value) {
+        if (value == null || value.isBlank()) {
+            return LAZY;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException(
+                "craftalism.market.state-maintenance.mode must be lazy or background.",
+                ex
+            );
+        }
+    }
+}
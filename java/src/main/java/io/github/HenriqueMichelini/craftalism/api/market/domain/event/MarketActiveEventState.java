@@ -0,0 +1,147 @@
+package io.github.HenriqueMichelini.craftalism.api.market.domain.event;
+
+import io.github.HenriqueMichelini.craftalism.api.market.application.change.MarketStateChangedEvent;
+import io.github.HenriqueMichelini.craftalism.api.model.MarketEventInstance;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Process-local view of the market events in effect, shared by event pricing
+ * and blocking. Every {@code ACTIVE} event is loaded by status alone; the
+ * events whose window contains the current instant are compiled into
+ * {@link MarketEventEffects} in memory and kept until a committed event,
+ * category or template write invalidates them, or until the next cached start
+ * or end passes. Reads between those points run no query and take no lock.
+ *
+ * <p>Cached events are detached entities and must be treated as read-only.
+ */
+@Service
+public class MarketActiveEventState {
+
+    private final MarketEventLifecycleService lifecycleService;
+    private final Clock clock;
+    private final AtomicReference<CachedEffects> current =
+        new AtomicReference<>();
+    private final AtomicLong invalidationSequence = new AtomicLong();
+
+    @Autowired
+    public MarketActiveEventState(MarketEventLifecycleService lifecycleService) {
+        this(lifecycleService, Clock.systemUTC());
+    }
+
+    public MarketActiveEventState(
+        MarketEventLifecycleService lifecycleService,
+        Clock clock
+    ) {
+        this.lifecycleService = lifecycleService;
+        this.clock = clock;
+    }
+
+    /**
+     * The most recently started event in effect.
+     */
+    public Optional<MarketEventInstance> activeEvent() {
+        List<MarketEventInstance> events = effects().events();
+        return events.isEmpty()
+            ? Optional.empty()
+            : Optional.of(events.get(events.size() - 1));
+    }
+
+    public MarketEventEffects effects() {
+        return entry().effects();
+    }
+
+    /**
+     * Every {@code ACTIVE} event, oldest first, including events that have
+     * not started yet.
+     */
+    public List<MarketEventInstance> scheduledEvents() {
+        return entry().events();
+    }
+
+    @Order(0)
+    @TransactionalEventListener(
+        phase = TransactionPhase.AFTER_COMMIT,
+        fallbackExecution = true
+    )
+    public void onMarketStateChanged(MarketStateChangedEvent event) {
+        if (event.affectsAllItems()) {
+            invalidate();
+        }
+    }
+
+    public void invalidate() {
+        invalidationSequence.incrementAndGet();
+    }
+
+    private CachedEffects entry() {
+        Instant now = Instant.now(clock);
+        CachedEffects cached = current.get();
+        long sequence = invalidationSequence.get();
+        if (cached != null && cached.isValid(sequence, now)) {
+            return cached;
+        }
+
+        // The sequence is captured before the query, so a commit racing the
+        // reload leaves the new entry stale for the next reader.
+        List<MarketEventInstance> events = lifecycleService.activeEvents();
+        List<MarketEventInstance> inEffect = new ArrayList<>(events.size());
+        Instant nextBoundaryAt = null;
+        for (MarketEventInstance event : events) {
+            Instant boundaryAt = nextBoundary(event, now);
+            if (boundaryAt == null) {
+                continue;
+            }
+            if (boundaryAt.equals(event.getEndsAt())) {
+                inEffect.add(event);
+            }
+            if (nextBoundaryAt == null || boundaryAt.isBefore(nextBoundaryAt)) {
+                nextBoundaryAt = boundaryAt;
+            }
+        }
+        CachedEffects loaded = new CachedEffects(
+            List.copyOf(events),
+            MarketEventEffects.of(inEffect),
+            nextBoundaryAt,
+            sequence
+        );
+        current.compareAndSet(cached, loaded);
+        return loaded;
+    }
+
+    /**
+     * The next start or end of {@code event} after {@code now}, or
+     * {@code null} once its window has closed. The event is in effect exactly
+     * when the next boundary is its end.
+     */
+    public static Instant nextBoundary(MarketEventInstance event, Instant now) {
+        if (event.getStartedAt().isAfter(now)) {
+            return event.getStartedAt();
+        }
+        return event.getEndsAt().isAfter(now) ? event.getEndsAt() : null;
+    }
+
+    private record CachedEffects(
+        List<MarketEventInstance> events,
+        MarketEventEffects effects,
+        Instant nextBoundaryAt,
+        long invalidationSequence
+    ) {
+        private boolean isValid(long sequence, Instant now) {
+            return (
+                invalidationSequence == sequence &&
+                (nextBoundaryAt == null || now.isBefore(nextBoundaryAt))
+            );
+        }
+    }
+}
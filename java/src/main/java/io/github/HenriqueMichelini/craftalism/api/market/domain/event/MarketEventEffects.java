@@ -0,0 +1,197 @@
+package io.github.HenriqueMichelini.craftalism.api.market.domain.event;
+
+import io.github.HenriqueMichelini.craftalism.api.market.domain.event.MarketEventPricingService.EventPricingContext;
+import io.github.HenriqueMichelini.craftalism.api.market.domain.pricing.MarketFixedPointMath;
+import io.github.HenriqueMichelini.craftalism.api.model.MarketEventInstance;
+import io.github.HenriqueMichelini.craftalism.api.model.MarketEventScope;
+import io.github.HenriqueMichelini.craftalism.api.model.MarketItem;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Stacked effect of every event in effect, compiled once per event change.
+ * Multipliers are folded into one layer for the whole market, one per
+ * category and one per item, so pricing an item combines at most three
+ * layers however many events overlap.
+ *
+ * <p>A layer reports the newest contributing event as its event id. A layer
+ * with one event reports that event's effect version; a stacked layer
+ * reports a hash of its multiplier and of every contributing (event id,
+ * effect version) pair, so starting, ending or editing any event that
+ * applies to an item changes what quotes and snapshot fingerprints compare.
+ */
+public final class MarketEventEffects {
+
+    private static final long NEUTRAL_MULTIPLIER_BASIS_POINTS = 10_000L;
+    private static final MarketEventEffects NONE = new MarketEventEffects(
+        List.of()
+    );
+
+    private final List<MarketEventInstance> events;
+    private final Layer marketWide;
+    private final Map<String, Layer> byCategory;
+    private final Map<String, Layer> byItem;
+    private final Set<String> blockedItemIds;
+
+    private MarketEventEffects(List<MarketEventInstance> events) {
+        Layer wide = Layer.NEUTRAL;
+        Map<String, Layer> categories = new HashMap<>();
+        Map<String, Layer> items = new HashMap<>();
+        Set<String> blocked = new HashSet<>();
+        for (MarketEventInstance event : events) {
+            MarketEventTargets targets = MarketEventTargets.of(event);
+            if (targets.scope() == null) {
+                continue;
+            }
+            switch (targets.scope()) {
+                case MARKET_WIDE -> wide = wide.with(event);
+                case CATEGORY -> {
+                    if (targets.categoryId() != null) {
+                        categories.merge(
+                            targets.categoryId(),
+                            Layer.NEUTRAL.with(event),
+                            Layer::combine
+                        );
+                    }
+                }
+                case ITEM, ITEM_SET -> {
+                    for (String itemId : targets.itemIds()) {
+                        items.merge(
+                            itemId,
+                            Layer.NEUTRAL.with(event),
+                            Layer::combine
+                        );
+                    }
+                }
+            }
+            if (event.isBlocking() && targets.scope() == MarketEventScope.ITEM) {
+                blocked.addAll(targets.itemIds());
+            }
+        }
+        this.events = List.copyOf(events);
+        this.marketWide = wide;
+        this.byCategory = Map.copyOf(categories);
+        this.byItem = Map.copyOf(items);
+        this.blockedItemIds = Set.copyOf(blocked);
+    }
+
+    public static MarketEventEffects none() {
+        return NONE;
+    }
+
+    /**
+     * Compiles the effects of {@code events}, oldest first.
+     */
+    public static MarketEventEffects of(List<MarketEventInstance> events) {
+        return events.isEmpty() ? NONE : new MarketEventEffects(events);
+    }
+
+    public List<MarketEventInstance> events() {
+        return events;
+    }
+
+    public EventPricingContext pricingContext(MarketItem item) {
+        return marketWide
+            .combine(layer(byCategory, item.getCategoryId()))
+            .combine(layer(byItem, item.getItemId()))
+            .context;
+    }
+
+    public boolean blocksItem(String itemId) {
+        return blockedItemIds.contains(itemId);
+    }
+
+    private static Layer layer(Map<String, Layer> layers, String key) {
+        return key == null ? Layer.NEUTRAL : layers.getOrDefault(key, Layer.NEUTRAL);
+    }
+
+    private static final class Layer {
+
+        private static final Layer NEUTRAL = new Layer(
+            new EventPricingContext(NEUTRAL_MULTIPLIER_BASIS_POINTS, null, null),
+            0,
+            0L
+        );
+
+        private final EventPricingContext context;
+        private final int eventCount;
+        // Order-independent sum of one hash per contributing event, so
+        // combining layers in any order gives the same effect version.
+        private final long eventDigest;
+
+        private Layer(
+            EventPricingContext context,
+            int eventCount,
+            long eventDigest
+        ) {
+            this.context = context;
+            this.eventCount = eventCount;
+            this.eventDigest = eventDigest;
+        }
+
+        private Layer with(MarketEventInstance event) {
+            return combine(
+                new Layer(
+                    new EventPricingContext(
+                        event.getEffectBasisPoints(),
+                        event.getId(),
+                        event.getEffectVersion()
+                    ),
+                    1,
+                    mix(
+                        mix(event.getId() == null ? 0L : event.getId()) ^
+                        versionOrZero(event.getEffectVersion())
+                    )
+                )
+            );
+        }
+
+        private Layer combine(Layer other) {
+            if (other.eventCount == 0) {
+                return this;
+            }
+            if (eventCount == 0) {
+                return other;
+            }
+            long multiplierBasisPoints = Math.max(
+                1L,
+                MarketFixedPointMath.multiplyDivideHalfUp(
+                    context.multiplierBasisPoints(),
+                    other.context.multiplierBasisPoints(),
+                    NEUTRAL_MULTIPLIER_BASIS_POINTS
+                )
+            );
+            long combinedDigest = eventDigest + other.eventDigest;
+            return new Layer(
+                new EventPricingContext(
+                    multiplierBasisPoints,
+                    newer(context.eventInstanceId(), other.context.eventInstanceId()),
+                    (int) mix(combinedDigest ^ mix(multiplierBasisPoints))
+                ),
+                eventCount + other.eventCount,
+                combinedDigest
+            );
+        }
+
+        private static Long newer(Long first, Long second) {
+            if (first == null) {
+                return second;
+            }
+            return second == null ? first : Math.max(first, second);
+        }
+
+        private static int versionOrZero(Integer effectVersion) {
+            return effectVersion == null ? 0 : effectVersion;
+        }
+
+        private static long mix(long value) {
+            // SplitMix64 finalizer, as used for snapshot versions.
+            value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+            value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+            return value ^ (value >>> 31);
+        }
+    }
+}
@@ -1,11 +1,14 @@
 package io.github.HenriqueMichelini.craftalism.api.market.domain.event;
 
+import io.github.HenriqueMichelini.craftalism.api.market.application.change.MarketStateChangedEvent;
 import io.github.HenriqueMichelini.craftalism.api.model.MarketEventEndReason;
 import io.github.HenriqueMichelini.craftalism.api.model.MarketEventInstance;
 import io.github.HenriqueMichelini.craftalism.api.model.MarketEventStatus;
 import io.github.HenriqueMichelini.craftalism.api.repository.MarketEventInstanceRepository;
 import java.time.Instant;
-import java.util.Optional;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -14,11 +17,21 @@ import org.springframework.transaction.annotation.Transactional;
 public class MarketEventLifecycleService {
 
     private final MarketEventInstanceRepository eventRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public MarketEventLifecycleService(
         MarketEventInstanceRepository eventRepository
+    ) {
+        this(eventRepository, null);
+    }
+
+    @Autowired
+    public MarketEventLifecycleService(
+        MarketEventInstanceRepository eventRepository,
+        ApplicationEventPublisher eventPublisher
     ) {
         this.eventRepository = eventRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
@@ -31,20 +44,40 @@ public class MarketEventLifecycleService {
             return eventRepository.saveAndFlush(event);
         } catch (DataIntegrityViolationException ex) {
             throw new IllegalStateException(
-                "A named market event is already active.",
+                "An event from this market event template is already active.",
                 ex
             );
         }
     }
 
+    /**
+     * Events in effect at {@code now}, oldest first.
+     */
     @Transactional(readOnly = true)
-    public Optional<MarketEventInstance> effectiveActiveEvent(Instant now) {
-        return eventRepository.findEffectiveActive(now);
+    public List<MarketEventInstance> effectiveActiveEvents(Instant now) {
+        return eventRepository.findAllEffectiveActive(now);
+    }
+
+    /**
+     * Every event in the {@code ACTIVE} status, oldest first, including
+     * events whose start is still ahead. Filters on status alone, so the
+     * caller decides which start and end boundaries have passed.
+     */
+    @Transactional(readOnly = true)
+    public List<MarketEventInstance> activeEvents() {
+        return eventRepository.findByStatusOrderByStartedAtAscIdAsc(
+            MarketEventStatus.ACTIVE
+        );
     }
 
     @Transactional
     public int expireElapsedActiveEvents(Instant now) {
-        return eventRepository.expireElapsedActiveEvents(now);
+        int expired = eventRepository.expireElapsedActiveEvents(now);
+        if (expired > 0 && eventPublisher != null) {
+            // Bulk JPQL updates bypass entity listeners.
+            eventPublisher.publishEvent(MarketStateChangedEvent.all());
+        }
+        return expired;
     }
 
     @Transactional
@@ -0,0 +1,55 @@
+package io.github.HenriqueMichelini.craftalism.api.market.domain.event;
+
+import io.github.HenriqueMichelini.craftalism.api.model.MarketEventInstance;
+import io.github.HenriqueMichelini.craftalism.api.model.MarketEventScope;
+import io.github.HenriqueMichelini.craftalism.api.model.MarketItem;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Items and category an event applies to, parsed once from the stored
+ * {@code selected_item_ids} list so per-item checks are a hash lookup.
+ */
+public record MarketEventTargets(
+    MarketEventScope scope,
+    String categoryId,
+    Set<String> itemIds
+) {
+    public MarketEventTargets {
+        itemIds = Set.copyOf(itemIds);
+    }
+
+    public static MarketEventTargets of(MarketEventInstance event) {
+        return new MarketEventTargets(
+            event.getScope(),
+            event.getSelectedCategoryId(),
+            parseItemIds(event.getSelectedItemIds())
+        );
+    }
+
+    /**
+     * Whether the event's effect applies to {@code item}.
+     */
+    public boolean targets(MarketItem item) {
+        if (scope == null) {
+            return false;
+        }
+        return switch (scope) {
+            case MARKET_WIDE -> true;
+            case CATEGORY -> item.getCategoryId().equals(categoryId);
+            case ITEM, ITEM_SET -> itemIds.contains(item.getItemId());
+        };
+    }
+
+    private static Set<String> parseItemIds(String selectedItemIds) {
+        if (selectedItemIds == null) {
+            return Set.of();
+        }
+        return Arrays
+            .stream(selectedItemIds.split(","))
+            .map(String::trim)
+            .filter(value -> !value.isBlank())
+            .collect(Collectors.toUnmodifiableSet());
+    }
+}
@@ -24,6 +24,17 @@ public final class MarketDriftService {
         return ticks > 0L;
     }
 
+    public Instant nextDriftEvaluationAt(MarketItem item) {
+        return nextDriftEvaluationAt(item.getDriftEvaluatedAt());
+    }
+
+    public Instant nextDriftEvaluationAt(Instant driftEvaluatedAt) {
+        if (driftEvaluatedAt == null) {
+            return null;
+        }
+        return driftEvaluatedAt.plusSeconds(EVALUATION_INTERVAL_SECONDS);
+    }
+
     public boolean evaluateDrift(MarketItem item, Instant now) {
         if (!shouldAttemptDriftEvaluation(item, now)) {
             return false;
@@ -0,0 +1,77 @@
+package io.github.HenriqueMichelini.craftalism.api.market.domain.pricing;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Exact long arithmetic for the pricing hot path. Results match the
+ * equivalent {@link BigDecimal} expression rounded {@link RoundingMode#HALF_UP}
+ * to scale 0; the rare products that overflow a long are delegated to
+ * {@link BigDecimal} so the exact result and its overflow behavior are kept.
+ */
+public final class MarketFixedPointMath {
+
+    private static final long[] POWERS_OF_TEN = {
+        1L,
+        10L,
+        100L,
+        1_000L,
+        10_000L,
+        100_000L,
+        1_000_000L,
+        10_000_000L,
+        100_000_000L,
+        1_000_000_000L,
+        10_000_000_000L,
+        100_000_000_000L,
+        1_000_000_000_000L,
+        10_000_000_000_000L,
+        100_000_000_000_000L,
+        1_000_000_000_000_000L,
+        10_000_000_000_000_000L,
+        100_000_000_000_000_000L,
+        1_000_000_000_000_000_000L,
+    };
+
+    private MarketFixedPointMath() {}
+
+    /**
+     * Returns {@code value * multiplier / divisor} rounded HALF_UP, throwing
+     * {@link ArithmeticException} when the divisor is zero or the rounded
+     * result does not fit in a long.
+     */
+    public static long multiplyDivideHalfUp(
+        long value,
+        long multiplier,
+        long divisor
+    ) {
+        long product = value * multiplier;
+        if (
+            Math.multiplyHigh(value, multiplier) != (product >> 63) ||
+            product == Long.MIN_VALUE ||
+            divisor == Long.MIN_VALUE
+        ) {
+            return BigDecimal
+                .valueOf(value)
+                .multiply(BigDecimal.valueOf(multiplier))
+                .divide(BigDecimal.valueOf(divisor), 0, RoundingMode.HALF_UP)
+                .longValueExact();
+        }
+        long quotient = product / divisor;
+        long remainder = Math.abs(product % divisor);
+        if (remainder != 0L && remainder >= Math.abs(divisor) - remainder) {
+            quotient += (product ^ divisor) < 0L ? -1L : 1L;
+        }
+        return quotient;
+    }
+
+    /**
+     * Returns the power of ten for a decimal scale, or {@code 0} when the
+     * scale cannot be represented as a long denominator.
+     */
+    public static long decimalDenominator(int scale) {
+        return scale >= 0 && scale < POWERS_OF_TEN.length
+            ? POWERS_OF_TEN[scale]
+            : 0L;
+    }
+}
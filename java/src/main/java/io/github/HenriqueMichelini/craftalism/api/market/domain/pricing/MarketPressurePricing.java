@@ -9,12 +9,15 @@ public final class MarketPressurePricing {
     }
 
     public long unitPrice(MarketItem item, long pressurePosition) {
-        long segment = segment(item, pressurePosition);
+        return unitPriceForSegment(item, segment(item, pressurePosition));
+    }
+
+    public long unitPriceForSegment(MarketItem item, long segment) {
         if (segment == 0L) {
             return item.getBaseUnitPrice();
         }
 
-        double sensitivity = item.getPriceSensitivity().doubleValue();
+        double sensitivity = item.getPriceSensitivityValue();
         double segmentMagnitude = segment == Long.MIN_VALUE
             ? (double) Long.MAX_VALUE
             : Math.abs(segment);
@@ -33,7 +36,7 @@ public final class MarketPressurePricing {
         );
     }
 
-    private long segmentSize(MarketItem item) {
+    long segmentSize(MarketItem item) {
         long segmentSize = item.getSegmentSize();
         if (segmentSize <= 0L) {
             throw new IllegalStateException("Segment size must be positive.");
@@ -0,0 +1,415 @@
+package io.github.HenriqueMichelini.craftalism.api.market.domain.pricing;
+
+import io.github.HenriqueMichelini.craftalism.api.model.MarketItem;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Prices pressure-ladder trades from cached per-segment prefix sums instead of
+ * walking the ladder one segment at a time.
+ *
+ * <p>Pressure prices only move towards the configured bound as the segment
+ * magnitude grows, so every ladder side becomes constant after a saturation
+ * segment that is located by binary search. Segment prices up to that point
+ * are accumulated lazily into prefix sums, which makes any trade an O(1)
+ * lookup once the touched segments have been priced. Ladders are keyed by the
+ * item pricing configuration and the drift and event multipliers, and are
+ * replaced when any of them changes.
+ */
+public final class MarketPriceLadder {
+
+    static final int MAX_CACHED_SEGMENTS = 1_024;
+
+    private final MarketPressurePricing pressurePricing;
+    private final MarketPricingPipeline pricingPipeline;
+    private final Map<String, ItemLadder> laddersByItemId =
+        new ConcurrentHashMap<>();
+
+    public MarketPriceLadder(
+        MarketPressurePricing pressurePricing,
+        MarketPricingPipeline pricingPipeline
+    ) {
+        this.pressurePricing = pressurePricing;
+        this.pricingPipeline = pricingPipeline;
+    }
+
+    public long buyTotalPrice(
+        MarketItem item,
+        long startPosition,
+        long quantity,
+        MarketPricingPipeline.PricingContext context
+    ) {
+        return totalPrice(item, startPosition, quantity, true, context);
+    }
+
+    public long sellTotalPrice(
+        MarketItem item,
+        long startPosition,
+        long quantity,
+        MarketPricingPipeline.PricingContext context
+    ) {
+        return totalPrice(item, startPosition, quantity, false, context);
+    }
+
+    private long totalPrice(
+        MarketItem item,
+        long startPosition,
+        long quantity,
+        boolean buy,
+        MarketPricingPipeline.PricingContext context
+    ) {
+        if (quantity <= 0L) {
+            return 0L;
+        }
+        long segmentSize = pressurePricing.segmentSize(item);
+        ItemLadder ladder = ladder(item, context);
+        long startSegment = Math.floorDiv(startPosition, segmentSize);
+        long offset = Math.floorMod(startPosition, segmentSize);
+        long firstTake = Math.min(
+            quantity,
+            buy ? segmentSize - offset : offset + 1L
+        );
+        long totalPrice = Math.multiplyExact(
+            firstTake,
+            ladder.segmentPrice(startSegment, buy)
+        );
+
+        long remaining = quantity - firstTake;
+        long fullSegments = remaining / segmentSize;
+        long lastTake = remaining % segmentSize;
+        if (fullSegments > 0L) {
+            long fullPriceSum = buy
+                ? ladder.segmentPriceSum(
+                    Math.addExact(startSegment, 1L),
+                    Math.addExact(startSegment, fullSegments),
+                    true
+                )
+                : ladder.segmentPriceSum(
+                    Math.subtractExact(startSegment, fullSegments),
+                    Math.subtractExact(startSegment, 1L),
+                    false
+                );
+            totalPrice = Math.addExact(
+                totalPrice,
+                Math.multiplyExact(segmentSize, fullPriceSum)
+            );
+        }
+        if (lastTake > 0L) {
+            long lastSegment = buy
+                ? Math.addExact(startSegment, Math.addExact(fullSegments, 1L))
+                : Math.subtractExact(
+                    startSegment,
+                    Math.addExact(fullSegments, 1L)
+                );
+            totalPrice = Math.addExact(
+                totalPrice,
+                Math.multiplyExact(
+                    lastTake,
+                    ladder.segmentPrice(lastSegment, buy)
+                )
+            );
+        }
+        return totalPrice;
+    }
+
+    long iterativeTotalPrice(
+        MarketItem item,
+        long startPosition,
+        long quantity,
+        boolean buy,
+        MarketPricingPipeline.PricingContext context
+    ) {
+        long segmentSize = pressurePricing.segmentSize(item);
+        long remaining = quantity;
+        long currentPosition = startPosition;
+        long totalPrice = 0L;
+
+        while (remaining > 0L) {
+            long offset = Math.floorMod(currentPosition, segmentSize);
+            long take = Math.min(
+                remaining,
+                buy ? segmentSize - offset : offset + 1L
+            );
+            long buyUnitPrice = pricingPipeline.buyUnitPrice(
+                item,
+                currentPosition,
+                context
+            );
+            long unitPrice = buy
+                ? buyUnitPrice
+                : pricingPipeline.sellUnitPrice(item, buyUnitPrice);
+            totalPrice = Math.addExact(
+                totalPrice,
+                Math.multiplyExact(take, unitPrice)
+            );
+            remaining -= take;
+            currentPosition = buy
+                ? Math.addExact(currentPosition, take)
+                : Math.subtractExact(currentPosition, take);
+        }
+        return totalPrice;
+    }
+
+    public void clear() {
+        laddersByItemId.clear();
+    }
+
+    private ItemLadder ladder(
+        MarketItem item,
+        MarketPricingPipeline.PricingContext context
+    ) {
+        LadderKey key = LadderKey.of(item, context);
+        if (item.getItemId() == null) {
+            return new ItemLadder(key);
+        }
+        ItemLadder ladder = laddersByItemId.get(item.getItemId());
+        if (ladder == null || !ladder.key.equals(key)) {
+            ladder = new ItemLadder(key);
+            laddersByItemId.put(item.getItemId(), ladder);
+        }
+        return ladder;
+    }
+
+    private record LadderKey(
+        long baseUnitPrice,
+        long minUnitPrice,
+        long maxUnitPrice,
+        long segmentSize,
+        BigDecimal priceSensitivity,
+        BigDecimal sellPricePercentage,
+        MarketPricingPipeline.PricingContext context
+    ) {
+        private static LadderKey of(
+            MarketItem item,
+            MarketPricingPipeline.PricingContext context
+        ) {
+            return new LadderKey(
+                item.getBaseUnitPrice(),
+                item.getMinUnitPrice(),
+                item.getMaxUnitPrice(),
+                item.getSegmentSize(),
+                item.getPriceSensitivity(),
+                item.getSellPricePercentage(),
+                context
+            );
+        }
+
+        private MarketItem pricingItem() {
+            MarketItem item = new MarketItem();
+            item.setBaseUnitPrice(baseUnitPrice);
+            item.setMinUnitPrice(minUnitPrice);
+            item.setMaxUnitPrice(maxUnitPrice);
+            item.setSegmentSize(segmentSize);
+            item.setPriceSensitivity(priceSensitivity);
+            item.setSellPricePercentage(sellPricePercentage);
+            return item;
+        }
+    }
+
+    private final class ItemLadder {
+
+        private final LadderKey key;
+        private final MarketItem pricingItem;
+        private volatile LadderSide positiveBuySide;
+        private volatile LadderSide negativeBuySide;
+        private volatile LadderSide positiveSellSide;
+        private volatile LadderSide negativeSellSide;
+
+        private ItemLadder(LadderKey key) {
+            this.key = key;
+            this.pricingItem = key.pricingItem();
+        }
+
+        private long segmentPrice(long segment, boolean buy) {
+            long buyUnitPrice = pricingPipeline.buyUnitPriceForSegment(
+                pricingItem,
+                segment,
+                key.context()
+            );
+            return buy
+                ? buyUnitPrice
+                : pricingPipeline.sellUnitPrice(pricingItem, buyUnitPrice);
+        }
+
+        private long segmentPriceSum(
+            long fromSegment,
+            long toSegment,
+            boolean buy
+        ) {
+            long sum = 0L;
+            if (fromSegment <= -1L) {
+                sum = Math.addExact(
+                    sum,
+                    side(false, buy).priceSum(
+                        -Math.min(toSegment, -1L),
+                        Math.negateExact(fromSegment)
+                    )
+                );
+            }
+            if (fromSegment <= 0L && toSegment >= 0L) {
+                sum = Math.addExact(sum, segmentPrice(0L, buy));
+            }
+            if (toSegment >= 1L) {
+                sum = Math.addExact(
+                    sum,
+                    side(true, buy).priceSum(
+                        Math.max(fromSegment, 1L),
+                        toSegment
+                    )
+                );
+            }
+            return sum;
+        }
+
+        private LadderSide side(boolean positive, boolean buy) {
+            LadderSide side = positive
+                ? (buy ? positiveBuySide : positiveSellSide)
+                : (buy ? negativeBuySide : negativeSellSide);
+            if (side != null) {
+                return side;
+            }
+            side = new LadderSide(this, positive ? 1L : -1L, buy);
+            if (positive && buy) {
+                positiveBuySide = side;
+            } else if (positive) {
+                positiveSellSide = side;
+            } else if (buy) {
+                negativeBuySide = side;
+            } else {
+                negativeSellSide = side;
+            }
+            return side;
+        }
+    }
+
+    private final class LadderSide {
+
+        private final ItemLadder ladder;
+        private final long sign;
+        private final boolean buy;
+        private final long saturationMagnitude;
+        private final long cachedMagnitudeLimit;
+        private volatile long[] prefixSums = new long[] { 0L };
+        private volatile boolean uncacheable;
+
+        private LadderSide(ItemLadder ladder, long sign, boolean buy) {
+            this.ladder = ladder;
+            this.sign = sign;
+            this.buy = buy;
+            this.saturationMagnitude = saturationMagnitude();
+            this.cachedMagnitudeLimit = Math.min(
+                saturationMagnitude,
+                MAX_CACHED_SEGMENTS
+            );
+        }
+
+        private long priceSum(long fromMagnitude, long toMagnitude) {
+            long cachedLimit = uncacheable ? 0L : cachedMagnitudeLimit;
+            long sum = 0L;
+            if (fromMagnitude <= cachedLimit) {
+                long cachedTo = Math.min(toMagnitude, cachedLimit);
+                long[] sums = prefixSums(cachedTo);
+                if (sums == null) {
+                    return priceSum(fromMagnitude, toMagnitude);
+                }
+                sum = Math.subtractExact(
+                    sums[(int) cachedTo],
+                    sums[(int) fromMagnitude - 1]
+                );
+            }
+            if (toMagnitude > cachedLimit) {
+                long uncachedFrom = Math.max(fromMagnitude, cachedLimit + 1L);
+                long walkedTo = Math.min(
+                    toMagnitude,
+                    saturationMagnitude - 1L
+                );
+                for (
+                    long magnitude = uncachedFrom;
+                    magnitude <= walkedTo;
+                    magnitude++
+                ) {
+                    sum = Math.addExact(sum, price(magnitude));
+                }
+                long saturatedFrom = Math.max(
+                    uncachedFrom,
+                    saturationMagnitude
+                );
+                if (saturatedFrom <= toMagnitude) {
+                    sum = Math.addExact(
+                        sum,
+                        Math.multiplyExact(
+                            toMagnitude - saturatedFrom + 1L,
+                            price(saturationMagnitude)
+                        )
+                    );
+                }
+            }
+            return sum;
+        }
+
+        private long[] prefixSums(long magnitude) {
+            long[] sums = prefixSums;
+            if (magnitude < sums.length) {
+                return sums;
+            }
+            synchronized (this) {
+                sums = prefixSums;
+                if (magnitude < sums.length) {
+                    return sums;
+                }
+                if (uncacheable) {
+                    return null;
+                }
+                int size = (int) Math.min(
+                    cachedMagnitudeLimit + 1L,
+                    Math.max(magnitude + 1L, (long) sums.length * 2L)
+                );
+                long[] extended = Arrays.copyOf(sums, size);
+                try {
+                    for (int index = sums.length; index < size; index++) {
+                        extended[index] = Math.addExact(
+                            extended[index - 1],
+                            price(index)
+                        );
+                    }
+                } catch (RuntimeException exception) {
+                    // Segments outside the traded range can fail to price or
+                    // overflow; fall back to walking exactly the traded range.
+                    uncacheable = true;
+                    return null;
+                }
+                prefixSums = extended;
+                return extended;
+            }
+        }
+
+        private long price(long magnitude) {
+            return ladder.segmentPrice(sign * magnitude, buy);
+        }
+
+        private long saturationMagnitude() {
+            MarketItem item = ladder.pricingItem;
+            long limitMagnitude = Long.MAX_VALUE;
+            long limitPrice = pressurePricing.unitPriceForSegment(
+                item,
+                sign * limitMagnitude
+            );
+            long low = 1L;
+            long high = limitMagnitude;
+            while (low < high) {
+                long middle = low + (high - low) / 2L;
+                if (
+                    pressurePricing.unitPriceForSegment(item, sign * middle) ==
+                    limitPrice
+                ) {
+                    high = middle;
+                } else {
+                    low = middle + 1L;
+                }
+            }
+            return low;
+        }
+    }
+}
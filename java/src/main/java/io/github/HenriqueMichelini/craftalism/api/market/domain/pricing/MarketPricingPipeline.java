@@ -19,7 +19,19 @@ public final class MarketPricingPipeline {
         long pressurePosition,
         PricingContext context
     ) {
-        long pressurePrice = pressurePricing.unitPrice(item, pressurePosition);
+        return buyUnitPriceForSegment(
+            item,
+            pressurePricing.segment(item, pressurePosition),
+            context
+        );
+    }
+
+    public long buyUnitPriceForSegment(
+        MarketItem item,
+        long segment,
+        PricingContext context
+    ) {
+        long pressurePrice = pressurePricing.unitPriceForSegment(item, segment);
         long driftAdjustedPrice = applyBasisPointMultiplier(
             pressurePrice,
             context.driftMultiplierBasisPoints()
@@ -36,11 +48,18 @@ public final class MarketPricingPipeline {
     }
 
     public long sellUnitPrice(MarketItem item, long adjustedBuyUnitPrice) {
-        long sellUnitPrice = BigDecimal
-            .valueOf(adjustedBuyUnitPrice)
-            .multiply(item.getSellPricePercentage())
-            .setScale(0, RoundingMode.HALF_UP)
-            .longValueExact();
+        long denominator = item.getSellPricePercentageDenominator();
+        long sellUnitPrice = denominator > 0L
+            ? MarketFixedPointMath.multiplyDivideHalfUp(
+                adjustedBuyUnitPrice,
+                item.getSellPricePercentageNumerator(),
+                denominator
+            )
+            : BigDecimal
+                .valueOf(adjustedBuyUnitPrice)
+                .multiply(item.getSellPricePercentage())
+                .setScale(0, RoundingMode.HALF_UP)
+                .longValueExact();
         if (sellUnitPrice <= 0L || sellUnitPrice >= adjustedBuyUnitPrice) {
             throw new IllegalStateException(
                 "Sell price percentage must produce a positive sell price below the buy price."
@@ -58,15 +77,11 @@ public final class MarketPricingPipeline {
                 "Pricing multiplier must be positive."
             );
         }
-        return BigDecimal
-            .valueOf(unitPrice)
-            .multiply(BigDecimal.valueOf(multiplierBasisPoints))
-            .divide(
-                BigDecimal.valueOf(NEUTRAL_MULTIPLIER_BASIS_POINTS),
-                0,
-                RoundingMode.HALF_UP
-            )
-            .longValueExact();
+        return MarketFixedPointMath.multiplyDivideHalfUp(
+            unitPrice,
+            multiplierBasisPoints,
+            NEUTRAL_MULTIPLIER_BASIS_POINTS
+        );
     }
 
     private long clamp(long value, long minimum, long maximum) {
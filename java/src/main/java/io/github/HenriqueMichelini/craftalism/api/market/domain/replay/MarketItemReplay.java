@@ -0,0 +1,161 @@
+package io.github.HenriqueMichelini.craftalism.api.market.domain.replay;
+
+import io.github.HenriqueMichelini.craftalism.api.dto.MarketReplayItemReportDTO;
+import io.github.HenriqueMichelini.craftalism.api.dto.MarketReplayPricePointDTO;
+import io.github.HenriqueMichelini.craftalism.api.dto.MarketSide;
+import io.github.HenriqueMichelini.craftalism.api.market.domain.trade.MarketStateProgression;
+import io.github.HenriqueMichelini.craftalism.api.market.domain.trade.MarketTradePlanner;
+import io.github.HenriqueMichelini.craftalism.api.model.MarketItem;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replay state of one item. Trades must be applied in execution order and by
+ * one thread at a time.
+ *
+ * <p>The price path keeps at most {@code maxPricePathPoints} points: once
+ * full, every other point is dropped and the sampling stride doubles, so the
+ * path stays evenly spread over the whole replay.
+ */
+final class MarketItemReplay {
+
+    private final MarketItem item;
+    private final MarketTradePlanner tradePlanner;
+    private final MarketStateProgression stateProgression;
+    private final int maxPricePathPoints;
+    private final List<MarketReplayPricePointDTO> pricePath = new ArrayList<>();
+    private long pricePathStride = 1L;
+    private long tradesSincePricePoint;
+    private Instant lastTradeAt;
+    private long tradeCount;
+    private long rejectedTradeCount;
+    private long historicalMoneyCreated;
+    private long historicalMoneyDestroyed;
+    private long replayedMoneyCreated;
+    private long replayedMoneyDestroyed;
+    private long priceCeilingHits;
+    private long priceFloorHits;
+
+    MarketItemReplay(
+        MarketItem item,
+        Instant startAt,
+        MarketTradePlanner tradePlanner,
+        MarketStateProgression stateProgression,
+        int maxPricePathPoints
+    ) {
+        this.item = item;
+        this.tradePlanner = tradePlanner;
+        this.stateProgression = stateProgression;
+        this.maxPricePathPoints = maxPricePathPoints;
+        item.setNetPosition(0L);
+        item.setLastUpdatedAt(startAt);
+        item.setDriftMultiplierBasisPoints(10_000L);
+        item.setDriftRevision(0L);
+        item.setDriftEvaluatedAt(startAt);
+        tradePlanner.recomputeDerivedProjections(item);
+        pricePath.add(pricePoint(startAt));
+    }
+
+    void apply(MarketReplayTrade trade) {
+        Instant executedAt = trade.executedAt();
+        stateProgression.advance(item, executedAt);
+        tradeCount++;
+        lastTradeAt = executedAt;
+        boolean buy = trade.side() == MarketSide.BUY;
+        if (buy) {
+            historicalMoneyDestroyed = Math.addExact(
+                historicalMoneyDestroyed,
+                trade.totalPrice()
+            );
+        } else {
+            historicalMoneyCreated = Math.addExact(
+                historicalMoneyCreated,
+                trade.totalPrice()
+            );
+        }
+
+        MarketTradePlanner.TradePlan plan = buy
+            ? tradePlanner.buyPlan(item, trade.quantity())
+            : tradePlanner.sellPlan(item, trade.quantity());
+        if (plan.executedQuantity() == 0L) {
+            rejectedTradeCount++;
+            return;
+        }
+        if (buy) {
+            replayedMoneyDestroyed = Math.addExact(
+                replayedMoneyDestroyed,
+                plan.totalPrice()
+            );
+            item.setNetPosition(
+                Math.addExact(item.getNetPosition(), plan.executedQuantity())
+            );
+        } else {
+            replayedMoneyCreated = Math.addExact(
+                replayedMoneyCreated,
+                plan.totalPrice()
+            );
+            item.setNetPosition(
+                Math.subtractExact(item.getNetPosition(), plan.executedQuantity())
+            );
+        }
+        item.setLastUpdatedAt(executedAt);
+        tradePlanner.recomputeDerivedProjections(item);
+
+        if (item.getBuyUnitEstimate() >= item.getMaxUnitPrice()) {
+            priceCeilingHits++;
+        } else if (item.getBuyUnitEstimate() <= item.getMinUnitPrice()) {
+            priceFloorHits++;
+        }
+        recordPricePoint(executedAt);
+    }
+
+    MarketReplayItemReportDTO report() {
+        List<MarketReplayPricePointDTO> path = new ArrayList<>(pricePath);
+        if (
+            lastTradeAt != null &&
+            path.get(path.size() - 1).at().isBefore(lastTradeAt)
+        ) {
+            path.add(pricePoint(lastTradeAt));
+        }
+        return new MarketReplayItemReportDTO(
+            item.getItemId(),
+            tradeCount,
+            rejectedTradeCount,
+            historicalMoneyCreated,
+            historicalMoneyDestroyed,
+            replayedMoneyCreated,
+            replayedMoneyDestroyed,
+            priceCeilingHits,
+            priceFloorHits,
+            item.getNetPosition(),
+            item.getBuyUnitEstimate(),
+            item.getSellUnitEstimate(),
+            List.copyOf(path)
+        );
+    }
+
+    private void recordPricePoint(Instant at) {
+        tradesSincePricePoint++;
+        if (tradesSincePricePoint < pricePathStride) {
+            return;
+        }
+        tradesSincePricePoint = 0L;
+        pricePath.add(pricePoint(at));
+        if (pricePath.size() > maxPricePathPoints) {
+            for (int index = 1; index < pricePath.size(); index++) {
+                pricePath.remove(index);
+            }
+            pricePathStride *= 2L;
+        }
+    }
+
+    private MarketReplayPricePointDTO pricePoint(Instant at) {
+        return new MarketReplayPricePointDTO(
+            at,
+            item.getNetPosition(),
+            item.getBuyUnitEstimate(),
+            item.getSellUnitEstimate()
+        );
+    }
+}
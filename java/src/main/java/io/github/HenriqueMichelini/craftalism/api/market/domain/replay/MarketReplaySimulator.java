@@ -0,0 +1,205 @@
+package io.github.HenriqueMichelini.craftalism.api.market.domain.replay;
+
+import io.github.HenriqueMichelini.craftalism.api.dto.MarketReplayItemReportDTO;
+import io.github.HenriqueMichelini.craftalism.api.dto.MarketReplayReportDTO;
+import io.github.HenriqueMichelini.craftalism.api.market.domain.pricing.MarketDriftService;
+import io.github.HenriqueMichelini.craftalism.api.market.domain.trade.MarketStateProgression;
+import io.github.HenriqueMichelini.craftalism.api.market.domain.trade.MarketTradePlanner;
+import io.github.HenriqueMichelini.craftalism.api.model.MarketItem;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Replays recorded trades against candidate item configurations, entirely in
+ * memory. Every item starts neutral at {@code startAt} and then follows the
+ * live trade path: regeneration and drift are advanced to each trade's
+ * execution time, the trade is priced by {@link MarketTradePlanner} and its
+ * quantity applied. Named events are not replayed.
+ *
+ * <p>Trades are fed in execution order, one chunk at a time. Items never
+ * affect each other, so each chunk is split by item and the per-item runs are
+ * forked on a {@link ForkJoinPool}; chunks are applied one after another, so
+ * every item still sees its trades in order.
+ *
+ * <p>The simulator has its own planner, so candidate configurations never
+ * reach the live price-ladder cache. Instances are not thread-safe.
+ */
+public final class MarketReplaySimulator {
+
+    private final MarketTradePlanner tradePlanner = new MarketTradePlanner();
+    private final MarketStateProgression stateProgression =
+        new MarketStateProgression(tradePlanner, new MarketDriftService());
+    private final Map<String, MarketItem> candidatesByItemId = new HashMap<>();
+    private final Map<String, MarketItemReplay> replaysByItemId =
+        new HashMap<>();
+    private final Instant startAt;
+    private final int maxPricePathPoints;
+    private final ForkJoinPool pool;
+    private long skippedTradeCount;
+
+    /**
+     * @param candidates detached items carrying the configuration to replay;
+     *     their pressure and drift state is reset
+     */
+    public MarketReplaySimulator(
+        Collection<MarketItem> candidates,
+        Instant startAt,
+        int maxPricePathPoints,
+        ForkJoinPool pool
+    ) {
+        if (maxPricePathPoints < 2) {
+            throw new IllegalArgumentException(
+                "craftalism.market.replay.max-price-path-points must be at least 2."
+            );
+        }
+        for (MarketItem candidate : candidates) {
+            candidatesByItemId.put(candidate.getItemId(), candidate);
+        }
+        this.startAt = startAt;
+        this.maxPricePathPoints = maxPricePathPoints;
+        this.pool = pool;
+    }
+
+    /**
+     * Applies the next chunk of trades, which must follow every trade applied
+     * before it in execution order. Trades for items without a candidate are
+     * counted as skipped.
+     */
+    public void apply(List<MarketReplayTrade> chunk) {
+        Map<String, List<MarketReplayTrade>> tradesByItemId =
+            new LinkedHashMap<>();
+        for (MarketReplayTrade trade : chunk) {
+            if (replay(trade.itemId()) == null) {
+                skippedTradeCount++;
+                continue;
+            }
+            tradesByItemId
+                .computeIfAbsent(trade.itemId(), itemId -> new ArrayList<>())
+                .add(trade);
+        }
+        List<ItemRun> runs = new ArrayList<>(tradesByItemId.size());
+        tradesByItemId.forEach((itemId, trades) ->
+            runs.add(new ItemRun(replaysByItemId.get(itemId), trades))
+        );
+        if (!runs.isEmpty()) {
+            pool.invoke(new ItemRunsTask(runs, 0, runs.size()));
+        }
+    }
+
+    public MarketReplayReportDTO report(Instant executedTo) {
+        List<MarketReplayItemReportDTO> items = replaysByItemId
+            .values()
+            .stream()
+            .map(MarketItemReplay::report)
+            .sorted(Comparator.comparing(MarketReplayItemReportDTO::itemId))
+            .toList();
+        long tradeCount = 0L;
+        long rejectedTradeCount = 0L;
+        long historicalMoneyCreated = 0L;
+        long historicalMoneyDestroyed = 0L;
+        long replayedMoneyCreated = 0L;
+        long replayedMoneyDestroyed = 0L;
+        long priceCeilingHits = 0L;
+        long priceFloorHits = 0L;
+        for (MarketReplayItemReportDTO item : items) {
+            tradeCount += item.tradeCount();
+            rejectedTradeCount += item.rejectedTradeCount();
+            historicalMoneyCreated = Math.addExact(
+                historicalMoneyCreated,
+                item.historicalMoneyCreated()
+            );
+            historicalMoneyDestroyed = Math.addExact(
+                historicalMoneyDestroyed,
+                item.historicalMoneyDestroyed()
+            );
+            replayedMoneyCreated = Math.addExact(
+                replayedMoneyCreated,
+                item.replayedMoneyCreated()
+            );
+            replayedMoneyDestroyed = Math.addExact(
+                replayedMoneyDestroyed,
+                item.replayedMoneyDestroyed()
+            );
+            priceCeilingHits += item.priceCeilingHits();
+            priceFloorHits += item.priceFloorHits();
+        }
+        return new MarketReplayReportDTO(
+            startAt,
+            executedTo,
+            tradeCount,
+            skippedTradeCount,
+            rejectedTradeCount,
+            historicalMoneyCreated,
+            historicalMoneyDestroyed,
+            replayedMoneyCreated,
+            replayedMoneyDestroyed,
+            priceCeilingHits,
+            priceFloorHits,
+            items
+        );
+    }
+
+    private MarketItemReplay replay(String itemId) {
+        MarketItemReplay replay = replaysByItemId.get(itemId);
+        if (replay == null) {
+            MarketItem candidate = candidatesByItemId.get(itemId);
+            if (candidate == null) {
+                return null;
+            }
+            replay = new MarketItemReplay(
+                candidate,
+                startAt,
+                tradePlanner,
+                stateProgression,
+                maxPricePathPoints
+            );
+            replaysByItemId.put(itemId, replay);
+        }
+        return replay;
+    }
+
+    private record ItemRun(
+        MarketItemReplay replay,
+        List<MarketReplayTrade> trades
+    ) {
+        private void run() {
+            for (MarketReplayTrade trade : trades) {
+                replay.apply(trade);
+            }
+        }
+    }
+
+    private static final class ItemRunsTask extends RecursiveAction {
+
+        private final transient List<ItemRun> runs;
+        private final int from;
+        private final int to;
+
+        private ItemRunsTask(List<ItemRun> runs, int from, int to) {
+            this.runs = runs;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                runs.get(from).run();
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(
+                new ItemRunsTask(runs, from, middle),
+                new ItemRunsTask(runs, middle, to)
+            );
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package io.github.HenriqueMichelini.craftalism.api.market.domain.replay;
+
+import io.github.HenriqueMichelini.craftalism.api.dto.MarketSide;
+import java.time.Instant;
+
+/**
+ * The columns of a recorded trade that a replay reads. Loaded as a
+ * projection, so chunks are never attached to a persistence context.
+ */
+public record MarketReplayTrade(
+    long id,
+    String itemId,
+    MarketSide side,
+    long quantity,
+    long totalPrice,
+    Instant executedAt
+) {}
@@ -13,16 +13,28 @@ import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Comparator;
 import java.util.HexFormat;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public final class MarketSnapshotProjector {
 
+    private static final Comparator<MarketSnapshotProjection> SNAPSHOT_ORDER =
+        Comparator
+            .comparingInt(MarketSnapshotProjection::categoryDisplayOrder)
+            .thenComparing(MarketSnapshotProjection::categoryId)
+            .thenComparing(MarketSnapshotProjection::displayName)
+            .thenComparing(MarketSnapshotProjection::itemId);
+
     private final MarketTradePlanner tradePlanner;
     private final MarketEventBlockingService eventBlockingService;
+    // Bounded by the number of item ids ever projected, which is the catalog.
+    private final Map<String, MemoizedFingerprint> fingerprints =
+        new ConcurrentHashMap<>();
 
     public MarketSnapshotProjector(MarketTradePlanner tradePlanner) {
         this(tradePlanner, null);
@@ -47,6 +59,21 @@ public final class MarketSnapshotProjector {
             .max(Instant::compareTo)
             .orElse(Instant.now());
 
+        return new MarketSnapshotResponseDTO(
+            snapshotVersion,
+            generatedAt,
+            activeEvent,
+            categories(projections)
+        );
+    }
+
+    /**
+     * Groups projections into snapshot categories, keeping the order in which
+     * categories and items appear in {@code projections}.
+     */
+    public List<MarketSnapshotCategoryDTO> categories(
+        List<MarketSnapshotProjection> projections
+    ) {
         Map<String, MarketSnapshotCategoryDTO> categories =
             new LinkedHashMap<>();
         for (MarketSnapshotProjection item : projections) {
@@ -63,12 +90,7 @@ public final class MarketSnapshotProjector {
             category.items().add(toSnapshotItem(item));
         }
 
-        return new MarketSnapshotResponseDTO(
-            snapshotVersion,
-            generatedAt,
-            activeEvent,
-            List.copyOf(categories.values())
-        );
+        return List.copyOf(categories.values());
     }
 
     MarketSnapshotResponseDTO response(
@@ -79,30 +101,25 @@ public final class MarketSnapshotProjector {
     }
 
     public MarketSnapshotItemDTO toSnapshotItem(MarketItem item) {
-        clearEventCaches();
-        try {
-            tradePlanner.recomputeDerivedProjections(item);
-            return new MarketSnapshotItemDTO(
-                item.getItemId(),
-                item.getDisplayName(),
-                item.getIconKey(),
-                Long.toString(item.getBuyUnitEstimate()),
-                Long.toString(item.getSellUnitEstimate()),
-                item.getCurrency(),
-                item.getNetPosition(),
-                tradePlanner.pressureSegment(item, item.getNetPosition()),
-                pressureMagnitude(item.getNetPosition()),
-                item.getVariationPercent().stripTrailingZeros().toPlainString(),
-                isEffectivelyBlocked(item),
-                item.isOperating(),
-                item.getLastUpdatedAt()
-            );
-        } finally {
-            clearEventCaches();
-        }
+        tradePlanner.recomputeDerivedProjections(item);
+        return new MarketSnapshotItemDTO(
+            item.getItemId(),
+            item.getDisplayName(),
+            item.getIconKey(),
+            Long.toString(item.getBuyUnitEstimate()),
+            Long.toString(item.getSellUnitEstimate()),
+            item.getCurrency(),
+            item.getNetPosition(),
+            tradePlanner.pressureSegment(item, item.getNetPosition()),
+            pressureMagnitude(item.getNetPosition()),
+            item.getVariationPercent().stripTrailingZeros().toPlainString(),
+            isEffectivelyBlocked(item),
+            item.isOperating(),
+            item.getLastUpdatedAt()
+        );
     }
 
-    private MarketSnapshotItemDTO toSnapshotItem(
+    public MarketSnapshotItemDTO toSnapshotItem(
         MarketSnapshotProjection item
     ) {
         return new MarketSnapshotItemDTO(
@@ -123,72 +140,81 @@ public final class MarketSnapshotProjector {
     }
 
     public List<MarketSnapshotProjection> projections(List<MarketItem> items) {
-        clearEventCaches();
-        try {
-            List<MarketSnapshotProjection> projections = new ArrayList<>(
-                items.size()
-            );
-            for (MarketItem item : items) {
-                tradePlanner.recomputeDerivedProjections(item);
-                MarketTradePlanner.PricingMetadata pricingMetadata =
-                    tradePlanner.currentPricingMetadata(item);
-                projections.add(
-                    new MarketSnapshotProjection(
-                    item.getItemId(),
-                    item.getCategoryId(),
-                    item.getCategoryDisplayName(),
-                    item.getCategory() == null
-                        ? Integer.MAX_VALUE
-                        : item.getCategory().getDisplayOrder(),
-                    item.getCategory() == null
-                        ? "CHEST"
-                        : item.getCategory().getIconKey(),
-                    item.getDisplayName(),
-                    item.getIconKey(),
-                    item.getBuyUnitEstimate(),
-                    item.getSellUnitEstimate(),
-                    item.getCurrency(),
-                    item.getBaseUnitPrice(),
-                    item.getMinUnitPrice(),
-                    item.getMaxUnitPrice(),
-                    item.getSegmentSize(),
-                    item.getPriceSensitivity(),
-                    item.getSellPricePercentage(),
-                    item.getBaseRegenQuantity(),
-                    item.getRegenIntervalSeconds(),
-                    item.getCurrentStock(),
-                    item.getNetPosition(),
-                    item.getDriftMultiplierBasisPoints(),
-                    item.getDriftRevision(),
-                    item.getDriftEvaluatedAt(),
+        List<MarketSnapshotProjection> projections = new ArrayList<>(
+            items.size()
+        );
+        MessageDigest digest = sha256();
+        for (MarketItem item : items) {
+            tradePlanner.recomputeDerivedProjections(item);
+            MarketTradePlanner.PricingMetadata pricingMetadata =
+                tradePlanner.currentPricingMetadata(item);
+            boolean blocked = isEffectivelyBlocked(item);
+            int categoryDisplayOrder = item.getCategory() == null
+                ? Integer.MAX_VALUE
+                : item.getCategory().getDisplayOrder();
+            String categoryIconKey = item.getCategory() == null
+                ? "CHEST"
+                : item.getCategory().getIconKey();
+            projections.add(
+                new MarketSnapshotProjection(
+                item.getItemId(),
+                item.getCategoryId(),
+                item.getCategoryDisplayName(),
+                categoryDisplayOrder,
+                categoryIconKey,
+                item.getDisplayName(),
+                item.getIconKey(),
+                item.getBuyUnitEstimate(),
+                item.getSellUnitEstimate(),
+                item.getCurrency(),
+                item.getBaseUnitPrice(),
+                item.getMinUnitPrice(),
+                item.getMaxUnitPrice(),
+                item.getSegmentSize(),
+                item.getPriceSensitivity(),
+                item.getSellPricePercentage(),
+                item.getBaseRegenQuantity(),
+                item.getRegenIntervalSeconds(),
+                item.getCurrentStock(),
+                item.getNetPosition(),
+                item.getDriftMultiplierBasisPoints(),
+                item.getDriftRevision(),
+                item.getDriftEvaluatedAt(),
+                pricingMetadata.namedEventInstanceId(),
+                pricingMetadata.eventEffectVersion(),
+                item.getMinNetPosition(),
+                item.getMaxNetPosition(),
+                tradePlanner.pressureSegment(item, item.getNetPosition()),
+                pressureMagnitude(item.getNetPosition()),
+                item.getMarketMomentum(),
+                item
+                    .getVariationPercent()
+                    .stripTrailingZeros()
+                    .toPlainString(),
+                blocked,
+                item.isOperating(),
+                item.getLastUpdatedAt(),
+                fingerprint(
+                    item,
+                    categoryDisplayOrder,
+                    categoryIconKey,
                     pricingMetadata.namedEventInstanceId(),
                     pricingMetadata.eventEffectVersion(),
-                    item.getMinNetPosition(),
-                    item.getMaxNetPosition(),
-                    tradePlanner.pressureSegment(item, item.getNetPosition()),
-                    pressureMagnitude(item.getNetPosition()),
-                    item.getMarketMomentum(),
-                    item
-                        .getVariationPercent()
-                        .stripTrailingZeros()
-                        .toPlainString(),
-                    isEffectivelyBlocked(item),
-                    item.isOperating(),
-                    item.getLastUpdatedAt()
-                    )
-                );
-            }
-            projections.sort(
-                Comparator
-                    .comparingInt(MarketSnapshotProjection::categoryDisplayOrder)
-                    .thenComparing(MarketSnapshotProjection::categoryId)
-                    .thenComparing(MarketSnapshotProjection::displayName)
-                    .thenComparing(MarketSnapshotProjection::itemId)
+                    blocked,
+                    digest
+                )
+                )
             );
-            return List.copyOf(projections);
-        } finally {
-            clearEventCaches();
         }
+        return sortedProjections(projections);
+    }
+
+    public List<MarketSnapshotProjection> sortedProjections(
+        Collection<MarketSnapshotProjection> projections
+    ) {
+        List<MarketSnapshotProjection> sorted = new ArrayList<>(projections);
+        sorted.sort(SNAPSHOT_ORDER);
+        return List.copyOf(sorted);
     }
 
     String snapshotVersion(List<MarketSnapshotProjection> items) {
@@ -199,69 +225,172 @@ public final class MarketSnapshotProjector {
         List<MarketSnapshotProjection> items,
         MarketActiveEventContextDTO activeEvent
     ) {
-        StringBuilder payload = new StringBuilder("market");
+        return snapshotVersion(catalogDigest(items), items.size(), activeEvent);
+    }
+
+    /**
+     * Order-independent combination of item fingerprints. Replacing one item
+     * is {@code digest - previous.fingerprint() + current.fingerprint()}.
+     */
+    public long catalogDigest(Collection<MarketSnapshotProjection> items) {
+        long digest = 0L;
         for (MarketSnapshotProjection item : items) {
-            payload
-                .append('|')
-                .append(item.itemId())
-                .append(':')
-                .append(item.currency())
-                .append(':')
-                .append(item.baseUnitPrice())
-                .append(':')
-                .append(item.minUnitPrice())
-                .append(':')
-                .append(item.maxUnitPrice())
-                .append(':')
-                .append(item.segmentSize())
-                .append(':')
-                .append(normalizedDecimal(item.priceSensitivity()))
-                .append(':')
-                .append(normalizedDecimal(item.sellPricePercentage()))
-                .append(':')
-                .append(item.baseRegenQuantity())
-                .append(':')
-                .append(item.regenIntervalSeconds())
-                .append(':')
-                .append(item.marketPressure())
-                .append(':')
-                .append(item.driftMultiplierBasisPoints())
-                .append(':')
-                .append(item.driftRevision())
-                .append(':')
-                .append(item.driftEvaluatedAt())
-                .append(':')
-                .append(nullableLong(item.namedEventInstanceId()))
-                .append(':')
-                .append(nullableInteger(item.eventEffectVersion()))
-                .append(':')
-                .append(nullableLong(item.minNetPosition()))
-                .append(':')
-                .append(nullableLong(item.maxNetPosition()))
-                .append(':')
-                .append(item.blocked())
-                .append(':')
-                .append(item.operating())
-                .append(':')
-                .append(item.lastUpdatedAt());
+            digest += item.fingerprint();
         }
+        return digest;
+    }
+
+    public String snapshotVersion(
+        long catalogDigest,
+        int itemCount,
+        MarketActiveEventContextDTO activeEvent
+    ) {
+        long version = mix(catalogDigest ^ mix(itemCount));
         if (activeEvent != null) {
-            payload
-                .append("|event:")
-                .append(activeEvent.name())
-                .append(':')
-                .append(activeEvent.description())
-                .append(':')
-                .append(activeEvent.broadScopeHint())
-                .append(':')
-                .append(activeEvent.temporalLabel());
+            version = mix(version ^ eventFingerprint(activeEvent));
         }
+        return "market:" + HexFormat.of().toHexDigits(version);
+    }
+
+    /**
+     * Covers everything the snapshot shows for the item, including its
+     * category's presentation, so display-only edits change the version too.
+     * The hash is memoized per item id and only recomputed when one of the
+     * covered fields changed since that item was last fingerprinted.
+     */
+    private long fingerprint(
+        MarketItem item,
+        int categoryDisplayOrder,
+        String categoryIconKey,
+        Long namedEventInstanceId,
+        Integer eventEffectVersion,
+        boolean blocked,
+        MessageDigest digest
+    ) {
+        FingerprintInputs inputs = new FingerprintInputs(
+            item.getItemId(),
+            item.getDisplayName(),
+            item.getIconKey(),
+            item.getCategoryId(),
+            item.getCategoryDisplayName(),
+            categoryDisplayOrder,
+            categoryIconKey,
+            item.getCurrency(),
+            item.getBaseUnitPrice(),
+            item.getMinUnitPrice(),
+            item.getMaxUnitPrice(),
+            item.getSegmentSize(),
+            item.getPriceSensitivity(),
+            item.getSellPricePercentage(),
+            item.getBaseRegenQuantity(),
+            item.getRegenIntervalSeconds(),
+            item.getNetPosition(),
+            item.getDriftMultiplierBasisPoints(),
+            item.getDriftRevision(),
+            item.getDriftEvaluatedAt(),
+            namedEventInstanceId,
+            eventEffectVersion,
+            item.getMinNetPosition(),
+            item.getMaxNetPosition(),
+            blocked,
+            item.isOperating(),
+            item.getLastUpdatedAt()
+        );
+        MemoizedFingerprint memoized = fingerprints.get(inputs.itemId());
+        if (memoized != null && memoized.inputs().equals(inputs)) {
+            return memoized.fingerprint();
+        }
+        long fingerprint = leadingLong(digest, payload(inputs));
+        fingerprints.put(
+            inputs.itemId(),
+            new MemoizedFingerprint(inputs, fingerprint)
+        );
+        return fingerprint;
+    }
+
+    private StringBuilder payload(FingerprintInputs inputs) {
+        return new StringBuilder(256)
+            .append(inputs.itemId())
+            .append(':')
+            .append(inputs.displayName())
+            .append(':')
+            .append(inputs.iconKey())
+            .append(':')
+            .append(inputs.categoryId())
+            .append(':')
+            .append(inputs.categoryDisplayName())
+            .append(':')
+            .append(inputs.categoryDisplayOrder())
+            .append(':')
+            .append(inputs.categoryIconKey())
+            .append(':')
+            .append(inputs.currency())
+            .append(':')
+            .append(inputs.baseUnitPrice())
+            .append(':')
+            .append(inputs.minUnitPrice())
+            .append(':')
+            .append(inputs.maxUnitPrice())
+            .append(':')
+            .append(inputs.segmentSize())
+            .append(':')
+            .append(normalizedDecimal(inputs.priceSensitivity()))
+            .append(':')
+            .append(normalizedDecimal(inputs.sellPricePercentage()))
+            .append(':')
+            .append(inputs.baseRegenQuantity())
+            .append(':')
+            .append(inputs.regenIntervalSeconds())
+            .append(':')
+            .append(inputs.netPosition())
+            .append(':')
+            .append(inputs.driftMultiplierBasisPoints())
+            .append(':')
+            .append(inputs.driftRevision())
+            .append(':')
+            .append(inputs.driftEvaluatedAt())
+            .append(':')
+            .append(nullableLong(inputs.namedEventInstanceId()))
+            .append(':')
+            .append(nullableInteger(inputs.eventEffectVersion()))
+            .append(':')
+            .append(nullableLong(inputs.minNetPosition()))
+            .append(':')
+            .append(nullableLong(inputs.maxNetPosition()))
+            .append(':')
+            .append(inputs.blocked())
+            .append(':')
+            .append(inputs.operating())
+            .append(':')
+            .append(inputs.lastUpdatedAt());
+    }
+
+    private long eventFingerprint(MarketActiveEventContextDTO activeEvent) {
+        StringBuilder payload = new StringBuilder("event:")
+            .append(activeEvent.name())
+            .append(':')
+            .append(activeEvent.description())
+            .append(':')
+            .append(activeEvent.broadScopeHint())
+            .append(':')
+            .append(activeEvent.temporalLabel());
+        return leadingLong(sha256(), payload);
+    }
+
+    private long leadingLong(MessageDigest digest, CharSequence payload) {
+        byte[] hash = digest.digest(
+            payload.toString().getBytes(StandardCharsets.UTF_8)
+        );
+        long value = 0L;
+        for (int index = 0; index < Long.BYTES; index++) {
+            value = (value << 8) | (hash[index] & 0xFFL);
+        }
+        return value;
+    }
+
+    private MessageDigest sha256() {
         try {
-            MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            byte[] hash = digest.digest(
-                payload.toString().getBytes(StandardCharsets.UTF_8)
-            );
-            return "market:" + HexFormat.of().formatHex(hash).substring(0, 16);
+            return MessageDigest.getInstance("SHA-256");
         } catch (NoSuchAlgorithmException ex) {
             throw new IllegalStateException(
                 "SHA-256 digest is not available",
@@ -270,6 +399,13 @@ public final class MarketSnapshotProjector {
         }
     }
 
+    private static long mix(long value) {
+        // SplitMix64 finalizer: deterministic on every node.
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+        return value ^ (value >>> 31);
+    }
+
     private String normalizedDecimal(BigDecimal value) {
         return value.stripTrailingZeros().toPlainString();
     }
@@ -294,13 +430,6 @@ public final class MarketSnapshotProjector {
             : eventBlockingService.isEffectivelyBlocked(item);
     }
 
-    private void clearEventCaches() {
-        tradePlanner.clearPricingCache();
-        if (eventBlockingService != null) {
-            eventBlockingService.clearRequestCache();
-        }
-    }
-
     public record MarketSnapshotProjection(
         String itemId,
         String categoryId,
@@ -335,6 +464,43 @@ public final class MarketSnapshotProjector {
         String variationPercent,
         boolean blocked,
         boolean operating,
+        Instant lastUpdatedAt,
+        long fingerprint
+    ) {}
+
+    /** Every item and category field the fingerprint covers. */
+    private record FingerprintInputs(
+        String itemId,
+        String displayName,
+        String iconKey,
+        String categoryId,
+        String categoryDisplayName,
+        int categoryDisplayOrder,
+        String categoryIconKey,
+        String currency,
+        long baseUnitPrice,
+        long minUnitPrice,
+        long maxUnitPrice,
+        long segmentSize,
+        BigDecimal priceSensitivity,
+        BigDecimal sellPricePercentage,
+        long baseRegenQuantity,
+        long regenIntervalSeconds,
+        long netPosition,
+        long driftMultiplierBasisPoints,
+        long driftRevision,
+        Instant driftEvaluatedAt,
+        Long namedEventInstanceId,
+        Integer eventEffectVersion,
+        Long minNetPosition,
+        Long maxNetPosition,
+        boolean blocked,
+        boolean operating,
         Instant lastUpdatedAt
     ) {}
+
+    private record MemoizedFingerprint(
+        FingerprintInputs inputs,
+        long fingerprint
+    ) {}
 }
@@ -0,0 +1,95 @@
+package io.github.HenriqueMichelini.craftalism.api.market.domain.trade;
+
+import io.github.HenriqueMichelini.craftalism.api.market.domain.pricing.MarketDriftService;
+import io.github.HenriqueMichelini.craftalism.api.model.MarketItem;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Advances an item's pressure regeneration and drift to a given instant.
+ * Works on the item in place and never touches persistence, so it serves
+ * both locked entities on the read path and detached items in replays.
+ */
+public final class MarketStateProgression {
+
+    private final MarketTradePlanner tradePlanner;
+    private final MarketDriftService driftService;
+
+    public MarketStateProgression(
+        MarketTradePlanner tradePlanner,
+        MarketDriftService driftService
+    ) {
+        this.tradePlanner = tradePlanner;
+        this.driftService = driftService;
+    }
+
+    public boolean isDue(MarketItem item, Instant now) {
+        return (
+            shouldAttemptRegeneration(item, now) ||
+            driftService.shouldAttemptDriftEvaluation(item, now)
+        );
+    }
+
+    /**
+     * Applies every regeneration and drift tick that has elapsed by
+     * {@code now} and returns whether the item changed.
+     */
+    public boolean advance(MarketItem item, Instant now) {
+        boolean pressureChanged = regenerate(item, now);
+        boolean driftChanged = driftService.evaluateDrift(item, now);
+        if (pressureChanged || driftChanged) {
+            tradePlanner.recomputeDerivedProjections(item);
+            return true;
+        }
+        return false;
+    }
+
+    private boolean shouldAttemptRegeneration(MarketItem item, Instant now) {
+        if (item.getNetPosition() == 0L || !now.isAfter(item.getLastUpdatedAt())) {
+            return false;
+        }
+
+        long ticks =
+            Duration.between(item.getLastUpdatedAt(), now).getSeconds() /
+            item.getRegenIntervalSeconds();
+        return ticks > 0L;
+    }
+
+    private boolean regenerate(MarketItem item, Instant now) {
+        tradePlanner.recomputeDerivedProjections(item);
+        if (item.getNetPosition() == 0L || !now.isAfter(item.getLastUpdatedAt())) {
+            return false;
+        }
+
+        long ticks =
+            Duration.between(item.getLastUpdatedAt(), now).getSeconds() /
+            item.getRegenIntervalSeconds();
+        if (ticks <= 0L) {
+            return false;
+        }
+
+        long regenQuantity = Math.multiplyExact(
+            ticks,
+            item.getBaseRegenQuantity()
+        );
+        if (regenQuantity <= 0L) {
+            return false;
+        }
+
+        long netPosition = item.getNetPosition();
+        if (netPosition > 0L) {
+            item.setNetPosition(Math.max(0L, netPosition - regenQuantity));
+        } else {
+            item.setNetPosition(Math.min(0L, netPosition + regenQuantity));
+        }
+        item.setLastUpdatedAt(
+            item
+                .getLastUpdatedAt()
+                .plusSeconds(
+                    Math.multiplyExact(ticks, item.getRegenIntervalSeconds())
+                )
+        );
+        tradePlanner.recomputeDerivedProjections(item);
+        return true;
+    }
+}
@@ -1,11 +1,11 @@
 package io.github.HenriqueMichelini.craftalism.api.market.domain.trade;
 
 import io.github.HenriqueMichelini.craftalism.api.market.domain.event.MarketEventPricingService;
+import io.github.HenriqueMichelini.craftalism.api.market.domain.pricing.MarketFixedPointMath;
 import io.github.HenriqueMichelini.craftalism.api.market.domain.pricing.MarketPressurePricing;
+import io.github.HenriqueMichelini.craftalism.api.market.domain.pricing.MarketPriceLadder;
 import io.github.HenriqueMichelini.craftalism.api.market.domain.pricing.MarketPricingPipeline;
 import io.github.HenriqueMichelini.craftalism.api.model.MarketItem;
-import java.math.BigDecimal;
-import java.math.RoundingMode;
 
 public final class MarketTradePlanner {
 
@@ -13,6 +13,10 @@ public final class MarketTradePlanner {
         new MarketPressurePricing();
     private final MarketPricingPipeline pricingPipeline =
         new MarketPricingPipeline(pressurePricing);
+    private final MarketPriceLadder priceLadder = new MarketPriceLadder(
+        pressurePricing,
+        pricingPipeline
+    );
     private final MarketPricingPipeline.PricingContext neutralPricingContext =
         MarketPricingPipeline.PricingContext.neutral();
     private final MarketEventPricingService eventPricingService;
@@ -33,8 +37,13 @@ public final class MarketTradePlanner {
         return pressurePricing.unitPrice(item, pressurePosition);
     }
 
+    /**
+     * Prices buying {@code requestedQuantity} from the item's current
+     * position. Planning only reads the item, so quotes can price against
+     * shared snapshot items; callers that apply the plan recompute the
+     * derived projections themselves.
+     */
     public TradePlan buyPlan(MarketItem item, long requestedQuantity) {
-        recomputeDerivedProjections(item);
         long resultingNetPosition = Math.addExact(
             item.getNetPosition(),
             requestedQuantity
@@ -56,8 +65,11 @@ public final class MarketTradePlanner {
         );
     }
 
+    /**
+     * Prices selling {@code requestedQuantity}; like {@link #buyPlan}, it
+     * never writes to the item.
+     */
     public TradePlan sellPlan(MarketItem item, long requestedQuantity) {
-        recomputeDerivedProjections(item);
         long resultingNetPosition = Math.subtractExact(
             item.getNetPosition(),
             requestedQuantity
@@ -94,25 +106,20 @@ public final class MarketTradePlanner {
         item.setSellUnitEstimate(
             pricingPipeline.sellUnitPrice(item, buyUnitEstimate)
         );
-        item.setVariationPercent(
-            variationPercent(item, buyUnitEstimate)
+        item.setVariationPercentHundredths(
+            variationPercentHundredths(item, buyUnitEstimate)
         );
     }
 
-    private BigDecimal variationPercent(
+    private long variationPercentHundredths(
         MarketItem item,
         long buyUnitEstimate
     ) {
-        return BigDecimal
-            .valueOf(
-                Math.subtractExact(buyUnitEstimate, item.getBaseUnitPrice())
-            )
-            .multiply(BigDecimal.valueOf(100L))
-            .divide(
-                BigDecimal.valueOf(item.getBaseUnitPrice()),
-                2,
-                RoundingMode.HALF_UP
-            );
+        return MarketFixedPointMath.multiplyDivideHalfUp(
+            Math.subtractExact(buyUnitEstimate, item.getBaseUnitPrice()),
+            10_000L,
+            item.getBaseUnitPrice()
+        );
     }
 
     private long effectiveUnitPrice(long totalPrice, long quantity) {
@@ -130,28 +137,19 @@ public final class MarketTradePlanner {
         long totalAvailableQuantity,
         PricingMetadata metadata
     ) {
-        long remainingRequest = requestedQuantity;
-        long currentPosition = startPosition;
-        long totalPrice = 0L;
-
-        while (remainingRequest > 0L) {
-            long take = Math.min(
-                remainingRequest,
-                positionsRemainingInSegment(item, currentPosition, direction)
-            );
-            totalPrice = Math.addExact(
-                totalPrice,
-                Math.multiplyExact(
-                    take,
-                    unitPrice(item, currentPosition, direction, metadata)
-                )
+        long totalPrice = direction == Direction.UP
+            ? priceLadder.buyTotalPrice(
+                item,
+                startPosition,
+                requestedQuantity,
+                metadata.pricingContext()
+            )
+            : priceLadder.sellTotalPrice(
+                item,
+                startPosition,
+                requestedQuantity,
+                metadata.pricingContext()
             );
-            remainingRequest -= take;
-            currentPosition =
-                direction == Direction.UP
-                    ? Math.addExact(currentPosition, take)
-                    : Math.subtractExact(currentPosition, take);
-        }
 
         return new TradePlan(
             requestedQuantity,
@@ -164,22 +162,6 @@ public final class MarketTradePlanner {
         );
     }
 
-    private long unitPrice(
-        MarketItem item,
-        long pressurePosition,
-        Direction direction,
-        PricingMetadata metadata
-    ) {
-        long buyUnitPrice = pricingPipeline.buyUnitPrice(
-            item,
-            pressurePosition,
-            metadata.pricingContext()
-        );
-        return direction == Direction.DOWN
-            ? pricingPipeline.sellUnitPrice(item, buyUnitPrice)
-            : buyUnitPrice;
-    }
-
     private PricingMetadata pricingMetadata(MarketItem item) {
         long driftMultiplierBasisPoints =
             item.getDriftMultiplierBasisPoints() > 0L
@@ -213,12 +195,6 @@ public final class MarketTradePlanner {
         return pricingMetadata(item);
     }
 
-    public void clearPricingCache() {
-        if (eventPricingService != null) {
-            eventPricingService.clearRequestCache();
-        }
-    }
-
     private TradePlan unavailablePlan(long totalAvailableQuantity) {
         return new TradePlan(
             0L,
@@ -238,17 +214,6 @@ public final class MarketTradePlanner {
         Integer eventEffectVersion
     ) {}
 
-    private long positionsRemainingInSegment(
-        MarketItem item,
-        long pressurePosition,
-        Direction direction
-    ) {
-        long offset = Math.floorMod(pressurePosition, item.getSegmentSize());
-        return direction == Direction.UP
-            ? item.getSegmentSize() - offset
-            : offset + 1L;
-    }
-
     private long buyPressureCapacity(MarketItem item) {
         if (item.getMaxNetPosition() == null) {
             return Long.MAX_VALUE;
@@ -3,12 +3,18 @@ package io.github.HenriqueMichelini.craftalism.api.market.infrastructure.configu
 import io.github.HenriqueMichelini.craftalism.api.config.MarketSettings;
 import io.github.HenriqueMichelini.craftalism.api.market.application.MarketService;
 import io.github.HenriqueMichelini.craftalism.api.market.application.command.MarketExecuteService;
+import io.github.HenriqueMichelini.craftalism.api.market.application.command.MarketItemConcurrencyMode;
+import io.github.HenriqueMichelini.craftalism.api.market.application.command.MarketOptimisticTradeApplier;
 import io.github.HenriqueMichelini.craftalism.api.market.application.command.MarketPlayerResolver;
 import io.github.HenriqueMichelini.craftalism.api.market.application.command.MarketQuoteService;
+import io.github.HenriqueMichelini.craftalism.api.market.application.command.MarketTradeCombiner;
 import io.github.HenriqueMichelini.craftalism.api.market.application.command.MarketTradeExecutor;
+import io.github.HenriqueMichelini.craftalism.api.market.application.query.MarketDeltaStream;
 import io.github.HenriqueMichelini.craftalism.api.market.application.query.MarketEventPublicContextService;
+import io.github.HenriqueMichelini.craftalism.api.market.application.query.MarketSnapshotCache;
 import io.github.HenriqueMichelini.craftalism.api.market.application.query.MarketSnapshotStateLoader;
 import io.github.HenriqueMichelini.craftalism.api.market.application.query.MarketSnapshotService;
+import io.github.HenriqueMichelini.craftalism.api.market.application.query.MarketStateMaintenanceMode;
 import io.github.HenriqueMichelini.craftalism.api.market.domain.catalog.DefaultMarketCatalog;
 import io.github.HenriqueMichelini.craftalism.api.market.domain.event.MarketEventBlockingService;
 import io.github.HenriqueMichelini.craftalism.api.market.domain.event.MarketEventPricingService;
@@ -17,17 +23,31 @@ import io.github.HenriqueMichelini.craftalism.api.market.domain.snapshot.MarketS
 import io.github.HenriqueMichelini.craftalism.api.market.domain.trade.MarketTradePlanner;
 import io.github.HenriqueMichelini.craftalism.api.market.domain.trade.MarketTradeRequestPolicy;
 import io.github.HenriqueMichelini.craftalism.api.market.infrastructure.bootstrap.MarketCatalogBootstrapper;
+import io.github.HenriqueMichelini.craftalism.api.market.infrastructure.metrics.MarketMetrics;
+import io.github.HenriqueMichelini.craftalism.api.market.infrastructure.persistence.MarketTradeHistoryWriteBehind;
+import io.github.HenriqueMichelini.craftalism.api.market.infrastructure.store.InMemoryMarketQuoteStore;
+import io.github.HenriqueMichelini.craftalism.api.market.infrastructure.store.JdbcMarketQuoteStore;
 import io.github.HenriqueMichelini.craftalism.api.market.infrastructure.store.MarketQuoteStore;
+import io.github.HenriqueMichelini.craftalism.api.market.infrastructure.store.MarketQuoteStoreBackend;
+import io.github.HenriqueMichelini.craftalism.api.market.infrastructure.store.MarketQuoteWriteBehind;
+import io.github.HenriqueMichelini.craftalism.api.market.infrastructure.store.SignedMarketQuoteStore;
 import io.github.HenriqueMichelini.craftalism.api.repository.BalanceRepository;
 import io.github.HenriqueMichelini.craftalism.api.repository.MarketCategoryRepository;
 import io.github.HenriqueMichelini.craftalism.api.repository.MarketItemRepository;
 import io.github.HenriqueMichelini.craftalism.api.repository.MarketQuoteRepository;
 import io.github.HenriqueMichelini.craftalism.api.repository.MarketTradeHistoryRepository;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.time.Clock;
 import java.time.Duration;
+import java.util.Optional;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Configuration
 public class MarketServiceConfiguration {
@@ -51,7 +71,10 @@ public class MarketServiceConfiguration {
         ) String trustedMinecraftServerClientId,
         @Value("${craftalism.market.quote-rate-limit.max-requests:0}") int quoteRateLimitMaxRequests,
         @Value("${craftalism.market.execute-rate-limit.max-requests:0}") int executeRateLimitMaxRequests,
-        @Value("${craftalism.market.rate-limit.window-seconds:60}") long rateLimitWindowSeconds
+        @Value("${craftalism.market.rate-limit.window-seconds:60}") long rateLimitWindowSeconds,
+        @Value("${craftalism.market.snapshot-cache.enabled:false}") boolean snapshotCacheEnabled,
+        @Value("${craftalism.market.snapshot-cache.max-age-seconds:0}") long snapshotCacheMaxAgeSeconds,
+        @Value("${craftalism.market.quote-batch.max-lines:64}") int quoteBatchMaxLines
     ) {
         return new MarketSettings(
             marketEnabled,
@@ -59,10 +82,75 @@ public class MarketServiceConfiguration {
             trustedMinecraftServerClientId,
             quoteRateLimitMaxRequests,
             executeRateLimitMaxRequests,
-            rateLimitWindowSeconds
+            rateLimitWindowSeconds,
+            snapshotCacheEnabled,
+            snapshotCacheMaxAgeSeconds,
+            quoteBatchMaxLines
         );
     }
 
+    @Bean
+    public MarketQuoteStore marketQuoteStore(
+        MarketQuoteRepository marketQuoteRepository,
+        PlatformTransactionManager transactionManager,
+        @Value("${craftalism.market.quote-store:jdbc}") String backend,
+        @Value("${craftalism.market.quote-audit.batch-size:500}") int auditBatchSize,
+        @Value("${craftalism.market.quote-audit.capacity:100000}") int auditCapacity,
+        @Value("${craftalism.market.quote-audit.flush-interval-ms:1000}") long auditFlushIntervalMillis,
+        @Value("${craftalism.market.quote-signing.secret:}") String signingSecret
+    ) {
+        return switch (MarketQuoteStoreBackend.fromProperty(backend)) {
+            case JDBC -> new JdbcMarketQuoteStore(marketQuoteRepository);
+            case MEMORY -> new InMemoryMarketQuoteStore(clock);
+            case HYBRID -> new InMemoryMarketQuoteStore(
+                new MarketQuoteWriteBehind(
+                    marketQuoteRepository,
+                    new TransactionTemplate(transactionManager),
+                    auditBatchSize,
+                    auditCapacity,
+                    Duration.ofMillis(auditFlushIntervalMillis)
+                ),
+                clock
+            );
+            case SIGNED -> new SignedMarketQuoteStore(signingSecret, clock);
+        };
+    }
+
+    @Bean
+    @ConditionalOnProperty(
+        name = "craftalism.market.trade-history.write-behind.enabled",
+        havingValue = "true"
+    )
+    public MarketTradeHistoryWriteBehind marketTradeHistoryWriteBehind(
+        JdbcOperations jdbcOperations,
+        PlatformTransactionManager transactionManager,
+        @Value("${craftalism.market.trade-history.write-behind.batch-size:500}") int batchSize,
+        @Value("${craftalism.market.trade-history.write-behind.capacity:100000}") int capacity,
+        @Value("${craftalism.market.trade-history.write-behind.flush-interval-ms:200}") long flushIntervalMillis
+    ) {
+        TransactionTemplate flushTransaction = new TransactionTemplate(
+            transactionManager
+        );
+        flushTransaction.setPropagationBehavior(
+            TransactionDefinition.PROPAGATION_REQUIRES_NEW
+        );
+        return new MarketTradeHistoryWriteBehind(
+            jdbcOperations,
+            flushTransaction,
+            batchSize,
+            capacity,
+            Duration.ofMillis(flushIntervalMillis)
+        );
+    }
+
+    @Bean
+    public MarketMetrics marketMetrics(
+        MeterRegistry meterRegistry,
+        @Value("${craftalism.market.metrics.timing-log-sample-rate:0.01}") double timingLogSampleRate
+    ) {
+        return new MarketMetrics(meterRegistry, timingLogSampleRate);
+    }
+
     @Bean
     public MarketTradePlanner marketTradePlanner(
         MarketEventPricingService eventPricingService
@@ -73,9 +161,62 @@ public class MarketServiceConfiguration {
     @Bean
     public MarketSnapshotStateLoader marketSnapshotStateLoader(
         MarketItemRepository marketItemRepository,
-        MarketTradePlanner tradePlanner
+        MarketTradePlanner tradePlanner,
+        @Value("${craftalism.market.state-maintenance.mode:lazy}") String maintenanceMode
     ) {
-        return new MarketSnapshotStateLoader(marketItemRepository, tradePlanner);
+        return new MarketSnapshotStateLoader(
+            marketItemRepository,
+            tradePlanner,
+            MarketStateMaintenanceMode.fromProperty(maintenanceMode)
+        );
+    }
+
+    @Bean
+    public MarketSnapshotCache marketSnapshotCache(
+        MarketSnapshotStateLoader marketSnapshotStateLoader,
+        MarketTradePlanner tradePlanner,
+        MarketEventBlockingService eventBlockingService,
+        MarketEventPublicContextService eventPublicContextService,
+        MarketSettings settings
+    ) {
+        return new MarketSnapshotCache(
+            marketSnapshotStateLoader,
+            new MarketSnapshotProjector(tradePlanner, eventBlockingService),
+            eventPublicContextService,
+            Duration.ofSeconds(settings.snapshotCacheMaxAgeSeconds()),
+            clock
+        );
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public MarketDeltaStream marketDeltaStream(
+        MarketSnapshotStateLoader marketSnapshotStateLoader,
+        MarketTradePlanner tradePlanner,
+        MarketEventBlockingService eventBlockingService,
+        MarketEventPublicContextService eventPublicContextService,
+        MarketSettings settings,
+        MarketSnapshotCache snapshotCache,
+        PlatformTransactionManager transactionManager,
+        @Value("${craftalism.market.stream.buffer-size:256}") int bufferSize,
+        @Value("${craftalism.market.stream.max-subscribers:500}") int maxSubscribers,
+        @Value("${craftalism.market.stream.heartbeat-seconds:15}") long heartbeatSeconds,
+        @Value("${craftalism.market.stream.timeout-seconds:1800}") long timeoutSeconds,
+        @Value("${craftalism.market.stream.send-timeout-ms:10000}") long sendTimeoutMs
+    ) {
+        return new MarketDeltaStream(
+            new MarketSnapshotService(
+                marketSnapshotStateLoader,
+                new MarketSnapshotProjector(tradePlanner, eventBlockingService),
+                eventPublicContextService,
+                settings.snapshotCacheEnabled() ? snapshotCache : null
+            ),
+            new TransactionTemplate(transactionManager),
+            bufferSize,
+            maxSubscribers,
+            Duration.ofSeconds(heartbeatSeconds),
+            Duration.ofSeconds(timeoutSeconds),
+            Duration.ofMillis(sendTimeoutMs)
+        );
     }
 
     @Bean
@@ -84,14 +225,23 @@ public class MarketServiceConfiguration {
         MarketCategoryRepository marketCategoryRepository,
         BalanceRepository balanceRepository,
         MarketQuoteStore quoteStore,
-        MarketQuoteRepository marketQuoteRepository,
         MarketTradeHistoryRepository marketTradeHistoryRepository,
         MarketEventPublicContextService eventPublicContextService,
         MarketEventBlockingService eventBlockingService,
         DefaultMarketCatalog defaultMarketCatalog,
         MarketSettings settings,
         MarketSnapshotStateLoader marketSnapshotStateLoader,
-        MarketTradePlanner tradePlanner
+        MarketTradePlanner tradePlanner,
+        MarketSnapshotCache snapshotCache,
+        PlatformTransactionManager transactionManager,
+        MarketMetrics metrics,
+        @Value("${craftalism.market.trade-combining.enabled:false}") boolean tradeCombiningEnabled,
+        @Value("${craftalism.market.trade-combining.max-batch-size:64}") int tradeCombiningMaxBatchSize,
+        @Value("${craftalism.market.item-concurrency.mode:pessimistic}") String itemConcurrencyMode,
+        @Value("${craftalism.market.item-concurrency.max-conflicts:3}") int itemConcurrencyMaxConflicts,
+        @Value("${craftalism.market.item-concurrency.backoff-ms:2}") long itemConcurrencyBackoffMillis,
+        @Value("${craftalism.market.state-maintenance.mode:lazy}") String maintenanceMode,
+        Optional<MarketTradeHistoryWriteBehind> historyWriteBehind
     ) {
         MarketCatalogBootstrapper catalogBootstrapper =
             new MarketCatalogBootstrapper(
@@ -104,13 +254,17 @@ public class MarketServiceConfiguration {
             new MarketSnapshotService(
                 marketSnapshotStateLoader,
                 new MarketSnapshotProjector(tradePlanner, eventBlockingService),
-                eventPublicContextService
+                eventPublicContextService,
+                settings.snapshotCacheEnabled() ? snapshotCache : null,
+                metrics
             );
         MarketTradeExecutor tradeExecutor = new MarketTradeExecutor(
             balanceRepository,
             marketItemRepository,
             marketTradeHistoryRepository,
-            tradePlanner
+            tradePlanner,
+            historyWriteBehind.orElse(null),
+            metrics
         );
         Duration rateLimitWindow = Duration.ofSeconds(
             settings.rateLimitWindowSeconds()
@@ -146,7 +300,9 @@ public class MarketServiceConfiguration {
             tradePlanner,
             playerResolver,
             quoteRequestPolicy,
-            settings.quoteTtlSeconds()
+            settings.quoteTtlSeconds(),
+            settings.quoteBatchMaxLines(),
+            metrics
         );
         MarketExecuteService marketExecuteService = new MarketExecuteService(
             marketItemRepository,
@@ -154,15 +310,121 @@ public class MarketServiceConfiguration {
             quoteStore,
             tradeExecutor,
             playerResolver,
-            executeRequestPolicy
+            executeRequestPolicy,
+            settings.quoteBatchMaxLines(),
+            tradeCombiningEnabled
+                ? tradeCombiner(
+                    marketItemRepository,
+                    marketSnapshotService,
+                    tradeExecutor,
+                    executeRequestPolicy,
+                    transactionManager,
+                    tradeCombiningMaxBatchSize,
+                    maintenanceMode
+                )
+                : null,
+            MarketItemConcurrencyMode.fromProperty(itemConcurrencyMode) ==
+                MarketItemConcurrencyMode.OPTIMISTIC
+                ? optimisticTradeApplier(
+                    marketItemRepository,
+                    marketSnapshotService,
+                    tradeExecutor,
+                    executeRequestPolicy,
+                    transactionManager,
+                    itemConcurrencyMaxConflicts,
+                    itemConcurrencyBackoffMillis,
+                    maintenanceMode
+                )
+                : null
         );
         return new MarketService(
             quoteStore,
-            marketQuoteRepository,
             catalogBootstrapper,
             marketSnapshotService,
             marketQuoteService,
-            marketExecuteService
+            marketExecuteService,
+            metrics
+        );
+    }
+
+    private MarketTradeCombiner tradeCombiner(
+        MarketItemRepository marketItemRepository,
+        MarketSnapshotService marketSnapshotService,
+        MarketTradeExecutor tradeExecutor,
+        MarketTradeRequestPolicy executeRequestPolicy,
+        PlatformTransactionManager transactionManager,
+        int maxBatchSize,
+        String maintenanceMode
+    ) {
+        requireBackgroundStateMaintenance(
+            "craftalism.market.trade-combining.enabled=true",
+            maintenanceMode
+        );
+        return new MarketTradeCombiner(
+            marketItemRepository,
+            marketSnapshotService,
+            tradeExecutor,
+            executeRequestPolicy,
+            requiresNewTransaction(transactionManager),
+            maxBatchSize
+        );
+    }
+
+    private MarketOptimisticTradeApplier optimisticTradeApplier(
+        MarketItemRepository marketItemRepository,
+        MarketSnapshotService marketSnapshotService,
+        MarketTradeExecutor tradeExecutor,
+        MarketTradeRequestPolicy executeRequestPolicy,
+        PlatformTransactionManager transactionManager,
+        int maxConflicts,
+        long backoffMillis,
+        String maintenanceMode
+    ) {
+        requireBackgroundStateMaintenance(
+            "craftalism.market.item-concurrency.mode=optimistic",
+            maintenanceMode
+        );
+        return new MarketOptimisticTradeApplier(
+            marketItemRepository,
+            marketSnapshotService,
+            tradeExecutor,
+            executeRequestPolicy,
+            requiresNewTransaction(transactionManager),
+            maxConflicts,
+            Duration.ofMillis(backoffMillis)
+        );
+    }
+
+    /**
+     * Refuses features whose item writes run in a transaction of their own
+     * unless market reads are read-only. In lazy mode the execute's own
+     * snapshot read locks due items, and the inner transaction would then wait
+     * on locks held by the suspended outer one.
+     */
+    static void requireBackgroundStateMaintenance(
+        String feature,
+        String maintenanceMode
+    ) {
+        if (
+            MarketStateMaintenanceMode.fromProperty(maintenanceMode) !=
+            MarketStateMaintenanceMode.BACKGROUND
+        ) {
+            throw new IllegalStateException(
+                feature +
+                " requires craftalism.market.state-maintenance.mode=background."
+            );
+        }
+    }
+
+    private TransactionTemplate requiresNewTransaction(
+        PlatformTransactionManager transactionManager
+    ) {
+        TransactionTemplate transaction = new TransactionTemplate(
+            transactionManager
+        );
+        transaction.setPropagationBehavior(
+            TransactionDefinition.PROPAGATION_REQUIRES_NEW
         );
+        return transaction;
     }
 }
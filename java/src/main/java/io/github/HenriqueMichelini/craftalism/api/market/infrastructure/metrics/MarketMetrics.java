@@ -0,0 +1,257 @@
+package io.github.HenriqueMichelini.craftalism.api.market.infrastructure.metrics;
+
+import io.github.HenriqueMichelini.craftalism.api.dto.MarketSide;
+import io.github.HenriqueMichelini.craftalism.api.exceptions.MarketRejectionException;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Micrometer timers for market quote and execute latency.
+ *
+ * <ul>
+ *   <li>{@code craftalism.market.request}: end to end, commit included,
+ *   tagged by {@code operation}, {@code side} and {@code outcome}, which is
+ *   {@code SUCCESS}, the rejection code, or {@code ERROR}.</li>
+ *   <li>{@code craftalism.market.phase}: one step of a request, tagged by
+ *   {@code phase} and {@code side}.</li>
+ *   <li>{@code craftalism.market.snapshot.build}: one stage of a full
+ *   snapshot build, tagged by {@code stage}.</li>
+ * </ul>
+ *
+ * All timers publish percentile histograms, so p99 can be aggregated across
+ * instances. {@link #disabled()} records into a registry with no backends.
+ */
+public final class MarketMetrics {
+
+    public static final String SIDE_MIXED = "MIXED";
+
+    private static final Duration MIN_EXPECTED = Duration.ofNanos(100_000L);
+    private static final Duration MAX_EXPECTED = Duration.ofSeconds(10L);
+
+    private static final MarketMetrics DISABLED = new MarketMetrics(
+        new CompositeMeterRegistry(),
+        0.0
+    );
+
+    private final Meter.MeterProvider<Timer> requestTimers;
+    private final Meter.MeterProvider<Timer> phaseTimers;
+    private final Meter.MeterProvider<Timer> snapshotTimers;
+    private final double timingLogSampleRate;
+
+    public MarketMetrics(MeterRegistry registry, double timingLogSampleRate) {
+        if (timingLogSampleRate < 0.0 || timingLogSampleRate > 1.0) {
+            throw new IllegalArgumentException(
+                "craftalism.market.metrics.timing-log-sample-rate must be between 0 and 1."
+            );
+        }
+        this.requestTimers = Timer.builder("craftalism.market.request")
+            .description("Market quote and execute latency, commit included")
+            .publishPercentileHistogram()
+            .minimumExpectedValue(MIN_EXPECTED)
+            .maximumExpectedValue(MAX_EXPECTED)
+            .withRegistry(registry);
+        this.phaseTimers = Timer.builder("craftalism.market.phase")
+            .description("Time spent in one step of a market request")
+            .publishPercentileHistogram()
+            .minimumExpectedValue(MIN_EXPECTED)
+            .maximumExpectedValue(MAX_EXPECTED)
+            .withRegistry(registry);
+        this.snapshotTimers = Timer.builder("craftalism.market.snapshot.build")
+            .description("Time spent in one stage of a full snapshot build")
+            .publishPercentileHistogram()
+            .minimumExpectedValue(MIN_EXPECTED)
+            .maximumExpectedValue(MAX_EXPECTED)
+            .withRegistry(registry);
+        this.timingLogSampleRate = timingLogSampleRate;
+    }
+
+    public static MarketMetrics disabled() {
+        return DISABLED;
+    }
+
+    public static String side(MarketSide side) {
+        return side == null ? "NONE" : side.name();
+    }
+
+    public static <T> String side(
+        Collection<T> lines,
+        Function<T, MarketSide> lineSide
+    ) {
+        MarketSide first = null;
+        for (T line : lines == null ? List.<T>of() : lines) {
+            MarketSide side = lineSide.apply(line);
+            if (first == null) {
+                first = side;
+            } else if (first != side) {
+                return SIDE_MIXED;
+            }
+        }
+        return side(first);
+    }
+
+    /**
+     * Times {@code call} as one {@code operation} request. Inside a
+     * transaction the request is recorded when the transaction completes, so
+     * the commit is part of it and is also recorded as its own phase.
+     */
+    public <T> T timeRequest(String operation, String side, Supplier<T> call) {
+        RequestTiming timing = new RequestTiming(operation, side);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(timing);
+        }
+        try {
+            T result = call.get();
+            timing.finish("SUCCESS");
+            return result;
+        } catch (MarketRejectionException rejection) {
+            timing.finish(rejection.getCode().name());
+            throw rejection;
+        } catch (RuntimeException exception) {
+            timing.finish("ERROR");
+            throw exception;
+        }
+    }
+
+    public <T> T timePhase(Phase phase, String side, Supplier<T> call) {
+        long startNanos = System.nanoTime();
+        try {
+            return call.get();
+        } finally {
+            recordPhase(phase, side, System.nanoTime() - startNanos);
+        }
+    }
+
+    /**
+     * Records the commit of the current transaction as a phase. Used by
+     * trade paths that run in their own transaction.
+     */
+    public void timeCommit(String side) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+            new CommitTiming(side)
+        );
+    }
+
+    public void recordSnapshotStage(String stage, long nanos) {
+        snapshotTimers
+            .withTags(Tags.of("stage", stage))
+            .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Whether this call should also write its timing to the log.
+     */
+    public boolean sampleTimingLog() {
+        return (
+            timingLogSampleRate > 0.0 &&
+            ThreadLocalRandom.current().nextDouble() < timingLogSampleRate
+        );
+    }
+
+    private void recordPhase(Phase phase, String side, long nanos) {
+        phaseTimers
+            .withTags(Tags.of("phase", phase.tag, "side", side))
+            .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public enum Phase {
+        SNAPSHOT,
+        ITEM_LOCK,
+        BALANCE_LOCK,
+        PRICING,
+        HISTORY,
+        COMMIT;
+
+        private final String tag = name().toLowerCase(Locale.ROOT);
+    }
+
+    private class CommitTiming implements TransactionSynchronization {
+
+        private final String side;
+        private long commitStartNanos;
+
+        private CommitTiming(String side) {
+            this.side = side;
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            commitStartNanos = System.nanoTime();
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            if (status == STATUS_COMMITTED && commitStartNanos != 0L) {
+                recordPhase(
+                    Phase.COMMIT,
+                    side,
+                    System.nanoTime() - commitStartNanos
+                );
+            }
+        }
+    }
+
+    private final class RequestTiming extends CommitTiming {
+
+        private final String operation;
+        private final long startNanos = System.nanoTime();
+        private final boolean deferred =
+            TransactionSynchronizationManager.isSynchronizationActive();
+        private String outcome;
+
+        private RequestTiming(String operation, String side) {
+            super(side);
+            this.operation = operation;
+        }
+
+        private void finish(String outcome) {
+            this.outcome = outcome;
+            if (!deferred) {
+                record();
+            }
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            super.afterCompletion(status);
+            if (outcome == null) {
+                outcome = "ERROR";
+            } else if (
+                status != STATUS_COMMITTED && outcome.equals("SUCCESS")
+            ) {
+                outcome = "ERROR";
+            }
+            record();
+        }
+
+        private void record() {
+            requestTimers
+                .withTags(
+                    Tags.of(
+                        "operation",
+                        operation,
+                        "side",
+                        super.side,
+                        "outcome",
+                        outcome
+                    )
+                )
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package io.github.HenriqueMichelini.craftalism.api.market.infrastructure.persistence;
+
+import io.github.HenriqueMichelini.craftalism.api.market.application.change.MarketStateChangedEvent;
+import io.github.HenriqueMichelini.craftalism.api.model.MarketItem;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener that turns market entity writes into
+ * {@link MarketStateChangedEvent}s. Hibernate resolves it through the Spring
+ * bean container, so consumers can listen after commit.
+ */
+@Component
+public class MarketStateEntityListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public MarketStateEntityListener(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    void onMarketStateChanged(Object entity) {
+        if (entity instanceof MarketItem item) {
+            eventPublisher.publishEvent(
+                MarketStateChangedEvent.item(item.getItemId())
+            );
+            return;
+        }
+        eventPublisher.publishEvent(MarketStateChangedEvent.all());
+    }
+}
@@ -0,0 +1,289 @@
+package io.github.HenriqueMichelini.craftalism.api.market.infrastructure.persistence;
+
+import io.github.HenriqueMichelini.craftalism.api.model.MarketTradeHistory;
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Writes {@code market_trade_history} rows after the execute transaction has
+ * committed, so the item and balance row locks are not held for the insert.
+ * Rows recorded inside a transaction are buffered when it commits and
+ * discarded when it rolls back; a background thread inserts them with one
+ * JDBC batch per transaction, in the order they were recorded. History
+ * readers see a trade at most about one flush interval after its execute.
+ *
+ * <p>Buffer space is reserved while the trade transaction is still open.
+ * When the buffer is full the rows are inserted in that transaction instead,
+ * so history is never dropped by back-pressure.
+ *
+ * <p>A failed batch is retried one row at a time, in order. A row that fails
+ * on its own with a transient or connection error stops the flush, and it and
+ * the rows after it are retried on the next flush. Any other failure means
+ * the row itself cannot be written, so it is logged in full and set aside,
+ * and later rows keep flowing. Rows still buffered when the process dies are
+ * lost.
+ */
+@Slf4j
+public final class MarketTradeHistoryWriteBehind {
+
+    private static final String INSERT_SQL =
+        "INSERT INTO market_trade_history (player_uuid, item_id, side, quantity, unit_price, total_price, currency, snapshot_version, executed_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcOperations jdbcOperations;
+    private final TransactionOperations transactionOperations;
+    private final int batchSize;
+    private final int capacity;
+    private final Queue<MarketTradeHistory> pending =
+        new ConcurrentLinkedQueue<>();
+    private final AtomicInteger reservedCount = new AtomicInteger();
+    private final List<MarketTradeHistory> failedBatch = new ArrayList<>();
+    private final AtomicLong setAsideCount = new AtomicLong();
+    private final ScheduledExecutorService flushExecutor;
+
+    public MarketTradeHistoryWriteBehind(
+        JdbcOperations jdbcOperations,
+        TransactionOperations transactionOperations,
+        int batchSize,
+        int capacity,
+        Duration flushInterval
+    ) {
+        this(
+            jdbcOperations,
+            transactionOperations,
+            batchSize,
+            capacity,
+            Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "market-trade-history");
+                thread.setDaemon(true);
+                return thread;
+            })
+        );
+        flushExecutor.scheduleWithFixedDelay(
+            this::flushSafely,
+            flushInterval.toMillis(),
+            flushInterval.toMillis(),
+            TimeUnit.MILLISECONDS
+        );
+    }
+
+    MarketTradeHistoryWriteBehind(
+        JdbcOperations jdbcOperations,
+        TransactionOperations transactionOperations,
+        int batchSize,
+        int capacity,
+        ScheduledExecutorService flushExecutor
+    ) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException(
+                "craftalism.market.trade-history.write-behind.batch-size must be positive."
+            );
+        }
+        if (capacity <= 0) {
+            throw new IllegalArgumentException(
+                "craftalism.market.trade-history.write-behind.capacity must be positive."
+            );
+        }
+        this.jdbcOperations = jdbcOperations;
+        this.transactionOperations = transactionOperations;
+        this.batchSize = batchSize;
+        this.capacity = capacity;
+        this.flushExecutor = flushExecutor;
+    }
+
+    /**
+     * Records trade history for the current transaction. Without an active
+     * transaction the rows are buffered immediately.
+     */
+    public void record(List<MarketTradeHistory> histories) {
+        if (histories.isEmpty()) {
+            return;
+        }
+        int count = histories.size();
+        if (reservedCount.addAndGet(count) > capacity) {
+            reservedCount.addAndGet(-count);
+            insert(histories);
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            pending.addAll(histories);
+            return;
+        }
+        List<MarketTradeHistory> recorded = List.copyOf(histories);
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        pending.addAll(recorded);
+                    } else {
+                        reservedCount.addAndGet(-count);
+                    }
+                }
+            }
+        );
+    }
+
+    /**
+     * Inserts everything buffered so far and returns the number of rows
+     * written.
+     */
+    public synchronized int flush() {
+        int written = 0;
+        List<MarketTradeHistory> batch = failedBatch.isEmpty()
+            ? nextBatch()
+            : new ArrayList<>(failedBatch);
+        failedBatch.clear();
+        while (!batch.isEmpty()) {
+            try {
+                insertInTransaction(batch);
+                reservedCount.addAndGet(-batch.size());
+                written += batch.size();
+            } catch (RuntimeException exception) {
+                log.warn(
+                    "market.trade.history.flush failed rows={}, retrying rows singly",
+                    batch.size(),
+                    exception
+                );
+                written += flushSingly(batch);
+                if (!failedBatch.isEmpty()) {
+                    return written;
+                }
+            }
+            batch = nextBatch();
+        }
+        return written;
+    }
+
+    public int pendingWrites() {
+        return reservedCount.get();
+    }
+
+    /**
+     * Returns the number of rows that could not be written and were set
+     * aside since startup.
+     */
+    public long setAsideRows() {
+        return setAsideCount.get();
+    }
+
+    public void shutdown() {
+        flushExecutor.shutdown();
+        try {
+            flushExecutor.awaitTermination(5L, TimeUnit.SECONDS);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+        flushSafely();
+        int unwritten = pendingWrites();
+        if (unwritten > 0) {
+            log.warn("market.trade.history.unwritten rows={}", unwritten);
+        }
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (RuntimeException exception) {
+            log.warn("market.trade.history.flush failed", exception);
+        }
+    }
+
+    private int flushSingly(List<MarketTradeHistory> batch) {
+        int written = 0;
+        for (int index = 0; index < batch.size(); index++) {
+            MarketTradeHistory history = batch.get(index);
+            try {
+                insertInTransaction(List.of(history));
+                written++;
+            } catch (RuntimeException exception) {
+                if (isRetryable(exception)) {
+                    failedBatch.addAll(batch.subList(index, batch.size()));
+                    log.warn(
+                        "market.trade.history.flush failed rows={}",
+                        failedBatch.size(),
+                        exception
+                    );
+                    return written;
+                }
+                setAsideCount.incrementAndGet();
+                log.error(
+                    "market.trade.history.set-aside playerUuid={} itemId={} side={} quantity={} unitPrice={} totalPrice={} currency={} snapshotVersion={} executedAt={}",
+                    history.getPlayerUuid(),
+                    history.getItemId(),
+                    history.getSide(),
+                    history.getQuantity(),
+                    history.getUnitPrice(),
+                    history.getTotalPrice(),
+                    history.getCurrency(),
+                    history.getSnapshotVersion(),
+                    history.getExecutedAt(),
+                    exception
+                );
+            }
+            reservedCount.decrementAndGet();
+        }
+        return written;
+    }
+
+    private static boolean isRetryable(RuntimeException exception) {
+        return (
+            exception instanceof TransientDataAccessException ||
+            exception instanceof RecoverableDataAccessException ||
+            exception instanceof DataAccessResourceFailureException ||
+            exception instanceof TransactionException
+        );
+    }
+
+    private void insertInTransaction(List<MarketTradeHistory> histories) {
+        transactionOperations.executeWithoutResult(status -> insert(histories));
+    }
+
+    private List<MarketTradeHistory> nextBatch() {
+        List<MarketTradeHistory> batch = new ArrayList<>();
+        MarketTradeHistory history;
+        while (batch.size() < batchSize && (history = pending.poll()) != null) {
+            batch.add(history);
+        }
+        return batch;
+    }
+
+    private void insert(List<MarketTradeHistory> histories) {
+        jdbcOperations.batchUpdate(
+            INSERT_SQL,
+            histories,
+            histories.size(),
+            (statement, history) -> {
+                statement.setObject(1, history.getPlayerUuid());
+                statement.setString(2, history.getItemId());
+                statement.setString(3, history.getSide().name());
+                statement.setLong(4, history.getQuantity());
+                statement.setLong(5, history.getUnitPrice());
+                statement.setLong(6, history.getTotalPrice());
+                statement.setString(7, history.getCurrency());
+                statement.setString(8, history.getSnapshotVersion());
+                statement.setObject(
+                    9,
+                    history.getExecutedAt().atOffset(ZoneOffset.UTC)
+                );
+            }
+        );
+    }
+}
@@ -0,0 +1,212 @@
+package io.github.HenriqueMichelini.craftalism.api.market.infrastructure.scheduling;
+
+import io.github.HenriqueMichelini.craftalism.api.market.application.change.MarketStateChangedEvent;
+import io.github.HenriqueMichelini.craftalism.api.market.domain.event.MarketActiveEventState;
+import io.github.HenriqueMichelini.craftalism.api.market.domain.event.MarketEventLifecycleService;
+import io.github.HenriqueMichelini.craftalism.api.model.MarketEventInstance;
+import jakarta.annotation.PreDestroy;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.PriorityQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Wakes exactly at the next start or end of an active market event instead of
+ * polling for them. Upcoming boundaries are kept in a priority queue and only
+ * its head is armed on a single timer thread. When a boundary fires, elapsed
+ * events are expired in one transaction and the committed change refreshes
+ * {@link MarketActiveEventState}, the snapshot cache and the delta stream
+ * once. A start changes no rows, and another node may already have expired
+ * the event, so in those cases the change is published directly.
+ *
+ * <p>The queue is rebuilt from the cached event state after every committed
+ * event, category or template write, so admin starts, ends and edits move the
+ * timer without a restart. All queue access happens on the timer thread.
+ */
+@Slf4j
+@Service
+public class MarketEventBoundaryScheduler {
+
+    private static final Duration RETRY_DELAY = Duration.ofSeconds(5L);
+
+    private final MarketActiveEventState activeEventState;
+    private final MarketEventLifecycleService lifecycleService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionOperations transactionOperations;
+    private final ScheduledExecutorService timerExecutor;
+    private final Clock clock;
+    private final PriorityQueue<Instant> boundaries = new PriorityQueue<>();
+    private final AtomicBoolean rescheduleQueued = new AtomicBoolean();
+    private ScheduledFuture<?> armedBoundary;
+
+    @Autowired
+    public MarketEventBoundaryScheduler(
+        MarketActiveEventState activeEventState,
+        MarketEventLifecycleService lifecycleService,
+        ApplicationEventPublisher eventPublisher,
+        PlatformTransactionManager transactionManager
+    ) {
+        this(
+            activeEventState,
+            lifecycleService,
+            eventPublisher,
+            new TransactionTemplate(transactionManager),
+            Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "market-event-boundary");
+                thread.setDaemon(true);
+                return thread;
+            }),
+            Clock.systemUTC()
+        );
+    }
+
+    MarketEventBoundaryScheduler(
+        MarketActiveEventState activeEventState,
+        MarketEventLifecycleService lifecycleService,
+        ApplicationEventPublisher eventPublisher,
+        TransactionOperations transactionOperations,
+        ScheduledExecutorService timerExecutor,
+        Clock clock
+    ) {
+        this.activeEventState = activeEventState;
+        this.lifecycleService = lifecycleService;
+        this.eventPublisher = eventPublisher;
+        this.transactionOperations = transactionOperations;
+        this.timerExecutor = timerExecutor;
+        this.clock = clock;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        requestReschedule();
+    }
+
+    // Runs after the event state's own listener, so the rebuilt queue reads
+    // the committed events.
+    @TransactionalEventListener(
+        phase = TransactionPhase.AFTER_COMMIT,
+        fallbackExecution = true
+    )
+    public void onMarketStateChanged(MarketStateChangedEvent event) {
+        if (event.affectsAllItems()) {
+            requestReschedule();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        timerExecutor.shutdownNow();
+    }
+
+    private void requestReschedule() {
+        if (rescheduleQueued.compareAndSet(false, true)) {
+            timerExecutor.execute(this::rescheduleSafely);
+        }
+    }
+
+    private void rescheduleSafely() {
+        rescheduleQueued.set(false);
+        try {
+            reschedule();
+        } catch (RuntimeException ex) {
+            log.warn("market.event.boundary.reschedule_failed", ex);
+            arm(clock.instant().plus(RETRY_DELAY), this::rescheduleSafely);
+        }
+    }
+
+    /**
+     * Rebuilds the boundary queue from the active events and arms its head.
+     * Ends that have already passed stay in the queue so the next fire
+     * expires them straight away.
+     */
+    void reschedule() {
+        Instant now = clock.instant();
+        boundaries.clear();
+        for (MarketEventInstance event : activeEventState.scheduledEvents()) {
+            if (event.getStartedAt().isAfter(now)) {
+                boundaries.add(event.getStartedAt());
+            }
+            boundaries.add(event.getEndsAt());
+        }
+        Instant next = boundaries.peek();
+        if (next == null) {
+            cancelArmedBoundary();
+        } else {
+            arm(next, this::fireSafely);
+        }
+    }
+
+    private void fireSafely() {
+        try {
+            fire();
+        } catch (RuntimeException ex) {
+            log.warn("market.event.boundary.fire_failed", ex);
+            arm(clock.instant().plus(RETRY_DELAY), this::rescheduleSafely);
+        }
+    }
+
+    /**
+     * Handles every boundary that has been reached. The published change
+     * reschedules the queue, so nothing is re-armed here unless the timer
+     * woke early.
+     */
+    void fire() {
+        Instant now = clock.instant();
+        boolean reached = false;
+        while (!boundaries.isEmpty() && !boundaries.peek().isAfter(now)) {
+            boundaries.poll();
+            reached = true;
+        }
+        if (!reached) {
+            if (!boundaries.isEmpty()) {
+                arm(boundaries.peek(), this::fireSafely);
+            }
+            return;
+        }
+
+        Integer expired = transactionOperations.execute(status ->
+            lifecycleService.expireElapsedActiveEvents(now)
+        );
+        if (expired != null && expired > 0) {
+            log.debug("market.event.boundary.expired events={}", expired);
+            return;
+        }
+        eventPublisher.publishEvent(MarketStateChangedEvent.all());
+    }
+
+    private void arm(Instant at, Runnable task) {
+        cancelArmedBoundary();
+        long delayNanos = Math.max(
+            0L,
+            Duration.between(clock.instant(), at).toNanos()
+        );
+        armedBoundary = timerExecutor.schedule(
+            task,
+            delayNanos,
+            TimeUnit.NANOSECONDS
+        );
+    }
+
+    private void cancelArmedBoundary() {
+        if (armedBoundary != null) {
+            armedBoundary.cancel(false);
+            armedBoundary = null;
+        }
+    }
+}
@@ -17,7 +17,9 @@ import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
 import java.util.Random;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -50,6 +52,7 @@ public class MarketEventScheduler {
     private final Duration leaseDuration;
     private final Duration eventWindowInterval;
     private final Duration eventWindowJitter;
+    private final int maxActiveEvents;
     private Instant nextWindowAt;
 
     @Autowired
@@ -64,6 +67,7 @@ public class MarketEventScheduler {
         @Value("${craftalism.market-events.scheduler.lease-seconds:60}") long leaseSeconds,
         @Value("${craftalism.market-events.scheduler.window-interval-seconds:7200}") long eventWindowIntervalSeconds,
         @Value("${craftalism.market-events.scheduler.window-jitter-seconds:1800}") long eventWindowJitterSeconds,
+        @Value("${craftalism.market-events.scheduler.max-active-events:1}") int maxActiveEvents,
         org.springframework.transaction.PlatformTransactionManager transactionManager
     ) {
         this(
@@ -79,6 +83,7 @@ public class MarketEventScheduler {
             Duration.ofSeconds(leaseSeconds),
             Duration.ofSeconds(eventWindowIntervalSeconds),
             Duration.ofSeconds(eventWindowJitterSeconds),
+            maxActiveEvents,
             new TransactionTemplate(transactionManager),
             UUID.randomUUID().toString()
         );
@@ -112,6 +117,7 @@ public class MarketEventScheduler {
             leaseDuration,
             eventWindowInterval,
             eventWindowJitter,
+            1,
             directTransactionOperations(),
             owner
         );
@@ -130,9 +136,15 @@ public class MarketEventScheduler {
         Duration leaseDuration,
         Duration eventWindowInterval,
         Duration eventWindowJitter,
+        int maxActiveEvents,
         TransactionOperations transactionOperations,
         String owner
     ) {
+        if (maxActiveEvents <= 0) {
+            throw new IllegalArgumentException(
+                "craftalism.market-events.scheduler.max-active-events must be positive."
+            );
+        }
         this.templateRepository = templateRepository;
         this.eventRepository = eventRepository;
         this.lockRepository = lockRepository;
@@ -146,6 +158,7 @@ public class MarketEventScheduler {
         this.leaseDuration = leaseDuration;
         this.eventWindowInterval = eventWindowInterval;
         this.eventWindowJitter = eventWindowJitter;
+        this.maxActiveEvents = maxActiveEvents;
         this.owner = owner;
     }
 
@@ -184,7 +197,9 @@ public class MarketEventScheduler {
 
         try {
             lifecycleService.expireElapsedActiveEvents(now);
-            if (lifecycleService.effectiveActiveEvent(now).isPresent()) {
+            List<MarketEventInstance> activeEvents =
+                lifecycleService.effectiveActiveEvents(now);
+            if (activeEvents.size() >= maxActiveEvents) {
                 return SchedulerDecision.skipped("active_event_exists");
             }
 
@@ -193,7 +208,10 @@ public class MarketEventScheduler {
                 return SchedulerDecision.skipped("no_event_roll");
             }
 
-            List<MarketEventTemplate> eligibleTemplates = eligibleTemplates(now);
+            List<MarketEventTemplate> eligibleTemplates = eligibleTemplates(
+                now,
+                activeEvents
+            );
             if (eligibleTemplates.isEmpty()) {
                 return SchedulerDecision.skipped("no_eligible_templates");
             }
@@ -243,9 +261,22 @@ public class MarketEventScheduler {
         );
     }
 
-    private List<MarketEventTemplate> eligibleTemplates(Instant now) {
-        List<MarketEventTemplate> candidates =
-            selectionPolicy.automaticCandidates(templateRepository.findAll());
+    private List<MarketEventTemplate> eligibleTemplates(
+        Instant now,
+        List<MarketEventInstance> activeEvents
+    ) {
+        // Each template has one active slot, so skip templates already running.
+        Set<String> activeTemplateIds = activeEvents
+            .stream()
+            .map(MarketEventInstance::getTemplateId)
+            .collect(Collectors.toSet());
+        List<MarketEventTemplate> candidates = selectionPolicy
+            .automaticCandidates(templateRepository.findAll())
+            .stream()
+            .filter(template ->
+                !activeTemplateIds.contains(template.getTemplateId())
+            )
+            .toList();
         if (candidates.isEmpty()) {
             return List.of();
         }
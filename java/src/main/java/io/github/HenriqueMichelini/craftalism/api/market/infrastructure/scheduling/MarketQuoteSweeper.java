@@ -0,0 +1,179 @@
+package io.github.HenriqueMichelini.craftalism.api.market.infrastructure.scheduling;
+
+import io.github.HenriqueMichelini.craftalism.api.market.infrastructure.store.MarketQuoteStoreBackend;
+import io.github.HenriqueMichelini.craftalism.api.model.MarketQuote;
+import io.github.HenriqueMichelini.craftalism.api.repository.MarketQuoteRepository;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Maintains {@code market_quotes} in the background. The sweep marks overdue
+ * active quotes as expired, which the JDBC quote store only does logically on
+ * request paths. Retention deletes resolved quotes older than
+ * {@code craftalism.market.quote-retention.days}. Both work in batches locked
+ * with {@code FOR UPDATE SKIP LOCKED}, one transaction per batch, so
+ * concurrent nodes and in-flight executes never wait on each other.
+ */
+@Slf4j
+@Service
+public class MarketQuoteSweeper {
+
+    private final MarketQuoteRepository marketQuoteRepository;
+    private final TransactionOperations transactionOperations;
+    private final Clock clock;
+    private final boolean sweepEnabled;
+    private final int batchSize;
+    private final Duration retention;
+
+    @Autowired
+    public MarketQuoteSweeper(
+        MarketQuoteRepository marketQuoteRepository,
+        @Value("${craftalism.market.quote-store:jdbc}") String quoteStoreBackend,
+        @Value("${craftalism.market.quote-sweeper.batch-size:500}") int batchSize,
+        @Value("${craftalism.market.quote-retention.days:30}") long retentionDays,
+        PlatformTransactionManager transactionManager
+    ) {
+        this(
+            marketQuoteRepository,
+            new TransactionTemplate(transactionManager),
+            Clock.systemUTC(),
+            MarketQuoteStoreBackend.fromProperty(quoteStoreBackend) ==
+            MarketQuoteStoreBackend.JDBC,
+            batchSize,
+            retentionDays
+        );
+    }
+
+    MarketQuoteSweeper(
+        MarketQuoteRepository marketQuoteRepository,
+        TransactionOperations transactionOperations,
+        Clock clock,
+        boolean sweepEnabled,
+        int batchSize,
+        long retentionDays
+    ) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException(
+                "craftalism.market.quote-sweeper.batch-size must be positive."
+            );
+        }
+        if (retentionDays < 0L) {
+            throw new IllegalArgumentException(
+                "craftalism.market.quote-retention.days must not be negative."
+            );
+        }
+        this.marketQuoteRepository = marketQuoteRepository;
+        this.transactionOperations = transactionOperations;
+        this.clock = clock;
+        this.sweepEnabled = sweepEnabled;
+        this.batchSize = batchSize;
+        this.retention = retentionDays == 0L
+            ? null
+            : Duration.ofDays(retentionDays);
+    }
+
+    @Scheduled(
+        fixedDelayString = "${craftalism.market.quote-sweeper.delay-ms:5000}",
+        initialDelayString = "${craftalism.market.quote-sweeper.delay-ms:5000}"
+    )
+    void scheduledSweep() {
+        sweepExpiredQuotes();
+    }
+
+    @Scheduled(
+        fixedDelayString = "${craftalism.market.quote-retention.delay-ms:3600000}",
+        initialDelayString = "${craftalism.market.quote-retention.delay-ms:3600000}"
+    )
+    void scheduledRetention() {
+        deleteResolvedQuotes();
+    }
+
+    /**
+     * Expires every active quote whose expiry has passed and returns how many
+     * were expired. Quotes locked by another node are left for its sweep.
+     */
+    int sweepExpiredQuotes() {
+        if (!sweepEnabled) {
+            return 0;
+        }
+        int expiredCount = 0;
+        int lockedCount;
+        do {
+            Instant now = clock.instant();
+            SweepBatch batch = transactionOperations.execute(status -> {
+                List<String> quoteTokens =
+                    marketQuoteRepository.lockOverdueActiveQuoteTokens(
+                        now,
+                        batchSize
+                    );
+                if (quoteTokens.isEmpty()) {
+                    return SweepBatch.EMPTY;
+                }
+                return new SweepBatch(
+                    quoteTokens.size(),
+                    marketQuoteRepository.expireQuotes(
+                        quoteTokens,
+                        MarketQuote.Status.ACTIVE,
+                        MarketQuote.Status.EXPIRED,
+                        now
+                    )
+                );
+            });
+            lockedCount = batch.lockedCount();
+            expiredCount += batch.changedCount();
+        } while (lockedCount >= batchSize);
+        if (expiredCount > 0) {
+            log.debug("market.quote.sweep expiredQuotes={}", expiredCount);
+        }
+        return expiredCount;
+    }
+
+    /**
+     * Deletes resolved quotes older than the retention period and returns how
+     * many were deleted.
+     */
+    int deleteResolvedQuotes() {
+        if (retention == null) {
+            return 0;
+        }
+        Instant cutoff = clock.instant().minus(retention);
+        int deletedCount = 0;
+        int lockedCount;
+        do {
+            SweepBatch batch = transactionOperations.execute(status -> {
+                List<String> quoteTokens =
+                    marketQuoteRepository.lockResolvedQuoteTokensBefore(
+                        cutoff,
+                        batchSize
+                    );
+                if (quoteTokens.isEmpty()) {
+                    return SweepBatch.EMPTY;
+                }
+                return new SweepBatch(
+                    quoteTokens.size(),
+                    marketQuoteRepository.deleteByQuoteTokens(quoteTokens)
+                );
+            });
+            lockedCount = batch.lockedCount();
+            deletedCount += batch.changedCount();
+        } while (lockedCount >= batchSize);
+        if (deletedCount > 0) {
+            log.info("market.quote.retention deletedQuotes={}", deletedCount);
+        }
+        return deletedCount;
+    }
+
+    private record SweepBatch(int lockedCount, int changedCount) {
+        private static final SweepBatch EMPTY = new SweepBatch(0, 0);
+    }
+}
@@ -0,0 +1,110 @@
+package io.github.HenriqueMichelini.craftalism.api.market.infrastructure.scheduling;
+
+import io.github.HenriqueMichelini.craftalism.api.market.application.query.MarketSnapshotStateLoader;
+import io.github.HenriqueMichelini.craftalism.api.market.application.query.MarketStateMaintenanceMode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Advances pressure regeneration and drift for due items when
+ * {@code craftalism.market.state-maintenance.mode=background}, so market reads
+ * never lock or write items. Every batch runs in its own transaction and
+ * re-checks due state under the row lock, so concurrent nodes stay safe.
+ */
+@Slf4j
+@Service
+public class MarketStateTicker {
+
+    private final MarketSnapshotStateLoader stateLoader;
+    private final TransactionOperations transactionOperations;
+    private final boolean enabled;
+    private final int batchSize;
+
+    @Autowired
+    public MarketStateTicker(
+        MarketSnapshotStateLoader stateLoader,
+        @Value("${craftalism.market.state-maintenance.mode:lazy}") String maintenanceMode,
+        @Value("${craftalism.market.state-maintenance.batch-size:200}") int batchSize,
+        PlatformTransactionManager transactionManager
+    ) {
+        this(
+            stateLoader,
+            MarketStateMaintenanceMode.fromProperty(maintenanceMode) ==
+            MarketStateMaintenanceMode.BACKGROUND,
+            batchSize,
+            new TransactionTemplate(transactionManager)
+        );
+    }
+
+    MarketStateTicker(
+        MarketSnapshotStateLoader stateLoader,
+        boolean enabled,
+        int batchSize
+    ) {
+        this(stateLoader, enabled, batchSize, directTransactionOperations());
+    }
+
+    MarketStateTicker(
+        MarketSnapshotStateLoader stateLoader,
+        boolean enabled,
+        int batchSize,
+        TransactionOperations transactionOperations
+    ) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException(
+                "craftalism.market.state-maintenance.batch-size must be positive."
+            );
+        }
+        this.stateLoader = stateLoader;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.transactionOperations = transactionOperations;
+    }
+
+    @Scheduled(
+        fixedDelayString = "${craftalism.market.state-maintenance.tick-delay-ms:5000}",
+        initialDelayString = "${craftalism.market.state-maintenance.initial-delay-ms:5000}"
+    )
+    void scheduledTick() {
+        tick();
+    }
+
+    int tick() {
+        if (!enabled) {
+            return 0;
+        }
+        int advancedItemCount = 0;
+        MarketSnapshotStateLoader.MarketStateAdvance batch;
+        do {
+            batch = transactionOperations.execute(
+                status -> stateLoader.advanceDueMarketState(batchSize)
+            );
+            advancedItemCount += batch.advancedItemCount();
+        } while (
+            batch.dueItemCount() >= batchSize && batch.advancedItemCount() > 0
+        );
+        if (advancedItemCount > 0) {
+            log.debug(
+                "market.state.tick advancedItems={}",
+                advancedItemCount
+            );
+        }
+        return advancedItemCount;
+    }
+
+    private static TransactionOperations directTransactionOperations() {
+        return new TransactionOperations() {
+            @Override
+            public <T> T execute(TransactionCallback<T> action) {
+                return action.doInTransaction(null);
+            }
+        };
+    }
+}
@@ -0,0 +1,265 @@
+package io.github.HenriqueMichelini.craftalism.api.market.infrastructure.store;
+
+import io.github.HenriqueMichelini.craftalism.api.model.MarketQuote;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Keeps quotes in a process-local map. Status transitions are compare-and-set
+ * on the entry, and overdue quotes are expired by a hierarchical timing wheel
+ * advanced by store calls, so no call scans the active set. Active quotes are
+ * also indexed by item and counted, so {@link #hasActiveQuotes(String)} only
+ * looks at that item's quotes and {@link #activeQuoteCount()} is a read; the
+ * count may include quotes overdue by less than one wheel tick. Consumed and
+ * invalidated quotes are kept until their expiry so replays still see their
+ * final status.
+ *
+ * <p>With a {@link MarketQuoteWriteBehind} the store also records quotes and
+ * transitions to {@code market_quotes} asynchronously for auditing; reads
+ * never consult the table. Quotes are only visible to the instance that
+ * issued them.
+ */
+public final class InMemoryMarketQuoteStore implements MarketQuoteStore {
+
+    private static final long WHEEL_TICK_MILLIS = 1_000L;
+
+    private final Map<String, QuoteEntry> quotesByToken =
+        new ConcurrentHashMap<>();
+    private final Map<String, Set<QuoteEntry>> activeByItemId =
+        new ConcurrentHashMap<>();
+    private final AtomicLong activeCount = new AtomicLong();
+    private final MarketQuoteExpiryWheel expiryWheel;
+    private final MarketQuoteWriteBehind writeBehind;
+    private final Clock clock;
+
+    public InMemoryMarketQuoteStore(Clock clock) {
+        this(null, clock);
+    }
+
+    public InMemoryMarketQuoteStore(
+        MarketQuoteWriteBehind writeBehind,
+        Clock clock
+    ) {
+        this.writeBehind = writeBehind;
+        this.clock = clock;
+        this.expiryWheel = new MarketQuoteExpiryWheel(
+            WHEEL_TICK_MILLIS,
+            clock.millis()
+        );
+    }
+
+    @Override
+    public String put(StoredQuote quote) {
+        Instant now = advance();
+        StoredQuote active = quote.withStatus(MarketQuote.Status.ACTIVE);
+        QuoteEntry entry = new QuoteEntry(active);
+        index(entry);
+        quotesByToken.put(quote.quoteToken(), entry);
+        expiryWheel.schedule(quote.quoteToken(), quote.expiresAt().toEpochMilli());
+        if (writeBehind != null) {
+            writeBehind.recordCreated(active, now);
+        }
+        return quote.quoteToken();
+    }
+
+    @Override
+    public Optional<StoredQuote> get(String quoteToken) {
+        Instant now = advance();
+        QuoteEntry entry = quotesByToken.get(quoteToken);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        if (entry.quote.expiresAt().isBefore(now)) {
+            transition(entry, MarketQuote.Status.EXPIRED, now);
+        }
+        return Optional.of(entry.snapshot());
+    }
+
+    @Override
+    public boolean consume(String quoteToken) {
+        Instant now = advance();
+        QuoteEntry entry = quotesByToken.get(quoteToken);
+        if (entry == null) {
+            return false;
+        }
+        if (entry.quote.expiresAt().isBefore(now)) {
+            transition(entry, MarketQuote.Status.EXPIRED, now);
+            return false;
+        }
+        return transition(entry, MarketQuote.Status.CONSUMED, now);
+    }
+
+    @Override
+    public void restore(String quoteToken) {
+        Instant now = advance();
+        QuoteEntry entry = quotesByToken.get(quoteToken);
+        if (
+            entry == null ||
+            !entry.status.compareAndSet(
+                MarketQuote.Status.CONSUMED,
+                MarketQuote.Status.ACTIVE
+            )
+        ) {
+            return;
+        }
+        index(entry);
+        if (writeBehind != null) {
+            writeBehind.recordTransition(
+                quoteToken,
+                MarketQuote.Status.CONSUMED,
+                MarketQuote.Status.ACTIVE,
+                now
+            );
+        }
+        if (quotesByToken.get(quoteToken) != entry) {
+            // The expiry wheel dropped the quote meanwhile; expire it here
+            // so it does not stay counted as active.
+            transition(entry, MarketQuote.Status.EXPIRED, now);
+        }
+    }
+
+    @Override
+    public void invalidate(String quoteToken) {
+        transition(quoteToken, MarketQuote.Status.INVALIDATED);
+    }
+
+    @Override
+    public void expire(String quoteToken) {
+        transition(quoteToken, MarketQuote.Status.EXPIRED);
+    }
+
+    @Override
+    public void clear() {
+        quotesByToken.clear();
+        activeByItemId.clear();
+        activeCount.set(0L);
+        expiryWheel.clear();
+        if (writeBehind != null) {
+            writeBehind.discardPending();
+        }
+    }
+
+    @Override
+    public void expireActiveQuotes() {
+        advance();
+    }
+
+    @Override
+    public long activeQuoteCount() {
+        advance();
+        return Math.max(activeCount.get(), 0L);
+    }
+
+    @Override
+    public boolean hasActiveQuotes(String itemId) {
+        Instant now = advance();
+        Set<QuoteEntry> entries = activeByItemId.get(itemId);
+        if (entries == null) {
+            return false;
+        }
+        for (QuoteEntry entry : entries) {
+            if (entry.isActiveAt(now)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public void shutdown() {
+        if (writeBehind != null) {
+            writeBehind.shutdown();
+        }
+    }
+
+    int trackedQuoteCount() {
+        return quotesByToken.size();
+    }
+
+    int indexedItemCount() {
+        return activeByItemId.size();
+    }
+
+    private void index(QuoteEntry entry) {
+        activeByItemId.compute(entry.quote.itemId(), (itemId, entries) -> {
+            Set<QuoteEntry> itemEntries = entries == null
+                ? ConcurrentHashMap.newKeySet()
+                : entries;
+            itemEntries.add(entry);
+            return itemEntries;
+        });
+        activeCount.incrementAndGet();
+    }
+
+    private Instant advance() {
+        Instant now = clock.instant();
+        for (String quoteToken : expiryWheel.advance(now.toEpochMilli())) {
+            QuoteEntry entry = quotesByToken.remove(quoteToken);
+            if (entry != null) {
+                transition(entry, MarketQuote.Status.EXPIRED, now);
+            }
+        }
+        return now;
+    }
+
+    private void transition(String quoteToken, MarketQuote.Status target) {
+        Instant now = advance();
+        QuoteEntry entry = quotesByToken.get(quoteToken);
+        if (entry != null) {
+            transition(entry, target, now);
+        }
+    }
+
+    private boolean transition(
+        QuoteEntry entry,
+        MarketQuote.Status target,
+        Instant now
+    ) {
+        if (
+            !entry.status.compareAndSet(MarketQuote.Status.ACTIVE, target)
+        ) {
+            return false;
+        }
+        activeByItemId.computeIfPresent(entry.quote.itemId(), (itemId, entries) -> {
+            entries.remove(entry);
+            return entries.isEmpty() ? null : entries;
+        });
+        activeCount.decrementAndGet();
+        if (writeBehind != null) {
+            writeBehind.recordTransition(
+                entry.quote.quoteToken(),
+                MarketQuote.Status.ACTIVE,
+                target,
+                now
+            );
+        }
+        return true;
+    }
+
+    private static final class QuoteEntry {
+
+        private final StoredQuote quote;
+        private final AtomicReference<MarketQuote.Status> status =
+            new AtomicReference<>(MarketQuote.Status.ACTIVE);
+
+        private QuoteEntry(StoredQuote quote) {
+            this.quote = quote;
+        }
+
+        private boolean isActiveAt(Instant now) {
+            return (
+                status.get() == MarketQuote.Status.ACTIVE &&
+                !quote.expiresAt().isBefore(now)
+            );
+        }
+
+        private StoredQuote snapshot() {
+            return quote.withStatus(status.get());
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package io.github.HenriqueMichelini.craftalism.api.market.infrastructure.store;
+
+import io.github.HenriqueMichelini.craftalism.api.model.MarketQuote;
+import io.github.HenriqueMichelini.craftalism.api.repository.MarketQuoteRepository;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+
+/**
+ * Keeps quotes in {@code market_quotes}, so the table is the single source of
+ * truth across API instances. Request paths never sweep the table: an active
+ * quote past its expiry is reported and treated as expired without a write,
+ * and {@code MarketQuoteSweeper} persists the expiry in the background.
+ */
+public class JdbcMarketQuoteStore implements MarketQuoteStore {
+
+    private final MarketQuoteRepository marketQuoteRepository;
+
+    public JdbcMarketQuoteStore(MarketQuoteRepository marketQuoteRepository) {
+        this.marketQuoteRepository = marketQuoteRepository;
+    }
+
+    @Override
+    @Transactional
+    public String put(StoredQuote quote) {
+        marketQuoteRepository.save(toEntity(quote, Instant.now()));
+        return quote.quoteToken();
+    }
+
+    @Override
+    @Transactional
+    public List<String> putAll(List<StoredQuote> quotes) {
+        Instant now = Instant.now();
+        marketQuoteRepository.saveAll(
+            quotes.stream().map(quote -> toEntity(quote, now)).toList()
+        );
+        return quotes.stream().map(StoredQuote::quoteToken).toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<StoredQuote> get(String quoteToken) {
+        Instant now = Instant.now();
+        return marketQuoteRepository
+            .findByQuoteToken(quoteToken)
+            .map(this::toStoredQuote)
+            .map(quote ->
+                quote.status() == MarketQuote.Status.ACTIVE &&
+                quote.expiresAt().isBefore(now)
+                    ? quote.withStatus(MarketQuote.Status.EXPIRED)
+                    : quote
+            );
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean consume(String quoteToken) {
+        return (
+            marketQuoteRepository.transitionUnexpiredStatus(
+                quoteToken,
+                MarketQuote.Status.ACTIVE,
+                MarketQuote.Status.CONSUMED,
+                Instant.now()
+            ) == 1
+        );
+    }
+
+    /**
+     * Consumes the quotes in the caller's transaction rather than a new one,
+     * so they stay consumed only if the caller commits. When any quote cannot
+     * be consumed the transaction is marked rollback-only, which also undoes
+     * the others.
+     */
+    @Override
+    @Transactional
+    public boolean consumeAll(List<String> quoteTokens) {
+        int consumed = marketQuoteRepository.transitionUnexpiredStatuses(
+            quoteTokens,
+            MarketQuote.Status.ACTIVE,
+            MarketQuote.Status.CONSUMED,
+            Instant.now()
+        );
+        if (consumed == quoteTokens.size()) {
+            return true;
+        }
+        TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+        return false;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void restore(String quoteToken) {
+        marketQuoteRepository.transitionStatus(
+            quoteToken,
+            MarketQuote.Status.CONSUMED,
+            MarketQuote.Status.ACTIVE,
+            null
+        );
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void invalidate(String quoteToken) {
+        marketQuoteRepository.transitionStatus(
+            quoteToken,
+            MarketQuote.Status.ACTIVE,
+            MarketQuote.Status.INVALIDATED,
+            Instant.now()
+        );
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void expire(String quoteToken) {
+        marketQuoteRepository.transitionStatus(
+            quoteToken,
+            MarketQuote.Status.ACTIVE,
+            MarketQuote.Status.EXPIRED,
+            Instant.now()
+        );
+    }
+
+    @Override
+    @Transactional
+    public void clear() {
+        marketQuoteRepository.deleteAll();
+    }
+
+    @Override
+    @Transactional
+    public void expireActiveQuotes() {
+        Instant now = Instant.now();
+        marketQuoteRepository.expireActiveQuotes(
+            now,
+            MarketQuote.Status.ACTIVE,
+            MarketQuote.Status.EXPIRED,
+            now
+        );
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long activeQuoteCount() {
+        return marketQuoteRepository.countByStatusAndExpiresAtGreaterThanEqual(
+            MarketQuote.Status.ACTIVE,
+            Instant.now()
+        );
+    }
+
+    /**
+     * Also counts overdue quotes the sweeper has not expired yet, so an item
+     * is only released once its quotes are resolved in the table.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public boolean hasActiveQuotes(String itemId) {
+        return marketQuoteRepository.existsByItemIdAndStatus(
+            itemId,
+            MarketQuote.Status.ACTIVE
+        );
+    }
+
+    static MarketQuote toEntity(StoredQuote quote, Instant createdAt) {
+        MarketQuote entity = new MarketQuote();
+        entity.setQuoteToken(quote.quoteToken());
+        entity.setPlayerUuid(quote.playerUuid());
+        entity.setItemId(quote.itemId());
+        entity.setSide(quote.side());
+        entity.setQuantity(quote.quantity());
+        entity.setUnitPrice(quote.unitPrice());
+        entity.setTotalPrice(quote.totalPrice());
+        entity.setSnapshotVersion(quote.snapshotVersion());
+        entity.setPricingContextVersion(quote.pricingContextVersion());
+        entity.setPressurePosition(quote.pressurePosition());
+        entity.setDriftRevision(quote.driftRevision());
+        entity.setNamedEventInstanceId(quote.namedEventInstanceId());
+        entity.setEventEffectVersion(quote.eventEffectVersion());
+        entity.setExpiresAt(quote.expiresAt());
+        entity.setCreatedAt(createdAt);
+        entity.setStatus(MarketQuote.Status.ACTIVE);
+        return entity;
+    }
+
+    private StoredQuote toStoredQuote(MarketQuote quote) {
+        return new StoredQuote(
+            quote.getQuoteToken(),
+            quote.getPlayerUuid(),
+            quote.getItemId(),
+            quote.getSide(),
+            quote.getQuantity(),
+            quote.getUnitPrice(),
+            quote.getTotalPrice(),
+            quote.getSnapshotVersion(),
+            quote.getPricingContextVersion(),
+            quote.getPressurePosition(),
+            quote.getDriftRevision(),
+            quote.getNamedEventInstanceId(),
+            quote.getEventEffectVersion(),
+            quote.getExpiresAt(),
+            quote.getStatus()
+        );
+    }
+}
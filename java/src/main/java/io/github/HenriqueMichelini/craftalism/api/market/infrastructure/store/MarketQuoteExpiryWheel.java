@@ -0,0 +1,134 @@
+package io.github.HenriqueMichelini.craftalism.api.market.infrastructure.store;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel for quote expiry. Level {@code n} has
+ * {@value #SLOTS} slots of {@code tickMillis * SLOTS^n}; a quote is placed on
+ * the lowest level whose span reaches its expiry and cascades down one level
+ * each time a higher slot comes due, so scheduling and firing are O(1) per
+ * quote regardless of how many quotes are active. Expiries beyond the top
+ * level wait in an overflow list that is re-examined on every top-level
+ * cascade.
+ *
+ * <p>A quote fires on the first tick strictly after its expiry instant, which
+ * matches the {@code expires_at < now} rule of the JDBC store.
+ */
+final class MarketQuoteExpiryWheel {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+
+    private final long tickMillis;
+    private final List<List<Timer>> slots = new ArrayList<>();
+    private final List<Timer> overflow = new ArrayList<>();
+    private long currentTick;
+    private int size;
+
+    MarketQuoteExpiryWheel(long tickMillis, long nowMillis) {
+        if (tickMillis <= 0L) {
+            throw new IllegalArgumentException("tickMillis must be positive.");
+        }
+        this.tickMillis = tickMillis;
+        this.currentTick = Math.floorDiv(nowMillis, tickMillis);
+        for (int index = 0; index < LEVELS * SLOTS; index++) {
+            slots.add(new ArrayList<>());
+        }
+    }
+
+    synchronized void schedule(String quoteToken, long expiresAtMillis) {
+        long expiryTick = Math.max(
+            Math.floorDiv(expiresAtMillis, tickMillis) + 1L,
+            currentTick + 1L
+        );
+        place(new Timer(quoteToken, expiryTick));
+        size++;
+    }
+
+    /**
+     * Advances the wheel to {@code nowMillis} and returns the quote tokens
+     * whose expiry has passed, in expiry order.
+     */
+    synchronized List<String> advance(long nowMillis) {
+        long targetTick = Math.floorDiv(nowMillis, tickMillis);
+        if (size == 0) {
+            currentTick = Math.max(currentTick, targetTick);
+            return List.of();
+        }
+        List<String> expired = new ArrayList<>();
+        while (currentTick < targetTick) {
+            currentTick++;
+            cascade();
+            List<Timer> due = slot(0, currentTick);
+            for (Timer timer : due) {
+                expired.add(timer.quoteToken());
+            }
+            size -= due.size();
+            due.clear();
+            if (size == 0) {
+                currentTick = targetTick;
+            }
+        }
+        return expired;
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    synchronized void clear() {
+        for (List<Timer> slot : slots) {
+            slot.clear();
+        }
+        overflow.clear();
+        size = 0;
+    }
+
+    private void cascade() {
+        for (int level = LEVELS - 1; level >= 1; level--) {
+            if ((currentTick & levelMask(level)) != 0L) {
+                continue;
+            }
+            if (level == LEVELS - 1) {
+                reinsert(overflow);
+            }
+            reinsert(slot(level, currentTick));
+        }
+    }
+
+    private void reinsert(List<Timer> timers) {
+        if (timers.isEmpty()) {
+            return;
+        }
+        List<Timer> moved = new ArrayList<>(timers);
+        timers.clear();
+        for (Timer timer : moved) {
+            place(timer);
+        }
+    }
+
+    private void place(Timer timer) {
+        for (int level = 0; level < LEVELS; level++) {
+            int shift = SLOT_BITS * level;
+            if ((timer.expiryTick() >> shift) - (currentTick >> shift) < SLOTS) {
+                slot(level, timer.expiryTick()).add(timer);
+                return;
+            }
+        }
+        overflow.add(timer);
+    }
+
+    private List<Timer> slot(int level, long tick) {
+        int index = (int) ((tick >> (SLOT_BITS * level)) & SLOT_MASK);
+        return slots.get(level * SLOTS + index);
+    }
+
+    private static long levelMask(int level) {
+        return (1L << (SLOT_BITS * level)) - 1L;
+    }
+
+    private record Timer(String quoteToken, long expiryTick) {}
+}
@@ -2,127 +2,90 @@ package io.github.HenriqueMichelini.craftalism.api.market.infrastructure.store;
 
 import io.github.HenriqueMichelini.craftalism.api.dto.MarketSide;
 import io.github.HenriqueMichelini.craftalism.api.model.MarketQuote;
-import io.github.HenriqueMichelini.craftalism.api.repository.MarketQuoteRepository;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
-import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Propagation;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-@Component
-public class MarketQuoteStore {
+/**
+ * Quote storage backend selected by {@code craftalism.market.quote-store}.
+ * Status transitions only ever leave {@link MarketQuote.Status#ACTIVE}, and
+ * {@link #consume(String)} succeeds for exactly one caller per quote.
+ */
+public interface MarketQuoteStore {
+    /**
+     * Stores an active quote and returns the token to hand to the client,
+     * which is the quote's own token unless the backend issues its own.
+     */
+    String put(StoredQuote quote);
 
-    private final MarketQuoteRepository marketQuoteRepository;
-
-    public MarketQuoteStore(MarketQuoteRepository marketQuoteRepository) {
-        this.marketQuoteRepository = marketQuoteRepository;
+    /**
+     * Stores several active quotes and returns their client tokens in the
+     * same order.
+     */
+    default List<String> putAll(List<StoredQuote> quotes) {
+        List<String> quoteTokens = new ArrayList<>(quotes.size());
+        for (StoredQuote quote : quotes) {
+            quoteTokens.add(put(quote));
+        }
+        return quoteTokens;
     }
 
-    @Transactional
-    public void put(StoredQuote quote) {
-        expireActiveQuotesInCurrentTransaction();
+    Optional<StoredQuote> get(String quoteToken);
 
-        MarketQuote entity = new MarketQuote();
-        entity.setQuoteToken(quote.quoteToken());
-        entity.setPlayerUuid(quote.playerUuid());
-        entity.setItemId(quote.itemId());
-        entity.setSide(quote.side());
-        entity.setQuantity(quote.quantity());
-        entity.setUnitPrice(quote.unitPrice());
-        entity.setTotalPrice(quote.totalPrice());
-        entity.setSnapshotVersion(quote.snapshotVersion());
-        entity.setPricingContextVersion(quote.pricingContextVersion());
-        entity.setPressurePosition(quote.pressurePosition());
-        entity.setDriftRevision(quote.driftRevision());
-        entity.setNamedEventInstanceId(quote.namedEventInstanceId());
-        entity.setEventEffectVersion(quote.eventEffectVersion());
-        entity.setExpiresAt(quote.expiresAt());
-        entity.setCreatedAt(Instant.now());
-        entity.setStatus(MarketQuote.Status.ACTIVE);
-        marketQuoteRepository.save(entity);
-    }
+    boolean consume(String quoteToken);
 
-    @Transactional
-    public Optional<StoredQuote> get(String quoteToken) {
-        expireActiveQuotesInCurrentTransaction();
-        return marketQuoteRepository.findByQuoteToken(quoteToken).map(this::toStoredQuote);
+    /**
+     * Consumes every quote or none of them. When the caller's transaction
+     * later rolls back, for example because a basket line is rejected after
+     * its quotes were consumed, the quotes are active again.
+     */
+    default boolean consumeAll(List<String> quoteTokens) {
+        List<String> consumed = new ArrayList<>(quoteTokens.size());
+        for (String quoteToken : quoteTokens) {
+            if (!consume(quoteToken)) {
+                consumed.forEach(this::restore);
+                return false;
+            }
+            consumed.add(quoteToken);
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        if (status == STATUS_ROLLED_BACK) {
+                            consumed.forEach(MarketQuoteStore.this::restore);
+                        }
+                    }
+                }
+            );
+        }
+        return true;
     }
 
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
-    public boolean consume(String quoteToken) {
-        expireActiveQuotesInCurrentTransaction();
-        return (
-            marketQuoteRepository.transitionStatus(
-                quoteToken,
-                MarketQuote.Status.ACTIVE,
-                MarketQuote.Status.CONSUMED,
-                Instant.now()
-            ) == 1
-        );
-    }
+    /**
+     * Returns a consumed quote to active, undoing {@link #consumeAll(List)}.
+     * Does nothing for a quote in any other status.
+     */
+    void restore(String quoteToken);
 
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
-    public void invalidate(String quoteToken) {
-        marketQuoteRepository.transitionStatus(
-            quoteToken,
-            MarketQuote.Status.ACTIVE,
-            MarketQuote.Status.INVALIDATED,
-            Instant.now()
-        );
-    }
+    void invalidate(String quoteToken);
 
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
-    public void expire(String quoteToken) {
-        marketQuoteRepository.transitionStatus(
-            quoteToken,
-            MarketQuote.Status.ACTIVE,
-            MarketQuote.Status.EXPIRED,
-            Instant.now()
-        );
-    }
+    void expire(String quoteToken);
 
-    @Transactional
-    public void clear() {
-        marketQuoteRepository.deleteAll();
-    }
+    void clear();
 
-    @Transactional
-    public void expireActiveQuotes() {
-        expireActiveQuotesInCurrentTransaction();
-    }
+    void expireActiveQuotes();
 
-    private void expireActiveQuotesInCurrentTransaction() {
-        Instant now = Instant.now();
-        marketQuoteRepository.expireActiveQuotes(
-            now,
-            MarketQuote.Status.ACTIVE,
-            MarketQuote.Status.EXPIRED,
-            now
-        );
-    }
+    long activeQuoteCount();
 
-    private StoredQuote toStoredQuote(MarketQuote quote) {
-        return new StoredQuote(
-            quote.getQuoteToken(),
-            quote.getPlayerUuid(),
-            quote.getItemId(),
-            quote.getSide(),
-            quote.getQuantity(),
-            quote.getUnitPrice(),
-            quote.getTotalPrice(),
-            quote.getSnapshotVersion(),
-            quote.getPricingContextVersion(),
-            quote.getPressurePosition(),
-            quote.getDriftRevision(),
-            quote.getNamedEventInstanceId(),
-            quote.getEventEffectVersion(),
-            quote.getExpiresAt(),
-            quote.getStatus()
-        );
-    }
+    boolean hasActiveQuotes(String itemId);
 
-    public record StoredQuote(
+    record StoredQuote(
         String quoteToken,
         UUID playerUuid,
         String itemId,
@@ -138,5 +101,25 @@ public class MarketQuoteStore {
         Integer eventEffectVersion,
         Instant expiresAt,
         MarketQuote.Status status
-    ) {}
+    ) {
+        public StoredQuote withStatus(MarketQuote.Status status) {
+            return new StoredQuote(
+                quoteToken,
+                playerUuid,
+                itemId,
+                side,
+                quantity,
+                unitPrice,
+                totalPrice,
+                snapshotVersion,
+                pricingContextVersion,
+                pressurePosition,
+                driftRevision,
+                namedEventInstanceId,
+                eventEffectVersion,
+                expiresAt,
+                status
+            );
+        }
+    }
 }
@@ -0,0 +1,29 @@
+package io.github.HenriqueMichelini.craftalism.api.market.infrastructure.store;
+
+import java.util.Locale;
+
+/**
+ * Where quotes live: in {@code market_quotes} only, in process memory only, in
+ * process memory with asynchronous audit writes to {@code market_quotes}, or
+ * in the signed token itself.
+ */
+public enum MarketQuoteStoreBackend {
+    JDBC,
+    MEMORY,
+    HYBRID,
+    SIGNED;
+
+    public static MarketQuoteStoreBackend fromProperty(String value) {
+        if (value == null || value.isBlank()) {
+            return JDBC;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException(
+                "craftalism.market.quote-store must be jdbc, memory, hybrid or signed.",
+                ex
+            );
+        }
+    }
+}
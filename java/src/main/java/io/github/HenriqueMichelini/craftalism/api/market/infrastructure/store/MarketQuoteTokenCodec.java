@@ -0,0 +1,234 @@
+package io.github.HenriqueMichelini.craftalism.api.market.infrastructure.store;
+
+import io.github.HenriqueMichelini.craftalism.api.dto.MarketSide;
+import io.github.HenriqueMichelini.craftalism.api.model.MarketQuote;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.UUID;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Encodes a quote as {@code payload.signature}, both base64url without
+ * padding. The payload is a fixed binary layout of every field execute
+ * checks, and the signature is HMAC-SHA256 over it truncated to
+ * {@value #SIGNATURE_BYTES} bytes. The quote's random token becomes the
+ * token id used to enforce single use.
+ *
+ * <p>Every payload also carries the codec's boot epoch, a random id drawn
+ * once per codec, and tokens from another epoch are rejected. Single use is
+ * only remembered in memory, so this is what keeps a token consumed before a
+ * restart from verifying again afterwards.
+ */
+final class MarketQuoteTokenCodec {
+
+    static final int MIN_SECRET_BYTES = 32;
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int SIGNATURE_BYTES = 16;
+    private static final byte FORMAT_VERSION = 2;
+    private static final Base64.Encoder ENCODER =
+        Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final ThreadLocal<Mac> macs;
+    private final UUID bootEpoch;
+
+    MarketQuoteTokenCodec(String secret) {
+        this(secret, UUID.randomUUID());
+    }
+
+    MarketQuoteTokenCodec(String secret, UUID bootEpoch) {
+        byte[] key = secret == null
+            ? new byte[0]
+            : secret.getBytes(StandardCharsets.UTF_8);
+        if (key.length < MIN_SECRET_BYTES) {
+            throw new IllegalArgumentException(
+                "craftalism.market.quote-signing.secret must be at least " +
+                MIN_SECRET_BYTES +
+                " bytes when craftalism.market.quote-store=signed."
+            );
+        }
+        this.bootEpoch = bootEpoch;
+        SecretKeySpec keySpec = new SecretKeySpec(key, ALGORITHM);
+        this.macs = ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance(ALGORITHM);
+                mac.init(keySpec);
+                return mac;
+            } catch (GeneralSecurityException exception) {
+                throw new IllegalStateException(
+                    "HmacSHA256 is not available.",
+                    exception
+                );
+            }
+        });
+        macs.get();
+    }
+
+    String encode(MarketQuoteStore.StoredQuote quote, UUID tokenId) {
+        byte[] payload = payload(bootEpoch, quote, tokenId);
+        return (
+            ENCODER.encodeToString(payload) +
+            '.' +
+            ENCODER.encodeToString(sign(payload))
+        );
+    }
+
+    /**
+     * Returns the quote carried by {@code token}, or empty when the token is
+     * malformed, its signature does not match or it was issued in another
+     * boot epoch.
+     */
+    Optional<DecodedQuote> decode(String token) {
+        if (token == null) {
+            return Optional.empty();
+        }
+        int separator = token.indexOf('.');
+        if (separator <= 0 || separator != token.lastIndexOf('.')) {
+            return Optional.empty();
+        }
+        byte[] payload;
+        byte[] signature;
+        try {
+            payload = DECODER.decode(token.substring(0, separator));
+            signature = DECODER.decode(token.substring(separator + 1));
+        } catch (IllegalArgumentException exception) {
+            return Optional.empty();
+        }
+        if (!MessageDigest.isEqual(sign(payload), signature)) {
+            return Optional.empty();
+        }
+        try {
+            return read(bootEpoch, token, payload);
+        } catch (IOException | IllegalArgumentException exception) {
+            return Optional.empty();
+        }
+    }
+
+    private byte[] sign(byte[] payload) {
+        return Arrays.copyOf(macs.get().doFinal(payload), SIGNATURE_BYTES);
+    }
+
+    private static byte[] payload(
+        UUID bootEpoch,
+        MarketQuoteStore.StoredQuote quote,
+        UUID tokenId
+    ) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(160);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(FORMAT_VERSION);
+            writeUuid(out, bootEpoch);
+            writeUuid(out, tokenId);
+            writeUuid(out, quote.playerUuid());
+            out.writeUTF(quote.itemId());
+            out.writeByte(quote.side().ordinal());
+            out.writeLong(quote.quantity());
+            out.writeLong(quote.unitPrice());
+            out.writeLong(quote.totalPrice());
+            out.writeUTF(quote.snapshotVersion());
+            out.writeInt(quote.pricingContextVersion());
+            out.writeLong(quote.pressurePosition());
+            writeNullableLong(out, quote.driftRevision());
+            writeNullableLong(out, quote.namedEventInstanceId());
+            writeNullableLong(
+                out,
+                quote.eventEffectVersion() == null
+                    ? null
+                    : quote.eventEffectVersion().longValue()
+            );
+            out.writeLong(quote.expiresAt().toEpochMilli());
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Optional<DecodedQuote> read(
+        UUID bootEpoch,
+        String token,
+        byte[] payload
+    ) throws IOException {
+        DataInputStream in = new DataInputStream(
+            new ByteArrayInputStream(payload)
+        );
+        if (in.readByte() != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unknown quote token format.");
+        }
+        if (!bootEpoch.equals(readUuid(in))) {
+            return Optional.empty();
+        }
+        UUID tokenId = readUuid(in);
+        UUID playerUuid = readUuid(in);
+        String itemId = in.readUTF();
+        MarketSide side = MarketSide.values()[in.readUnsignedByte()];
+        long quantity = in.readLong();
+        long unitPrice = in.readLong();
+        long totalPrice = in.readLong();
+        String snapshotVersion = in.readUTF();
+        int pricingContextVersion = in.readInt();
+        long pressurePosition = in.readLong();
+        Long driftRevision = readNullableLong(in);
+        Long namedEventInstanceId = readNullableLong(in);
+        Long eventEffectVersion = readNullableLong(in);
+        Instant expiresAt = Instant.ofEpochMilli(in.readLong());
+        return Optional.of(new DecodedQuote(
+            tokenId,
+            new MarketQuoteStore.StoredQuote(
+                token,
+                playerUuid,
+                itemId,
+                side,
+                quantity,
+                unitPrice,
+                totalPrice,
+                snapshotVersion,
+                pricingContextVersion,
+                pressurePosition,
+                driftRevision,
+                namedEventInstanceId,
+                eventEffectVersion == null
+                    ? null
+                    : eventEffectVersion.intValue(),
+                expiresAt,
+                MarketQuote.Status.ACTIVE
+            )
+        ));
+    }
+
+    private static void writeUuid(DataOutputStream out, UUID value)
+        throws IOException {
+        out.writeLong(value.getMostSignificantBits());
+        out.writeLong(value.getLeastSignificantBits());
+    }
+
+    private static UUID readUuid(DataInputStream in) throws IOException {
+        return new UUID(in.readLong(), in.readLong());
+    }
+
+    private static void writeNullableLong(DataOutputStream out, Long value)
+        throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value);
+        }
+    }
+
+    private static Long readNullableLong(DataInputStream in)
+        throws IOException {
+        return in.readBoolean() ? in.readLong() : null;
+    }
+
+    record DecodedQuote(UUID tokenId, MarketQuoteStore.StoredQuote quote) {}
+}
@@ -0,0 +1,221 @@
+package io.github.HenriqueMichelini.craftalism.api.market.infrastructure.store;
+
+import io.github.HenriqueMichelini.craftalism.api.model.MarketQuote;
+import io.github.HenriqueMichelini.craftalism.api.repository.MarketQuoteRepository;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.support.TransactionOperations;
+
+/**
+ * Batches quote audit writes to {@code market_quotes} off the request path.
+ * Writes are applied in the order they were recorded, one transaction per
+ * batch. The buffer is bounded: when it is full, further writes are dropped
+ * and counted rather than slowing down quoting. A failed batch is logged and
+ * dropped.
+ */
+@Slf4j
+public final class MarketQuoteWriteBehind {
+
+    private final MarketQuoteRepository marketQuoteRepository;
+    private final TransactionOperations transactionOperations;
+    private final int batchSize;
+    private final int capacity;
+    private final Queue<PendingWrite> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final AtomicLong droppedWrites = new AtomicLong();
+    private final ScheduledExecutorService flushExecutor;
+
+    public MarketQuoteWriteBehind(
+        MarketQuoteRepository marketQuoteRepository,
+        TransactionOperations transactionOperations,
+        int batchSize,
+        int capacity,
+        Duration flushInterval
+    ) {
+        this(
+            marketQuoteRepository,
+            transactionOperations,
+            batchSize,
+            capacity,
+            Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "market-quote-audit");
+                thread.setDaemon(true);
+                return thread;
+            })
+        );
+        flushExecutor.scheduleWithFixedDelay(
+            this::flushSafely,
+            flushInterval.toMillis(),
+            flushInterval.toMillis(),
+            TimeUnit.MILLISECONDS
+        );
+    }
+
+    MarketQuoteWriteBehind(
+        MarketQuoteRepository marketQuoteRepository,
+        TransactionOperations transactionOperations,
+        int batchSize,
+        int capacity,
+        ScheduledExecutorService flushExecutor
+    ) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException(
+                "craftalism.market.quote-audit.batch-size must be positive."
+            );
+        }
+        if (capacity <= 0) {
+            throw new IllegalArgumentException(
+                "craftalism.market.quote-audit.capacity must be positive."
+            );
+        }
+        this.marketQuoteRepository = marketQuoteRepository;
+        this.transactionOperations = transactionOperations;
+        this.batchSize = batchSize;
+        this.capacity = capacity;
+        this.flushExecutor = flushExecutor;
+    }
+
+    void recordCreated(MarketQuoteStore.StoredQuote quote, Instant createdAt) {
+        enqueue(new PendingWrite(quote, null, null, null, createdAt));
+    }
+
+    void recordTransition(
+        String quoteToken,
+        MarketQuote.Status expectedStatus,
+        MarketQuote.Status targetStatus,
+        Instant resolvedAt
+    ) {
+        enqueue(
+            new PendingWrite(
+                null,
+                quoteToken,
+                expectedStatus,
+                targetStatus,
+                resolvedAt
+            )
+        );
+    }
+
+    /**
+     * Writes everything recorded so far and returns the number of writes
+     * applied.
+     */
+    public synchronized int flush() {
+        int applied = 0;
+        List<PendingWrite> batch = nextBatch();
+        while (!batch.isEmpty()) {
+            try {
+                List<PendingWrite> writes = batch;
+                transactionOperations.executeWithoutResult(status ->
+                    apply(writes)
+                );
+                applied += batch.size();
+            } catch (RuntimeException exception) {
+                log.warn(
+                    "market.quote.audit.flush failed writes={}",
+                    batch.size(),
+                    exception
+                );
+            }
+            batch = nextBatch();
+        }
+        long dropped = droppedWrites.getAndSet(0L);
+        if (dropped > 0L) {
+            log.warn("market.quote.audit.dropped writes={}", dropped);
+        }
+        return applied;
+    }
+
+    public int pendingWrites() {
+        return pendingCount.get();
+    }
+
+    void discardPending() {
+        while (pending.poll() != null) {
+            pendingCount.decrementAndGet();
+        }
+    }
+
+    public void shutdown() {
+        flushExecutor.shutdown();
+        try {
+            flushExecutor.awaitTermination(5L, TimeUnit.SECONDS);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+        flushSafely();
+    }
+
+    private void enqueue(PendingWrite write) {
+        if (pendingCount.incrementAndGet() > capacity) {
+            pendingCount.decrementAndGet();
+            droppedWrites.incrementAndGet();
+            return;
+        }
+        pending.add(write);
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (RuntimeException exception) {
+            log.warn("market.quote.audit.flush failed", exception);
+        }
+    }
+
+    private List<PendingWrite> nextBatch() {
+        List<PendingWrite> batch = new ArrayList<>();
+        PendingWrite write;
+        while (batch.size() < batchSize && (write = pending.poll()) != null) {
+            pendingCount.decrementAndGet();
+            batch.add(write);
+        }
+        return batch;
+    }
+
+    private void apply(List<PendingWrite> writes) {
+        List<MarketQuote> created = new ArrayList<>();
+        for (PendingWrite write : writes) {
+            if (write.quote() != null) {
+                created.add(
+                    JdbcMarketQuoteStore.toEntity(write.quote(), write.at())
+                );
+                continue;
+            }
+            if (!created.isEmpty()) {
+                // Flush inserts before the bulk status update that targets them.
+                marketQuoteRepository.saveAllAndFlush(created);
+                created.clear();
+            }
+            marketQuoteRepository.transitionStatus(
+                write.quoteToken(),
+                write.expectedStatus(),
+                write.targetStatus(),
+                write.targetStatus() == MarketQuote.Status.ACTIVE
+                    ? null
+                    : write.at()
+            );
+        }
+        if (!created.isEmpty()) {
+            marketQuoteRepository.saveAll(created);
+        }
+    }
+
+    private record PendingWrite(
+        MarketQuoteStore.StoredQuote quote,
+        String quoteToken,
+        MarketQuote.Status expectedStatus,
+        MarketQuote.Status targetStatus,
+        Instant at
+    ) {}
+}
@@ -0,0 +1,174 @@
+package io.github.HenriqueMichelini.craftalism.api.market.infrastructure.store;
+
+import io.github.HenriqueMichelini.craftalism.api.model.MarketQuote;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Issues quotes as HMAC-signed tokens that carry the whole quote, so issuing
+ * a quote writes nothing and execute reads nothing to find it. Single use is
+ * enforced by remembering the ids of resolved tokens until their expiry;
+ * after that the signed expiry alone rejects them, so the set only ever holds
+ * tokens resolved within one TTL window.
+ *
+ * <p>The resolved set is process-local, so like the memory backend this only
+ * suits a single API instance. It is also lost on restart, so tokens are
+ * bound to a per-boot epoch and every token issued before a restart is
+ * rejected afterwards, whether or not it was consumed. Outstanding quotes are counted per expiry
+ * second rather than tracked, and item deletion is never blocked by them:
+ * execute re-reads the item under lock and rejects tokens for deleted items.
+ */
+public final class SignedMarketQuoteStore implements MarketQuoteStore {
+
+    private static final long WHEEL_TICK_MILLIS = 1_000L;
+
+    private final MarketQuoteTokenCodec codec;
+    private final Map<UUID, MarketQuote.Status> resolvedByTokenId =
+        new ConcurrentHashMap<>();
+    private final NavigableMap<Long, AtomicLong> outstandingByExpirySecond =
+        new ConcurrentSkipListMap<>();
+    private final MarketQuoteExpiryWheel expiryWheel;
+    private final Clock clock;
+
+    public SignedMarketQuoteStore(String secret, Clock clock) {
+        this.codec = new MarketQuoteTokenCodec(secret);
+        this.clock = clock;
+        this.expiryWheel = new MarketQuoteExpiryWheel(
+            WHEEL_TICK_MILLIS,
+            clock.millis()
+        );
+    }
+
+    @Override
+    public String put(StoredQuote quote) {
+        advance();
+        outstanding(quote.expiresAt()).incrementAndGet();
+        return codec.encode(quote, UUID.randomUUID());
+    }
+
+    @Override
+    public Optional<StoredQuote> get(String quoteToken) {
+        Instant now = advance();
+        return codec
+            .decode(quoteToken)
+            .map(decoded -> {
+                MarketQuote.Status resolved = resolvedByTokenId.get(
+                    decoded.tokenId()
+                );
+                if (resolved != null) {
+                    return decoded.quote().withStatus(resolved);
+                }
+                return decoded.quote().expiresAt().isBefore(now)
+                    ? decoded.quote().withStatus(MarketQuote.Status.EXPIRED)
+                    : decoded.quote();
+            });
+    }
+
+    @Override
+    public boolean consume(String quoteToken) {
+        return resolve(quoteToken, MarketQuote.Status.CONSUMED);
+    }
+
+    @Override
+    public void restore(String quoteToken) {
+        codec
+            .decode(quoteToken)
+            .ifPresent(decoded -> {
+                if (
+                    resolvedByTokenId.remove(
+                        decoded.tokenId(),
+                        MarketQuote.Status.CONSUMED
+                    )
+                ) {
+                    outstanding(decoded.quote().expiresAt()).incrementAndGet();
+                }
+            });
+    }
+
+    @Override
+    public void invalidate(String quoteToken) {
+        resolve(quoteToken, MarketQuote.Status.INVALIDATED);
+    }
+
+    @Override
+    public void expire(String quoteToken) {
+        resolve(quoteToken, MarketQuote.Status.EXPIRED);
+    }
+
+    @Override
+    public void clear() {
+        resolvedByTokenId.clear();
+        outstandingByExpirySecond.clear();
+        expiryWheel.clear();
+    }
+
+    @Override
+    public void expireActiveQuotes() {
+        advance();
+    }
+
+    @Override
+    public long activeQuoteCount() {
+        Instant now = advance();
+        long count = 0L;
+        for (AtomicLong outstanding : outstandingByExpirySecond
+            .tailMap(now.getEpochSecond(), true)
+            .values()) {
+            count += outstanding.get();
+        }
+        return Math.max(count, 0L);
+    }
+
+    @Override
+    public boolean hasActiveQuotes(String itemId) {
+        return false;
+    }
+
+    int resolvedTokenCount() {
+        return resolvedByTokenId.size();
+    }
+
+    private boolean resolve(String quoteToken, MarketQuote.Status target) {
+        Instant now = advance();
+        Optional<MarketQuoteTokenCodec.DecodedQuote> decoded = codec.decode(
+            quoteToken
+        );
+        if (decoded.isEmpty()) {
+            return false;
+        }
+        Instant expiresAt = decoded.get().quote().expiresAt();
+        if (expiresAt.isBefore(now)) {
+            return false;
+        }
+        UUID tokenId = decoded.get().tokenId();
+        if (resolvedByTokenId.putIfAbsent(tokenId, target) != null) {
+            return false;
+        }
+        expiryWheel.schedule(tokenId.toString(), expiresAt.toEpochMilli());
+        outstanding(expiresAt).decrementAndGet();
+        return true;
+    }
+
+    private Instant advance() {
+        Instant now = clock.instant();
+        for (String tokenId : expiryWheel.advance(now.toEpochMilli())) {
+            resolvedByTokenId.remove(UUID.fromString(tokenId));
+        }
+        outstandingByExpirySecond.headMap(now.getEpochSecond()).clear();
+        return now;
+    }
+
+    private AtomicLong outstanding(Instant expiresAt) {
+        return outstandingByExpirySecond.computeIfAbsent(
+            expiresAt.getEpochSecond(),
+            second -> new AtomicLong()
+        );
+    }
+}
@@ -1,13 +1,16 @@
 package io.github.HenriqueMichelini.craftalism.api.model;
 
+import io.github.HenriqueMichelini.craftalism.api.market.infrastructure.persistence.MarketStateEntityListener;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
 import java.time.Instant;
 
 @Entity(name = "market_categories")
 @Table(name = "market_categories")
+@EntityListeners(MarketStateEntityListener.class)
 public class MarketCategory {
 
     @Id
@@ -1,7 +1,9 @@
 package io.github.HenriqueMichelini.craftalism.api.model;
 
+import io.github.HenriqueMichelini.craftalism.api.market.infrastructure.persistence.MarketStateEntityListener;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
@@ -12,6 +14,7 @@ import java.time.Instant;
 
 @Entity(name = "market_event_instances")
 @Table(name = "market_event_instances")
+@EntityListeners(MarketStateEntityListener.class)
 public class MarketEventInstance {
 
     @Id
@@ -58,7 +61,7 @@ public class MarketEventInstance {
     @Column(length = 16)
     private MarketEventEndReason endReason;
 
-    @Column(length = 64)
+    @Column(length = 96)
     private String activeSlot;
 
     @Column(length = 128)
@@ -168,7 +171,7 @@ public class MarketEventInstance {
     public void setStatus(MarketEventStatus status) {
         this.status = status;
         this.activeSlot =
-            status == MarketEventStatus.ACTIVE ? "GLOBAL" : null;
+            status == MarketEventStatus.ACTIVE ? templateId : null;
     }
 
     public MarketEventEndReason getEndReason() {
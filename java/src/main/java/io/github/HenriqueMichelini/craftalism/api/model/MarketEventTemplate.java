@@ -1,7 +1,9 @@
 package io.github.HenriqueMichelini.craftalism.api.model;
 
+import io.github.HenriqueMichelini.craftalism.api.market.infrastructure.persistence.MarketStateEntityListener;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.Id;
@@ -10,6 +12,7 @@ import java.time.Instant;
 
 @Entity(name = "market_event_templates")
 @Table(name = "market_event_templates")
+@EntityListeners(MarketStateEntityListener.class)
 public class MarketEventTemplate {
 
     @Id
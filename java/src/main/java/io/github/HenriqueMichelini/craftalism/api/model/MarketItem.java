@@ -1,11 +1,16 @@
 package io.github.HenriqueMichelini.craftalism.api.model;
 
+import io.github.HenriqueMichelini.craftalism.api.market.domain.pricing.MarketFixedPointMath;
+import io.github.HenriqueMichelini.craftalism.api.market.infrastructure.persistence.MarketStateEntityListener;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
 import jakarta.persistence.Transient;
 import java.math.BigDecimal;
@@ -13,6 +18,7 @@ import java.time.Instant;
 
 @Entity(name = "market_items")
 @Table(name = "market_items")
+@EntityListeners(MarketStateEntityListener.class)
 public class MarketItem {
 
     private static final BigDecimal DEFAULT_PRICE_SENSITIVITY = new BigDecimal(
@@ -74,6 +80,20 @@ public class MarketItem {
     @Column(name = "sell_price_percentage", nullable = false, precision = 5, scale = 4)
     private BigDecimal sellPricePercentage = DEFAULT_SELL_PRICE_PERCENTAGE;
 
+    @Transient
+    private double priceSensitivityValue =
+        DEFAULT_PRICE_SENSITIVITY.doubleValue();
+
+    @Transient
+    private long sellPricePercentageNumerator =
+        DEFAULT_SELL_PRICE_PERCENTAGE.unscaledValue().longValue();
+
+    @Transient
+    private long sellPricePercentageDenominator =
+        MarketFixedPointMath.decimalDenominator(
+            DEFAULT_SELL_PRICE_PERCENTAGE.scale()
+        );
+
     @Column(name = "base_regen_quantity", nullable = false)
     private long baseRegenQuantity = 1L;
 
@@ -101,6 +121,12 @@ public class MarketItem {
     @Column(nullable = false, precision = 7, scale = 2)
     private BigDecimal variationPercent;
 
+    @Transient
+    private long variationPercentHundredths;
+
+    @Transient
+    private boolean variationPercentHundredthsCurrent;
+
     @Column(nullable = false)
     private boolean blocked;
 
@@ -110,6 +136,9 @@ public class MarketItem {
     @Column(nullable = false)
     private Instant lastUpdatedAt;
 
+    @Column(nullable = false)
+    private Long version = 0L;
+
     public String getItemId() {
         return itemId;
     }
@@ -237,6 +266,14 @@ public class MarketItem {
 
     public void setPriceSensitivity(BigDecimal priceSensitivity) {
         this.priceSensitivity = priceSensitivity;
+        prescalePriceSensitivity();
+    }
+
+    public double getPriceSensitivityValue() {
+        if (priceSensitivity == null) {
+            throw new IllegalStateException("Price sensitivity is required.");
+        }
+        return priceSensitivityValue;
     }
 
     public BigDecimal getSellPricePercentage() {
@@ -245,6 +282,64 @@ public class MarketItem {
 
     public void setSellPricePercentage(BigDecimal sellPricePercentage) {
         this.sellPricePercentage = sellPricePercentage;
+        prescaleSellPricePercentage();
+    }
+
+    /**
+     * Unscaled sell price percentage over {@link
+     * #getSellPricePercentageDenominator()}, valid only while that
+     * denominator is positive.
+     */
+    public long getSellPricePercentageNumerator() {
+        return sellPricePercentageNumerator;
+    }
+
+    /**
+     * Power of ten matching the sell price percentage scale, or {@code 0}
+     * when the percentage has no exact long representation.
+     */
+    public long getSellPricePercentageDenominator() {
+        return sellPricePercentageDenominator;
+    }
+
+    /**
+     * Every write advances the version, so an optimistic execute that read
+     * the item earlier can tell it changed. Only optimistic executes compare
+     * it; other writers never pay a version check.
+     */
+    @PreUpdate
+    void advanceVersion() {
+        version = version == null ? 1L : version + 1L;
+    }
+
+    @PostLoad
+    void prescalePricingFactors() {
+        prescalePriceSensitivity();
+        prescaleSellPricePercentage();
+        variationPercentHundredthsCurrent = false;
+    }
+
+    private void prescalePriceSensitivity() {
+        priceSensitivityValue = priceSensitivity == null
+            ? Double.NaN
+            : priceSensitivity.doubleValue();
+    }
+
+    private void prescaleSellPricePercentage() {
+        if (
+            sellPricePercentage == null ||
+            sellPricePercentage.unscaledValue().bitLength() >= Long.SIZE
+        ) {
+            sellPricePercentageNumerator = 0L;
+            sellPricePercentageDenominator = 0L;
+            return;
+        }
+        sellPricePercentageNumerator =
+            sellPricePercentage.unscaledValue().longValue();
+        sellPricePercentageDenominator =
+            MarketFixedPointMath.decimalDenominator(
+                sellPricePercentage.scale()
+            );
     }
 
     public long getBaseRegenQuantity() {
@@ -317,6 +412,23 @@ public class MarketItem {
 
     public void setVariationPercent(BigDecimal variationPercent) {
         this.variationPercent = variationPercent;
+        this.variationPercentHundredthsCurrent = false;
+    }
+
+    /**
+     * Sets the variation percent from hundredths of a percent, reusing the
+     * current value when it was already produced from the same hundredths.
+     */
+    public void setVariationPercentHundredths(long hundredths) {
+        if (
+            variationPercentHundredthsCurrent &&
+            variationPercentHundredths == hundredths
+        ) {
+            return;
+        }
+        this.variationPercent = BigDecimal.valueOf(hundredths, 2);
+        this.variationPercentHundredths = hundredths;
+        this.variationPercentHundredthsCurrent = true;
     }
 
     public boolean isBlocked() {
@@ -342,4 +454,8 @@ public class MarketItem {
     public void setLastUpdatedAt(Instant lastUpdatedAt) {
         this.lastUpdatedAt = lastUpdatedAt;
     }
+
+    public Long getVersion() {
+        return version;
+    }
 }
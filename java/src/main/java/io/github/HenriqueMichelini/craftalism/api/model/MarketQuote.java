@@ -6,13 +6,17 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.Id;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
 import java.time.Instant;
 import java.util.UUID;
+import org.springframework.data.domain.Persistable;
 
 @Entity(name = "market_quotes")
 @Table(name = "market_quotes")
-public class MarketQuote {
+public class MarketQuote implements Persistable<String> {
 
     public enum Status {
         ACTIVE,
@@ -75,6 +79,27 @@ public class MarketQuote {
     @Column
     private Instant resolvedAt;
 
+    // Quote tokens are assigned, so without this every save would merge and
+    // SELECT the row first; quotes are only ever inserted once.
+    @Transient
+    private boolean newQuote = true;
+
+    @Override
+    public String getId() {
+        return quoteToken;
+    }
+
+    @Override
+    public boolean isNew() {
+        return newQuote;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        newQuote = false;
+    }
+
     public String getQuoteToken() {
         return quoteToken;
     }
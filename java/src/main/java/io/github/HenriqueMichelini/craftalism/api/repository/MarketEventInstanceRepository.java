@@ -4,7 +4,6 @@ import io.github.HenriqueMichelini.craftalism.api.model.MarketEventInstance;
 import io.github.HenriqueMichelini.craftalism.api.model.MarketEventStatus;
 import java.time.Instant;
 import java.util.List;
-import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -16,6 +15,10 @@ public interface MarketEventInstanceRepository
     extends JpaRepository<MarketEventInstance, Long> {
     List<MarketEventInstance> findByStatus(MarketEventStatus status);
 
+    List<MarketEventInstance> findByStatusOrderByStartedAtAscIdAsc(
+        MarketEventStatus status
+    );
+
     List<MarketEventInstance> findByCreatedAtAfter(Instant createdAt);
 
     @Query(
@@ -24,9 +27,10 @@ public interface MarketEventInstanceRepository
         WHERE e.status = io.github.HenriqueMichelini.craftalism.api.model.MarketEventStatus.ACTIVE
           AND e.startedAt <= :now
           AND e.endsAt > :now
+        ORDER BY e.startedAt, e.id
         """
     )
-    Optional<MarketEventInstance> findEffectiveActive(@Param("now") Instant now);
+    List<MarketEventInstance> findAllEffectiveActive(@Param("now") Instant now);
 
     @Modifying(clearAutomatically = true, flushAutomatically = true)
     @Query(
@@ -0,0 +1,23 @@
+package io.github.HenriqueMichelini.craftalism.api.repository;
+
+import io.github.HenriqueMichelini.craftalism.api.model.MarketItem;
+import java.util.Optional;
+
+public interface MarketItemLockRepository {
+    /**
+     * Locks the item row and returns its committed state. Pending changes
+     * are flushed first, then an instance the persistence context already
+     * holds, for example from a snapshot read earlier in the transaction, is
+     * refreshed under the lock, so it is neither stale nor stripped of
+     * changes made earlier in this transaction.
+     */
+    Optional<MarketItem> findForUpdate(String itemId);
+
+    /**
+     * Advances the item's version only if it still equals {@code version},
+     * locking the row until commit. Pending changes are not flushed first,
+     * so an optimistic execute can claim the row after changing the item and
+     * before writing it. Returns false when another writer got there first.
+     */
+    boolean claimVersion(String itemId, long version);
+}
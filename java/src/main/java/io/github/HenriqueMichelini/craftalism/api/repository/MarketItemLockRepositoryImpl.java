@@ -0,0 +1,51 @@
+package io.github.HenriqueMichelini.craftalism.api.repository;
+
+import io.github.HenriqueMichelini.craftalism.api.model.MarketItem;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.FlushModeType;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import java.util.Optional;
+
+class MarketItemLockRepositoryImpl implements MarketItemLockRepository {
+
+    private static final String CLAIM_VERSION_UPDATE =
+        "UPDATE market_items m SET m.version = m.version + 1 " +
+        "WHERE m.itemId = :itemId AND m.version = :version";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<MarketItem> findForUpdate(String itemId) {
+        // Write pending changes first, as a locking query's auto-flush would,
+        // so the refresh below cannot discard them.
+        entityManager.flush();
+        MarketItem item = entityManager.find(MarketItem.class, itemId);
+        if (item == null) {
+            return Optional.empty();
+        }
+        // The instance may have been read before another transaction
+        // committed; refreshing under the lock reloads the committed row.
+        try {
+            entityManager.refresh(item, LockModeType.PESSIMISTIC_WRITE);
+        } catch (EntityNotFoundException exception) {
+            return Optional.empty();
+        }
+        return Optional.of(item);
+    }
+
+    @Override
+    public boolean claimVersion(String itemId, long version) {
+        return (
+            entityManager
+                .createQuery(CLAIM_VERSION_UPDATE)
+                .setParameter("itemId", itemId)
+                .setParameter("version", version)
+                .setFlushMode(FlushModeType.COMMIT)
+                .executeUpdate() ==
+            1
+        );
+    }
+}
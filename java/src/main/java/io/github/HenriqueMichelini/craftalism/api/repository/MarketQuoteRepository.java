@@ -2,6 +2,8 @@ package io.github.HenriqueMichelini.craftalism.api.repository;
 
 import io.github.HenriqueMichelini.craftalism.api.model.MarketQuote;
 import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
@@ -11,7 +13,10 @@ import org.springframework.stereotype.Repository;
 
 @Repository
 public interface MarketQuoteRepository extends JpaRepository<MarketQuote, String> {
-    long countByStatus(MarketQuote.Status status);
+    long countByStatusAndExpiresAtGreaterThanEqual(
+        MarketQuote.Status status,
+        Instant cutoff
+    );
 
     boolean existsByItemIdAndStatus(String itemId, MarketQuote.Status status);
 
@@ -32,6 +37,40 @@ public interface MarketQuoteRepository extends JpaRepository<MarketQuote, String
         @Param("resolvedAt") Instant resolvedAt
     );
 
+    @Modifying
+    @Query(
+        """
+        UPDATE market_quotes q
+        SET q.status = :targetStatus, q.resolvedAt = :resolvedAt
+        WHERE q.quoteToken = :quoteToken
+          AND q.status = :expectedStatus
+          AND q.expiresAt >= :resolvedAt
+        """
+    )
+    int transitionUnexpiredStatus(
+        @Param("quoteToken") String quoteToken,
+        @Param("expectedStatus") MarketQuote.Status expectedStatus,
+        @Param("targetStatus") MarketQuote.Status targetStatus,
+        @Param("resolvedAt") Instant resolvedAt
+    );
+
+    @Modifying
+    @Query(
+        """
+        UPDATE market_quotes q
+        SET q.status = :targetStatus, q.resolvedAt = :resolvedAt
+        WHERE q.quoteToken IN :quoteTokens
+          AND q.status = :expectedStatus
+          AND q.expiresAt >= :resolvedAt
+        """
+    )
+    int transitionUnexpiredStatuses(
+        @Param("quoteTokens") Collection<String> quoteTokens,
+        @Param("expectedStatus") MarketQuote.Status expectedStatus,
+        @Param("targetStatus") MarketQuote.Status targetStatus,
+        @Param("resolvedAt") Instant resolvedAt
+    );
+
     @Modifying
     @Query(
         """
@@ -46,4 +85,53 @@ public interface MarketQuoteRepository extends JpaRepository<MarketQuote, String
         @Param("expiredStatus") MarketQuote.Status expiredStatus,
         @Param("resolvedAt") Instant resolvedAt
     );
+
+    @Query(
+        value = """
+        SELECT quote_token FROM market_quotes
+        WHERE status = 'ACTIVE' AND expires_at < :cutoff
+        ORDER BY expires_at
+        LIMIT :limit
+        FOR UPDATE SKIP LOCKED
+        """,
+        nativeQuery = true
+    )
+    List<String> lockOverdueActiveQuoteTokens(
+        @Param("cutoff") Instant cutoff,
+        @Param("limit") int limit
+    );
+
+    @Modifying
+    @Query(
+        """
+        UPDATE market_quotes q
+        SET q.status = :expiredStatus, q.resolvedAt = :resolvedAt
+        WHERE q.quoteToken IN :quoteTokens AND q.status = :activeStatus
+        """
+    )
+    int expireQuotes(
+        @Param("quoteTokens") Collection<String> quoteTokens,
+        @Param("activeStatus") MarketQuote.Status activeStatus,
+        @Param("expiredStatus") MarketQuote.Status expiredStatus,
+        @Param("resolvedAt") Instant resolvedAt
+    );
+
+    @Query(
+        value = """
+        SELECT quote_token FROM market_quotes
+        WHERE status <> 'ACTIVE' AND resolved_at < :cutoff
+        ORDER BY resolved_at
+        LIMIT :limit
+        FOR UPDATE SKIP LOCKED
+        """,
+        nativeQuery = true
+    )
+    List<String> lockResolvedQuoteTokensBefore(
+        @Param("cutoff") Instant cutoff,
+        @Param("limit") int limit
+    );
+
+    @Modifying
+    @Query("DELETE FROM market_quotes q WHERE q.quoteToken IN :quoteTokens")
+    int deleteByQuoteTokens(@Param("quoteTokens") Collection<String> quoteTokens);
 }
@@ -1,10 +1,42 @@
 package io.github.HenriqueMichelini.craftalism.api.repository;
 
+import io.github.HenriqueMichelini.craftalism.api.market.domain.replay.MarketReplayTrade;
 import io.github.HenriqueMichelini.craftalism.api.model.MarketTradeHistory;
+import java.time.Instant;
+import java.util.List;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface MarketTradeHistoryRepository
-    extends JpaRepository<MarketTradeHistory, Long>, JpaSpecificationExecutor<MarketTradeHistory> {}
+    extends JpaRepository<MarketTradeHistory, Long>, JpaSpecificationExecutor<MarketTradeHistory> {
+    /**
+     * Next chunk of trades executed in {@code [executedFrom, executedTo)}
+     * after the {@code (afterExecutedAt, afterId)} keyset position, in
+     * execution order.
+     */
+    @Query(
+        """
+        SELECT new io.github.HenriqueMichelini.craftalism.api.market.domain.replay.MarketReplayTrade(
+            h.id, h.itemId, h.side, h.quantity, h.totalPrice, h.executedAt
+        )
+        FROM market_trade_history h
+        WHERE h.executedAt >= :executedFrom
+          AND h.executedAt < :executedTo
+          AND (h.executedAt > :afterExecutedAt
+            OR (h.executedAt = :afterExecutedAt AND h.id > :afterId))
+        ORDER BY h.executedAt, h.id
+        """
+    )
+    List<MarketReplayTrade> findReplayChunk(
+        @Param("executedFrom") Instant executedFrom,
+        @Param("executedTo") Instant executedTo,
+        @Param("afterExecutedAt") Instant afterExecutedAt,
+        @Param("afterId") long afterId,
+        Limit limit
+    );
+}
@@ -0,0 +1,7 @@
+CREATE INDEX IF NOT EXISTS idx_market_quotes_status_expires_at
+    ON market_quotes (status, expires_at);
+
+CREATE INDEX IF NOT EXISTS idx_market_quotes_resolved_at
+    ON market_quotes (resolved_at);
+
+DROP INDEX IF EXISTS idx_market_quotes_status;
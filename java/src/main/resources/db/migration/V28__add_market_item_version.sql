@@ -0,0 +1,2 @@
+ALTER TABLE market_items
+    ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
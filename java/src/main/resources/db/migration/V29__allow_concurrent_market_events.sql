@@ -0,0 +1,8 @@
+-- Active events are now keyed by template, so events from different
+-- templates can run at the same time.
+ALTER TABLE market_event_instances
+    ALTER COLUMN active_slot SET DATA TYPE VARCHAR(96);
+
+UPDATE market_event_instances
+SET active_slot = template_id
+WHERE active_slot IS NOT NULL;
@@ -1,5 +1,6 @@
 package io.github.HenriqueMichelini.craftalism.api.controller;
 
+import static org.hamcrest.Matchers.not;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
@@ -87,6 +88,35 @@ class DashboardMarketCategoryCrudApiIntegrationTest {
             .andExpect(status().isNoContent());
     }
 
+    @Test
+    void marketCategoryCrud_update_changesMarketSnapshotETag() throws Exception {
+        marketCategoryRepository.save(marketCategory("custom", "Custom", 0));
+        marketItemRepository.save(marketItem("custom_item"));
+        String eTag = mockMvc
+            .perform(get("/api/market/snapshot"))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getHeader("ETag");
+
+        mockMvc
+            .perform(
+                patch(BASE_PATH + "/custom")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(updatePayload())
+            )
+            .andExpect(status().isOk());
+
+        mockMvc
+            .perform(get("/api/market/snapshot").header("If-None-Match", eTag))
+            .andExpect(status().isOk())
+            .andExpect(header().string("ETag", not(eTag)))
+            .andExpect(
+                jsonPath("$.categories[0].displayName").value("Updated Custom")
+            )
+            .andExpect(jsonPath("$.categories[0].iconKey").value("BARREL"));
+    }
+
     @Test
     void marketCategoryCrud_referencedCategoryDelete_returns409ProblemDetail()
         throws Exception {
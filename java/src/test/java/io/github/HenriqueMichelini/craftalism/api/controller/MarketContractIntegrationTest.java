@@ -5,9 +5,13 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import com.jayway.jsonpath.JsonPath;
 import io.github.HenriqueMichelini.craftalism.api.dto.MarketSide;
 import io.github.HenriqueMichelini.craftalism.api.model.Balance;
 import io.github.HenriqueMichelini.craftalism.api.model.MarketEventInstance;
@@ -44,6 +48,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
@@ -62,6 +67,7 @@ import org.springframework.test.web.servlet.MvcResult;
     }
 )
 @AutoConfigureMockMvc
+@AutoConfigureObservability
 @ActiveProfiles("local")
 class MarketContractIntegrationTest {
 
@@ -125,6 +131,77 @@ class MarketContractIntegrationTest {
             .andExpect(jsonPath("$.categories[0].items[0].currentStock").doesNotExist());
     }
 
+    @Test
+    void snapshot_returnsNotModifiedWhileVersionIsUnchanged() throws Exception {
+        String snapshotVersion = snapshotVersion();
+
+        mockMvc
+            .perform(get("/api/market/snapshot"))
+            .andExpect(status().isOk())
+            .andExpect(header().string("ETag", "\"" + snapshotVersion + "\""));
+        mockMvc
+            .perform(
+                get("/api/market/snapshot")
+                    .header("If-None-Match", "\"" + snapshotVersion + "\"")
+            )
+            .andExpect(status().isNotModified())
+            .andExpect(header().string("ETag", "\"" + snapshotVersion + "\""))
+            .andExpect(content().string(""));
+
+        MarketItem wheat = marketItemRepository.findById("wheat").orElseThrow();
+        wheat.setBlocked(true);
+        marketItemRepository.save(wheat);
+
+        mockMvc
+            .perform(
+                get("/api/market/snapshot")
+                    .header("If-None-Match", "\"" + snapshotVersion + "\"")
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.categories[0].items[0].blocked").value(true));
+    }
+
+    @Test
+    void itemRefresh_returnsSnapshotItemAndMarketWideVersion() throws Exception {
+        String snapshotVersion = snapshotVersion();
+
+        mockMvc
+            .perform(get("/api/market/items/wheat"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.snapshotVersion").value(snapshotVersion))
+            .andExpect(jsonPath("$.activeEvent").doesNotExist())
+            .andExpect(jsonPath("$.categoryId").value("farming"))
+            .andExpect(jsonPath("$.item.itemId").value("wheat"))
+            .andExpect(jsonPath("$.item.marketPressure").value(0))
+            .andExpect(jsonPath("$.item.currentStock").doesNotExist());
+    }
+
+    @Test
+    void itemRefresh_returnsNotFoundForUnknownItem() throws Exception {
+        mockMvc
+            .perform(get("/api/market/items/diamond"))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void categoryRefresh_returnsSnapshotCategoryAndMarketWideVersion() throws Exception {
+        String snapshotVersion = snapshotVersion();
+
+        mockMvc
+            .perform(get("/api/market/categories/farming"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.snapshotVersion").value(snapshotVersion))
+            .andExpect(jsonPath("$.category.categoryId").value("farming"))
+            .andExpect(jsonPath("$.category.items[0].itemId").value("wheat"));
+    }
+
+    @Test
+    void categoryRefresh_returnsNotFoundForCategoryWithoutSnapshotItems() throws Exception {
+        mockMvc
+            .perform(get("/api/market/categories/mining"))
+            .andExpect(status().isNotFound());
+    }
+
     @Test
     void snapshot_includesFuzzyActiveEventContextWithoutInternalMetadata() throws Exception {
         marketEventTemplateRepository.save(activeEventTemplate());
@@ -414,6 +491,269 @@ class MarketContractIntegrationTest {
             .andExpect(status().isUnauthorized());
     }
 
+    @Test
+    void stream_requiresWriteScope() throws Exception {
+        mockMvc
+            .perform(get("/api/market/stream"))
+            .andExpect(status().isUnauthorized());
+        mockMvc
+            .perform(
+                get("/api/market/stream").with(
+                    jwt().authorities(new SimpleGrantedAuthority("SCOPE_api:read"))
+                )
+            )
+            .andExpect(status().isForbidden());
+        mockMvc
+            .perform(get("/api/market/stream").with(playerJwt()))
+            .andExpect(request().asyncStarted());
+    }
+
+    @Test
+    @WithMockJwt(playerUuid = "220e8400-e29b-41d4-a716-446655440000")
+    void quoteBatch_storesAcceptedLinesAndReportsRejectedLines() throws Exception {
+        String snapshotVersion = snapshotVersion();
+
+        MvcResult batchResult =
+            mockMvc
+                .perform(
+                    post("/api/market/quotes/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(
+                            """
+                            {
+                              "snapshotVersion": "%s",
+                              "lines": [
+                                { "itemId": "wheat", "side": "BUY", "quantity": 10 },
+                                { "itemId": "missing", "side": "SELL", "quantity": 1 },
+                                { "itemId": "wheat", "side": "SELL", "quantity": 5 }
+                              ]
+                            }
+                            """.formatted(snapshotVersion)
+                        )
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.snapshotVersion").value(snapshotVersion))
+                .andExpect(jsonPath("$.results.length()").value(3))
+                .andExpect(jsonPath("$.results[0].status").value("SUCCESS"))
+                .andExpect(jsonPath("$.results[0].quote.totalPrice").value("50"))
+                .andExpect(jsonPath("$.results[1].status").value("REJECTED"))
+                .andExpect(jsonPath("$.results[1].rejection.code").value("UNKNOWN_ITEM"))
+                .andExpect(jsonPath("$.results[2].status").value("SUCCESS"))
+                .andExpect(jsonPath("$.results[2].quote.side").value("SELL"))
+                .andReturn();
+
+        String body = batchResult.getResponse().getContentAsString();
+        assertEquals(2L, marketQuoteRepository.count());
+        assertEquals(
+            MarketQuote.Status.ACTIVE,
+            marketQuoteRepository
+                .findById(jsonField(body, "quoteToken"))
+                .orElseThrow()
+                .getStatus()
+        );
+    }
+
+    @Test
+    @WithMockJwt(playerUuid = "220e8400-e29b-41d4-a716-446655440000")
+    void executeBasket_appliesEveryLineAgainstOneNetBalanceChange() throws Exception {
+        String snapshotVersion = snapshotVersion();
+
+        String batchBody =
+            mockMvc
+                .perform(
+                    post("/api/market/quotes/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(
+                            """
+                            {
+                              "snapshotVersion": "%s",
+                              "lines": [
+                                { "itemId": "wheat", "side": "BUY", "quantity": 10 },
+                                { "itemId": "wheat", "side": "SELL", "quantity": 4 }
+                              ]
+                            }
+                            """.formatted(snapshotVersion)
+                        )
+                )
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        String buyToken = JsonPath.read(batchBody, "$.results[0].quote.quoteToken");
+        String sellToken = JsonPath.read(batchBody, "$.results[1].quote.quoteToken");
+        long sellTotal = Long.parseLong(
+            JsonPath.read(batchBody, "$.results[1].quote.totalPrice")
+        );
+
+        mockMvc
+            .perform(
+                post("/api/market/execute/basket")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(
+                        """
+                        {
+                          "snapshotVersion": "%s",
+                          "lines": [
+                            { "itemId": "wheat", "side": "BUY", "quantity": 10, "quoteToken": "%s" },
+                            { "itemId": "wheat", "side": "SELL", "quantity": 4, "quoteToken": "%s" }
+                          ]
+                        }
+                        """.formatted(snapshotVersion, buyToken, sellToken)
+                    )
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.status").value("SUCCESS"))
+            .andExpect(jsonPath("$.netAmount").value(Long.toString(sellTotal - 50L)))
+            .andExpect(jsonPath("$.trades.length()").value(2))
+            .andExpect(jsonPath("$.trades[0].side").value("BUY"))
+            .andExpect(jsonPath("$.trades[1].side").value("SELL"))
+            .andExpect(jsonPath("$.trades[1].updatedItem.marketPressure").value(6));
+
+        assertEquals(
+            950L + sellTotal,
+            balanceRepository.findById(playerUuid).orElseThrow().getAmount()
+        );
+        assertEquals(
+            6L,
+            marketItemRepository.findById("wheat").orElseThrow().getNetPosition()
+        );
+        assertEquals(2L, marketTradeHistoryRepository.count());
+        assertEquals(
+            MarketQuote.Status.CONSUMED,
+            marketQuoteRepository.findById(sellToken).orElseThrow().getStatus()
+        );
+    }
+
+    @Test
+    @WithMockJwt(playerUuid = "220e8400-e29b-41d4-a716-446655440000")
+    void executeBasket_staleLine_rejectsWholeBasket() throws Exception {
+        String snapshotVersion = snapshotVersion();
+
+        String batchBody =
+            mockMvc
+                .perform(
+                    post("/api/market/quotes/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(
+                            """
+                            {
+                              "snapshotVersion": "%s",
+                              "lines": [
+                                { "itemId": "wheat", "side": "BUY", "quantity": 10 }
+                              ]
+                            }
+                            """.formatted(snapshotVersion)
+                        )
+                )
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        String buyToken = JsonPath.read(batchBody, "$.results[0].quote.quoteToken");
+
+        mockMvc
+            .perform(
+                post("/api/market/execute/basket")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(
+                        """
+                        {
+                          "snapshotVersion": "%s",
+                          "lines": [
+                            { "itemId": "wheat", "side": "BUY", "quantity": 10, "quoteToken": "%s" },
+                            { "itemId": "wheat", "side": "SELL", "quantity": 1, "quoteToken": "unknown" }
+                          ]
+                        }
+                        """.formatted(snapshotVersion, buyToken)
+                    )
+            )
+            .andExpect(status().isConflict())
+            .andExpect(jsonPath("$.code").value("QUOTE_EXPIRED"));
+
+        assertEquals(
+            1_000L,
+            balanceRepository.findById(playerUuid).orElseThrow().getAmount()
+        );
+        assertEquals(0L, marketTradeHistoryRepository.count());
+        assertEquals(
+            MarketQuote.Status.ACTIVE,
+            marketQuoteRepository.findById(buyToken).orElseThrow().getStatus()
+        );
+    }
+
+    @Test
+    @WithMockJwt(playerUuid = "220e8400-e29b-41d4-a716-446655440000")
+    void executeBasket_secondLineConsumeFails_leavesEveryQuoteActive() throws Exception {
+        String snapshotVersion = snapshotVersion();
+        String buyToken = batchBuyQuoteToken(snapshotVersion);
+
+        mockMvc
+            .perform(
+                post("/api/market/execute/basket")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(
+                        """
+                        {
+                          "snapshotVersion": "%s",
+                          "lines": [
+                            { "itemId": "wheat", "side": "BUY", "quantity": 10, "quoteToken": "%s" },
+                            { "itemId": "wheat", "side": "BUY", "quantity": 10, "quoteToken": "%s" }
+                          ]
+                        }
+                        """.formatted(snapshotVersion, buyToken, buyToken)
+                    )
+            )
+            .andExpect(status().isConflict())
+            .andExpect(jsonPath("$.code").value("STALE_QUOTE"));
+
+        assertEquals(
+            1_000L,
+            balanceRepository.findById(playerUuid).orElseThrow().getAmount()
+        );
+        assertEquals(0L, marketTradeHistoryRepository.count());
+        assertEquals(
+            MarketQuote.Status.ACTIVE,
+            marketQuoteRepository.findById(buyToken).orElseThrow().getStatus()
+        );
+    }
+
+    @Test
+    @WithMockJwt(playerUuid = "220e8400-e29b-41d4-a716-446655440000")
+    void executeBasket_itemRejectedAfterConsumption_leavesEveryQuoteActive() throws Exception {
+        String snapshotVersion = snapshotVersion();
+        String buyToken = batchBuyQuoteToken(snapshotVersion);
+        MarketItem wheat = marketItemRepository.findById("wheat").orElseThrow();
+        wheat.setOperating(false);
+        marketItemRepository.save(wheat);
+
+        mockMvc
+            .perform(
+                post("/api/market/execute/basket")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(
+                        """
+                        {
+                          "snapshotVersion": "%s",
+                          "lines": [
+                            { "itemId": "wheat", "side": "BUY", "quantity": 10, "quoteToken": "%s" }
+                          ]
+                        }
+                        """.formatted(snapshotVersion, buyToken)
+                    )
+            )
+            .andExpect(status().isConflict())
+            .andExpect(jsonPath("$.code").value("ITEM_NOT_OPERATING"));
+
+        assertEquals(
+            1_000L,
+            balanceRepository.findById(playerUuid).orElseThrow().getAmount()
+        );
+        assertEquals(
+            MarketQuote.Status.ACTIVE,
+            marketQuoteRepository.findById(buyToken).orElseThrow().getStatus()
+        );
+    }
+
     @Test
     @WithMockJwt(playerUuid = "220e8400-e29b-41d4-a716-446655440000")
     void quoteAndExecute_buySuccess_updatesBalanceAndPressure() throws Exception {
@@ -685,6 +1025,38 @@ class MarketContractIntegrationTest {
             .andExpect(jsonPath("$.snapshotVersion").value(org.hamcrest.Matchers.startsWith("market:")));
     }
 
+    @Test
+    @WithMockJwt(playerUuid = "220e8400-e29b-41d4-a716-446655440000")
+    void prometheus_exportsRequestLatencyTaggedByRejectionCode() throws Exception {
+        mockMvc
+            .perform(
+                post("/api/market/quotes")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(quotePayload("market:stale"))
+            )
+            .andExpect(status().isConflict());
+
+        mockMvc
+            .perform(get("/actuator/prometheus").with(playerJwt()))
+            .andExpect(status().isOk())
+            .andExpect(
+                content()
+                    .string(
+                        org.hamcrest.Matchers.containsString(
+                            "craftalism_market_request_seconds_count{operation=\"quote\",outcome=\"STALE_QUOTE\",side=\"BUY\"}"
+                        )
+                    )
+            )
+            .andExpect(
+                content()
+                    .string(
+                        org.hamcrest.Matchers.containsString(
+                            "craftalism_market_phase_seconds_bucket{phase=\"snapshot\",side=\"BUY\""
+                        )
+                    )
+            );
+    }
+
     @ParameterizedTest
     @ValueSource(longs = { 0L, -1L })
     @WithMockJwt(playerUuid = "220e8400-e29b-41d4-a716-446655440000")
@@ -1546,6 +1918,30 @@ class MarketContractIntegrationTest {
             .andExpect(jsonPath("$.quantity").value(5));
     }
 
+    private String batchBuyQuoteToken(String snapshotVersion) throws Exception {
+        String batchBody =
+            mockMvc
+                .perform(
+                    post("/api/market/quotes/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(
+                            """
+                            {
+                              "snapshotVersion": "%s",
+                              "lines": [
+                                { "itemId": "wheat", "side": "BUY", "quantity": 10 }
+                              ]
+                            }
+                            """.formatted(snapshotVersion)
+                        )
+                )
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        return JsonPath.read(batchBody, "$.results[0].quote.quoteToken");
+    }
+
     private String snapshotVersion() throws Exception {
         MvcResult result = mockMvc.perform(get("/api/market/snapshot")).andReturn();
         return jsonField(result.getResponse().getContentAsString(), "snapshotVersion");
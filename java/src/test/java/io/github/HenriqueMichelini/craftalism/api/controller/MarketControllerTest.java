@@ -1,13 +1,19 @@
 package io.github.HenriqueMichelini.craftalism.api.controller;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import io.github.HenriqueMichelini.craftalism.api.dto.MarketCategoryRefreshResponseDTO;
 import io.github.HenriqueMichelini.craftalism.api.dto.MarketExecuteRequestDTO;
 import io.github.HenriqueMichelini.craftalism.api.dto.MarketExecuteSuccessResponseDTO;
+import io.github.HenriqueMichelini.craftalism.api.dto.MarketItemRefreshResponseDTO;
 import io.github.HenriqueMichelini.craftalism.api.dto.MarketQuoteRequestDTO;
 import io.github.HenriqueMichelini.craftalism.api.dto.MarketQuoteResponseDTO;
 import io.github.HenriqueMichelini.craftalism.api.dto.MarketSide;
@@ -16,8 +22,11 @@ import io.github.HenriqueMichelini.craftalism.api.dto.MarketTradeHistoryDTO;
 import io.github.HenriqueMichelini.craftalism.api.dto.MarketTradeHistoryFilterDTO;
 import io.github.HenriqueMichelini.craftalism.api.dto.PageResponseDTO;
 import io.github.HenriqueMichelini.craftalism.api.market.application.MarketService;
+import io.github.HenriqueMichelini.craftalism.api.market.application.query.MarketDeltaStream;
+import io.github.HenriqueMichelini.craftalism.api.market.application.query.MarketSnapshotService;
 import io.github.HenriqueMichelini.craftalism.api.market.application.query.MarketTradeHistoryReadService;
 import java.time.Instant;
+import java.util.function.Predicate;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -30,6 +39,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @ExtendWith(MockitoExtension.class)
 class MarketControllerTest {
@@ -40,19 +50,75 @@ class MarketControllerTest {
     @Mock
     private MarketTradeHistoryReadService tradeHistoryReadService;
 
+    @Mock
+    private MarketDeltaStream deltaStream;
+
     @InjectMocks
     private MarketController controller;
 
     @Test
-    void getSnapshot_returnsOk() {
+    void getSnapshot_returnsOkWithVersionEtag() {
         MarketSnapshotResponseDTO response = mock(MarketSnapshotResponseDTO.class);
-        when(marketService.getSnapshot()).thenReturn(response);
+        when(marketService.getSnapshot(any())).thenReturn(
+            new MarketSnapshotService.ConditionalSnapshot("market:abc", response)
+        );
+
+        ResponseEntity<MarketSnapshotResponseDTO> result = controller.getSnapshot(null);
+
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertSame(response, result.getBody());
+        assertEquals("\"market:abc\"", result.getHeaders().getETag());
+    }
+
+    @Test
+    void getSnapshot_returnsNotModifiedWhenIfNoneMatchHoldsCurrentVersion() {
+        when(marketService.getSnapshot(any())).thenAnswer(invocation -> {
+            Predicate<String> clientHasVersion = invocation.getArgument(0);
+            assertTrue(clientHasVersion.test("market:abc"));
+            assertFalse(clientHasVersion.test("market:def"));
+            return new MarketSnapshotService.ConditionalSnapshot("market:abc", null);
+        });
+
+        ResponseEntity<MarketSnapshotResponseDTO> result = controller.getSnapshot(
+            "W/\"market:old\", \"market:abc\""
+        );
+
+        assertEquals(HttpStatus.NOT_MODIFIED, result.getStatusCode());
+        assertNull(result.getBody());
+        assertEquals("\"market:abc\"", result.getHeaders().getETag());
+    }
+
+    @Test
+    void getItem_returnsOk() {
+        MarketItemRefreshResponseDTO response = mock(MarketItemRefreshResponseDTO.class);
+        when(marketService.getItem("wheat")).thenReturn(response);
+
+        ResponseEntity<MarketItemRefreshResponseDTO> result = controller.getItem("wheat");
+
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertSame(response, result.getBody());
+        verify(marketService).getItem("wheat");
+    }
+
+    @Test
+    void stream_returnsSubscribedEmitter() {
+        SseEmitter emitter = new SseEmitter();
+        when(deltaStream.subscribe()).thenReturn(emitter);
+
+        assertSame(emitter, controller.stream());
+        verify(deltaStream).subscribe();
+    }
+
+    @Test
+    void getCategory_returnsOk() {
+        MarketCategoryRefreshResponseDTO response = mock(MarketCategoryRefreshResponseDTO.class);
+        when(marketService.getCategory("farming")).thenReturn(response);
 
-        ResponseEntity<MarketSnapshotResponseDTO> result = controller.getSnapshot();
+        ResponseEntity<MarketCategoryRefreshResponseDTO> result = controller.getCategory("farming");
 
         assertEquals(HttpStatus.OK, result.getStatusCode());
         assertSame(response, result.getBody());
-        verify(marketService).getSnapshot();
+        verify(marketService).getCategory("farming");
     }
 
     @Test
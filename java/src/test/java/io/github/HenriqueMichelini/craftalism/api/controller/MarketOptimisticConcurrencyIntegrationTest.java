@@ -0,0 +1,237 @@
+package io.github.HenriqueMichelini.craftalism.api.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import io.github.HenriqueMichelini.craftalism.api.market.infrastructure.store.MarketQuoteStore;
+import io.github.HenriqueMichelini.craftalism.api.model.Balance;
+import io.github.HenriqueMichelini.craftalism.api.model.MarketItem;
+import io.github.HenriqueMichelini.craftalism.api.model.Player;
+import io.github.HenriqueMichelini.craftalism.api.repository.BalanceRepository;
+import io.github.HenriqueMichelini.craftalism.api.repository.MarketItemRepository;
+import io.github.HenriqueMichelini.craftalism.api.repository.MarketTradeHistoryRepository;
+import io.github.HenriqueMichelini.craftalism.api.repository.PlayerRepository;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+@SpringBootTest(
+    properties = {
+        "craftalism.market.item-concurrency.mode=optimistic",
+        "craftalism.market.state-maintenance.mode=background",
+        "craftalism.market.quote-rate-limit.max-requests=100",
+        "craftalism.market.execute-rate-limit.max-requests=100",
+        "craftalism.market.rate-limit.window-seconds=86400",
+    }
+)
+@AutoConfigureMockMvc
+@ActiveProfiles("local")
+class MarketOptimisticConcurrencyIntegrationTest {
+
+    private static final int PLAYERS = 4;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private BalanceRepository balanceRepository;
+
+    @Autowired
+    private MarketItemRepository marketItemRepository;
+
+    @Autowired
+    private MarketQuoteStore marketQuoteStore;
+
+    @Autowired
+    private MarketTradeHistoryRepository marketTradeHistoryRepository;
+
+    private final List<UUID> playerUuids = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        marketQuoteStore.clear();
+        marketTradeHistoryRepository.deleteAll();
+        balanceRepository.deleteAll();
+        playerRepository.deleteAll();
+        marketItemRepository.deleteAll();
+
+        playerUuids.clear();
+        for (int i = 0; i < PLAYERS; i++) {
+            UUID playerUuid = UUID.randomUUID();
+            playerRepository.save(new Player(playerUuid, "OptimisticPlayer" + i));
+            balanceRepository.save(new Balance(playerUuid, 1_000L));
+            playerUuids.add(playerUuid);
+        }
+        marketItemRepository.save(wheat());
+    }
+
+    @Test
+    void execute_concurrentOptimisticBuysOnOneItemAllSettle() throws Exception {
+        List<String> executePayloads = new ArrayList<>();
+        for (UUID playerUuid : playerUuids) {
+            executePayloads.add(quoteAndBuildExecute(playerUuid));
+        }
+
+        CountDownLatch startGate = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(PLAYERS);
+        try {
+            List<Future<MvcResult>> futures = new ArrayList<>();
+            for (int i = 0; i < PLAYERS; i++) {
+                UUID playerUuid = playerUuids.get(i);
+                String executePayload = executePayloads.get(i);
+                futures.add(
+                    executor.submit(() -> {
+                        startGate.await();
+                        return mockMvc
+                            .perform(
+                                post("/api/market/execute")
+                                    .with(playerJwt(playerUuid))
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content(executePayload)
+                            )
+                            .andReturn();
+                    })
+                );
+            }
+
+            startGate.countDown();
+
+            for (Future<MvcResult> future : futures) {
+                MvcResult result = future.get(30, TimeUnit.SECONDS);
+                assertEquals(
+                    200,
+                    result.getResponse().getStatus(),
+                    result.getResponse().getContentAsString()
+                );
+            }
+        } finally {
+            executor.shutdownNow();
+            assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        }
+
+        MarketItem item = marketItemRepository.findById("wheat").orElseThrow();
+        assertEquals(5L * PLAYERS, item.getNetPosition());
+        assertEquals(PLAYERS, marketTradeHistoryRepository.count());
+    }
+
+    private String quoteAndBuildExecute(UUID playerUuid) throws Exception {
+        MvcResult snapshotResult = mockMvc
+            .perform(get("/api/market/snapshot"))
+            .andReturn();
+        String snapshotVersion = jsonField(
+            snapshotResult.getResponse().getContentAsString(),
+            "snapshotVersion"
+        );
+        MvcResult quoteResult = mockMvc
+            .perform(
+                post("/api/market/quotes")
+                    .with(playerJwt(playerUuid))
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(
+                        """
+                        {
+                          "itemId": "wheat",
+                          "side": "BUY",
+                          "quantity": 5,
+                          "snapshotVersion": "%s"
+                        }
+                        """.formatted(snapshotVersion)
+                    )
+            )
+            .andExpect(status().isOk())
+            .andReturn();
+        String body = quoteResult.getResponse().getContentAsString();
+        return """
+            {
+              "itemId": "wheat",
+              "side": "BUY",
+              "quantity": 5,
+              "quoteToken": "%s",
+              "snapshotVersion": "%s"
+            }
+            """.formatted(
+                jsonField(body, "quoteToken"),
+                jsonField(body, "snapshotVersion")
+            );
+    }
+
+    private RequestPostProcessor playerJwt(UUID jwtPlayerUuid) {
+        return jwt()
+            .jwt(jwt -> {
+                jwt.subject(jwtPlayerUuid.toString());
+                jwt.claim("player_uuid", jwtPlayerUuid.toString());
+                jwt.claim("scope", "api:read api:write");
+            })
+            .authorities(
+                new SimpleGrantedAuthority("SCOPE_api:read"),
+                new SimpleGrantedAuthority("SCOPE_api:write")
+            );
+    }
+
+    private String jsonField(String body, String field) {
+        String needle = "\"" + field + "\":\"";
+        int start = body.indexOf(needle);
+        if (start < 0) {
+            throw new IllegalStateException("Missing field " + field + " in " + body);
+        }
+        int valueStart = start + needle.length();
+        int valueEnd = body.indexOf('"', valueStart);
+        return body.substring(valueStart, valueEnd);
+    }
+
+    private MarketItem wheat() {
+        MarketItem item = new MarketItem();
+        item.setItemId("wheat");
+        item.setCategoryId("farming");
+        item.setCategoryDisplayName("Farming");
+        item.setDisplayName("Wheat");
+        item.setIconKey("WHEAT");
+        item.setBuyUnitEstimate(5L);
+        item.setSellUnitEstimate(5L);
+        item.setCurrency("coins");
+        item.setCurrentStock(0L);
+        item.setMarketMomentum(0L);
+        item.setBaseUnitPrice(5L);
+        item.setMinUnitPrice(3L);
+        item.setMaxUnitPrice(15L);
+        item.setSegmentSize(50L);
+        item.setPriceSensitivity(new BigDecimal("0.0800"));
+        item.setSellPricePercentage(new BigDecimal("0.7000"));
+        item.setBaseRegenQuantity(1L);
+        item.setRegenIntervalSeconds(60L);
+        item.setNetPosition(0L);
+        item.setVariationPercent(BigDecimal.ZERO);
+        item.setBlocked(false);
+        item.setOperating(true);
+        item.setLastUpdatedAt(Instant.now());
+        item.setDriftMultiplierBasisPoints(10_000L);
+        item.setDriftRevision(0L);
+        item.setDriftEvaluatedAt(Instant.now());
+        return item;
+    }
+}
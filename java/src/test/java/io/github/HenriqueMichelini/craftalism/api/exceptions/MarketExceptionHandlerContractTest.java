@@ -36,7 +36,9 @@ class MarketExceptionHandlerContractTest {
     void setUp() {
         mockMvc =
             MockMvcBuilders
-                .standaloneSetup(new MarketController(marketService, tradeHistoryReadService))
+                .standaloneSetup(
+                    new MarketController(marketService, tradeHistoryReadService, null)
+                )
                 .setControllerAdvice(
                     new MarketExceptionHandler(),
                     new GlobalExceptionHandler()
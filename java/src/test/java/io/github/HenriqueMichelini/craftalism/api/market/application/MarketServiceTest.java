@@ -1,11 +1,14 @@
 package io.github.HenriqueMichelini.craftalism.api.market.application;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.clearInvocations;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -20,6 +23,7 @@ import io.github.HenriqueMichelini.craftalism.api.exceptions.MarketRejectionExce
 import io.github.HenriqueMichelini.craftalism.api.market.domain.catalog.DefaultMarketCatalog;
 import io.github.HenriqueMichelini.craftalism.api.market.domain.trade.MarketTradePlanner;
 import io.github.HenriqueMichelini.craftalism.api.market.infrastructure.configuration.MarketServiceConfiguration;
+import io.github.HenriqueMichelini.craftalism.api.market.infrastructure.metrics.MarketMetrics;
 import io.github.HenriqueMichelini.craftalism.api.market.infrastructure.store.MarketQuoteStore;
 import io.github.HenriqueMichelini.craftalism.api.model.Balance;
 import io.github.HenriqueMichelini.craftalism.api.model.MarketItem;
@@ -28,7 +32,6 @@ import io.github.HenriqueMichelini.craftalism.api.model.MarketTradeHistory;
 import io.github.HenriqueMichelini.craftalism.api.repository.BalanceRepository;
 import io.github.HenriqueMichelini.craftalism.api.repository.MarketCategoryRepository;
 import io.github.HenriqueMichelini.craftalism.api.repository.MarketItemRepository;
-import io.github.HenriqueMichelini.craftalism.api.repository.MarketQuoteRepository;
 import io.github.HenriqueMichelini.craftalism.api.repository.MarketTradeHistoryRepository;
 import java.math.BigDecimal;
 import java.time.Clock;
@@ -60,9 +63,6 @@ class MarketServiceTest {
     @Mock
     private BalanceRepository balanceRepository;
 
-    @Mock
-    private MarketQuoteRepository marketQuoteRepository;
-
     @Mock
     private MarketQuoteStore quoteStore;
 
@@ -88,7 +88,6 @@ class MarketServiceTest {
             marketCategoryRepository,
             balanceRepository,
             quoteStore,
-            marketQuoteRepository,
             marketTradeHistoryRepository,
             null,
             null,
@@ -103,9 +102,20 @@ class MarketServiceTest {
             ),
             configuration.marketSnapshotStateLoader(
                 marketItemRepository,
-                tradePlanner
+                tradePlanner,
+                "lazy"
             ),
-            tradePlanner
+            tradePlanner,
+            null,
+            null,
+            MarketMetrics.disabled(),
+            false,
+            64,
+            "pessimistic",
+            3,
+            2L,
+            "lazy",
+            Optional.empty()
         );
     }
 
@@ -241,6 +251,75 @@ class MarketServiceTest {
         );
     }
 
+    @Test
+    void execute_loadsSnapshotOnceAndDerivesPostTradeVersion() {
+        MarketItem item = marketItem(5L);
+        when(marketItemRepository.findAllForMarketRead()).thenReturn(
+            java.util.List.of(item, marketItem("carrot", 10L))
+        );
+        String snapshotVersion = marketService.getSnapshot().snapshotVersion();
+        MarketQuoteResponseDTO quote = marketService.quote(
+            authentication(),
+            new MarketQuoteRequestDTO(
+                "wheat",
+                MarketSide.BUY,
+                10L,
+                snapshotVersion,
+                null
+            ),
+            null
+        );
+        when(quoteStore.get(eq(quote.quoteToken()))).thenReturn(
+            Optional.of(
+                new MarketQuoteStore.StoredQuote(
+                    quote.quoteToken(),
+                    playerUuid(),
+                    "wheat",
+                    MarketSide.BUY,
+                    10L,
+                    5L,
+                    50L,
+                    quote.snapshotVersion(),
+                    1,
+                    0L,
+                    null,
+                    null,
+                    null,
+                    quote.expiresAt(),
+                    MarketQuote.Status.ACTIVE
+                )
+            )
+        );
+        when(marketItemRepository.findForUpdate("wheat")).thenReturn(
+            Optional.of(item)
+        );
+        when(balanceRepository.findForUpdate(playerUuid())).thenReturn(
+            Optional.of(new Balance(playerUuid(), 1_000L))
+        );
+        when(quoteStore.consume(quote.quoteToken())).thenReturn(true);
+        clearInvocations(marketItemRepository);
+
+        MarketExecuteSuccessResponseDTO response = marketService.execute(
+            authentication(),
+            new MarketExecuteRequestDTO(
+                "wheat",
+                MarketSide.BUY,
+                10L,
+                quote.quoteToken(),
+                quote.snapshotVersion(),
+                null
+            ),
+            null
+        );
+
+        verify(marketItemRepository, times(1)).findAllForMarketRead();
+        assertNotEquals(snapshotVersion, response.snapshotVersion());
+        assertEquals(
+            marketService.getSnapshot().snapshotVersion(),
+            response.snapshotVersion()
+        );
+    }
+
     @Test
     void quote_buyTraversesVirtualPressureSegmentsProgressively() {
         MarketItem item = marketItem(5L);
@@ -194,8 +194,8 @@ class MarketEventAdminServiceTest {
     @Test
     void supersedeEndsCurrentActiveEventBeforeStartingReplacement() {
         MarketEventInstance active = activeEvent();
-        when(lifecycleService.effectiveActiveEvent(any())).thenReturn(
-            Optional.of(active)
+        when(lifecycleService.effectiveActiveEvents(any())).thenReturn(
+            List.of(active)
         );
         when(templateRepository.findById("rare_customs_hold")).thenReturn(
             Optional.of(template())
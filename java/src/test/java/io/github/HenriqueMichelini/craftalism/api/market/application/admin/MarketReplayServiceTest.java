@@ -0,0 +1,182 @@
+package io.github.HenriqueMichelini.craftalism.api.market.application.admin;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.github.HenriqueMichelini.craftalism.api.dto.MarketReplayItemConfigDTO;
+import io.github.HenriqueMichelini.craftalism.api.dto.MarketReplayReportDTO;
+import io.github.HenriqueMichelini.craftalism.api.dto.MarketReplayRequestDTO;
+import io.github.HenriqueMichelini.craftalism.api.dto.MarketSide;
+import io.github.HenriqueMichelini.craftalism.api.exceptions.MarketItemNotFoundException;
+import io.github.HenriqueMichelini.craftalism.api.exceptions.MarketItemValidationException;
+import io.github.HenriqueMichelini.craftalism.api.market.domain.replay.MarketReplayTrade;
+import io.github.HenriqueMichelini.craftalism.api.model.MarketItem;
+import io.github.HenriqueMichelini.craftalism.api.repository.MarketItemRepository;
+import io.github.HenriqueMichelini.craftalism.api.repository.MarketTradeHistoryRepository;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+@ExtendWith(MockitoExtension.class)
+class MarketReplayServiceTest {
+
+    private static final Instant FROM = Instant.parse("2026-04-12T00:00:00Z");
+    private static final Instant TO = Instant.parse("2026-04-13T00:00:00Z");
+
+    @Mock
+    private MarketItemRepository marketItemRepository;
+
+    @Mock
+    private MarketTradeHistoryRepository tradeHistoryRepository;
+
+    @Test
+    void replay_pagesTradesByExecutionTimeAndId() {
+        when(marketItemRepository.findAll()).thenReturn(List.of(wheat()));
+        MarketReplayTrade first = trade(7L, FROM.plusSeconds(1L));
+        MarketReplayTrade second = trade(3L, FROM.plusSeconds(2L));
+        MarketReplayTrade third = trade(9L, FROM.plusSeconds(2L));
+        when(
+            tradeHistoryRepository.findReplayChunk(
+                FROM,
+                TO,
+                FROM,
+                Long.MIN_VALUE,
+                Limit.of(2)
+            )
+        ).thenReturn(List.of(first, second));
+        when(
+            tradeHistoryRepository.findReplayChunk(
+                FROM,
+                TO,
+                second.executedAt(),
+                3L,
+                Limit.of(2)
+            )
+        ).thenReturn(List.of(third));
+
+        MarketReplayReportDTO report = service().replay(
+            new MarketReplayRequestDTO(FROM, TO, List.of())
+        );
+
+        assertEquals(3L, report.tradeCount());
+        assertEquals(300L, report.historicalMoneyDestroyed());
+    }
+
+    @Test
+    void replay_appliesCandidateConfigWithoutTouchingStoredItem() {
+        MarketItem wheat = wheat();
+        when(marketItemRepository.findAll()).thenReturn(List.of(wheat));
+        when(
+            tradeHistoryRepository.findReplayChunk(
+                FROM,
+                TO,
+                FROM,
+                Long.MIN_VALUE,
+                Limit.of(2)
+            )
+        ).thenReturn(List.of(trade(1L, FROM.plusSeconds(1L))));
+
+        MarketReplayReportDTO report = service().replay(
+            new MarketReplayRequestDTO(
+                FROM,
+                TO,
+                List.of(config("wheat", 0L))
+            )
+        );
+
+        assertEquals(1L, report.rejectedTradeCount());
+        assertNull(wheat.getMaxNetPosition());
+    }
+
+    @Test
+    void replay_rejectsUnknownCandidateItem() {
+        when(marketItemRepository.findAll()).thenReturn(List.of(wheat()));
+
+        assertThrows(MarketItemNotFoundException.class, () ->
+            service().replay(
+                new MarketReplayRequestDTO(
+                    FROM,
+                    TO,
+                    List.of(config("retired", null))
+                )
+            )
+        );
+        verify(tradeHistoryRepository, never()).findReplayChunk(
+            any(),
+            any(),
+            any(),
+            any(Long.class),
+            any()
+        );
+    }
+
+    @Test
+    void replay_rejectsEmptyWindow() {
+        assertThrows(MarketItemValidationException.class, () ->
+            service().replay(new MarketReplayRequestDTO(TO, FROM, List.of()))
+        );
+    }
+
+    private MarketReplayService service() {
+        return new MarketReplayService(
+            marketItemRepository,
+            tradeHistoryRepository,
+            ForkJoinPool.commonPool(),
+            2,
+            10
+        );
+    }
+
+    private MarketReplayItemConfigDTO config(
+        String itemId,
+        Long maxNetPosition
+    ) {
+        return new MarketReplayItemConfigDTO(
+            itemId,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            maxNetPosition
+        );
+    }
+
+    private MarketReplayTrade trade(long id, Instant executedAt) {
+        return new MarketReplayTrade(
+            id,
+            "wheat",
+            MarketSide.BUY,
+            1L,
+            100L,
+            executedAt
+        );
+    }
+
+    private MarketItem wheat() {
+        MarketItem item = new MarketItem();
+        item.setItemId("wheat");
+        item.setCategoryId("farming");
+        item.setCurrency("coins");
+        item.setBaseUnitPrice(100L);
+        item.setMinUnitPrice(50L);
+        item.setMaxUnitPrice(300L);
+        item.setSegmentSize(50L);
+        item.setPriceSensitivity(new BigDecimal("0.0800"));
+        return item;
+    }
+}
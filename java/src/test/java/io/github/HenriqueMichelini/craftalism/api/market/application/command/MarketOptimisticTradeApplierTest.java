@@ -0,0 +1,201 @@
+package io.github.HenriqueMichelini.craftalism.api.market.application.command;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.github.HenriqueMichelini.craftalism.api.dto.MarketExecuteSuccessResponseDTO;
+import io.github.HenriqueMichelini.craftalism.api.dto.MarketSide;
+import io.github.HenriqueMichelini.craftalism.api.market.application.query.MarketSnapshotService;
+import io.github.HenriqueMichelini.craftalism.api.market.application.query.MarketSnapshotStateLoader;
+import io.github.HenriqueMichelini.craftalism.api.market.domain.rate.MarketRateLimiter;
+import io.github.HenriqueMichelini.craftalism.api.market.domain.snapshot.MarketSnapshotProjector;
+import io.github.HenriqueMichelini.craftalism.api.market.domain.trade.MarketTradePlanner;
+import io.github.HenriqueMichelini.craftalism.api.market.domain.trade.MarketTradeRequestPolicy;
+import io.github.HenriqueMichelini.craftalism.api.market.infrastructure.store.MarketQuoteStore;
+import io.github.HenriqueMichelini.craftalism.api.model.Balance;
+import io.github.HenriqueMichelini.craftalism.api.model.MarketItem;
+import io.github.HenriqueMichelini.craftalism.api.model.MarketQuote;
+import io.github.HenriqueMichelini.craftalism.api.repository.BalanceRepository;
+import io.github.HenriqueMichelini.craftalism.api.repository.MarketItemRepository;
+import io.github.HenriqueMichelini.craftalism.api.repository.MarketTradeHistoryRepository;
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionOperations;
+
+@ExtendWith(MockitoExtension.class)
+class MarketOptimisticTradeApplierTest {
+
+    private static final UUID PLAYER = UUID.fromString(
+        "110e8400-e29b-41d4-a716-446655440000"
+    );
+
+    @Mock
+    private MarketItemRepository marketItemRepository;
+
+    @Mock
+    private BalanceRepository balanceRepository;
+
+    @Mock
+    private MarketTradeHistoryRepository marketTradeHistoryRepository;
+
+    private final MarketTradePlanner tradePlanner = new MarketTradePlanner();
+
+    private MarketSnapshotService snapshotService;
+
+    @BeforeEach
+    void setUp() {
+        snapshotService = new MarketSnapshotService(
+            new MarketSnapshotStateLoader(marketItemRepository, tradePlanner),
+            new MarketSnapshotProjector(tradePlanner)
+        );
+    }
+
+    @Test
+    void execute_retriesVersionConflictAgainstFreshItemState() {
+        MarketItem stale = marketItem(0L);
+        MarketItem fresh = marketItem(30L);
+        Balance balance = new Balance(PLAYER, 1_000L);
+        when(marketItemRepository.findAllForMarketRead()).thenReturn(
+            List.of(fresh)
+        );
+        when(marketItemRepository.findByItemId("wheat"))
+            .thenReturn(Optional.of(stale))
+            .thenReturn(Optional.of(fresh));
+        when(balanceRepository.findForUpdate(PLAYER)).thenReturn(
+            Optional.of(balance)
+        );
+        when(marketItemRepository.claimVersion("wheat", 0L))
+            .thenReturn(false)
+            .thenReturn(true);
+        MarketOptimisticTradeApplier applier = applier(3);
+
+        MarketExecuteSuccessResponseDTO response = applier.execute(
+            PLAYER,
+            quote(),
+            snapshotService.currentSnapshot()
+        );
+
+        assertEquals(10L, response.executedQuantity());
+        assertEquals(40L, response.updatedItem().marketPressure());
+        assertEquals(40L, fresh.getNetPosition());
+        assertEquals(1L, applier.conflicts());
+        assertEquals(0L, applier.lockedFallbacks());
+        verify(marketItemRepository, never()).findForUpdate("wheat");
+    }
+
+    @Test
+    void execute_fallsBackToItemLockAfterMaxConflicts() {
+        MarketItem item = marketItem(0L);
+        when(marketItemRepository.findAllForMarketRead()).thenReturn(
+            List.of(item)
+        );
+        when(marketItemRepository.findByItemId("wheat")).thenReturn(
+            Optional.of(item)
+        );
+        when(marketItemRepository.findForUpdate("wheat")).thenReturn(
+            Optional.of(item)
+        );
+        when(balanceRepository.findForUpdate(PLAYER)).thenAnswer(invocation ->
+            Optional.of(new Balance(PLAYER, 1_000L))
+        );
+        when(marketItemRepository.claimVersion("wheat", 0L)).thenReturn(false);
+        MarketOptimisticTradeApplier applier = applier(2);
+
+        MarketExecuteSuccessResponseDTO response = applier.execute(
+            PLAYER,
+            quote(),
+            snapshotService.currentSnapshot()
+        );
+
+        assertEquals(10L, response.executedQuantity());
+        assertEquals(2L, applier.conflicts());
+        assertEquals(1L, applier.lockedFallbacks());
+        verify(marketItemRepository, times(2)).findByItemId("wheat");
+        verify(marketItemRepository).findForUpdate("wheat");
+        verify(marketItemRepository, times(2)).claimVersion("wheat", 0L);
+        verify(marketItemRepository, times(1)).findAllForMarketRead();
+    }
+
+    private MarketOptimisticTradeApplier applier(int maxConflicts) {
+        return new MarketOptimisticTradeApplier(
+            marketItemRepository,
+            snapshotService,
+            new MarketTradeExecutor(
+                balanceRepository,
+                marketItemRepository,
+                marketTradeHistoryRepository,
+                tradePlanner
+            ),
+            new MarketTradeRequestPolicy(
+                snapshotService,
+                new MarketRateLimiter(0, Duration.ofSeconds(60L), Clock.systemUTC()),
+                null,
+                true
+            ),
+            TransactionOperations.withoutTransaction(),
+            maxConflicts,
+            Duration.ZERO
+        );
+    }
+
+    private MarketQuoteStore.StoredQuote quote() {
+        return new MarketQuoteStore.StoredQuote(
+            "quote-token",
+            PLAYER,
+            "wheat",
+            MarketSide.BUY,
+            10L,
+            5L,
+            50L,
+            "market:snapshot",
+            1,
+            0L,
+            0L,
+            null,
+            null,
+            Instant.now().plusSeconds(60L),
+            MarketQuote.Status.ACTIVE
+        );
+    }
+
+    private MarketItem marketItem(long netPosition) {
+        Instant now = Instant.now();
+        MarketItem item = new MarketItem();
+        item.setItemId("wheat");
+        item.setCategoryId("farming");
+        item.setCategoryDisplayName("Farming");
+        item.setDisplayName("Wheat");
+        item.setIconKey("WHEAT");
+        item.setCurrency("coins");
+        item.setBaseUnitPrice(5L);
+        item.setMinUnitPrice(3L);
+        item.setMaxUnitPrice(15L);
+        item.setSegmentSize(50L);
+        item.setPriceSensitivity(new BigDecimal("0.0800"));
+        item.setBaseRegenQuantity(1L);
+        item.setRegenIntervalSeconds(60L);
+        item.setVariationPercent(BigDecimal.ZERO);
+        item.setBlocked(false);
+        item.setOperating(true);
+        item.setLastUpdatedAt(now);
+        item.setDriftMultiplierBasisPoints(10_000L);
+        item.setDriftRevision(0L);
+        item.setDriftEvaluatedAt(now);
+        item.setNetPosition(netPosition);
+        tradePlanner.recomputeDerivedProjections(item);
+        return item;
+    }
+}
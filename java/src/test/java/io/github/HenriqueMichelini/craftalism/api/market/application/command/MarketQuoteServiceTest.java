@@ -6,16 +6,21 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import io.github.HenriqueMichelini.craftalism.api.dto.MarketBatchQuoteLineDTO;
+import io.github.HenriqueMichelini.craftalism.api.dto.MarketBatchQuoteRequestDTO;
+import io.github.HenriqueMichelini.craftalism.api.dto.MarketBatchQuoteResponseDTO;
 import io.github.HenriqueMichelini.craftalism.api.dto.MarketQuoteRequestDTO;
 import io.github.HenriqueMichelini.craftalism.api.dto.MarketQuoteResponseDTO;
 import io.github.HenriqueMichelini.craftalism.api.dto.MarketSide;
 import io.github.HenriqueMichelini.craftalism.api.exceptions.MarketRejectionCode;
 import io.github.HenriqueMichelini.craftalism.api.exceptions.MarketRejectionException;
+import io.github.HenriqueMichelini.craftalism.api.market.domain.event.MarketActiveEventState;
 import io.github.HenriqueMichelini.craftalism.api.market.domain.event.MarketEventLifecycleService;
 import io.github.HenriqueMichelini.craftalism.api.market.domain.event.MarketEventPricingService;
 import io.github.HenriqueMichelini.craftalism.api.market.infrastructure.store.MarketQuoteStore;
@@ -38,12 +43,12 @@ import java.time.Duration;
 import java.time.Instant;
 import java.time.ZoneOffset;
 import java.util.List;
-import java.util.Optional;
 import java.util.UUID;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.oauth2.jwt.Jwt;
@@ -58,6 +63,9 @@ class MarketQuoteServiceTest {
     @Mock
     private MarketQuoteStore quoteStore;
 
+    @Captor
+    private ArgumentCaptor<List<MarketQuoteStore.StoredQuote>> quotesCaptor;
+
     private MarketSnapshotService marketSnapshotService;
     private MarketQuoteService marketQuoteService;
 
@@ -83,6 +91,10 @@ class MarketQuoteServiceTest {
         MarketItem item = marketItem(5L);
         item.setNetPosition(12L);
         when(marketItemRepository.findAllForMarketRead()).thenReturn(List.of(item));
+        when(quoteStore.put(any(MarketQuoteStore.StoredQuote.class))).thenAnswer(
+            invocation ->
+                invocation.getArgument(0, MarketQuoteStore.StoredQuote.class).quoteToken()
+        );
         String snapshotVersion = marketSnapshotService
             .getSnapshot()
             .snapshotVersion();
@@ -277,6 +289,107 @@ class MarketQuoteServiceTest {
         );
     }
 
+    @Test
+    void quoteBatch_pricesLinesIndependentlyAndStoresAcceptedQuotesTogether() {
+        MarketItem item = marketItem(5L);
+        when(marketItemRepository.findAllForMarketRead()).thenReturn(List.of(item));
+        when(quoteStore.putAll(anyList())).thenAnswer(invocation ->
+            invocation
+                .<List<MarketQuoteStore.StoredQuote>>getArgument(0)
+                .stream()
+                .map(MarketQuoteStore.StoredQuote::quoteToken)
+                .toList()
+        );
+        String snapshotVersion = marketSnapshotService
+            .getSnapshot()
+            .snapshotVersion();
+
+        MarketBatchQuoteResponseDTO response = marketQuoteService.quoteBatch(
+            authentication(),
+            new MarketBatchQuoteRequestDTO(
+                List.of(
+                    new MarketBatchQuoteLineDTO("wheat", MarketSide.BUY, 10L),
+                    new MarketBatchQuoteLineDTO("carrot", MarketSide.SELL, 5L),
+                    new MarketBatchQuoteLineDTO("wheat", MarketSide.SELL, 0L),
+                    new MarketBatchQuoteLineDTO("wheat", MarketSide.SELL, 4L)
+                ),
+                snapshotVersion,
+                null
+            ),
+            null
+        );
+
+        assertEquals(snapshotVersion, response.snapshotVersion());
+        assertEquals(
+            List.of("SUCCESS", "REJECTED", "REJECTED", "SUCCESS"),
+            response.results().stream().map(result -> result.status()).toList()
+        );
+        assertEquals("50", response.results().get(0).quote().totalPrice());
+        assertEquals(
+            MarketRejectionCode.UNKNOWN_ITEM.name(),
+            response.results().get(1).rejection().code()
+        );
+        assertEquals(
+            MarketRejectionCode.INVALID_QUANTITY.name(),
+            response.results().get(2).rejection().code()
+        );
+        assertEquals(MarketSide.SELL, response.results().get(3).quote().side());
+
+        verify(quoteStore).putAll(quotesCaptor.capture());
+        assertEquals(
+            List.of(
+                response.results().get(0).quote().quoteToken(),
+                response.results().get(3).quote().quoteToken()
+            ),
+            quotesCaptor
+                .getValue()
+                .stream()
+                .map(MarketQuoteStore.StoredQuote::quoteToken)
+                .toList()
+        );
+        verify(quoteStore, never()).put(
+            any(MarketQuoteStore.StoredQuote.class)
+        );
+    }
+
+    @Test
+    void quoteBatch_rejectsBatchesAboveLineLimit() {
+        MarketItem item = marketItem(5L);
+        when(marketItemRepository.findAllForMarketRead()).thenReturn(List.of(item));
+        MarketQuoteService limitedService = new MarketQuoteService(
+            marketSnapshotService,
+            quoteStore,
+            new MarketTradePlanner(),
+            new MarketPlayerResolver("minecraft-server"),
+            requestPolicy(marketSnapshotService),
+            60L,
+            1
+        );
+        String snapshotVersion = marketSnapshotService
+            .getSnapshot()
+            .snapshotVersion();
+
+        MarketRejectionException exception = assertThrows(
+            MarketRejectionException.class,
+            () ->
+                limitedService.quoteBatch(
+                    authentication(),
+                    new MarketBatchQuoteRequestDTO(
+                        List.of(
+                            new MarketBatchQuoteLineDTO("wheat", MarketSide.BUY, 1L),
+                            new MarketBatchQuoteLineDTO("wheat", MarketSide.BUY, 2L)
+                        ),
+                        snapshotVersion,
+                        null
+                    ),
+                    null
+                )
+        );
+
+        assertEquals(MarketRejectionCode.BATCH_TOO_LARGE, exception.getCode());
+        verify(quoteStore, never()).putAll(anyList());
+    }
+
     private Clock fixedClock() {
         return Clock.fixed(
             Instant.parse("2026-04-12T18:30:00Z"),
@@ -346,11 +459,18 @@ class MarketQuoteServiceTest {
         MarketEventInstanceRepository repository = mock(
             MarketEventInstanceRepository.class
         );
-        when(repository.findEffectiveActive(any())).thenReturn(
-            Optional.of(event)
+        when(
+            repository.findByStatusOrderByStartedAtAscIdAsc(
+                MarketEventStatus.ACTIVE
+            )
+        ).thenReturn(
+            List.of(event)
         );
         return new MarketEventPricingService(
-            new MarketEventLifecycleService(repository)
+            new MarketActiveEventState(
+                new MarketEventLifecycleService(repository),
+                Clock.fixed(Instant.parse("2026-04-12T18:30:00Z"), ZoneOffset.UTC)
+            )
         );
     }
 
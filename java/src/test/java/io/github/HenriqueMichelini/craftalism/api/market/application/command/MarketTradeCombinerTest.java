@@ -0,0 +1,257 @@
+package io.github.HenriqueMichelini.craftalism.api.market.application.command;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.github.HenriqueMichelini.craftalism.api.dto.MarketExecuteSuccessResponseDTO;
+import io.github.HenriqueMichelini.craftalism.api.dto.MarketSide;
+import io.github.HenriqueMichelini.craftalism.api.exceptions.MarketRejectionCode;
+import io.github.HenriqueMichelini.craftalism.api.exceptions.MarketRejectionException;
+import io.github.HenriqueMichelini.craftalism.api.market.application.query.MarketSnapshotService;
+import io.github.HenriqueMichelini.craftalism.api.market.application.query.MarketSnapshotStateLoader;
+import io.github.HenriqueMichelini.craftalism.api.market.domain.rate.MarketRateLimiter;
+import io.github.HenriqueMichelini.craftalism.api.market.domain.snapshot.MarketSnapshotProjector;
+import io.github.HenriqueMichelini.craftalism.api.market.domain.trade.MarketTradePlanner;
+import io.github.HenriqueMichelini.craftalism.api.market.domain.trade.MarketTradeRequestPolicy;
+import io.github.HenriqueMichelini.craftalism.api.market.infrastructure.store.MarketQuoteStore;
+import io.github.HenriqueMichelini.craftalism.api.model.Balance;
+import io.github.HenriqueMichelini.craftalism.api.model.MarketItem;
+import io.github.HenriqueMichelini.craftalism.api.model.MarketQuote;
+import io.github.HenriqueMichelini.craftalism.api.repository.BalanceRepository;
+import io.github.HenriqueMichelini.craftalism.api.repository.MarketItemRepository;
+import io.github.HenriqueMichelini.craftalism.api.repository.MarketTradeHistoryRepository;
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionOperations;
+
+@ExtendWith(MockitoExtension.class)
+class MarketTradeCombinerTest {
+
+    private static final UUID FIRST_PLAYER = UUID.fromString(
+        "110e8400-e29b-41d4-a716-446655440000"
+    );
+    private static final UUID POOR_PLAYER = UUID.fromString(
+        "220e8400-e29b-41d4-a716-446655440000"
+    );
+    private static final UUID THIRD_PLAYER = UUID.fromString(
+        "330e8400-e29b-41d4-a716-446655440000"
+    );
+
+    @Mock
+    private MarketItemRepository marketItemRepository;
+
+    @Mock
+    private BalanceRepository balanceRepository;
+
+    @Mock
+    private MarketTradeHistoryRepository marketTradeHistoryRepository;
+
+    private final MarketTradePlanner tradePlanner = new MarketTradePlanner();
+    private final ExecutorService requests = Executors.newFixedThreadPool(3);
+    private MarketSnapshotService snapshotService;
+
+    @AfterEach
+    void tearDown() {
+        requests.shutdownNow();
+    }
+
+    @Test
+    void execute_appliesQueuedTradesInOneBatchAndIsolatesRejections()
+        throws Exception {
+        MarketItem item = marketItem();
+        Balance firstBalance = new Balance(FIRST_PLAYER, 1_000L);
+        Balance poorBalance = new Balance(POOR_PLAYER, 10L);
+        Balance thirdBalance = new Balance(THIRD_PLAYER, 1_000L);
+        when(marketItemRepository.findAllForMarketRead()).thenReturn(
+            List.of(item)
+        );
+        CountDownLatch firstBatchLocked = new CountDownLatch(1);
+        CountDownLatch releaseFirstBatch = new CountDownLatch(1);
+        when(marketItemRepository.findForUpdate("wheat"))
+            .thenAnswer(invocation -> {
+                firstBatchLocked.countDown();
+                releaseFirstBatch.await(5L, TimeUnit.SECONDS);
+                return Optional.of(item);
+            })
+            .thenReturn(Optional.of(item));
+        when(balanceRepository.findForUpdate(FIRST_PLAYER)).thenReturn(
+            Optional.of(firstBalance)
+        );
+        when(balanceRepository.findForUpdate(POOR_PLAYER)).thenReturn(
+            Optional.of(poorBalance)
+        );
+        when(balanceRepository.findForUpdate(THIRD_PLAYER)).thenReturn(
+            Optional.of(thirdBalance)
+        );
+        MarketTradeCombiner combiner = combiner();
+        MarketSnapshotService.CurrentSnapshot before =
+            snapshotService.currentSnapshot();
+
+        Future<MarketExecuteSuccessResponseDTO> first = submit(
+            combiner,
+            FIRST_PLAYER,
+            before
+        );
+        assertTrue(firstBatchLocked.await(5L, TimeUnit.SECONDS));
+        Future<MarketExecuteSuccessResponseDTO> poor = submit(
+            combiner,
+            POOR_PLAYER,
+            before
+        );
+        Future<MarketExecuteSuccessResponseDTO> third = submit(
+            combiner,
+            THIRD_PLAYER,
+            before
+        );
+        while (combiner.pendingTrades("wheat") < 2) {
+            Thread.onSpinWait();
+        }
+        releaseFirstBatch.countDown();
+
+        assertEquals(10L, first.get(5L, TimeUnit.SECONDS).executedQuantity());
+        ExecutionException rejected = assertThrows(
+            ExecutionException.class,
+            () -> poor.get(5L, TimeUnit.SECONDS)
+        );
+        assertEquals(
+            MarketRejectionCode.INSUFFICIENT_FUNDS,
+            ((MarketRejectionException) rejected.getCause()).getCode()
+        );
+        MarketExecuteSuccessResponseDTO thirdResponse = third.get(
+            5L,
+            TimeUnit.SECONDS
+        );
+        assertEquals(20L, thirdResponse.updatedItem().marketPressure());
+        assertEquals(20L, item.getNetPosition());
+        assertEquals(950L, firstBalance.getAmount());
+        assertEquals(10L, poorBalance.getAmount());
+        assertEquals(950L, thirdBalance.getAmount());
+        verify(marketItemRepository, times(2)).findForUpdate("wheat");
+        verify(marketItemRepository, times(2)).save(item);
+        verify(marketTradeHistoryRepository, times(2)).saveAll(anyList());
+        verify(marketItemRepository, times(1)).findAllForMarketRead();
+    }
+
+    @Test
+    void execute_rejectsEveryTradeForMissingItem() {
+        when(marketItemRepository.findAllForMarketRead()).thenReturn(List.of());
+        when(marketItemRepository.findForUpdate("wheat")).thenReturn(
+            Optional.empty()
+        );
+        MarketTradeCombiner combiner = combiner();
+        MarketSnapshotService.CurrentSnapshot before =
+            snapshotService.currentSnapshot();
+
+        MarketRejectionException exception = assertThrows(
+            MarketRejectionException.class,
+            () -> combiner.execute(FIRST_PLAYER, quote(FIRST_PLAYER), before)
+        );
+
+        assertEquals(MarketRejectionCode.UNKNOWN_ITEM, exception.getCode());
+        assertEquals(before.snapshotVersion(), exception.getSnapshotVersion());
+        assertEquals(0, combiner.pendingTrades("wheat"));
+    }
+
+    private Future<MarketExecuteSuccessResponseDTO> submit(
+        MarketTradeCombiner combiner,
+        UUID playerUuid,
+        MarketSnapshotService.CurrentSnapshot before
+    ) {
+        return requests.submit(() ->
+            combiner.execute(playerUuid, quote(playerUuid), before)
+        );
+    }
+
+    private MarketTradeCombiner combiner() {
+        snapshotService = new MarketSnapshotService(
+            new MarketSnapshotStateLoader(marketItemRepository, tradePlanner),
+            new MarketSnapshotProjector(tradePlanner)
+        );
+        return new MarketTradeCombiner(
+            marketItemRepository,
+            snapshotService,
+            new MarketTradeExecutor(
+                balanceRepository,
+                marketItemRepository,
+                marketTradeHistoryRepository,
+                tradePlanner
+            ),
+            new MarketTradeRequestPolicy(
+                snapshotService,
+                new MarketRateLimiter(0, Duration.ofSeconds(60L), Clock.systemUTC()),
+                null,
+                true
+            ),
+            TransactionOperations.withoutTransaction(),
+            8
+        );
+    }
+
+    private MarketQuoteStore.StoredQuote quote(UUID playerUuid) {
+        return new MarketQuoteStore.StoredQuote(
+            "quote-" + playerUuid,
+            playerUuid,
+            "wheat",
+            MarketSide.BUY,
+            10L,
+            5L,
+            50L,
+            "market:snapshot",
+            1,
+            0L,
+            0L,
+            null,
+            null,
+            Instant.now().plusSeconds(60L),
+            MarketQuote.Status.ACTIVE
+        );
+    }
+
+    private MarketItem marketItem() {
+        Instant now = Instant.now();
+        MarketItem item = new MarketItem();
+        item.setItemId("wheat");
+        item.setCategoryId("farming");
+        item.setCategoryDisplayName("Farming");
+        item.setDisplayName("Wheat");
+        item.setIconKey("WHEAT");
+        item.setCurrency("coins");
+        item.setBaseUnitPrice(5L);
+        item.setMinUnitPrice(3L);
+        item.setMaxUnitPrice(15L);
+        item.setSegmentSize(50L);
+        item.setPriceSensitivity(new BigDecimal("0.0800"));
+        item.setBaseRegenQuantity(1L);
+        item.setRegenIntervalSeconds(60L);
+        item.setVariationPercent(BigDecimal.ZERO);
+        item.setBlocked(false);
+        item.setOperating(true);
+        item.setLastUpdatedAt(now);
+        item.setDriftMultiplierBasisPoints(10_000L);
+        item.setDriftRevision(0L);
+        item.setDriftEvaluatedAt(now);
+        tradePlanner.recomputeDerivedProjections(item);
+        return item;
+    }
+}
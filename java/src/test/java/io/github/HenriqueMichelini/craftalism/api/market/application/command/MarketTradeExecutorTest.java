@@ -4,6 +4,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -22,7 +23,9 @@ import io.github.HenriqueMichelini.craftalism.api.repository.MarketItemRepositor
 import io.github.HenriqueMichelini.craftalism.api.repository.MarketTradeHistoryRepository;
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -259,6 +262,74 @@ class MarketTradeExecutorTest {
         verify(marketItemRepository).save(item);
     }
 
+    @Test
+    void applyBasket_saleProceedsFundPurchaseUnderOneBalanceUpdate() {
+        MarketItem item = marketItem();
+        Balance balance = new Balance(PLAYER_UUID, 20L);
+        when(balanceRepository.findForUpdate(PLAYER_UUID)).thenReturn(
+            Optional.of(balance)
+        );
+        MarketTradeExecutor executor = executor();
+
+        MarketTradeExecutor.AppliedBasket appliedBasket = executor.applyBasket(
+            PLAYER_UUID,
+            List.of(
+                new MarketTradeExecutor.BasketLine(
+                    item,
+                    quote(MarketSide.BUY, 10L, 5L, 50L)
+                ),
+                new MarketTradeExecutor.BasketLine(
+                    item,
+                    quote(MarketSide.SELL, 10L, 4L, 40L)
+                )
+            ),
+            () -> "market:current"
+        );
+
+        assertEquals(-10L, appliedBasket.netAmount());
+        assertEquals(2, appliedBasket.trades().size());
+        assertEquals(10L, balance.getAmount());
+        assertEquals(0L, item.getNetPosition());
+        verify(balanceRepository).save(balance);
+        verify(marketItemRepository).saveAll(Set.of(item));
+        verify(marketTradeHistoryRepository).saveAll(anyList());
+        verify(marketTradeHistoryRepository, never()).save(any());
+    }
+
+    @Test
+    void applyBasket_rejectsNetDebitAboveBalance() {
+        MarketItem item = marketItem();
+        Balance balance = new Balance(PLAYER_UUID, 9L);
+        when(balanceRepository.findForUpdate(PLAYER_UUID)).thenReturn(
+            Optional.of(balance)
+        );
+        MarketTradeExecutor executor = executor();
+
+        MarketRejectionException exception = assertThrows(
+            MarketRejectionException.class,
+            () ->
+                executor.applyBasket(
+                    PLAYER_UUID,
+                    List.of(
+                        new MarketTradeExecutor.BasketLine(
+                            item,
+                            quote(MarketSide.BUY, 10L, 5L, 50L)
+                        ),
+                        new MarketTradeExecutor.BasketLine(
+                            item,
+                            quote(MarketSide.SELL, 10L, 4L, 40L)
+                        )
+                    ),
+                    () -> "market:current"
+                )
+        );
+
+        assertEquals(MarketRejectionCode.INSUFFICIENT_FUNDS, exception.getCode());
+        assertEquals(9L, balance.getAmount());
+        verify(balanceRepository, never()).save(any());
+        verify(marketTradeHistoryRepository, never()).saveAll(anyList());
+    }
+
     private MarketTradeExecutor executor() {
         return new MarketTradeExecutor(
             balanceRepository,
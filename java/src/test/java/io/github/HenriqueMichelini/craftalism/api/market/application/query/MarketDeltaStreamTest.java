@@ -0,0 +1,236 @@
+package io.github.HenriqueMichelini.craftalism.api.market.application.query;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.github.HenriqueMichelini.craftalism.api.dto.MarketStreamDeltaDTO;
+import io.github.HenriqueMichelini.craftalism.api.dto.MarketStreamResyncDTO;
+import io.github.HenriqueMichelini.craftalism.api.exceptions.MarketStreamUnavailableException;
+import io.github.HenriqueMichelini.craftalism.api.market.application.change.MarketStateChangedEvent;
+import io.github.HenriqueMichelini.craftalism.api.market.domain.pricing.MarketDriftService;
+import io.github.HenriqueMichelini.craftalism.api.market.domain.snapshot.MarketSnapshotProjector;
+import io.github.HenriqueMichelini.craftalism.api.market.domain.trade.MarketTradePlanner;
+import io.github.HenriqueMichelini.craftalism.api.model.MarketItem;
+import io.github.HenriqueMichelini.craftalism.api.repository.MarketItemRepository;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@ExtendWith(MockitoExtension.class)
+class MarketDeltaStreamTest {
+
+    private static final Instant NOW = Instant.parse("2026-04-12T18:30:00Z");
+    private static final Duration SEND_TIMEOUT = Duration.ofSeconds(10);
+
+    @Mock
+    private MarketItemRepository marketItemRepository;
+
+    private final MarketTradePlanner tradePlanner = new MarketTradePlanner();
+    private final List<MarketItem> items = new ArrayList<>();
+    private MarketSnapshotService snapshotService;
+
+    @BeforeEach
+    void setUp() {
+        items.add(item("wheat", 0L));
+        items.add(item("carrot", 0L));
+        when(marketItemRepository.findAllForMarketRead()).thenAnswer(
+            invocation -> List.copyOf(items)
+        );
+        snapshotService = new MarketSnapshotService(
+            new MarketSnapshotStateLoader(
+                marketItemRepository,
+                tradePlanner,
+                new MarketDriftService(),
+                Clock.fixed(NOW, ZoneOffset.UTC)
+            ),
+            new MarketSnapshotProjector(tradePlanner)
+        );
+    }
+
+    @Test
+    void dispatch_emitsDeltasOnlyForItemsWhoseSnapshotStateChanged() {
+        MarketDeltaStream stream = stream(8, Runnable::run);
+        RecordingEmitter emitter = new RecordingEmitter();
+        stream.subscribe(emitter);
+        stream.onMarketStateChanged(MarketStateChangedEvent.all());
+        stream.dispatch();
+        emitter.sent.clear();
+
+        items.set(0, item("wheat", 75L));
+        stream.onMarketStateChanged(MarketStateChangedEvent.item("wheat"));
+        stream.onMarketStateChanged(MarketStateChangedEvent.item("carrot"));
+        stream.dispatch();
+
+        assertEquals(1, emitter.sent.size());
+        MarketStreamDeltaDTO delta = (MarketStreamDeltaDTO) emitter.sent.get(0);
+        assertEquals("wheat", delta.itemId());
+        assertEquals("farming", delta.categoryId());
+        assertEquals(75L, delta.item().marketPressure());
+        assertEquals(snapshotService.currentSnapshotVersion(), delta.snapshotVersion());
+
+        items.remove(1);
+        stream.onMarketStateChanged(MarketStateChangedEvent.all());
+        stream.dispatch();
+
+        assertEquals(2, emitter.sent.size());
+        MarketStreamDeltaDTO removed = (MarketStreamDeltaDTO) emitter.sent.get(1);
+        assertEquals("carrot", removed.itemId());
+        assertNull(removed.item());
+    }
+
+    @Test
+    void offer_replacesOverflowingBufferWithSingleResync() {
+        List<Runnable> pendingSends = new ArrayList<>();
+        MarketDeltaStream stream = stream(2, pendingSends::add);
+        RecordingEmitter emitter = new RecordingEmitter();
+        stream.subscribe(emitter);
+
+        items.set(0, item("wheat", 75L));
+        items.set(1, item("carrot", -75L));
+        stream.onMarketStateChanged(MarketStateChangedEvent.item("wheat"));
+        stream.onMarketStateChanged(MarketStateChangedEvent.item("carrot"));
+        stream.dispatch();
+        pendingSends.forEach(Runnable::run);
+
+        assertEquals(1, emitter.sent.size());
+        assertEquals(
+            MarketDeltaStream.RESYNC_BUFFER_OVERFLOW,
+            ((MarketStreamResyncDTO) emitter.sent.get(0)).reason()
+        );
+    }
+
+    @Test
+    void subscribe_rejectsSubscribersAboveLimit() {
+        MarketDeltaStream stream = new MarketDeltaStream(
+            snapshotService,
+            TransactionOperations.withoutTransaction(),
+            8,
+            1,
+            Duration.ofMinutes(1),
+            SEND_TIMEOUT,
+            mock(ScheduledExecutorService.class),
+            Runnable::run
+        );
+        RecordingEmitter emitter = new RecordingEmitter();
+        stream.subscribe(emitter);
+
+        assertEquals(
+            MarketDeltaStream.RESYNC_SUBSCRIBED,
+            ((MarketStreamResyncDTO) emitter.sent.get(0)).reason()
+        );
+        assertThrows(
+            MarketStreamUnavailableException.class,
+            () -> stream.subscribe(new RecordingEmitter())
+        );
+    }
+
+    @Test
+    void expireStalledSends_dropsSubscriberAndInterruptsItsSender()
+        throws InterruptedException {
+        MarketDeltaStream stream = stream(8, runnable ->
+            new Thread(runnable).start()
+        );
+        StallingEmitter stalled = new StallingEmitter();
+        stream.subscribe(stalled);
+        assertTrue(stalled.sending.await(5, TimeUnit.SECONDS));
+
+        stream.expireStalledSends(System.nanoTime());
+        assertEquals(1, stream.subscriberCount());
+
+        stream.expireStalledSends(System.nanoTime() + SEND_TIMEOUT.toNanos());
+
+        assertEquals(0, stream.subscriberCount());
+        assertTrue(stalled.interrupted.await(5, TimeUnit.SECONDS));
+    }
+
+    private MarketDeltaStream stream(int bufferSize, Executor sendExecutor) {
+        return new MarketDeltaStream(
+            snapshotService,
+            TransactionOperations.withoutTransaction(),
+            bufferSize,
+            10,
+            Duration.ofMinutes(1),
+            SEND_TIMEOUT,
+            mock(ScheduledExecutorService.class),
+            sendExecutor
+        );
+    }
+
+    private MarketItem item(String itemId, long netPosition) {
+        MarketItem item = new MarketItem();
+        item.setItemId(itemId);
+        item.setCategoryId("farming");
+        item.setCategoryDisplayName("Farming");
+        item.setDisplayName(itemId);
+        item.setIconKey(itemId.toUpperCase());
+        item.setCurrency("coins");
+        item.setBaseUnitPrice(100L);
+        item.setMinUnitPrice(50L);
+        item.setMaxUnitPrice(300L);
+        item.setSegmentSize(50L);
+        item.setPriceSensitivity(new BigDecimal("0.0800"));
+        item.setBaseRegenQuantity(1L);
+        item.setRegenIntervalSeconds(60L);
+        item.setNetPosition(netPosition);
+        item.setVariationPercent(BigDecimal.ZERO);
+        item.setBlocked(false);
+        item.setOperating(true);
+        item.setLastUpdatedAt(NOW);
+        item.setDriftMultiplierBasisPoints(10_000L);
+        item.setDriftRevision(0L);
+        item.setDriftEvaluatedAt(NOW);
+        return item;
+    }
+
+    private static final class StallingEmitter extends SseEmitter {
+
+        private final CountDownLatch sending = new CountDownLatch(1);
+        private final CountDownLatch interrupted = new CountDownLatch(1);
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            sending.countDown();
+            try {
+                new CountDownLatch(1).await();
+            } catch (InterruptedException exception) {
+                interrupted.countDown();
+                throw new IOException("Send interrupted.", exception);
+            }
+        }
+    }
+
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private final List<Object> sent = new ArrayList<>();
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            for (ResponseBodyEmitter.DataWithMediaType data : builder.build()) {
+                if (!(data.getData() instanceof String)) {
+                    sent.add(data.getData());
+                }
+            }
+        }
+    }
+}
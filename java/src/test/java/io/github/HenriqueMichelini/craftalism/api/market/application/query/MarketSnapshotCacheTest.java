@@ -0,0 +1,367 @@
+package io.github.HenriqueMichelini.craftalism.api.market.application.query;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.github.HenriqueMichelini.craftalism.api.dto.MarketCategoryRefreshResponseDTO;
+import io.github.HenriqueMichelini.craftalism.api.dto.MarketItemRefreshResponseDTO;
+import io.github.HenriqueMichelini.craftalism.api.dto.MarketSnapshotResponseDTO;
+import io.github.HenriqueMichelini.craftalism.api.exceptions.MarketCategoryNotFoundException;
+import io.github.HenriqueMichelini.craftalism.api.exceptions.MarketItemNotFoundException;
+import io.github.HenriqueMichelini.craftalism.api.market.application.change.MarketStateChangedEvent;
+import io.github.HenriqueMichelini.craftalism.api.market.domain.pricing.MarketDriftService;
+import io.github.HenriqueMichelini.craftalism.api.market.domain.snapshot.MarketSnapshotProjector;
+import io.github.HenriqueMichelini.craftalism.api.market.domain.trade.MarketTradePlanner;
+import io.github.HenriqueMichelini.craftalism.api.model.MarketItem;
+import io.github.HenriqueMichelini.craftalism.api.repository.MarketItemRepository;
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class MarketSnapshotCacheTest {
+
+    private static final Instant NOW = Instant.parse("2026-04-12T18:30:00Z");
+
+    @Mock
+    private MarketItemRepository marketItemRepository;
+
+    private final MarketTradePlanner tradePlanner = new MarketTradePlanner();
+    private final MutableClock clock = new MutableClock(NOW);
+
+    @Test
+    void snapshotResponse_servesRepeatedReadsWithoutReloading() {
+        when(marketItemRepository.findAllForMarketRead()).thenReturn(
+            List.of(item("wheat", 0L), item("carrot", 0L))
+        );
+        MarketSnapshotCache cache = cache(null);
+
+        MarketSnapshotResponseDTO first = cache.snapshotResponse();
+        MarketSnapshotResponseDTO second = cache.snapshotResponse();
+
+        assertSame(first, second);
+        assertEquals(
+            first.snapshotVersion(),
+            cache.currentSnapshot().snapshotVersion()
+        );
+        verify(marketItemRepository, times(1)).findAllForMarketRead();
+    }
+
+    @Test
+    void currentSnapshot_matchesUncachedSnapshotVersion() {
+        when(marketItemRepository.findAllForMarketRead()).thenReturn(
+            List.of(item("wheat", 0L), item("carrot", 0L))
+        );
+        MarketSnapshotService uncached = new MarketSnapshotService(
+            loader(),
+            new MarketSnapshotProjector(tradePlanner)
+        );
+
+        assertEquals(
+            uncached.currentSnapshotVersion(),
+            cache(null).currentSnapshot().snapshotVersion()
+        );
+    }
+
+    @Test
+    void currentSnapshot_indexesCachedItemsById() {
+        when(marketItemRepository.findAllForMarketRead()).thenReturn(
+            List.of(item("wheat", 0L), item("carrot", 0L))
+        );
+        MarketSnapshotCache cache = cache(null);
+
+        MarketSnapshotService.CurrentSnapshot first = cache.currentSnapshot();
+        MarketSnapshotService.CurrentSnapshot second = cache.currentSnapshot();
+
+        assertSame(first, second);
+        assertSame(
+            first.items().stream()
+                .filter(item -> item.getItemId().equals("carrot"))
+                .findFirst()
+                .orElseThrow(),
+            first.item("carrot").orElseThrow()
+        );
+        assertEquals(Optional.empty(), first.item("stone"));
+        assertEquals(Optional.empty(), first.item(null));
+    }
+
+    @Test
+    void itemChange_reloadsOnlyTheChangedItem() {
+        MarketItem wheat = item("wheat", 0L);
+        when(marketItemRepository.findAllForMarketRead()).thenReturn(
+            List.of(wheat, item("carrot", 0L))
+        );
+        MarketSnapshotCache cache = cache(null);
+        String initialVersion = cache.currentSnapshot().snapshotVersion();
+
+        MarketItem tradedWheat = item("wheat", 40L);
+        when(
+            marketItemRepository.findAllForMarketReadByItemIdIn(
+                Set.of("wheat")
+            )
+        ).thenReturn(List.of(tradedWheat));
+        cache.onMarketStateChanged(MarketStateChangedEvent.item("wheat"));
+
+        MarketSnapshotService.CurrentSnapshot refreshed =
+            cache.currentSnapshot();
+
+        assertNotEquals(initialVersion, refreshed.snapshotVersion());
+        assertEquals(
+            40L,
+            refreshed
+                .items()
+                .stream()
+                .filter(item -> item.getItemId().equals("wheat"))
+                .findFirst()
+                .orElseThrow()
+                .getNetPosition()
+        );
+        assertEquals(2, refreshed.items().size());
+        verify(marketItemRepository, times(1)).findAllForMarketRead();
+    }
+
+    @Test
+    void itemChange_dropsDeletedItems() {
+        when(marketItemRepository.findAllForMarketRead()).thenReturn(
+            List.of(item("wheat", 0L), item("carrot", 0L))
+        );
+        MarketSnapshotCache cache = cache(null);
+        cache.currentSnapshot();
+
+        when(
+            marketItemRepository.findAllForMarketReadByItemIdIn(
+                Set.of("carrot")
+            )
+        ).thenReturn(List.of());
+        cache.onMarketStateChanged(MarketStateChangedEvent.item("carrot"));
+
+        assertEquals(
+            List.of("wheat"),
+            cache
+                .currentSnapshot()
+                .items()
+                .stream()
+                .map(MarketItem::getItemId)
+                .toList()
+        );
+    }
+
+    @Test
+    void fullInvalidation_reloadsWholeCatalog() {
+        when(marketItemRepository.findAllForMarketRead()).thenReturn(
+            List.of(item("wheat", 0L))
+        );
+        MarketSnapshotCache cache = cache(null);
+        cache.currentSnapshot();
+
+        cache.onMarketStateChanged(MarketStateChangedEvent.all());
+        cache.currentSnapshot();
+
+        verify(marketItemRepository, times(2)).findAllForMarketRead();
+        verify(marketItemRepository, never()).findAllForMarketReadByItemIdIn(
+            any()
+        );
+    }
+
+    @Test
+    void dueRegeneration_reloadsOnlyItemsThatCameDue() {
+        MarketItem wheat = item("wheat", 10L);
+        when(marketItemRepository.findAllForMarketRead()).thenReturn(
+            List.of(wheat, item("carrot", 0L))
+        );
+        MarketSnapshotCache cache = cache(null);
+        String initialVersion = cache.currentSnapshot().snapshotVersion();
+
+        clock.advance(Duration.ofSeconds(60L));
+        MarketItem lockedWheat = item("wheat", 10L);
+        when(
+            marketItemRepository.findAllForMarketReadByItemIdIn(
+                Set.of("wheat")
+            )
+        ).thenReturn(List.of(lockedWheat));
+        when(marketItemRepository.findForUpdate("wheat")).thenReturn(
+            Optional.of(lockedWheat)
+        );
+
+        MarketSnapshotService.CurrentSnapshot refreshed =
+            cache.currentSnapshot();
+
+        assertNotEquals(initialVersion, refreshed.snapshotVersion());
+        assertEquals(9L, lockedWheat.getNetPosition());
+        verify(marketItemRepository, times(1)).findAllForMarketRead();
+    }
+
+    @Test
+    void maxAge_forcesFullReload() {
+        when(marketItemRepository.findAllForMarketRead()).thenReturn(
+            List.of(item("wheat", 0L))
+        );
+        MarketSnapshotCache cache = cache(Duration.ofSeconds(5L));
+        cache.currentSnapshot();
+
+        clock.advance(Duration.ofSeconds(5L));
+        cache.currentSnapshot();
+
+        verify(marketItemRepository, times(2)).findAllForMarketRead();
+    }
+
+    @Test
+    void snapshotVersionAfterChange_matchesVersionAfterReload() {
+        when(marketItemRepository.findAllForMarketRead()).thenReturn(
+            List.of(item("wheat", 0L), item("carrot", 0L))
+        );
+        MarketSnapshotCache cache = cache(null);
+        MarketSnapshotService snapshotService = new MarketSnapshotService(
+            loader(),
+            new MarketSnapshotProjector(tradePlanner),
+            null,
+            cache
+        );
+        MarketSnapshotService.CurrentSnapshot before =
+            snapshotService.currentSnapshot();
+
+        MarketItem tradedWheat = item("wheat", 25L);
+        String predictedVersion = snapshotService.snapshotVersionAfterChange(
+            before,
+            tradedWheat
+        );
+
+        when(
+            marketItemRepository.findAllForMarketReadByItemIdIn(
+                Set.of("wheat")
+            )
+        ).thenReturn(List.of(tradedWheat));
+        cache.onMarketStateChanged(MarketStateChangedEvent.item("wheat"));
+
+        assertNotEquals(before.snapshotVersion(), predictedVersion);
+        assertEquals(
+            predictedVersion,
+            snapshotService.currentSnapshotVersion()
+        );
+    }
+
+    @Test
+    void itemAndCategoryRefresh_areServedFromCachedProjections() {
+        when(marketItemRepository.findAllForMarketRead()).thenReturn(
+            List.of(item("wheat", 0L), item("carrot", 75L))
+        );
+        MarketSnapshotCache cache = cache(null);
+        MarketSnapshotService snapshotService = new MarketSnapshotService(
+            loader(),
+            new MarketSnapshotProjector(tradePlanner),
+            null,
+            cache
+        );
+        MarketSnapshotResponseDTO snapshot = snapshotService.getSnapshot();
+
+        MarketItemRefreshResponseDTO item = snapshotService.itemRefresh(
+            "carrot"
+        );
+        MarketCategoryRefreshResponseDTO category =
+            snapshotService.categoryRefresh("farming");
+
+        assertEquals(snapshot.snapshotVersion(), item.snapshotVersion());
+        assertEquals("farming", item.categoryId());
+        assertEquals(75L, item.item().marketPressure());
+        assertEquals(snapshot.categories().get(0), category.category());
+        assertThrows(
+            MarketItemNotFoundException.class,
+            () -> snapshotService.itemRefresh("diamond")
+        );
+        assertThrows(
+            MarketCategoryNotFoundException.class,
+            () -> snapshotService.categoryRefresh("mining")
+        );
+        verify(marketItemRepository, times(1)).findAllForMarketRead();
+    }
+
+    private MarketSnapshotCache cache(Duration maxAge) {
+        return new MarketSnapshotCache(
+            loader(),
+            new MarketSnapshotProjector(tradePlanner),
+            null,
+            maxAge,
+            clock
+        );
+    }
+
+    private MarketSnapshotStateLoader loader() {
+        return new MarketSnapshotStateLoader(
+            marketItemRepository,
+            tradePlanner,
+            new MarketDriftService(),
+            clock
+        );
+    }
+
+    private MarketItem item(String itemId, long netPosition) {
+        MarketItem item = new MarketItem();
+        item.setItemId(itemId);
+        item.setCategoryId("farming");
+        item.setCategoryDisplayName("Farming");
+        item.setDisplayName(itemId);
+        item.setIconKey(itemId.toUpperCase());
+        item.setCurrency("coins");
+        item.setBaseUnitPrice(100L);
+        item.setMinUnitPrice(50L);
+        item.setMaxUnitPrice(300L);
+        item.setSegmentSize(50L);
+        item.setPriceSensitivity(new BigDecimal("0.0800"));
+        item.setBaseRegenQuantity(1L);
+        item.setRegenIntervalSeconds(60L);
+        item.setNetPosition(netPosition);
+        item.setVariationPercent(BigDecimal.ZERO);
+        item.setBlocked(false);
+        item.setOperating(true);
+        item.setLastUpdatedAt(NOW);
+        item.setDriftMultiplierBasisPoints(10_000L);
+        item.setDriftRevision(0L);
+        item.setDriftEvaluatedAt(NOW);
+        return item;
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        private void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
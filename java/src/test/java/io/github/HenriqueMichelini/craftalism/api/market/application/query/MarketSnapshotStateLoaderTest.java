@@ -2,6 +2,7 @@ package io.github.HenriqueMichelini.craftalism.api.market.application.query;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
@@ -10,8 +11,11 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import io.github.HenriqueMichelini.craftalism.api.model.MarketItem;
+import io.github.HenriqueMichelini.craftalism.api.market.application.change.MarketStateChangedEvent;
+import io.github.HenriqueMichelini.craftalism.api.market.domain.event.MarketActiveEventState;
 import io.github.HenriqueMichelini.craftalism.api.market.domain.event.MarketEventLifecycleService;
 import io.github.HenriqueMichelini.craftalism.api.market.domain.event.MarketEventPricingService;
+import io.github.HenriqueMichelini.craftalism.api.market.domain.pricing.MarketDriftService;
 import io.github.HenriqueMichelini.craftalism.api.market.domain.trade.MarketTradePlanner;
 import io.github.HenriqueMichelini.craftalism.api.model.MarketEventInstance;
 import io.github.HenriqueMichelini.craftalism.api.model.MarketEventScope;
@@ -234,19 +238,25 @@ class MarketSnapshotStateLoaderTest {
     }
 
     @Test
-    void regeneratedItems_clearsEventPricingCacheBetweenOperations() {
+    void regeneratedItems_repricesAfterCommittedEventChange() {
         MarketItem duringEvent = pressureItem(1L, NOW.minusSeconds(60L));
         MarketItem afterEvent = pressureItem(1L, NOW.minusSeconds(60L));
         MarketEventInstanceRepository eventRepository = mock(
             MarketEventInstanceRepository.class
         );
-        when(eventRepository.findEffectiveActive(any()))
-            .thenReturn(Optional.of(categoryEvent(12_000)))
-            .thenReturn(Optional.empty());
-        MarketTradePlanner eventAwarePlanner = new MarketTradePlanner(
-            new MarketEventPricingService(
-                new MarketEventLifecycleService(eventRepository)
+        when(
+            eventRepository.findByStatusOrderByStartedAtAscIdAsc(
+                MarketEventStatus.ACTIVE
             )
+        )
+            .thenReturn(List.of(categoryEvent(12_000)))
+            .thenReturn(List.of());
+        MarketActiveEventState activeEventState = new MarketActiveEventState(
+            new MarketEventLifecycleService(eventRepository),
+            clock
+        );
+        MarketTradePlanner eventAwarePlanner = new MarketTradePlanner(
+            new MarketEventPricingService(activeEventState)
         );
         MarketSnapshotStateLoader eventAwareService =
             new MarketSnapshotStateLoader(
@@ -262,12 +272,64 @@ class MarketSnapshotStateLoaderTest {
             .thenReturn(Optional.of(afterEvent));
 
         eventAwareService.regeneratedItems();
+        activeEventState.onMarketStateChanged(MarketStateChangedEvent.all());
         eventAwareService.regeneratedItems();
 
         assertEquals(120L, duringEvent.getBuyUnitEstimate());
         assertEquals(100L, afterEvent.getBuyUnitEstimate());
     }
 
+    @Test
+    void regeneratedItems_backgroundModeIsReadOnly() {
+        MarketItem item = pressureItem(10L, NOW.minusSeconds(600L));
+        when(marketItemRepository.findAllForMarketRead()).thenReturn(
+            List.of(item)
+        );
+
+        MarketSnapshotStateLoader loader = new MarketSnapshotStateLoader(
+            marketItemRepository,
+            tradePlanner,
+            new MarketDriftService(),
+            clock,
+            MarketStateMaintenanceMode.BACKGROUND
+        );
+        MarketSnapshotStateLoader.MarketSnapshotState snapshotState = loader
+            .regeneratedItems();
+
+        assertEquals(0, snapshotState.regeneratedItemCount());
+        assertEquals(10L, item.getNetPosition());
+        assertNull(loader.nextMarketStateUpdateAt(item));
+        verify(marketItemRepository, never()).findForUpdate(any());
+        verify(marketItemRepository, never()).save(any());
+    }
+
+    @Test
+    void advanceDueMarketState_locksDueItemsInItemIdOrderUpToBatchSize() {
+        MarketItem wheat = pressureItem("wheat", 10L, NOW.minusSeconds(60L));
+        MarketItem carrot = pressureItem("carrot", -10L, NOW.minusSeconds(60L));
+        when(marketItemRepository.findAllMarketStateSchedules()).thenReturn(
+            List.of(
+                schedule(wheat),
+                schedule(pressureItem("potato", 10L, NOW.minusSeconds(30L))),
+                schedule(carrot),
+                schedule(pressureItem("beetroot", 0L, NOW.minusSeconds(60L)))
+            )
+        );
+        when(marketItemRepository.findForUpdate("carrot")).thenReturn(
+            Optional.of(carrot)
+        );
+
+        MarketSnapshotStateLoader.MarketStateAdvance advance = service()
+            .advanceDueMarketState(1);
+
+        assertEquals(1, advance.dueItemCount());
+        assertEquals(1, advance.advancedItemCount());
+        assertEquals(-9L, carrot.getNetPosition());
+        verify(marketItemRepository).save(carrot);
+        verify(marketItemRepository, never()).findForUpdate("wheat");
+        verify(marketItemRepository, never()).findForUpdate("potato");
+    }
+
     private MarketSnapshotStateLoader service() {
         return new MarketSnapshotStateLoader(
             marketItemRepository,
@@ -311,6 +373,35 @@ class MarketSnapshotStateLoaderTest {
         return item;
     }
 
+    private MarketItemRepository.MarketStateSchedule schedule(MarketItem item) {
+        return new MarketItemRepository.MarketStateSchedule() {
+            @Override
+            public String getItemId() {
+                return item.getItemId();
+            }
+
+            @Override
+            public long getNetPosition() {
+                return item.getNetPosition();
+            }
+
+            @Override
+            public Instant getLastUpdatedAt() {
+                return item.getLastUpdatedAt();
+            }
+
+            @Override
+            public long getRegenIntervalSeconds() {
+                return item.getRegenIntervalSeconds();
+            }
+
+            @Override
+            public Instant getDriftEvaluatedAt() {
+                return item.getDriftEvaluatedAt();
+            }
+        };
+    }
+
     private MarketEventInstance categoryEvent(int effectBasisPoints) {
         MarketEventInstance event = new MarketEventInstance();
         event.setId(42L);
@@ -0,0 +1,130 @@
+package io.github.HenriqueMichelini.craftalism.api.market.domain.event;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.github.HenriqueMichelini.craftalism.api.market.application.change.MarketStateChangedEvent;
+import io.github.HenriqueMichelini.craftalism.api.model.MarketEventInstance;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class MarketActiveEventStateTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+    @Mock
+    private MarketEventLifecycleService lifecycleService;
+
+    @Test
+    void activeEvent_queriesOnceUntilAllItemChangeCommits() {
+        MarketEventInstance event = event(
+            NOW.minusSeconds(60L),
+            NOW.plusSeconds(600L)
+        );
+        when(lifecycleService.activeEvents()).thenReturn(List.of(event));
+        MarketActiveEventState state = new MarketActiveEventState(
+            lifecycleService,
+            Clock.fixed(NOW, ZoneOffset.UTC)
+        );
+
+        assertEquals(Optional.of(event), state.activeEvent());
+        assertEquals(Optional.of(event), state.activeEvent());
+        state.onMarketStateChanged(MarketStateChangedEvent.item("wheat"));
+        assertEquals(Optional.of(event), state.activeEvent());
+        verify(lifecycleService, times(1)).activeEvents();
+
+        state.onMarketStateChanged(MarketStateChangedEvent.all());
+        state.activeEvent();
+        verify(lifecycleService, times(2)).activeEvents();
+    }
+
+    @Test
+    void activeEvent_appliesWindowInMemoryAndReloadsAtEachBoundary() {
+        Instant startsAt = NOW.plusSeconds(30L);
+        Instant endsAt = NOW.plusSeconds(60L);
+        MarketEventInstance upcoming = event(startsAt, endsAt);
+        MarketEventInstance elapsed = event(
+            NOW.minusSeconds(600L),
+            NOW.minusSeconds(60L)
+        );
+        when(lifecycleService.activeEvents()).thenReturn(
+            List.of(elapsed, upcoming)
+        );
+        MutableClock clock = new MutableClock(NOW);
+        MarketActiveEventState state = new MarketActiveEventState(
+            lifecycleService,
+            clock
+        );
+
+        assertTrue(state.activeEvent().isEmpty());
+        assertEquals(List.of(elapsed, upcoming), state.scheduledEvents());
+        clock.instant = startsAt;
+        assertEquals(Optional.of(upcoming), state.activeEvent());
+        assertEquals(Optional.of(upcoming), state.activeEvent());
+        clock.instant = endsAt;
+        assertTrue(state.activeEvent().isEmpty());
+
+        verify(lifecycleService, times(3)).activeEvents();
+    }
+
+    @Test
+    void nextBoundary_isStartThenEndThenNone() {
+        MarketEventInstance event = event(NOW, NOW.plusSeconds(60L));
+
+        assertEquals(
+            NOW,
+            MarketActiveEventState.nextBoundary(event, NOW.minusSeconds(1L))
+        );
+        assertEquals(
+            NOW.plusSeconds(60L),
+            MarketActiveEventState.nextBoundary(event, NOW)
+        );
+        assertNull(
+            MarketActiveEventState.nextBoundary(event, NOW.plusSeconds(60L))
+        );
+    }
+
+    private MarketEventInstance event(Instant startedAt, Instant endsAt) {
+        MarketEventInstance event = new MarketEventInstance();
+        event.setId(7L);
+        event.setStartedAt(startedAt);
+        event.setEndsAt(endsAt);
+        return event;
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package io.github.HenriqueMichelini.craftalism.api.market.domain.event;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.github.HenriqueMichelini.craftalism.api.market.domain.event.MarketEventPricingService.EventPricingContext;
+import io.github.HenriqueMichelini.craftalism.api.model.MarketEventInstance;
+import io.github.HenriqueMichelini.craftalism.api.model.MarketEventScope;
+import io.github.HenriqueMichelini.craftalism.api.model.MarketItem;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class MarketEventEffectsTest {
+
+    @Test
+    void pricingContext_multipliesOverlappingEventsThatApplyToItem() {
+        MarketEventEffects effects = MarketEventEffects.of(
+            List.of(
+                event(1L, MarketEventScope.MARKET_WIDE, null, null, 11_000, false),
+                event(2L, MarketEventScope.CATEGORY, "farming", null, 12_000, false),
+                event(3L, MarketEventScope.ITEM_SET, null, "wheat,carrot", 9_000, false),
+                event(4L, MarketEventScope.CATEGORY, "mining", null, 5_000, false)
+            )
+        );
+
+        EventPricingContext wheat = effects.pricingContext(item("wheat", "farming"));
+        EventPricingContext potato = effects.pricingContext(
+            item("potato", "farming")
+        );
+        assertEquals(11_880L, wheat.multiplierBasisPoints());
+        assertEquals(3L, wheat.eventInstanceId());
+        assertEquals(13_200L, potato.multiplierBasisPoints());
+        assertEquals(2L, potato.eventInstanceId());
+        assertNotEquals(wheat.effectVersion(), potato.effectVersion());
+        assertEquals(
+            new EventPricingContext(11_000L, 1L, 1),
+            effects.pricingContext(item("oak_log", "forestry"))
+        );
+    }
+
+    @Test
+    void pricingContext_effectVersionTracksWhichEventVersionsAreStacked() {
+        EventPricingContext stacked = wheatContext(
+            versioned(event(1L, MarketEventScope.MARKET_WIDE, null, null, 11_000, false), 3),
+            versioned(event(2L, MarketEventScope.CATEGORY, "farming", null, 11_000, false), 1)
+        );
+        EventPricingContext swapped = wheatContext(
+            versioned(event(1L, MarketEventScope.MARKET_WIDE, null, null, 11_000, false), 1),
+            versioned(event(2L, MarketEventScope.CATEGORY, "farming", null, 11_000, false), 3)
+        );
+        EventPricingContext secondOnly = wheatContext(
+            versioned(event(2L, MarketEventScope.CATEGORY, "farming", null, 11_000, false), 4)
+        );
+
+        assertEquals(stacked.eventInstanceId(), swapped.eventInstanceId());
+        assertNotEquals(stacked.effectVersion(), swapped.effectVersion());
+        assertEquals(stacked.eventInstanceId(), secondOnly.eventInstanceId());
+        assertEquals(4, secondOnly.effectVersion());
+        assertNotEquals(stacked.effectVersion(), secondOnly.effectVersion());
+        assertEquals(
+            stacked,
+            wheatContext(
+                versioned(event(2L, MarketEventScope.CATEGORY, "farming", null, 11_000, false), 1),
+                versioned(event(1L, MarketEventScope.MARKET_WIDE, null, null, 11_000, false), 3)
+            )
+        );
+    }
+
+    @Test
+    void none_isNeutralAndBlocksNothing() {
+        MarketEventEffects effects = MarketEventEffects.of(List.of());
+
+        assertEquals(
+            new EventPricingContext(10_000L, null, null),
+            effects.pricingContext(item("wheat", "farming"))
+        );
+        assertFalse(effects.blocksItem("wheat"));
+    }
+
+    @Test
+    void blocksItem_onlyForBlockingSingleItemEvents() {
+        MarketEventEffects effects = MarketEventEffects.of(
+            List.of(
+                event(1L, MarketEventScope.ITEM, null, "wheat", 10_000, true),
+                event(2L, MarketEventScope.ITEM_SET, null, "carrot", 10_000, true),
+                event(3L, MarketEventScope.ITEM, null, "potato", 10_000, false)
+            )
+        );
+
+        assertTrue(effects.blocksItem("wheat"));
+        assertFalse(effects.blocksItem("carrot"));
+        assertFalse(effects.blocksItem("potato"));
+    }
+
+    private EventPricingContext wheatContext(MarketEventInstance... events) {
+        return MarketEventEffects.of(List.of(events)).pricingContext(
+            item("wheat", "farming")
+        );
+    }
+
+    private MarketEventInstance versioned(MarketEventInstance event, int effectVersion) {
+        event.setEffectVersion(effectVersion);
+        return event;
+    }
+
+    private MarketEventInstance event(
+        long id,
+        MarketEventScope scope,
+        String categoryId,
+        String itemIds,
+        int effectBasisPoints,
+        boolean blocking
+    ) {
+        MarketEventInstance event = new MarketEventInstance();
+        event.setId(id);
+        event.setScope(scope);
+        event.setSelectedCategoryId(categoryId);
+        event.setSelectedItemIds(itemIds);
+        event.setEffectBasisPoints(effectBasisPoints);
+        event.setEffectVersion(1);
+        event.setBlocking(blocking);
+        return event;
+    }
+
+    private MarketItem item(String itemId, String categoryId) {
+        MarketItem item = new MarketItem();
+        item.setItemId(itemId);
+        item.setCategoryId(categoryId);
+        return item;
+    }
+}
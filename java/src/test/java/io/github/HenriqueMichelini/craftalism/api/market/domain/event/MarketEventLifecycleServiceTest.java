@@ -38,7 +38,7 @@ class MarketEventLifecycleServiceTest {
         MarketEventInstance started = service.start(event);
 
         assertEquals(MarketEventStatus.ACTIVE, started.getStatus());
-        assertEquals("GLOBAL", started.getActiveSlot());
+        assertEquals("template", started.getActiveSlot());
         verify(eventRepository).saveAndFlush(event);
     }
 
@@ -59,15 +59,28 @@ class MarketEventLifecycleServiceTest {
     }
 
     @Test
-    void effectiveActiveEventDelegatesToStatusAndWallClockQuery() {
+    void effectiveActiveEventsDelegatesToStatusAndWallClockQuery() {
         Instant now = Instant.parse("2026-01-01T00:30:00Z");
         MarketEventLifecycleService service = new MarketEventLifecycleService(
             eventRepository
         );
 
-        service.effectiveActiveEvent(now);
+        service.effectiveActiveEvents(now);
 
-        verify(eventRepository).findEffectiveActive(now);
+        verify(eventRepository).findAllEffectiveActive(now);
+    }
+
+    @Test
+    void activeEventsDelegatesToStatusOnlyQuery() {
+        MarketEventLifecycleService service = new MarketEventLifecycleService(
+            eventRepository
+        );
+
+        service.activeEvents();
+
+        verify(eventRepository).findByStatusOrderByStartedAtAscIdAsc(
+            MarketEventStatus.ACTIVE
+        );
     }
 
     @Test
@@ -0,0 +1,50 @@
+package io.github.HenriqueMichelini.craftalism.api.market.domain.event;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.github.HenriqueMichelini.craftalism.api.model.MarketEventInstance;
+import io.github.HenriqueMichelini.craftalism.api.model.MarketEventScope;
+import io.github.HenriqueMichelini.craftalism.api.model.MarketItem;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class MarketEventTargetsTest {
+
+    @Test
+    void of_parsesSelectedItemIdsOnce() {
+        MarketEventInstance event = new MarketEventInstance();
+        event.setScope(MarketEventScope.ITEM_SET);
+        event.setSelectedItemIds(" wheat, carrot ,,potato ");
+
+        MarketEventTargets targets = MarketEventTargets.of(event);
+
+        assertEquals(Set.of("wheat", "carrot", "potato"), targets.itemIds());
+        assertTrue(targets.targets(item("carrot", "farming")));
+        assertFalse(targets.targets(item("iron_ingot", "mining")));
+    }
+
+    @Test
+    void targets_matchesCategoryAndMarketWideScopes() {
+        MarketEventInstance event = new MarketEventInstance();
+        event.setScope(MarketEventScope.CATEGORY);
+        event.setSelectedCategoryId("farming");
+
+        MarketEventTargets category = MarketEventTargets.of(event);
+        event.setScope(MarketEventScope.MARKET_WIDE);
+        MarketEventTargets marketWide = MarketEventTargets.of(event);
+
+        assertTrue(category.targets(item("wheat", "farming")));
+        assertFalse(category.targets(item("iron_ingot", "mining")));
+        assertTrue(category.itemIds().isEmpty());
+        assertTrue(marketWide.targets(item("iron_ingot", "mining")));
+    }
+
+    private MarketItem item(String itemId, String categoryId) {
+        MarketItem item = new MarketItem();
+        item.setItemId(itemId);
+        item.setCategoryId(categoryId);
+        return item;
+    }
+}
@@ -0,0 +1,104 @@
+package io.github.HenriqueMichelini.craftalism.api.market.domain.pricing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+class MarketFixedPointMathTest {
+
+    @ParameterizedTest
+    @CsvSource({
+        "115, 7000, 10000, 81",
+        "5, 5000, 10000, 3",
+        "-5, 5000, 10000, -3",
+        "5, -5000, 10000, -3",
+        "-5, -5000, 10000, 3",
+        "15, 1, -10, -2",
+        "149, 1, 100, 1",
+        "150, 1, 100, 2",
+        "0, 9400, 10000, 0",
+    })
+    void multiplyDivideHalfUp_roundsHalfAwayFromZero(
+        long value,
+        long multiplier,
+        long divisor,
+        long expected
+    ) {
+        assertEquals(
+            expected,
+            MarketFixedPointMath.multiplyDivideHalfUp(value, multiplier, divisor)
+        );
+    }
+
+    @Test
+    void multiplyDivideHalfUp_matchesBigDecimalForRandomOperands() {
+        Random random = new Random(0xB16_DEC1L);
+
+        for (int iteration = 0; iteration < 100_000; iteration++) {
+            long value = randomOperand(random);
+            long multiplier = randomOperand(random);
+            long divisor = randomOperand(random);
+            if (divisor == 0L) {
+                continue;
+            }
+            BigDecimal exact = BigDecimal
+                .valueOf(value)
+                .multiply(BigDecimal.valueOf(multiplier))
+                .divide(BigDecimal.valueOf(divisor), 0, RoundingMode.HALF_UP);
+            if (exact.unscaledValue().bitLength() >= Long.SIZE) {
+                assertThrows(
+                    ArithmeticException.class,
+                    () -> MarketFixedPointMath.multiplyDivideHalfUp(
+                        value,
+                        multiplier,
+                        divisor
+                    )
+                );
+                continue;
+            }
+            assertEquals(
+                exact.longValueExact(),
+                MarketFixedPointMath.multiplyDivideHalfUp(
+                    value,
+                    multiplier,
+                    divisor
+                ),
+                value + " * " + multiplier + " / " + divisor
+            );
+        }
+    }
+
+    @Test
+    void multiplyDivideHalfUp_rejectsZeroDivisor() {
+        assertThrows(
+            ArithmeticException.class,
+            () -> MarketFixedPointMath.multiplyDivideHalfUp(1L, 1L, 0L)
+        );
+    }
+
+    @Test
+    void decimalDenominator_coversLongPowersOfTen() {
+        assertEquals(10_000L, MarketFixedPointMath.decimalDenominator(4));
+        assertEquals(
+            1_000_000_000_000_000_000L,
+            MarketFixedPointMath.decimalDenominator(18)
+        );
+        assertEquals(0L, MarketFixedPointMath.decimalDenominator(19));
+        assertEquals(0L, MarketFixedPointMath.decimalDenominator(-1));
+    }
+
+    private long randomOperand(Random random) {
+        return switch (random.nextInt(4)) {
+            case 0 -> random.nextInt(20_001) - 10_000L;
+            case 1 -> random.nextInt();
+            case 2 -> random.nextLong() >> random.nextInt(64);
+            default -> random.nextLong();
+        };
+    }
+}
@@ -0,0 +1,213 @@
+package io.github.HenriqueMichelini.craftalism.api.market.domain.pricing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.github.HenriqueMichelini.craftalism.api.model.MarketItem;
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.function.LongSupplier;
+import org.junit.jupiter.api.Test;
+
+class MarketPriceLadderTest {
+
+    private static final long SEED = 0x5EED_1ADDE2L;
+
+    private final MarketPressurePricing pressurePricing =
+        new MarketPressurePricing();
+    private final MarketPricingPipeline pricingPipeline =
+        new MarketPricingPipeline(pressurePricing);
+    private final MarketPriceLadder ladder = new MarketPriceLadder(
+        pressurePricing,
+        pricingPipeline
+    );
+
+    @Test
+    void totalPrice_matchesIterativeLadderWalkForRandomTrades() {
+        Random random = new Random(SEED);
+
+        for (int iteration = 0; iteration < 5_000; iteration++) {
+            MarketItem item = randomItem(random, "item-" + random.nextInt(8));
+            MarketPricingPipeline.PricingContext context =
+                new MarketPricingPipeline.PricingContext(
+                    9_000L + random.nextInt(2_001),
+                    random.nextBoolean()
+                        ? 10_000L
+                        : 5_000L + random.nextInt(15_001)
+                );
+            long startPosition = randomPosition(random, item);
+            long quantity = 1L + (long) (
+                Math.pow(random.nextDouble(), 3.0D) * 200_000L
+            );
+            boolean buy = random.nextBoolean();
+
+            assertSameOutcome(
+                () -> ladder.iterativeTotalPrice(
+                    item,
+                    startPosition,
+                    quantity,
+                    buy,
+                    context
+                ),
+                () -> buy
+                    ? ladder.buyTotalPrice(
+                        item,
+                        startPosition,
+                        quantity,
+                        context
+                    )
+                    : ladder.sellTotalPrice(
+                        item,
+                        startPosition,
+                        quantity,
+                        context
+                    ),
+                "iteration " + iteration
+            );
+        }
+    }
+
+    @Test
+    void totalPrice_pricesSaturatedTailPastCachedSegments() {
+        MarketItem item = item("wheat", 100L, 50L, 300L, 1L, "0.0005");
+        MarketPricingPipeline.PricingContext context =
+            MarketPricingPipeline.PricingContext.neutral();
+        long quantity = MarketPriceLadder.MAX_CACHED_SEGMENTS * 40L;
+
+        assertEquals(
+            ladder.iterativeTotalPrice(item, -7L, quantity, true, context),
+            ladder.buyTotalPrice(item, -7L, quantity, context)
+        );
+        assertEquals(
+            ladder.iterativeTotalPrice(item, 7L, quantity, false, context),
+            ladder.sellTotalPrice(item, 7L, quantity, context)
+        );
+    }
+
+    @Test
+    void totalPrice_rejectsSellPricesOnlyWhenTradedSegmentsFail() {
+        MarketItem item = item("wheat", 1L, 1L, 300L, 10L, "0.0005");
+        item.setSellPricePercentage(new BigDecimal("0.5000"));
+        MarketPricingPipeline.PricingContext context =
+            MarketPricingPipeline.PricingContext.neutral();
+
+        assertEquals(
+            ladder.iterativeTotalPrice(item, 5_000L, 200L, false, context),
+            ladder.sellTotalPrice(item, 5_000L, 200L, context)
+        );
+        assertThrows(
+            IllegalStateException.class,
+            () -> ladder.sellTotalPrice(item, 50L, 60L, context)
+        );
+        assertEquals(
+            ladder.iterativeTotalPrice(item, 3_000L, 500L, false, context),
+            ladder.sellTotalPrice(item, 3_000L, 500L, context)
+        );
+    }
+
+    @Test
+    void totalPrice_rejectsOverflowLikeIterativeWalk() {
+        MarketItem item = item(
+            "wheat",
+            Long.MAX_VALUE / 4L,
+            1L,
+            Long.MAX_VALUE / 2L,
+            1L,
+            "0.0800"
+        );
+        MarketPricingPipeline.PricingContext context =
+            MarketPricingPipeline.PricingContext.neutral();
+
+        assertThrows(
+            ArithmeticException.class,
+            () -> ladder.buyTotalPrice(item, 0L, 10L, context)
+        );
+    }
+
+    @Test
+    void totalPrice_rebuildsLadderWhenPricingConfigurationChanges() {
+        MarketItem item = item("wheat", 100L, 50L, 300L, 50L, "0.0800");
+        MarketPricingPipeline.PricingContext context =
+            MarketPricingPipeline.PricingContext.neutral();
+        long before = ladder.buyTotalPrice(item, 0L, 5_000L, context);
+
+        item.setMaxUnitPrice(400L);
+
+        long after = ladder.buyTotalPrice(item, 0L, 5_000L, context);
+        assertEquals(
+            ladder.iterativeTotalPrice(item, 0L, 5_000L, true, context),
+            after
+        );
+        assertEquals(true, after > before);
+    }
+
+    private void assertSameOutcome(
+        LongSupplier expected,
+        LongSupplier actual,
+        String message
+    ) {
+        Long expectedValue;
+        Class<? extends RuntimeException> expectedFailure = null;
+        try {
+            expectedValue = expected.getAsLong();
+        } catch (RuntimeException exception) {
+            expectedValue = null;
+            expectedFailure = exception.getClass();
+        }
+        if (expectedFailure != null) {
+            assertThrows(expectedFailure, actual::getAsLong, message);
+            return;
+        }
+        assertEquals(expectedValue, actual.getAsLong(), message);
+    }
+
+    private MarketItem randomItem(Random random, String itemId) {
+        long minUnitPrice = 1L + random.nextInt(200);
+        long baseUnitPrice = minUnitPrice + 1L + random.nextInt(1_000);
+        long maxUnitPrice = baseUnitPrice + 1L + random.nextInt(5_000);
+        long segmentSize = 1L + random.nextInt(random.nextBoolean() ? 8 : 200);
+        String sensitivity = switch (random.nextInt(4)) {
+            case 0 -> "0.0005";
+            case 1 -> "0.0100";
+            case 2 -> "0.0800";
+            default -> "0.5000";
+        };
+        MarketItem item = item(
+            itemId,
+            baseUnitPrice,
+            minUnitPrice,
+            maxUnitPrice,
+            segmentSize,
+            sensitivity
+        );
+        item.setSellPricePercentage(
+            new BigDecimal(random.nextBoolean() ? "0.7000" : "0.9500")
+        );
+        return item;
+    }
+
+    private long randomPosition(Random random, MarketItem item) {
+        long spread =
+            item.getSegmentSize() * (random.nextBoolean() ? 20L : 3_000L);
+        return (long) ((random.nextDouble() * 2.0D - 1.0D) * spread);
+    }
+
+    private MarketItem item(
+        String itemId,
+        long baseUnitPrice,
+        long minUnitPrice,
+        long maxUnitPrice,
+        long segmentSize,
+        String priceSensitivity
+    ) {
+        MarketItem item = new MarketItem();
+        item.setItemId(itemId);
+        item.setBaseUnitPrice(baseUnitPrice);
+        item.setMinUnitPrice(minUnitPrice);
+        item.setMaxUnitPrice(maxUnitPrice);
+        item.setSegmentSize(segmentSize);
+        item.setPriceSensitivity(new BigDecimal(priceSensitivity));
+        item.setSellPricePercentage(new BigDecimal("0.7000"));
+        return item;
+    }
+}
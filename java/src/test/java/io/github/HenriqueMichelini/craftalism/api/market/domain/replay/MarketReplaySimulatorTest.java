@@ -0,0 +1,197 @@
+package io.github.HenriqueMichelini.craftalism.api.market.domain.replay;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.github.HenriqueMichelini.craftalism.api.dto.MarketReplayItemReportDTO;
+import io.github.HenriqueMichelini.craftalism.api.dto.MarketReplayPricePointDTO;
+import io.github.HenriqueMichelini.craftalism.api.dto.MarketReplayReportDTO;
+import io.github.HenriqueMichelini.craftalism.api.dto.MarketSide;
+import io.github.HenriqueMichelini.craftalism.api.market.domain.trade.MarketTradePlanner;
+import io.github.HenriqueMichelini.craftalism.api.model.MarketItem;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+
+class MarketReplaySimulatorTest {
+
+    private static final Instant START = Instant.parse("2026-04-12T00:00:00Z");
+    private static final Instant END = Instant.parse("2026-04-13T00:00:00Z");
+
+    private long nextTradeId = 1L;
+
+    @Test
+    void replay_reportsHistoricalAndRepricedMoneyPerSide() {
+        MarketReplaySimulator simulator = simulator(4, item("wheat"));
+
+        simulator.apply(
+            List.of(
+                trade("wheat", MarketSide.BUY, 10L, 900L, 1L),
+                trade("wheat", MarketSide.SELL, 5L, 400L, 2L)
+            )
+        );
+        MarketReplayReportDTO report = simulator.report(END);
+
+        MarketTradePlanner planner = new MarketTradePlanner();
+        MarketItem expected = item("wheat");
+        long buyTotal = planner.buyPlan(expected, 10L).totalPrice();
+        expected.setNetPosition(10L);
+        long sellTotal = planner.sellPlan(expected, 5L).totalPrice();
+        assertEquals(2L, report.tradeCount());
+        assertEquals(900L, report.historicalMoneyDestroyed());
+        assertEquals(400L, report.historicalMoneyCreated());
+        assertEquals(buyTotal, report.replayedMoneyDestroyed());
+        assertEquals(sellTotal, report.replayedMoneyCreated());
+        assertEquals(5L, report.items().get(0).finalNetPosition());
+    }
+
+    @Test
+    void replay_rejectsTradesBeyondCandidateNetPositionLimit() {
+        MarketItem wheat = item("wheat");
+        wheat.setMaxNetPosition(5L);
+        MarketReplaySimulator simulator = simulator(4, wheat);
+
+        simulator.apply(
+            List.of(
+                trade("wheat", MarketSide.BUY, 10L, 1_000L, 1L),
+                trade("wheat", MarketSide.BUY, 5L, 500L, 2L)
+            )
+        );
+        MarketReplayReportDTO report = simulator.report(END);
+
+        assertEquals(2L, report.tradeCount());
+        assertEquals(1L, report.rejectedTradeCount());
+        assertEquals(1_500L, report.historicalMoneyDestroyed());
+        assertEquals(5L, report.items().get(0).finalNetPosition());
+    }
+
+    @Test
+    void replay_skipsTradesForItemsWithoutCandidate() {
+        MarketReplaySimulator simulator = simulator(4, item("wheat"));
+
+        simulator.apply(
+            List.of(
+                trade("retired", MarketSide.BUY, 1L, 100L, 1L),
+                trade("wheat", MarketSide.BUY, 1L, 100L, 2L)
+            )
+        );
+        MarketReplayReportDTO report = simulator.report(END);
+
+        assertEquals(1L, report.tradeCount());
+        assertEquals(1L, report.skippedTradeCount());
+        assertEquals(
+            List.of("wheat"),
+            report.items().stream().map(MarketReplayItemReportDTO::itemId).toList()
+        );
+    }
+
+    @Test
+    void replay_regeneratesPressureBetweenTrades() {
+        MarketReplaySimulator simulator = simulator(4, item("wheat"));
+
+        simulator.apply(List.of(trade("wheat", MarketSide.BUY, 10L, 1_000L, 1L)));
+        simulator.apply(List.of(trade("wheat", MarketSide.SELL, 1L, 90L, 601L)));
+        MarketReplayReportDTO report = simulator.report(END);
+
+        assertEquals(-1L, report.items().get(0).finalNetPosition());
+    }
+
+    @Test
+    void replay_countsCeilingAndFloorHits() {
+        MarketReplaySimulator simulator = simulator(4, item("wheat"));
+
+        simulator.apply(
+            List.of(
+                trade("wheat", MarketSide.BUY, 50_000L, 1L, 1L),
+                trade("wheat", MarketSide.SELL, 100_000L, 1L, 2L)
+            )
+        );
+        MarketReplayReportDTO report = simulator.report(END);
+
+        assertEquals(1L, report.priceCeilingHits());
+        assertEquals(1L, report.priceFloorHits());
+    }
+
+    @Test
+    void replay_keepsBoundedOrderedPricePathAcrossChunks() {
+        MarketReplaySimulator simulator = simulator(
+            4,
+            item("wheat"),
+            item("carrot")
+        );
+
+        for (int chunk = 0; chunk < 5; chunk++) {
+            List<MarketReplayTrade> trades = new ArrayList<>();
+            for (int index = 0; index < 4; index++) {
+                long second = chunk * 4L + index + 1L;
+                trades.add(trade("wheat", MarketSide.BUY, 1L, 100L, second));
+                trades.add(trade("carrot", MarketSide.SELL, 1L, 90L, second));
+            }
+            simulator.apply(trades);
+        }
+        MarketReplayReportDTO report = simulator.report(END);
+
+        assertEquals(40L, report.tradeCount());
+        for (MarketReplayItemReportDTO item : report.items()) {
+            List<MarketReplayPricePointDTO> path = item.pricePath();
+            assertTrue(path.size() <= 5);
+            assertEquals(START, path.get(0).at());
+            assertEquals(START.plusSeconds(20L), path.get(path.size() - 1).at());
+            for (int index = 1; index < path.size(); index++) {
+                assertFalse(path.get(index).at().isBefore(path.get(index - 1).at()));
+            }
+        }
+        assertEquals(20L, report.items().get(1).finalNetPosition());
+        assertEquals(-20L, report.items().get(0).finalNetPosition());
+    }
+
+    private MarketReplaySimulator simulator(
+        int maxPricePathPoints,
+        MarketItem... candidates
+    ) {
+        return new MarketReplaySimulator(
+            List.of(candidates),
+            START,
+            maxPricePathPoints,
+            ForkJoinPool.commonPool()
+        );
+    }
+
+    private MarketReplayTrade trade(
+        String itemId,
+        MarketSide side,
+        long quantity,
+        long totalPrice,
+        long secondsAfterStart
+    ) {
+        return new MarketReplayTrade(
+            nextTradeId++,
+            itemId,
+            side,
+            quantity,
+            totalPrice,
+            START.plusSeconds(secondsAfterStart)
+        );
+    }
+
+    private MarketItem item(String itemId) {
+        MarketItem item = new MarketItem();
+        item.setItemId(itemId);
+        item.setCategoryId("farming");
+        item.setCurrency("coins");
+        item.setBaseUnitPrice(100L);
+        item.setMinUnitPrice(50L);
+        item.setMaxUnitPrice(300L);
+        item.setSegmentSize(50L);
+        item.setPriceSensitivity(new BigDecimal("0.0800"));
+        item.setBaseRegenQuantity(1L);
+        item.setRegenIntervalSeconds(60L);
+        item.setLastUpdatedAt(START);
+        item.setDriftEvaluatedAt(START);
+        return item;
+    }
+}
@@ -2,12 +2,13 @@ package io.github.HenriqueMichelini.craftalism.api.market.domain.snapshot;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
-import static org.mockito.ArgumentMatchers.any;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 import io.github.HenriqueMichelini.craftalism.api.dto.MarketActiveEventContextDTO;
 import io.github.HenriqueMichelini.craftalism.api.dto.MarketSnapshotItemDTO;
+import io.github.HenriqueMichelini.craftalism.api.market.domain.event.MarketActiveEventState;
 import io.github.HenriqueMichelini.craftalism.api.market.domain.event.MarketEventLifecycleService;
 import io.github.HenriqueMichelini.craftalism.api.market.domain.event.MarketEventPricingService;
 import io.github.HenriqueMichelini.craftalism.api.market.domain.trade.MarketTradePlanner;
@@ -19,9 +20,11 @@ import io.github.HenriqueMichelini.craftalism.api.model.MarketEventStatus;
 import io.github.HenriqueMichelini.craftalism.api.model.MarketItem;
 import io.github.HenriqueMichelini.craftalism.api.repository.MarketEventInstanceRepository;
 import java.math.BigDecimal;
+import java.time.Clock;
 import java.time.Instant;
+import java.time.ZoneOffset;
 import java.util.List;
-import java.util.Optional;
+import java.util.Set;
 import java.util.function.Consumer;
 import org.junit.jupiter.api.Test;
 
@@ -133,6 +136,50 @@ class MarketSnapshotProjectorTest {
         assertEquals(baseline, snapshotVersion(item));
     }
 
+    @Test
+    void snapshotVersion_changesWhenDisplayedPresentationChanges() {
+        MarketItem item = item("wheat", "farming", "Farming", "Wheat");
+        String baseline = snapshotVersion(item);
+
+        item.getCategory().setDisplayName("Crops");
+        String renamedCategory = snapshotVersion(item);
+        item.getCategory().setIconKey("HAY_BLOCK");
+        String categoryIcon = snapshotVersion(item);
+        item.getCategory().setDisplayOrder(7);
+        String categoryOrder = snapshotVersion(item);
+        item.setDisplayName("Golden Wheat");
+        String itemName = snapshotVersion(item);
+
+        assertEquals(
+            5,
+            Set.of(baseline, renamedCategory, categoryIcon, categoryOrder, itemName)
+                .size()
+        );
+    }
+
+    @Test
+    void snapshotVersion_matchesFreshProjectorAfterMemoizedFingerprintChanges() {
+        MarketItem item = pressureItem();
+        String baseline = snapshotVersion(item);
+
+        item.setNetPosition(40L);
+        String traded = snapshotVersion(item);
+        item.setNetPosition(0L);
+
+        MarketSnapshotProjector freshProjector = new MarketSnapshotProjector(
+            new MarketTradePlanner()
+        );
+
+        assertNotEquals(baseline, traded);
+        assertEquals(baseline, snapshotVersion(item));
+        assertEquals(
+            freshProjector.snapshotVersion(
+                freshProjector.projections(List.of(item))
+            ),
+            snapshotVersion(item)
+        );
+    }
+
     @Test
     void snapshotVersion_changesWhenPublicActiveEventContextChanges() {
         List<MarketSnapshotProjector.MarketSnapshotProjection> projections =
@@ -165,6 +212,56 @@ class MarketSnapshotProjectorTest {
         assertNotEquals(baseline, withEvent);
     }
 
+    @Test
+    void snapshotVersion_doesNotDependOnItemOrder() {
+        List<MarketSnapshotProjector.MarketSnapshotProjection> projections =
+            projector.projections(
+                List.of(
+                    item("wheat", "farming", "Farming", "Wheat"),
+                    item("diamond", "minerals", "Minerals", "Diamond")
+                )
+            );
+
+        assertEquals(
+            projector.snapshotVersion(projections),
+            projector.snapshotVersion(List.of(projections.get(1), projections.get(0)))
+        );
+    }
+
+    @Test
+    void snapshotVersion_incrementalReplacementMatchesFullRecomputation() {
+        MarketItem wheat = item("wheat", "farming", "Farming", "Wheat");
+        MarketItem diamond = item("diamond", "minerals", "Minerals", "Diamond");
+        List<MarketSnapshotProjector.MarketSnapshotProjection> before =
+            projector.projections(List.of(wheat, diamond));
+        MarketSnapshotProjector.MarketSnapshotProjection previousWheat = before
+            .stream()
+            .filter(projection -> projection.itemId().equals("wheat"))
+            .findFirst()
+            .orElseThrow();
+
+        wheat.setNetPosition(75L);
+        MarketSnapshotProjector.MarketSnapshotProjection tradedWheat = projector
+            .projections(List.of(wheat))
+            .get(0);
+        long digest =
+            projector.catalogDigest(before) -
+            previousWheat.fingerprint() +
+            tradedWheat.fingerprint();
+
+        assertEquals(
+            projector.snapshotVersion(projector.projections(List.of(wheat, diamond))),
+            projector.snapshotVersion(digest, 2, null)
+        );
+    }
+
+    @Test
+    void snapshotVersion_keepsMarketPrefixAndSixteenHexDigits() {
+        assertTrue(
+            snapshotVersion(pressureItem()).matches("market:[0-9a-f]{16}")
+        );
+    }
+
     @Test
     void response_ordersCategoriesByMarketCatalogOrder() {
         List<MarketSnapshotProjector.MarketSnapshotProjection> projections =
@@ -406,12 +503,19 @@ class MarketSnapshotProjectorTest {
         MarketEventInstanceRepository repository = mock(
             MarketEventInstanceRepository.class
         );
-        when(repository.findEffectiveActive(any())).thenReturn(
-            Optional.of(event)
+        when(
+            repository.findByStatusOrderByStartedAtAscIdAsc(
+                MarketEventStatus.ACTIVE
+            )
+        ).thenReturn(
+            List.of(event)
         );
         MarketEventPricingService pricingService =
             new MarketEventPricingService(
-                new MarketEventLifecycleService(repository)
+                new MarketActiveEventState(
+                    new MarketEventLifecycleService(repository),
+                    Clock.fixed(Instant.parse("2026-04-12T18:30:00Z"), ZoneOffset.UTC)
+                )
             );
         return new MarketSnapshotProjector(
             new MarketTradePlanner(pricingService)
@@ -2,10 +2,10 @@ package io.github.HenriqueMichelini.craftalism.api.market.domain.trade;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
-import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import io.github.HenriqueMichelini.craftalism.api.market.domain.event.MarketActiveEventState;
 import io.github.HenriqueMichelini.craftalism.api.market.domain.event.MarketEventLifecycleService;
 import io.github.HenriqueMichelini.craftalism.api.market.domain.event.MarketEventPricingService;
 import io.github.HenriqueMichelini.craftalism.api.market.domain.pricing.MarketPressurePricing;
@@ -18,8 +18,10 @@ import io.github.HenriqueMichelini.craftalism.api.model.MarketItem;
 import io.github.HenriqueMichelini.craftalism.api.repository.MarketEventInstanceRepository;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.Clock;
 import java.time.Instant;
-import java.util.Optional;
+import java.time.ZoneOffset;
+import java.util.List;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
@@ -208,6 +210,29 @@ class MarketTradePlannerTest {
         );
     }
 
+    @Test
+    void buyAndSellPlans_leaveDerivedProjectionsUntouched() {
+        MarketItem item = pressureItem(50L);
+        item.setBuyUnitEstimate(999L);
+        item.setSellUnitEstimate(888L);
+        item.setCurrentStock(777L);
+        item.setMarketMomentum(666L);
+        item.setVariationPercent(new BigDecimal("99.99"));
+
+        planner.buyPlan(item, 10L);
+        planner.sellPlan(item, 10L);
+
+        assertEquals(50L, item.getNetPosition());
+        assertEquals(999L, item.getBuyUnitEstimate());
+        assertEquals(888L, item.getSellUnitEstimate());
+        assertEquals(777L, item.getCurrentStock());
+        assertEquals(666L, item.getMarketMomentum());
+        assertEquals(
+            0,
+            new BigDecimal("99.99").compareTo(item.getVariationPercent())
+        );
+    }
+
     @Test
     void recomputeDerivedProjections_usesPressureState() {
         MarketItem item = pressureItem(50L);
@@ -390,11 +415,18 @@ class MarketTradePlannerTest {
         MarketEventInstanceRepository repository = mock(
             MarketEventInstanceRepository.class
         );
-        when(repository.findEffectiveActive(any())).thenReturn(
-            Optional.of(event)
+        when(
+            repository.findByStatusOrderByStartedAtAscIdAsc(
+                MarketEventStatus.ACTIVE
+            )
+        ).thenReturn(
+            List.of(event)
         );
         return new MarketEventPricingService(
-            new MarketEventLifecycleService(repository)
+            new MarketActiveEventState(
+                new MarketEventLifecycleService(repository),
+                Clock.fixed(Instant.parse("2026-04-12T18:30:00Z"), ZoneOffset.UTC)
+            )
         );
     }
 
@@ -0,0 +1,50 @@
+package io.github.HenriqueMichelini.craftalism.api.market.infrastructure.configuration;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+class MarketServiceConfigurationTest {
+
+    @Test
+    void tradeCombiningRequiresBackgroundStateMaintenance() {
+        IllegalStateException exception = assertThrows(
+            IllegalStateException.class,
+            () ->
+                MarketServiceConfiguration.requireBackgroundStateMaintenance(
+                    "craftalism.market.trade-combining.enabled=true",
+                    "lazy"
+                )
+        );
+
+        assertEquals(
+            "craftalism.market.trade-combining.enabled=true requires craftalism.market.state-maintenance.mode=background.",
+            exception.getMessage()
+        );
+        assertDoesNotThrow(() ->
+            MarketServiceConfiguration.requireBackgroundStateMaintenance(
+                "craftalism.market.trade-combining.enabled=true",
+                "background"
+            )
+        );
+    }
+
+    @Test
+    void optimisticItemConcurrencyRequiresBackgroundStateMaintenance() {
+        IllegalStateException exception = assertThrows(
+            IllegalStateException.class,
+            () ->
+                MarketServiceConfiguration.requireBackgroundStateMaintenance(
+                    "craftalism.market.item-concurrency.mode=optimistic",
+                    null
+                )
+        );
+
+        assertEquals(
+            "craftalism.market.item-concurrency.mode=optimistic requires craftalism.market.state-maintenance.mode=background.",
+            exception.getMessage()
+        );
+    }
+}
@@ -0,0 +1,101 @@
+package io.github.HenriqueMichelini.craftalism.api.market.infrastructure.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.github.HenriqueMichelini.craftalism.api.dto.MarketSide;
+import io.github.HenriqueMichelini.craftalism.api.exceptions.MarketRejectionCode;
+import io.github.HenriqueMichelini.craftalism.api.exceptions.MarketRejectionException;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class MarketMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final MarketMetrics metrics = new MarketMetrics(registry, 0.0);
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void timeRequest_tagsOutcomeWithRejectionCode() {
+        metrics.timeRequest("quote", "BUY", () -> "quoted");
+        assertThrows(MarketRejectionException.class, () ->
+            metrics.timeRequest("quote", "BUY", () -> {
+                throw new MarketRejectionException(
+                    MarketRejectionCode.STALE_QUOTE,
+                    "Quote is no longer valid.",
+                    HttpStatus.CONFLICT,
+                    "market:current"
+                );
+            })
+        );
+
+        assertEquals(1L, requestTimer("quote", "BUY", "SUCCESS").count());
+        assertEquals(1L, requestTimer("quote", "BUY", "STALE_QUOTE").count());
+    }
+
+    @Test
+    void timeRequest_insideTransaction_recordsAtCompletionWithCommitPhase() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        metrics.timeRequest("execute", "SELL", () -> "executed");
+
+        assertNull(
+            registry
+                .find("craftalism.market.request")
+                .tag("operation", "execute")
+                .timer()
+        );
+        List<TransactionSynchronization> synchronizations =
+            TransactionSynchronizationManager.getSynchronizations();
+        for (TransactionSynchronization synchronization : synchronizations) {
+            synchronization.beforeCommit(false);
+        }
+        for (TransactionSynchronization synchronization : synchronizations) {
+            synchronization.afterCompletion(
+                TransactionSynchronization.STATUS_COMMITTED
+            );
+        }
+
+        assertEquals(1L, requestTimer("execute", "SELL", "SUCCESS").count());
+        assertEquals(
+            1L,
+            registry
+                .get("craftalism.market.phase")
+                .tags("phase", "commit", "side", "SELL")
+                .timer()
+                .count()
+        );
+    }
+
+    @Test
+    void side_isMixedWhenLinesDisagree() {
+        assertEquals(
+            "BUY",
+            MarketMetrics.side(List.of(MarketSide.BUY, MarketSide.BUY), side -> side)
+        );
+        assertEquals(
+            MarketMetrics.SIDE_MIXED,
+            MarketMetrics.side(List.of(MarketSide.BUY, MarketSide.SELL), side -> side)
+        );
+    }
+
+    private Timer requestTimer(String operation, String side, String outcome) {
+        return registry
+            .get("craftalism.market.request")
+            .tags("operation", operation, "side", side, "outcome", outcome)
+            .timer();
+    }
+}
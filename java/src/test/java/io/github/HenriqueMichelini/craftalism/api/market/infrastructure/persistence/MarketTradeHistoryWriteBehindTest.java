@@ -0,0 +1,155 @@
+package io.github.HenriqueMichelini.craftalism.api.market.infrastructure.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.github.HenriqueMichelini.craftalism.api.dto.MarketSide;
+import io.github.HenriqueMichelini.craftalism.api.model.MarketTradeHistory;
+import io.github.HenriqueMichelini.craftalism.api.repository.MarketTradeHistoryRepository;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest(
+    properties = {
+        "craftalism.market.trade-history.write-behind.enabled=true",
+        "craftalism.market.trade-history.write-behind.capacity=2",
+        "craftalism.market.trade-history.write-behind.flush-interval-ms=3600000",
+    }
+)
+@ActiveProfiles("local")
+class MarketTradeHistoryWriteBehindTest {
+
+    private static final UUID PLAYER_UUID = UUID.fromString(
+        "110e8400-e29b-41d4-a716-446655440000"
+    );
+
+    @Autowired
+    private MarketTradeHistoryWriteBehind writeBehind;
+
+    @Autowired
+    private MarketTradeHistoryRepository marketTradeHistoryRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        writeBehind.flush();
+        marketTradeHistoryRepository.deleteAll();
+    }
+
+    @Test
+    void record_committedRowsAreWrittenByFlush() {
+        Instant executedAt = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        inTransaction(() ->
+            writeBehind.record(
+                List.of(
+                    history(MarketSide.BUY, executedAt),
+                    history(MarketSide.SELL, executedAt)
+                )
+            )
+        );
+
+        assertEquals(0L, marketTradeHistoryRepository.count());
+        assertEquals(2, writeBehind.pendingWrites());
+
+        assertEquals(2, writeBehind.flush());
+
+        assertEquals(0, writeBehind.pendingWrites());
+        List<MarketTradeHistory> rows = marketTradeHistoryRepository.findAll();
+        assertEquals(2, rows.size());
+        assertEquals(PLAYER_UUID, rows.get(0).getPlayerUuid());
+        assertEquals("wheat", rows.get(0).getItemId());
+        assertEquals(50L, rows.get(0).getTotalPrice());
+        assertEquals(executedAt, rows.get(0).getExecutedAt());
+    }
+
+    @Test
+    void record_rolledBackRowsAreDiscarded() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(
+            status -> {
+                writeBehind.record(
+                    List.of(history(MarketSide.BUY, Instant.now()))
+                );
+                status.setRollbackOnly();
+            }
+        );
+
+        assertEquals(0, writeBehind.pendingWrites());
+        assertEquals(0, writeBehind.flush());
+        assertEquals(0L, marketTradeHistoryRepository.count());
+    }
+
+    @Test
+    void record_fullBufferInsertsRowsInsideTransaction() {
+        inTransaction(() ->
+            writeBehind.record(
+                List.of(
+                    history(MarketSide.BUY, Instant.now()),
+                    history(MarketSide.BUY, Instant.now())
+                )
+            )
+        );
+        inTransaction(() ->
+            writeBehind.record(List.of(history(MarketSide.SELL, Instant.now())))
+        );
+
+        assertEquals(1L, marketTradeHistoryRepository.count());
+        assertEquals(2, writeBehind.pendingWrites());
+
+        assertEquals(2, writeBehind.flush());
+        assertEquals(3L, marketTradeHistoryRepository.count());
+    }
+
+    @Test
+    void flush_setsAsideRowsThatCannotBeWrittenAndKeepsFlushing() {
+        MarketTradeHistory invalid = history(MarketSide.BUY, Instant.now());
+        invalid.setItemId(null);
+        inTransaction(() ->
+            writeBehind.record(
+                List.of(invalid, history(MarketSide.SELL, Instant.now()))
+            )
+        );
+        long setAsideBefore = writeBehind.setAsideRows();
+
+        assertEquals(1, writeBehind.flush());
+
+        assertEquals(0, writeBehind.pendingWrites());
+        assertEquals(setAsideBefore + 1L, writeBehind.setAsideRows());
+        assertEquals(1L, marketTradeHistoryRepository.count());
+
+        inTransaction(() ->
+            writeBehind.record(List.of(history(MarketSide.BUY, Instant.now())))
+        );
+        assertEquals(1, writeBehind.flush());
+        assertEquals(2L, marketTradeHistoryRepository.count());
+    }
+
+    private void inTransaction(Runnable action) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(
+            status -> action.run()
+        );
+    }
+
+    private MarketTradeHistory history(MarketSide side, Instant executedAt) {
+        MarketTradeHistory history = new MarketTradeHistory();
+        history.setPlayerUuid(PLAYER_UUID);
+        history.setItemId("wheat");
+        history.setSide(side);
+        history.setQuantity(10L);
+        history.setUnitPrice(5L);
+        history.setTotalPrice(50L);
+        history.setCurrency("coins");
+        history.setSnapshotVersion("market:snapshot");
+        history.setExecutedAt(executedAt);
+        return history;
+    }
+}
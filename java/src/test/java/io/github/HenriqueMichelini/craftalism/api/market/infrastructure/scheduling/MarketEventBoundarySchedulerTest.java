@@ -0,0 +1,178 @@
+package io.github.HenriqueMichelini.craftalism.api.market.infrastructure.scheduling;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import io.github.HenriqueMichelini.craftalism.api.market.application.change.MarketStateChangedEvent;
+import io.github.HenriqueMichelini.craftalism.api.market.domain.event.MarketActiveEventState;
+import io.github.HenriqueMichelini.craftalism.api.market.domain.event.MarketEventLifecycleService;
+import io.github.HenriqueMichelini.craftalism.api.model.MarketEventInstance;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionOperations;
+
+@ExtendWith(MockitoExtension.class)
+class MarketEventBoundarySchedulerTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+    @Mock
+    private MarketActiveEventState activeEventState;
+
+    @Mock
+    private MarketEventLifecycleService lifecycleService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ScheduledExecutorService timerExecutor;
+
+    @Test
+    void reschedule_armsEarliestUpcomingStartOrEnd() {
+        when(activeEventState.scheduledEvents()).thenReturn(
+            List.of(
+                event(NOW.minusSeconds(60L), NOW.plusSeconds(120L)),
+                event(NOW.plusSeconds(30L), NOW.plusSeconds(600L))
+            )
+        );
+
+        scheduler(NOW).reschedule();
+
+        verify(timerExecutor).schedule(
+            any(Runnable.class),
+            eq(Duration.ofSeconds(30L).toNanos()),
+            eq(TimeUnit.NANOSECONDS)
+        );
+    }
+
+    @Test
+    void reschedule_firesImmediatelyForEndAlreadyPassed() {
+        when(activeEventState.scheduledEvents()).thenReturn(
+            List.of(event(NOW.minusSeconds(600L), NOW.minusSeconds(60L)))
+        );
+
+        scheduler(NOW).reschedule();
+
+        verify(timerExecutor).schedule(
+            any(Runnable.class),
+            eq(0L),
+            eq(TimeUnit.NANOSECONDS)
+        );
+    }
+
+    @Test
+    void fire_expiresReachedEndAndLeavesRefreshToCommittedChange() {
+        Instant endsAt = NOW.plusSeconds(60L);
+        when(activeEventState.scheduledEvents()).thenReturn(
+            List.of(event(NOW.minusSeconds(60L), endsAt))
+        );
+        MutableClock clock = new MutableClock(NOW);
+        MarketEventBoundaryScheduler scheduler = scheduler(clock);
+        scheduler.reschedule();
+        when(lifecycleService.expireElapsedActiveEvents(endsAt)).thenReturn(1);
+
+        clock.instant = endsAt;
+        scheduler.fire();
+
+        verify(lifecycleService).expireElapsedActiveEvents(endsAt);
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void fire_publishesChangeWhenStartReachedWithoutExpiring() {
+        Instant startsAt = NOW.plusSeconds(30L);
+        when(activeEventState.scheduledEvents()).thenReturn(
+            List.of(event(startsAt, NOW.plusSeconds(600L)))
+        );
+        MutableClock clock = new MutableClock(NOW);
+        MarketEventBoundaryScheduler scheduler = scheduler(clock);
+        scheduler.reschedule();
+        when(lifecycleService.expireElapsedActiveEvents(startsAt)).thenReturn(0);
+
+        clock.instant = startsAt;
+        scheduler.fire();
+
+        verify(eventPublisher).publishEvent(MarketStateChangedEvent.all());
+    }
+
+    @Test
+    void fire_beforeBoundaryOnlyRearms() {
+        when(activeEventState.scheduledEvents()).thenReturn(
+            List.of(event(NOW.minusSeconds(60L), NOW.plusSeconds(60L)))
+        );
+        MutableClock clock = new MutableClock(NOW);
+        MarketEventBoundaryScheduler scheduler = scheduler(clock);
+        scheduler.reschedule();
+
+        clock.instant = NOW.plusSeconds(59L);
+        scheduler.fire();
+
+        verify(lifecycleService, never()).expireElapsedActiveEvents(any());
+        verify(timerExecutor).schedule(
+            any(Runnable.class),
+            eq(Duration.ofSeconds(1L).toNanos()),
+            eq(TimeUnit.NANOSECONDS)
+        );
+    }
+
+    private MarketEventBoundaryScheduler scheduler(Instant now) {
+        return scheduler(Clock.fixed(now, ZoneOffset.UTC));
+    }
+
+    private MarketEventBoundaryScheduler scheduler(Clock clock) {
+        return new MarketEventBoundaryScheduler(
+            activeEventState,
+            lifecycleService,
+            eventPublisher,
+            TransactionOperations.withoutTransaction(),
+            timerExecutor,
+            clock
+        );
+    }
+
+    private MarketEventInstance event(Instant startedAt, Instant endsAt) {
+        MarketEventInstance event = new MarketEventInstance();
+        event.setStartedAt(startedAt);
+        event.setEndsAt(endsAt);
+        return event;
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -25,9 +25,9 @@ import java.time.Duration;
 import java.time.Instant;
 import java.time.ZoneOffset;
 import java.util.List;
-import java.util.Optional;
 import java.util.Random;
 import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionOperations;
 
 class MarketEventSchedulerTest {
 
@@ -62,8 +62,8 @@ class MarketEventSchedulerTest {
                 any()
             )
         ).thenReturn(1);
-        when(lifecycleService.effectiveActiveEvent(any())).thenReturn(
-            Optional.empty()
+        when(lifecycleService.effectiveActiveEvents(any())).thenReturn(
+            List.of()
         );
         when(random.nextLong(anyLong())).thenReturn(0L);
         when(templateRepository.findAll()).thenReturn(List.of(template));
@@ -86,6 +86,62 @@ class MarketEventSchedulerTest {
         verify(lifecycleService).start(any(MarketEventInstance.class));
     }
 
+    @Test
+    void rollWindow_startsOtherTemplateBelowActiveEventLimit() {
+        MarketEventTemplate running = automaticTemplate(
+            "farming_bumper_crop",
+            MarketEventScope.CATEGORY,
+            false
+        );
+        MarketEventTemplate idle = automaticTemplate(
+            "wheat_glut",
+            MarketEventScope.ITEM,
+            false
+        );
+        MarketEventInstance active = new MarketEventInstance();
+        active.setTemplateId("farming_bumper_crop");
+        when(
+            lockRepository.acquireExpiredLease(
+                anyString(),
+                anyString(),
+                any(),
+                any()
+            )
+        ).thenReturn(1);
+        when(lifecycleService.effectiveActiveEvents(any())).thenReturn(
+            List.of(active)
+        );
+        when(random.nextLong(anyLong())).thenReturn(0L);
+        when(templateRepository.findAll()).thenReturn(List.of(running, idle));
+        when(eventRepository.findByCreatedAtAfter(any())).thenReturn(List.of());
+        when(lifecycleService.start(any())).thenAnswer(invocation -> {
+            MarketEventInstance event = invocation.getArgument(0);
+            event.setId(100L);
+            return event;
+        });
+
+        MarketEventScheduler.SchedulerDecision decision = new MarketEventScheduler(
+            templateRepository,
+            eventRepository,
+            lockRepository,
+            lifecycleService,
+            Clock.fixed(NOW, ZoneOffset.UTC),
+            random,
+            true,
+            true,
+            2_500L,
+            Duration.ofSeconds(60L),
+            Duration.ofSeconds(7_200L),
+            Duration.ofSeconds(1_800L),
+            2,
+            TransactionOperations.withoutTransaction(),
+            "test-owner"
+        ).rollWindow();
+
+        assertTrue(decision.started());
+        assertEquals("wheat_glut", decision.templateId());
+    }
+
     @Test
     void rollWindow_skipsWhenMarketClosed() {
         MarketEventScheduler.SchedulerDecision decision = scheduler(
@@ -113,8 +169,8 @@ class MarketEventSchedulerTest {
                 any()
             )
         ).thenReturn(1);
-        when(lifecycleService.effectiveActiveEvent(any())).thenReturn(
-            Optional.empty()
+        when(lifecycleService.effectiveActiveEvents(any())).thenReturn(
+            List.of()
         );
         when(random.nextLong(anyLong())).thenReturn(9_999L);
 
@@ -139,8 +195,8 @@ class MarketEventSchedulerTest {
                 any()
             )
         ).thenReturn(1);
-        when(lifecycleService.effectiveActiveEvent(any())).thenReturn(
-            Optional.empty()
+        when(lifecycleService.effectiveActiveEvents(any())).thenReturn(
+            List.of()
         );
         when(random.nextLong(10_000L)).thenReturn(9_999L);
         when(random.nextLong(1_801L)).thenReturn(900L);
@@ -176,8 +232,8 @@ class MarketEventSchedulerTest {
                 any()
             )
         ).thenReturn(1, 0);
-        when(lifecycleService.effectiveActiveEvent(any())).thenReturn(
-            Optional.empty()
+        when(lifecycleService.effectiveActiveEvents(any())).thenReturn(
+            List.of()
         );
         when(random.nextLong(anyLong())).thenReturn(0L);
         when(templateRepository.findAll()).thenReturn(List.of(template));
@@ -220,8 +276,8 @@ class MarketEventSchedulerTest {
                 any()
             )
         ).thenReturn(1);
-        when(lifecycleService.effectiveActiveEvent(any())).thenReturn(
-            Optional.empty()
+        when(lifecycleService.effectiveActiveEvents(any())).thenReturn(
+            List.of()
         );
         when(random.nextLong(10_000L)).thenReturn(0L);
         when(templateRepository.findAll()).thenReturn(
@@ -259,8 +315,8 @@ class MarketEventSchedulerTest {
                 any()
             )
         ).thenReturn(1);
-        when(lifecycleService.effectiveActiveEvent(any())).thenReturn(
-            Optional.empty()
+        when(lifecycleService.effectiveActiveEvents(any())).thenReturn(
+            List.of()
         );
         when(random.nextLong(anyLong())).thenReturn(0L);
         when(templateRepository.findAll()).thenReturn(
@@ -0,0 +1,118 @@
+package io.github.HenriqueMichelini.craftalism.api.market.infrastructure.scheduling;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.github.HenriqueMichelini.craftalism.api.dto.MarketSide;
+import io.github.HenriqueMichelini.craftalism.api.model.MarketQuote;
+import io.github.HenriqueMichelini.craftalism.api.repository.MarketQuoteRepository;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest(
+    properties = {
+        "craftalism.market.quote-sweeper.batch-size=2",
+        "craftalism.market.quote-sweeper.delay-ms=3600000",
+        "craftalism.market.quote-retention.days=30",
+    }
+)
+@ActiveProfiles("local")
+class MarketQuoteSweeperTest {
+
+    @Autowired
+    private MarketQuoteSweeper sweeper;
+
+    @Autowired
+    private MarketQuoteRepository marketQuoteRepository;
+
+    @BeforeEach
+    void setUp() {
+        marketQuoteRepository.deleteAll();
+    }
+
+    @Test
+    void sweepExpiredQuotes_expiresOverdueActiveQuotesInBatches() {
+        Instant now = Instant.now();
+        MarketQuote overdue1 = quote(MarketQuote.Status.ACTIVE, now.minusSeconds(30));
+        MarketQuote overdue2 = quote(MarketQuote.Status.ACTIVE, now.minusSeconds(20));
+        MarketQuote overdue3 = quote(MarketQuote.Status.ACTIVE, now.minusSeconds(10));
+        MarketQuote live = quote(MarketQuote.Status.ACTIVE, now.plusSeconds(300));
+        MarketQuote consumed = quote(MarketQuote.Status.CONSUMED, now.minusSeconds(30));
+        consumed.setResolvedAt(now.minusSeconds(40));
+        marketQuoteRepository.saveAll(
+            List.of(overdue1, overdue2, overdue3, live, consumed)
+        );
+
+        assertEquals(3, sweeper.sweepExpiredQuotes());
+
+        assertEquals(MarketQuote.Status.EXPIRED, status(overdue1));
+        assertEquals(MarketQuote.Status.EXPIRED, status(overdue2));
+        assertEquals(MarketQuote.Status.EXPIRED, status(overdue3));
+        assertEquals(MarketQuote.Status.ACTIVE, status(live));
+        assertEquals(MarketQuote.Status.CONSUMED, status(consumed));
+        assertEquals(0, sweeper.sweepExpiredQuotes());
+    }
+
+    @Test
+    void deleteResolvedQuotes_deletesOnlyResolvedQuotesPastRetention() {
+        Instant now = Instant.now();
+        Instant longAgo = now.minus(Duration.ofDays(40));
+        MarketQuote oldConsumed = quote(MarketQuote.Status.CONSUMED, longAgo);
+        oldConsumed.setResolvedAt(longAgo);
+        MarketQuote oldExpired = quote(MarketQuote.Status.EXPIRED, longAgo);
+        oldExpired.setResolvedAt(longAgo);
+        MarketQuote oldInvalidated = quote(MarketQuote.Status.INVALIDATED, longAgo);
+        oldInvalidated.setResolvedAt(longAgo);
+        MarketQuote recentConsumed = quote(MarketQuote.Status.CONSUMED, now);
+        recentConsumed.setResolvedAt(now.minus(Duration.ofDays(1)));
+        MarketQuote staleActive = quote(MarketQuote.Status.ACTIVE, longAgo);
+        marketQuoteRepository.saveAll(
+            List.of(
+                oldConsumed,
+                oldExpired,
+                oldInvalidated,
+                recentConsumed,
+                staleActive
+            )
+        );
+
+        assertEquals(3, sweeper.deleteResolvedQuotes());
+
+        assertFalse(marketQuoteRepository.existsById(oldConsumed.getQuoteToken()));
+        assertFalse(marketQuoteRepository.existsById(oldExpired.getQuoteToken()));
+        assertFalse(marketQuoteRepository.existsById(oldInvalidated.getQuoteToken()));
+        assertTrue(marketQuoteRepository.existsById(recentConsumed.getQuoteToken()));
+        assertTrue(marketQuoteRepository.existsById(staleActive.getQuoteToken()));
+    }
+
+    private MarketQuote.Status status(MarketQuote quote) {
+        return marketQuoteRepository
+            .findById(quote.getQuoteToken())
+            .orElseThrow()
+            .getStatus();
+    }
+
+    private static MarketQuote quote(MarketQuote.Status status, Instant expiresAt) {
+        MarketQuote quote = new MarketQuote();
+        quote.setQuoteToken(UUID.randomUUID().toString());
+        quote.setPlayerUuid(UUID.randomUUID());
+        quote.setItemId("wheat");
+        quote.setSide(MarketSide.BUY);
+        quote.setQuantity(1L);
+        quote.setUnitPrice(100L);
+        quote.setTotalPrice(100L);
+        quote.setSnapshotVersion("snapshot");
+        quote.setExpiresAt(expiresAt);
+        quote.setCreatedAt(expiresAt.minusSeconds(60));
+        quote.setStatus(status);
+        return quote;
+    }
+}
@@ -0,0 +1,60 @@
+package io.github.HenriqueMichelini.craftalism.api.market.infrastructure.scheduling;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import io.github.HenriqueMichelini.craftalism.api.market.application.query.MarketSnapshotStateLoader;
+import io.github.HenriqueMichelini.craftalism.api.market.application.query.MarketSnapshotStateLoader.MarketStateAdvance;
+import org.junit.jupiter.api.Test;
+
+class MarketStateTickerTest {
+
+    private final MarketSnapshotStateLoader stateLoader = mock(
+        MarketSnapshotStateLoader.class
+    );
+
+    @Test
+    void tick_doesNothingOutsideBackgroundMode() {
+        MarketStateTicker ticker = new MarketStateTicker(stateLoader, false, 10);
+
+        assertEquals(0, ticker.tick());
+        verifyNoInteractions(stateLoader);
+    }
+
+    @Test
+    void tick_drainsFullBatchesUntilAPartialBatch() {
+        when(stateLoader.advanceDueMarketState(10)).thenReturn(
+            new MarketStateAdvance(10, 10),
+            new MarketStateAdvance(10, 9),
+            new MarketStateAdvance(3, 3)
+        );
+        MarketStateTicker ticker = new MarketStateTicker(stateLoader, true, 10);
+
+        assertEquals(22, ticker.tick());
+        verify(stateLoader, times(3)).advanceDueMarketState(10);
+    }
+
+    @Test
+    void tick_stopsWhenAFullBatchMakesNoProgress() {
+        when(stateLoader.advanceDueMarketState(10)).thenReturn(
+            new MarketStateAdvance(10, 0)
+        );
+        MarketStateTicker ticker = new MarketStateTicker(stateLoader, true, 10);
+
+        assertEquals(0, ticker.tick());
+        verify(stateLoader, times(1)).advanceDueMarketState(10);
+    }
+
+    @Test
+    void constructor_rejectsNonPositiveBatchSize() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> new MarketStateTicker(stateLoader, true, 0)
+        );
+    }
+}
@@ -0,0 +1,253 @@
+package io.github.HenriqueMichelini.craftalism.api.market.infrastructure.store;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+
+import io.github.HenriqueMichelini.craftalism.api.dto.MarketSide;
+import io.github.HenriqueMichelini.craftalism.api.model.MarketQuote;
+import io.github.HenriqueMichelini.craftalism.api.repository.MarketQuoteRepository;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ScheduledExecutorService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@ExtendWith(MockitoExtension.class)
+class InMemoryMarketQuoteStoreTest {
+
+    private static final Instant NOW = Instant.parse("2026-04-12T18:30:00Z");
+
+    @Mock
+    private MarketQuoteRepository marketQuoteRepository;
+
+    private final MutableClock clock = new MutableClock(NOW);
+
+    @Test
+    void consume_succeedsOnceForActiveQuote() {
+        InMemoryMarketQuoteStore store = new InMemoryMarketQuoteStore(clock);
+        store.put(quote("quote-1", "wheat", 60L));
+
+        assertTrue(store.consume("quote-1"));
+        assertFalse(store.consume("quote-1"));
+        assertEquals(
+            MarketQuote.Status.CONSUMED,
+            store.get("quote-1").orElseThrow().status()
+        );
+        assertEquals(0L, store.activeQuoteCount());
+    }
+
+    @Test
+    void consumeAll_leavesEveryQuoteActiveWhenALaterQuoteCannotBeConsumed() {
+        InMemoryMarketQuoteStore store = new InMemoryMarketQuoteStore(clock);
+        store.put(quote("quote-1", "wheat", 60L));
+        store.put(quote("quote-2", "carrot", 60L));
+        store.consume("quote-2");
+
+        assertFalse(store.consumeAll(List.of("quote-1", "quote-2")));
+        assertEquals(
+            MarketQuote.Status.ACTIVE,
+            store.get("quote-1").orElseThrow().status()
+        );
+        assertTrue(store.hasActiveQuotes("wheat"));
+        assertEquals(1L, store.activeQuoteCount());
+    }
+
+    @Test
+    void consumeAll_restoresQuotesWhenTheCallerRollsBack() {
+        InMemoryMarketQuoteStore store = new InMemoryMarketQuoteStore(clock);
+        store.put(quote("quote-1", "wheat", 60L));
+        store.put(quote("quote-2", "carrot", 60L));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            assertTrue(store.consumeAll(List.of("quote-1", "quote-2")));
+            assertEquals(0L, store.activeQuoteCount());
+            TransactionSynchronizationManager
+                .getSynchronizations()
+                .forEach(synchronization ->
+                    synchronization.afterCompletion(
+                        TransactionSynchronization.STATUS_ROLLED_BACK
+                    )
+                );
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(2L, store.activeQuoteCount());
+        assertTrue(store.consume("quote-1"));
+        assertTrue(store.consume("quote-2"));
+    }
+
+    @Test
+    void expiry_transitionsOverdueQuotesAndDropsThemFromMemory() {
+        InMemoryMarketQuoteStore store = new InMemoryMarketQuoteStore(clock);
+        store.put(quote("quote-1", "wheat", 60L));
+        store.put(quote("quote-2", "carrot", 600L));
+        store.invalidate("quote-2");
+
+        assertTrue(store.hasActiveQuotes("wheat"));
+        assertFalse(store.hasActiveQuotes("carrot"));
+
+        clock.advance(Duration.ofSeconds(60).plusMillis(500));
+        assertEquals(
+            MarketQuote.Status.EXPIRED,
+            store.get("quote-1").orElseThrow().status()
+        );
+        assertFalse(store.consume("quote-1"));
+
+        clock.advance(Duration.ofSeconds(1));
+        store.expireActiveQuotes();
+        assertEquals(Optional.empty(), store.get("quote-1"));
+        assertEquals(
+            MarketQuote.Status.INVALIDATED,
+            store.get("quote-2").orElseThrow().status()
+        );
+        assertEquals(1, store.trackedQuoteCount());
+
+        clock.advance(Duration.ofMinutes(10));
+        store.expireActiveQuotes();
+        assertEquals(0, store.trackedQuoteCount());
+    }
+
+    @Test
+    void activeIndex_followsTransitionsPerItem() {
+        InMemoryMarketQuoteStore store = new InMemoryMarketQuoteStore(clock);
+        store.put(quote("quote-1", "wheat", 60L));
+        store.put(quote("quote-2", "wheat", 600L));
+        store.put(quote("quote-3", "carrot", 600L));
+        assertEquals(3L, store.activeQuoteCount());
+
+        store.consume("quote-2");
+        store.invalidate("quote-3");
+        assertTrue(store.hasActiveQuotes("wheat"));
+        assertFalse(store.hasActiveQuotes("carrot"));
+        assertEquals(1L, store.activeQuoteCount());
+        assertEquals(1, store.indexedItemCount());
+
+        clock.advance(Duration.ofSeconds(62));
+        assertFalse(store.hasActiveQuotes("wheat"));
+        assertEquals(0L, store.activeQuoteCount());
+        assertEquals(0, store.indexedItemCount());
+    }
+
+    @Test
+    void writeBehind_persistsQuotesBeforeTheirTransitionsInBatches() {
+        MarketQuoteWriteBehind writeBehind = new MarketQuoteWriteBehind(
+            marketQuoteRepository,
+            TransactionOperations.withoutTransaction(),
+            10,
+            100,
+            mock(ScheduledExecutorService.class)
+        );
+        InMemoryMarketQuoteStore store = new InMemoryMarketQuoteStore(
+            writeBehind,
+            clock
+        );
+        store.put(quote("quote-1", "wheat", 60L));
+        store.put(quote("quote-2", "wheat", 60L));
+        store.consume("quote-1");
+        store.consume("quote-1");
+
+        assertEquals(3, writeBehind.pendingWrites());
+        assertEquals(3, writeBehind.flush());
+
+        InOrder order = inOrder(marketQuoteRepository);
+        order.verify(marketQuoteRepository).saveAllAndFlush(anyList());
+        order.verify(marketQuoteRepository).transitionStatus(
+            "quote-1",
+            MarketQuote.Status.ACTIVE,
+            MarketQuote.Status.CONSUMED,
+            NOW
+        );
+        assertEquals(0, writeBehind.pendingWrites());
+    }
+
+    @Test
+    void writeBehind_dropsWritesBeyondCapacity() {
+        MarketQuoteWriteBehind writeBehind = new MarketQuoteWriteBehind(
+            marketQuoteRepository,
+            TransactionOperations.withoutTransaction(),
+            10,
+            2,
+            mock(ScheduledExecutorService.class)
+        );
+        InMemoryMarketQuoteStore store = new InMemoryMarketQuoteStore(
+            writeBehind,
+            clock
+        );
+        store.put(quote("quote-1", "wheat", 60L));
+        store.put(quote("quote-2", "wheat", 60L));
+        store.put(quote("quote-3", "wheat", 60L));
+
+        assertEquals(2, writeBehind.pendingWrites());
+        assertTrue(store.get("quote-3").isPresent());
+    }
+
+    private MarketQuoteStore.StoredQuote quote(
+        String quoteToken,
+        String itemId,
+        long ttlSeconds
+    ) {
+        return new MarketQuoteStore.StoredQuote(
+            quoteToken,
+            UUID.fromString("00000000-0000-0000-0000-000000000001"),
+            itemId,
+            MarketSide.BUY,
+            10L,
+            5L,
+            50L,
+            "market:abc",
+            1,
+            0L,
+            0L,
+            null,
+            null,
+            NOW.plusSeconds(ttlSeconds),
+            MarketQuote.Status.ACTIVE
+        );
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        private void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package io.github.HenriqueMichelini.craftalism.api.market.infrastructure.store;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class MarketQuoteExpiryWheelTest {
+
+    private static final long TICK_MILLIS = 1_000L;
+
+    @Test
+    void advance_firesEachQuoteOnFirstTickAfterItsExpiry() {
+        Random random = new Random(0x71E_E1L);
+        long start = 1_776_000_123_456L;
+        MarketQuoteExpiryWheel wheel = new MarketQuoteExpiryWheel(
+            TICK_MILLIS,
+            start
+        );
+        List<Long> expiries = new ArrayList<>();
+        for (int index = 0; index < 2_000; index++) {
+            // Spans every wheel level plus the overflow list.
+            long ttl = switch (index % 4) {
+                case 0 -> random.nextInt(64_000);
+                case 1 -> random.nextInt(4_096_000);
+                case 2 -> random.nextInt(262_144_000);
+                default -> 16_777_216_000L + random.nextInt(1_000_000_000);
+            };
+            expiries.add(start + ttl);
+            wheel.schedule("quote-" + index, start + ttl);
+        }
+
+        long now = start;
+        int fired = 0;
+        while (wheel.size() > 0) {
+            now += (long) random.nextInt(200) * TICK_MILLIS;
+            for (String quoteToken : wheel.advance(now)) {
+                long expiresAt = expiries.get(
+                    Integer.parseInt(quoteToken.substring("quote-".length()))
+                );
+                long dueTick = Math.floorDiv(expiresAt, TICK_MILLIS) + 1L;
+                assertEquals(
+                    true,
+                    dueTick <= Math.floorDiv(now, TICK_MILLIS),
+                    quoteToken + " fired early"
+                );
+                assertEquals(
+                    true,
+                    dueTick > Math.floorDiv(now, TICK_MILLIS) - 200L,
+                    quoteToken + " fired late"
+                );
+                fired++;
+            }
+        }
+        assertEquals(expiries.size(), fired);
+    }
+
+    @Test
+    void advance_keepsQuotesUntilExpiryHasPassed() {
+        MarketQuoteExpiryWheel wheel = new MarketQuoteExpiryWheel(
+            TICK_MILLIS,
+            0L
+        );
+        wheel.schedule("quote", 60_000L);
+
+        assertEquals(List.of(), wheel.advance(60_999L));
+        assertEquals(List.of("quote"), wheel.advance(61_000L));
+        assertEquals(0, wheel.size());
+    }
+}
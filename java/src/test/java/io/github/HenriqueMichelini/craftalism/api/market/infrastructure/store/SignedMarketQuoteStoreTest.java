@@ -0,0 +1,210 @@
+package io.github.HenriqueMichelini.craftalism.api.market.infrastructure.store;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.github.HenriqueMichelini.craftalism.api.dto.MarketSide;
+import io.github.HenriqueMichelini.craftalism.api.model.MarketQuote;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class SignedMarketQuoteStoreTest {
+
+    private static final Instant NOW = Instant.parse("2026-04-12T18:30:00Z");
+    private static final String SECRET = "0123456789abcdef0123456789abcdef";
+
+    private final MutableClock clock = new MutableClock(NOW);
+
+    @Test
+    void put_issuesTokenCarryingTheWholeQuote() {
+        SignedMarketQuoteStore store = new SignedMarketQuoteStore(SECRET, clock);
+        MarketQuoteStore.StoredQuote quote = quote(60L);
+
+        String token = store.put(quote);
+        MarketQuoteStore.StoredQuote decoded = store.get(token).orElseThrow();
+
+        assertNotEquals(quote.quoteToken(), token);
+        assertEquals(quote.playerUuid(), decoded.playerUuid());
+        assertEquals(token, decoded.quoteToken());
+        assertEquals(quote.itemId(), decoded.itemId());
+        assertEquals(quote.side(), decoded.side());
+        assertEquals(quote.quantity(), decoded.quantity());
+        assertEquals(quote.unitPrice(), decoded.unitPrice());
+        assertEquals(quote.totalPrice(), decoded.totalPrice());
+        assertEquals(quote.snapshotVersion(), decoded.snapshotVersion());
+        assertEquals(quote.pressurePosition(), decoded.pressurePosition());
+        assertEquals(quote.driftRevision(), decoded.driftRevision());
+        assertEquals(quote.namedEventInstanceId(), decoded.namedEventInstanceId());
+        assertEquals(quote.eventEffectVersion(), decoded.eventEffectVersion());
+        assertEquals(quote.expiresAt(), decoded.expiresAt());
+        assertEquals(MarketQuote.Status.ACTIVE, decoded.status());
+        assertEquals(1L, store.activeQuoteCount());
+    }
+
+    @Test
+    void get_rejectsTamperedTokensAndTokensSignedWithAnotherSecret() {
+        SignedMarketQuoteStore store = new SignedMarketQuoteStore(SECRET, clock);
+        String token = store.put(quote(60L));
+        char quantityChar = token.charAt(40);
+        String tampered =
+            token.substring(0, 40) +
+            (quantityChar == 'A' ? 'B' : 'A') +
+            token.substring(41);
+        SignedMarketQuoteStore otherStore = new SignedMarketQuoteStore(
+            "fedcba9876543210fedcba9876543210",
+            clock
+        );
+
+        assertEquals(Optional.empty(), store.get(tampered));
+        assertEquals(Optional.empty(), store.get("not-a-token"));
+        assertEquals(Optional.empty(), otherStore.get(token));
+        assertFalse(otherStore.consume(token));
+    }
+
+    @Test
+    void consume_succeedsOnceAndForgetsTokensAfterTheirExpiry() {
+        SignedMarketQuoteStore store = new SignedMarketQuoteStore(SECRET, clock);
+        String consumed = store.put(quote(60L));
+        String invalidated = store.put(quote(60L));
+
+        assertTrue(store.consume(consumed));
+        assertFalse(store.consume(consumed));
+        store.invalidate(invalidated);
+        assertFalse(store.consume(invalidated));
+        assertEquals(
+            MarketQuote.Status.CONSUMED,
+            store.get(consumed).orElseThrow().status()
+        );
+        assertEquals(0L, store.activeQuoteCount());
+        assertEquals(2, store.resolvedTokenCount());
+
+        clock.advance(Duration.ofSeconds(62));
+        store.expireActiveQuotes();
+
+        assertEquals(0, store.resolvedTokenCount());
+        assertEquals(
+            MarketQuote.Status.EXPIRED,
+            store.get(consumed).orElseThrow().status()
+        );
+        assertFalse(store.consume(consumed));
+    }
+
+    @Test
+    void consumeAll_leavesEveryTokenUsableWhenALaterTokenCannotBeConsumed() {
+        SignedMarketQuoteStore store = new SignedMarketQuoteStore(SECRET, clock);
+        String first = store.put(quote(60L));
+        String second = store.put(quote(60L));
+        store.consume(second);
+
+        assertFalse(store.consumeAll(List.of(first, second)));
+        assertEquals(
+            MarketQuote.Status.ACTIVE,
+            store.get(first).orElseThrow().status()
+        );
+        assertEquals(1L, store.activeQuoteCount());
+        assertTrue(store.consume(first));
+    }
+
+    @Test
+    void restart_rejectsTokensIssuedBeforeIt() {
+        SignedMarketQuoteStore store = new SignedMarketQuoteStore(SECRET, clock);
+        String token = store.put(quote(60L));
+        assertTrue(store.consume(token));
+
+        SignedMarketQuoteStore restarted = new SignedMarketQuoteStore(
+            SECRET,
+            clock
+        );
+
+        assertEquals(Optional.empty(), restarted.get(token));
+        assertFalse(restarted.consume(token));
+    }
+
+    @Test
+    void codec_acceptsTokensOnlyFromItsOwnBootEpoch() {
+        UUID bootEpoch = UUID.randomUUID();
+        MarketQuoteTokenCodec codec = new MarketQuoteTokenCodec(
+            SECRET,
+            bootEpoch
+        );
+        String token = codec.encode(quote(60L), UUID.randomUUID());
+
+        assertTrue(
+            new MarketQuoteTokenCodec(SECRET, bootEpoch).decode(token).isPresent()
+        );
+        assertEquals(
+            Optional.empty(),
+            new MarketQuoteTokenCodec(SECRET, UUID.randomUUID()).decode(token)
+        );
+    }
+
+    @Test
+    void constructor_rejectsShortSecrets() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> new SignedMarketQuoteStore("too-short", clock)
+        );
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> new SignedMarketQuoteStore(null, clock)
+        );
+    }
+
+    private MarketQuoteStore.StoredQuote quote(long ttlSeconds) {
+        return new MarketQuoteStore.StoredQuote(
+            UUID.randomUUID().toString(),
+            UUID.fromString("00000000-0000-0000-0000-000000000001"),
+            "wheat",
+            MarketSide.SELL,
+            10L,
+            5L,
+            50L,
+            "market:abc",
+            1,
+            -25L,
+            3L,
+            42L,
+            2,
+            NOW.plusSeconds(ttlSeconds),
+            MarketQuote.Status.ACTIVE
+        );
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        private void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
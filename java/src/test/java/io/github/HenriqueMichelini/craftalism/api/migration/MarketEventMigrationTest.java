@@ -1,5 +1,6 @@
 package io.github.HenriqueMichelini.craftalism.api.migration;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -83,6 +84,31 @@ class MarketEventMigrationTest {
         }
     }
 
+    @Test
+    void v29KeysActiveSlotByTemplate() throws Exception {
+        String jdbcUrl = h2JdbcUrl();
+        migrateTo(jdbcUrl, "28");
+
+        try (Connection connection = connect(jdbcUrl)) {
+            insertTemplate(connection);
+            insertActiveEvent(connection, "event-one");
+        }
+
+        migrateTo(jdbcUrl, null);
+
+        try (Connection connection = connect(jdbcUrl)) {
+            try (
+                PreparedStatement statement = connection.prepareStatement(
+                    "SELECT active_slot FROM market_event_instances"
+                );
+                ResultSet resultSet = statement.executeQuery()
+            ) {
+                assertTrue(resultSet.next());
+                assertEquals("template", resultSet.getString("active_slot"));
+            }
+        }
+    }
+
     private static String h2JdbcUrl() {
         return "jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=PostgreSQL;DATABASE_TO_UPPER=false;DB_CLOSE_DELAY=-1";
     }
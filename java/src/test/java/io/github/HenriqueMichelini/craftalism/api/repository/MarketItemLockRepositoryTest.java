@@ -0,0 +1,185 @@
+package io.github.HenriqueMichelini.craftalism.api.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.github.HenriqueMichelini.craftalism.api.model.MarketItem;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest
+@ActiveProfiles("local")
+class MarketItemLockRepositoryTest {
+
+    @Autowired
+    private MarketItemRepository marketItemRepository;
+
+    @Autowired
+    private MarketTradeHistoryRepository marketTradeHistoryRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        marketTradeHistoryRepository.deleteAll();
+        marketItemRepository.deleteAll();
+        marketItemRepository.save(wheat());
+    }
+
+    @Test
+    void findForUpdate_reloadsItemReadEarlierWhenAnotherTransactionCommitted()
+        throws Exception {
+        long netPosition = transactionTemplate.execute(status -> {
+            MarketItem read = marketItemRepository
+                .findAllForMarketRead()
+                .stream()
+                .filter(item -> item.getItemId().equals("wheat"))
+                .findFirst()
+                .orElseThrow();
+            assertEquals(0L, read.getNetPosition());
+
+            addNetPositionInOtherTransaction(25L);
+
+            MarketItem locked = marketItemRepository
+                .findForUpdate("wheat")
+                .orElseThrow();
+            assertSame(read, locked);
+            assertEquals(25L, locked.getNetPosition());
+            locked.setNetPosition(locked.getNetPosition() + 5L);
+            marketItemRepository.save(locked);
+            return locked.getNetPosition();
+        });
+
+        assertEquals(30L, netPosition);
+        assertEquals(
+            30L,
+            marketItemRepository.findById("wheat").orElseThrow().getNetPosition()
+        );
+    }
+
+    @Test
+    void findForUpdate_keepsChangesNotYetFlushedInTheSameTransaction() {
+        long netPosition = transactionTemplate.execute(status -> {
+            MarketItem locked = marketItemRepository
+                .findForUpdate("wheat")
+                .orElseThrow();
+            locked.setNetPosition(77L);
+            marketItemRepository.save(locked);
+
+            return marketItemRepository
+                .findForUpdate("wheat")
+                .orElseThrow()
+                .getNetPosition();
+        });
+
+        assertEquals(77L, netPosition);
+        assertEquals(
+            77L,
+            marketItemRepository.findById("wheat").orElseThrow().getNetPosition()
+        );
+    }
+
+    @Test
+    void claimVersion_claimsUnchangedItemBeforeItsPendingChangesAreWritten() {
+        transactionTemplate.executeWithoutResult(status -> {
+            MarketItem item = marketItemRepository
+                .findByItemId("wheat")
+                .orElseThrow();
+            long readVersion = item.getVersion();
+            item.setNetPosition(12L);
+
+            assertTrue(marketItemRepository.claimVersion("wheat", readVersion));
+            marketItemRepository.flush();
+        });
+
+        MarketItem stored = marketItemRepository.findById("wheat").orElseThrow();
+        assertEquals(12L, stored.getNetPosition());
+        assertEquals(1L, stored.getVersion());
+    }
+
+    @Test
+    void claimVersion_failsWhenAnotherTransactionWroteTheItem() {
+        boolean claimed = transactionTemplate.execute(status -> {
+            MarketItem item = marketItemRepository
+                .findByItemId("wheat")
+                .orElseThrow();
+            long readVersion = item.getVersion();
+
+            addNetPositionInOtherTransaction(5L);
+
+            return marketItemRepository.claimVersion("wheat", readVersion);
+        });
+
+        assertFalse(claimed);
+        assertEquals(
+            5L,
+            marketItemRepository.findById("wheat").orElseThrow().getNetPosition()
+        );
+    }
+
+    @Test
+    void findForUpdate_returnsEmptyForUnknownItem() {
+        assertTrue(
+            transactionTemplate
+                .execute(status -> marketItemRepository.findForUpdate("missing"))
+                .isEmpty()
+        );
+    }
+
+    private void addNetPositionInOtherTransaction(long delta) {
+        try {
+            CompletableFuture.runAsync(() ->
+                transactionTemplate.executeWithoutResult(status -> {
+                    MarketItem item = marketItemRepository
+                        .findForUpdate("wheat")
+                        .orElseThrow();
+                    item.setNetPosition(item.getNetPosition() + delta);
+                    marketItemRepository.save(item);
+                })
+            ).get(10, TimeUnit.SECONDS);
+        } catch (Exception exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    private MarketItem wheat() {
+        MarketItem item = new MarketItem();
+        item.setItemId("wheat");
+        item.setCategoryId("farming");
+        item.setDisplayName("Wheat");
+        item.setIconKey("WHEAT");
+        item.setCurrency("coins");
+        item.setBaseUnitPrice(5L);
+        item.setMinUnitPrice(3L);
+        item.setMaxUnitPrice(15L);
+        item.setSegmentSize(50L);
+        item.setPriceSensitivity(new BigDecimal("0.0800"));
+        item.setSellPricePercentage(new BigDecimal("0.7000"));
+        item.setBaseRegenQuantity(1L);
+        item.setRegenIntervalSeconds(60L);
+        item.setNetPosition(0L);
+        item.setVariationPercent(BigDecimal.ZERO);
+        item.setBlocked(false);
+        item.setOperating(true);
+        item.setLastUpdatedAt(Instant.now());
+        item.setDriftMultiplierBasisPoints(10_000L);
+        item.setDriftRevision(0L);
+        item.setDriftEvaluatedAt(Instant.now());
+        return item;
+    }
+}
@@ -15,6 +15,7 @@ import io.github.HenriqueMichelini.craftalism.api.controller.TransactionControll
 import io.github.HenriqueMichelini.craftalism.api.mapper.PlayerMapper;
 import io.github.HenriqueMichelini.craftalism.api.mapper.TransactionMapper;
 import io.github.HenriqueMichelini.craftalism.api.market.application.MarketService;
+import io.github.HenriqueMichelini.craftalism.api.market.application.query.MarketDeltaStream;
 import io.github.HenriqueMichelini.craftalism.api.market.application.query.MarketTradeHistoryReadService;
 import io.github.HenriqueMichelini.craftalism.api.player.application.PlayerService;
 import io.github.HenriqueMichelini.craftalism.api.transaction.application.TransactionService;
@@ -51,6 +52,9 @@ class SecurityFilterChainTest {
     @MockitoBean
     MarketTradeHistoryReadService marketTradeHistoryReadService;
 
+    @MockitoBean
+    MarketDeltaStream marketDeltaStream;
+
     @MockitoBean
     TransactionService transactionService;
 